@@ -66,10 +66,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
+import java.io.Writer;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 import static com.epam.pipeline.security.acl.AclExpressions.ADMIN_ONLY;
 import static com.epam.pipeline.security.acl.AclExpressions.ADMIN_OR_GENERAL_USER;
@@ -140,6 +142,11 @@ public class RunApiService {
         return logManager.saveLog(runLog);
     }
 
+    @PreAuthorize("hasRole('ADMIN') OR @runPermissionManager.runPermission(#runId, 'EXECUTE')")
+    public List<RunLog> saveLogs(final Long runId, final List<RunLog> runLogs) {
+        return logManager.saveLogs(runId, runLogs);
+    }
+
     @PreAuthorize(RUN_ID_READ)
     public List<RunLog> loadAllLogsByRunId(Long runId) {
         return logManager.loadAllLogsByRunId(runId);
@@ -151,8 +158,19 @@ public class RunApiService {
     }
 
     @PreAuthorize(RUN_ID_READ)
-    public String downloadLogs(Long runId) {
-        return logManager.downloadLogs(runCRUDService.loadRunById(runId));
+    public void writeLogs(Long runId, Writer writer) {
+        logManager.writeLogs(runCRUDService.loadRunById(runId), writer);
+    }
+
+    @PreAuthorize(RUN_ID_READ)
+    public List<RunLog> tailLogs(Long runId, String taskName, String parameters, Long since, Integer limit) {
+        return logManager.tailLogs(runId, taskName, parameters, since, limit);
+    }
+
+    @PreAuthorize(RUN_ID_READ)
+    public void followLogs(Long runId, String taskName, String parameters, Long since, Integer limit,
+                           Consumer<List<RunLog>> consumer) {
+        logManager.followLogs(runId, taskName, parameters, since, limit, consumer);
     }
 
     @PreAuthorize(RUN_ID_READ)
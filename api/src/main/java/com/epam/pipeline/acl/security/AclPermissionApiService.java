@@ -17,6 +17,7 @@
 package com.epam.pipeline.acl.security;
 
 import static com.epam.pipeline.security.acl.AclExpressions.ACL_ENTITY_OWNER;
+import static com.epam.pipeline.security.acl.AclExpressions.ADMIN_ONLY;
 
 import com.epam.pipeline.controller.vo.EntityPermissionVO;
 import com.epam.pipeline.controller.vo.PermissionGrantVO;
@@ -27,6 +28,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service public class AclPermissionApiService {
 
     @Autowired private GrantPermissionManager permissionManager;
@@ -60,4 +63,9 @@ import org.springframework.stereotype.Service;
     public EntityPermissionVO loadEntityPermission(final Long id, final AclClass aclClass) {
         return permissionManager.loadEntityPermission(aclClass, id);
     }
+
+    @PreAuthorize(ADMIN_ONLY)
+    public List<EntityPermissionVO> loadEntitiesPermissions(final AclClass aclClass, final List<Long> ids) {
+        return permissionManager.loadEntitiesPermissions(aclClass, ids);
+    }
 }
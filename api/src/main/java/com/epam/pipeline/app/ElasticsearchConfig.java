@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2019 EPAM Systems, Inc. (https://www.epam.com/)
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,9 @@
 
 package com.epam.pipeline.app;
 
-import org.apache.http.HttpHost;
+import com.epam.pipeline.manager.utils.ElasticsearchClientSettings;
+import com.epam.pipeline.manager.utils.ElasticsearchMetrics;
+import com.epam.pipeline.manager.utils.InstrumentedRestHighLevelClient;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.springframework.beans.factory.annotation.Value;
@@ -26,20 +28,41 @@ import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class ElasticsearchConfig {
+
+    private static final String MONITORING_CLIENT_NAME = "monitoring";
+
     @Value("${monitoring.elasticsearch.url:#{null}}")
     private String elasticsearchUrl;
     @Value("${monitoring.elasticsearch.port:9200}")
     private int elasticsearchPort;
+    @Value("${monitoring.elasticsearch.max.connections:50}")
+    private int maxConnections;
+    @Value("${monitoring.elasticsearch.connect.timeout:5000}")
+    private int connectTimeout;
+    @Value("${monitoring.elasticsearch.socket.timeout:60000}")
+    private int socketTimeout;
+    @Value("${monitoring.elasticsearch.keep.alive:60000}")
+    private long keepAlive;
 
     @Bean
     @ConditionalOnProperty("monitoring.elasticsearch.url")
-    public RestHighLevelClient elasticsearchClient() {
-        return new RestHighLevelClient(lowLevelClient());
+    public RestHighLevelClient elasticsearchClient(final ElasticsearchMetrics metrics) {
+        return new InstrumentedRestHighLevelClient(lowLevelClient(), MONITORING_CLIENT_NAME, metrics);
     }
 
     @Bean
     @ConditionalOnProperty("monitoring.elasticsearch.url")
     public RestClient lowLevelClient() {
-        return RestClient.builder(new HttpHost(elasticsearchUrl, elasticsearchPort, "http")).build();
+        return ElasticsearchClientSettings.builder()
+                .host(elasticsearchUrl)
+                .port(elasticsearchPort)
+                .scheme("http")
+                .maxConnections(maxConnections)
+                .maxConnectionsPerRoute(maxConnections)
+                .connectTimeout(connectTimeout)
+                .socketTimeout(socketTimeout)
+                .keepAlive(keepAlive)
+                .build()
+                .buildLowLevelClient();
     }
 }
@@ -365,6 +365,8 @@ public final class MessageConstants {
     public static final String ERROR_METADATA_ENTITY_ALREADY_EXIST = "error.metadata.entity.already.exists";
     public static final String ERROR_METADATA_UPDATE_KEY_NOT_FOUND = "error.metadata.update.key.not.found";
     public static final String ERROR_INVALID_METADATA_FILTER = "error.invalid.metadata.filter";
+    public static final String ERROR_METADATA_FILTER_ORDER_BY_NOT_SUPPORTED =
+            "error.metadata.filter.order.by.not.supported";
     public static final String ERROR_METADATA_UPLOAD_CHANGED_TYPE = "error.metadata.upload.changed.type";
     public static final String ERROR_METADATA_ENTITIES_NOT_FOUND = "error.metadata.entities.not.found";
     public static final String ERROR_METADATA_ENTITY_WRITING_BAD_ENCODING =
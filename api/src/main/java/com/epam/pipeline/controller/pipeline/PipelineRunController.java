@@ -66,14 +66,21 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 @Controller
 @Api(value = "Pipeline runs")
@@ -81,6 +88,8 @@ public class PipelineRunController extends AbstractRestController {
 
     private static final String RUN_ID = "runId";
     private static final String TRUE = "true";
+    private static final String GZIP_CONTENT_TYPE = "application/gzip";
+    private static final long FOLLOW_LOGS_REQUEST_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
 
     @Autowired
     private RunApiService runApiService;
@@ -136,6 +145,20 @@ public class PipelineRunController extends AbstractRestController {
         return Result.success(runApiService.saveLog(log));
     }
 
+    @RequestMapping(value = "/run/{runId}/logs", method= RequestMethod.POST)
+    @ResponseBody
+    @ApiOperation(
+            value = "Adds a batch of log entries for specified pipeline run.",
+            notes = "Adds a batch of log entries for specified pipeline run. Entries are saved in the given order.",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponses(
+            value = {@ApiResponse(code = HTTP_STATUS_OK, message = API_STATUS_DESCRIPTION)
+            })
+    public Result<List<RunLog>> addLogs(@PathVariable(value = RUN_ID) Long runId, @RequestBody List<RunLog> logs) {
+        Assert.notNull(runId, "Run id is required");
+        return Result.success(runApiService.saveLogs(runId, logs));
+    }
+
     @RequestMapping(value = "/run/{runId}/logs", method= RequestMethod.GET)
     @ResponseBody
     @ApiOperation(
@@ -172,23 +195,69 @@ public class PipelineRunController extends AbstractRestController {
     @ApiResponses(
             value = {@ApiResponse(code = HTTP_STATUS_OK, message = API_STATUS_DESCRIPTION)
             })
-    public void downloadLogs(@PathVariable(value = RUN_ID) Long runId, HttpServletResponse response)
-            throws IOException {
+    public void downloadLogs(@PathVariable(value = RUN_ID) Long runId,
+                             @RequestParam(value = "gzip", required = false, defaultValue = "false") boolean gzip,
+                             HttpServletResponse response) throws IOException {
         PipelineRun run = runApiService.loadPipelineRun(runId);
-        byte[] logs = runApiService.downloadLogs(runId).getBytes(Charset.defaultCharset());
-        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setContentType(gzip ? GZIP_CONTENT_TYPE : MediaType.TEXT_PLAIN_VALUE);
         String pipelineName = !StringUtils.isEmpty(run.getPipelineName())
                 ? run.getPipelineName() : PipelineRun.DEFAULT_PIPELINE_NAME;
         String pipelineVersion = !StringUtils.isEmpty(run.getVersion()) ? run.getVersion() : "";
-        response.setHeader("Content-Disposition", String.format("attachment;filename=%s_%s_%d.log",
-                        pipelineName, pipelineVersion, run.getId()));
-        response.setContentLengthLong(logs.length);
-        try (ServletOutputStream stream = response.getOutputStream()) {
-            stream.write(logs);
-            stream.flush();
+        response.setHeader("Content-Disposition", String.format("attachment;filename=%s_%s_%d.log%s",
+                        pipelineName, pipelineVersion, run.getId(), gzip ? ".gz" : ""));
+        try (ServletOutputStream stream = response.getOutputStream();
+             Writer writer = new BufferedWriter(new OutputStreamWriter(
+                     gzip ? new GZIPOutputStream(stream) : stream, Charset.defaultCharset()))) {
+            runApiService.writeLogs(runId, writer);
         }
     }
 
+    @GetMapping(value = "/run/{runId}/logs/tail")
+    @ResponseBody
+    @ApiOperation(
+            value = "Loads new pipeline run logs.",
+            notes = "Loads logs of a pipeline run or a single run task, which were saved after the log with "
+                    + "the specified id. If log id is not specified, the last logs are loaded. "
+                    + "Logs are returned in the order of saving. Since logs may be committed out of order, "
+                    + "the last logs before the specified id are returned again, logs with already "
+                    + "loaded ids shall be skipped.",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponses(
+            value = {@ApiResponse(code = HTTP_STATUS_OK, message = API_STATUS_DESCRIPTION)
+            })
+    public Result<List<RunLog>> tailLogs(@PathVariable(value = RUN_ID) Long runId,
+            @RequestParam(value = "taskName", required = false) String taskName,
+            @RequestParam(value = "parameters", required = false) String parameters,
+            @RequestParam(value = "since", required = false) Long since,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return Result.success(runApiService.tailLogs(runId, taskName, parameters, since, limit));
+    }
+
+    @GetMapping(value = "/run/{runId}/logs/follow")
+    @ResponseBody
+    @ApiOperation(
+            value = "Waits for new pipeline run logs.",
+            notes = "Waits for logs of a pipeline run or a single run task, which are saved after the log with "
+                    + "the specified id. Returns as soon as there are new logs or with an empty list if there are "
+                    + "no new logs for a while. If log id is not specified, the last logs are loaded. "
+                    + "Since logs may be committed out of order, the last logs before the specified id are "
+                    + "returned again, logs with already loaded ids shall be skipped.",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponses(
+            value = {@ApiResponse(code = HTTP_STATUS_OK, message = API_STATUS_DESCRIPTION)
+            })
+    public DeferredResult<Result<List<RunLog>>> followLogs(@PathVariable(value = RUN_ID) Long runId,
+            @RequestParam(value = "taskName", required = false) String taskName,
+            @RequestParam(value = "parameters", required = false) String parameters,
+            @RequestParam(value = "since", required = false) Long since,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        final DeferredResult<Result<List<RunLog>>> result = new DeferredResult<>(FOLLOW_LOGS_REQUEST_TIMEOUT,
+                Result.success(Collections.emptyList()));
+        runApiService.followLogs(runId, taskName, parameters, since, limit,
+                logs -> result.setResult(Result.success(logs)));
+        return result;
+    }
+
     @RequestMapping(value = "/run/{runId}/tasks", method = RequestMethod.GET)
     @ResponseBody
     @ApiOperation(
@@ -31,12 +31,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import java.util.List;
+
 @Controller
 @Api(value = "Permissions")
 public class PermissionController extends AbstractRestController {
@@ -126,4 +129,19 @@ public class PermissionController extends AbstractRestController {
     public Result<EntityPermissionVO> loadEntityPermissions(@RequestParam Long id, @RequestParam AclClass aclClass) {
         return Result.success(permissionApiService.loadEntityPermission(id, aclClass));
     }
+
+    @PostMapping(value = "permissions/batch")
+    @ResponseBody
+    @ApiOperation(
+            value = "Loads all permissions for entities specified by IDs.",
+            notes = "Loads all permissions for entities of the same ACL class specified by IDs. "
+                    + "Entities which are not found are skipped.",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponses(
+            value = {@ApiResponse(code = HTTP_STATUS_OK, message = API_STATUS_DESCRIPTION)
+            })
+    public Result<List<EntityPermissionVO>> loadEntitiesPermissions(@RequestParam AclClass aclClass,
+                                                                    @RequestBody List<Long> ids) {
+        return Result.success(permissionApiService.loadEntitiesPermissions(aclClass, ids));
+    }
 }
@@ -49,6 +49,7 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -81,6 +82,7 @@ public class DataStorageDao extends NamedParameterJdbcDaoSupport {
     private String loadStorageCountQuery;
     private String loadAllStoragesWithParentsQuery;
     private String loadStorageWithParentsQuery;
+    private String loadStoragesWithParentsQuery;
     private String loadDataStorageByPrefixesQuery;
     private String loadDataStoragesByIdsQuery;
     private String loadDataStoragesFileShareId;
@@ -273,6 +275,16 @@ public class DataStorageDao extends NamedParameterJdbcDaoSupport {
                 .orElse(null);
     }
 
+    public Collection<AbstractDataStorage> loadStoragesWithParents(final List<Long> ids) {
+        if (CollectionUtils.isEmpty(ids)) {
+            return Collections.emptyList();
+        }
+        final MapSqlParameterSource params = new MapSqlParameterSource();
+        params.addValue(DataStorageParameters.DATASTORAGE_IDS.name(), ids);
+        return getNamedParameterJdbcTemplate().query(loadStoragesWithParentsQuery, params,
+                DataStorageParameters.getDataStorageWithFolderTreeExtractor());
+    }
+
     @Transactional(propagation = Propagation.MANDATORY)
     public void updateLocks(List<Long> storageIds, boolean isLocked) {
         daoHelper.updateLocks(updateStorageLocksQuery, storageIds, isLocked);
@@ -362,6 +374,11 @@ public class DataStorageDao extends NamedParameterJdbcDaoSupport {
         this.loadStorageWithParentsQuery = loadStorageWithParentsQuery;
     }
 
+    @Required
+    public void setLoadStoragesWithParentsQuery(final String loadStoragesWithParentsQuery) {
+        this.loadStoragesWithParentsQuery = loadStoragesWithParentsQuery;
+    }
+
     @Required
     public void setLoadDataStorageByPrefixesQuery(String loadDataStorageByPrefixesQuery) {
         this.loadDataStorageByPrefixesQuery = loadDataStorageByPrefixesQuery;
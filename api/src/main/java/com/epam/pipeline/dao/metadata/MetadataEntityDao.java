@@ -66,6 +66,8 @@ public class MetadataEntityDao extends NamedParameterJdbcDaoSupport {
     private Pattern orderPattern = Pattern.compile("@ORDER_CLAUSE@");
     private Pattern searchPattern = Pattern.compile("@QUERY@");
     private static final String AND = " AND ";
+    private static final String LAST_ENTITY_ID = "LAST_ENTITY_ID";
+    private static final String KEYSET_ORDER_CLAUSE = " ORDER BY e.entity_id";
     private static final String OR = " OR ";
     private static final int BATCH_SIZE = 1000;
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
@@ -236,7 +238,12 @@ public class MetadataEntityDao extends NamedParameterJdbcDaoSupport {
         MapSqlParameterSource params = MetadataEntityParameters
                 .getClassFolderParameters(filter.getMetadataClass(), filter.getFolderId());
         params.addValue("LIMIT", filter.getPageSize());
-        params.addValue("OFFSET", (filter.getPage() - 1) * filter.getPageSize());
+        if (filter.getLastEntityId() != null) {
+            params.addValue(LAST_ENTITY_ID, filter.getLastEntityId());
+            params.addValue("OFFSET", 0);
+        } else {
+            params.addValue("OFFSET", (filter.getPage() - 1) * filter.getPageSize());
+        }
         String query = buildFilterQuery(filter);
         return getNamedParameterJdbcTemplate().query(query, params, MetadataEntityParameters.getRowMapper());
     }
@@ -299,8 +306,10 @@ public class MetadataEntityDao extends NamedParameterJdbcDaoSupport {
 
     private String buildFilterQuery(MetadataFilter filter) {
         String baseQuery = filter.isRecursive() ? recursiveFilterQuery : baseFilterQuery;
-        baseQuery = wherePattern.matcher(baseQuery).replaceFirst(makeWhereClause(filter));
-        baseQuery = orderPattern.matcher(baseQuery).replaceFirst(makerOrderClause(filter));
+        baseQuery = wherePattern.matcher(baseQuery).replaceFirst(makeWhereClause(filter) + makeKeysetClause(filter));
+        baseQuery = orderPattern.matcher(baseQuery).replaceFirst(filter.getLastEntityId() != null
+                ? KEYSET_ORDER_CLAUSE
+                : makerOrderClause(filter));
         return daoHelper.escapeUnderscoreParam(baseQuery);
     }
 
@@ -314,6 +323,12 @@ public class MetadataEntityDao extends NamedParameterJdbcDaoSupport {
         return daoHelper.escapeUnderscoreParam(baseQuery);
     }
 
+    private String makeKeysetClause(MetadataFilter filter) {
+        return filter.getLastEntityId() != null
+                ? AND + "e.entity_id > :" + LAST_ENTITY_ID
+                : StringUtils.EMPTY;
+    }
+
     private String makerOrderClause(MetadataFilter filter) {
         StringBuilder clause = new StringBuilder();
         if (CollectionUtils.isNotEmpty(filter.getOrderBy())) {
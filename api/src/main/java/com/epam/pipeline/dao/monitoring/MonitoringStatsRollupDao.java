@@ -0,0 +1,299 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.dao.monitoring;
+
+import com.epam.pipeline.config.JsonMapper;
+import com.epam.pipeline.entity.cluster.monitoring.MonitoringRollupResolution;
+import com.epam.pipeline.entity.cluster.monitoring.MonitoringStats;
+import com.epam.pipeline.entity.utils.DateUtils;
+import com.epam.pipeline.exception.PipelineException;
+import com.epam.pipeline.manager.cluster.performancemonitoring.MonitoringConstants;
+import com.fasterxml.jackson.core.type.TypeReference;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Value;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.http.entity.ContentType;
+import org.apache.http.nio.entity.NStringEntity;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.support.IndicesOptions;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.metrics.max.Max;
+import org.elasticsearch.search.aggregations.metrics.min.Min;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Stores downsampled node monitoring stats in daily elasticsearch indices, one index per resolution and day:
+ * {@code monitoring-rollup-<resolution>-yyyy.MM.dd}.
+ *
+ * Each document holds stats of a single node for a single resolution bucket and is identified by the node name
+ * and the bucket start, so repeated rollups of the same bucket overwrite each other.
+ */
+@Repository
+@ConditionalOnProperty("monitoring.elasticsearch.url")
+public class MonitoringStatsRollupDao {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+    private static final String INDEX_NAME_TOKEN = "monitoring-rollup-";
+    private static final String INDEX_NAME_PATTERN = INDEX_NAME_TOKEN + "%s-%s";
+    private static final String DOCUMENT_TYPE = "rollup";
+    private static final String TEMPLATE_ENDPOINT = "/_template/monitoring-rollup";
+    private static final String TEMPLATE = "{\"template\":\"" + INDEX_NAME_TOKEN + "*\","
+            + "\"mappings\":{\"" + DOCUMENT_TYPE + "\":{\"properties\":{"
+            + "\"node\":{\"type\":\"keyword\"},"
+            + "\"timestamp\":{\"type\":\"long\"},"
+            + "\"stats\":{\"type\":\"object\",\"enabled\":false}}}}}";
+    private static final String FIELD_NODE = "node";
+    private static final String FIELD_TIMESTAMP = "timestamp";
+    private static final String AGGREGATION_FROM = "from";
+    private static final String AGGREGATION_TO = "to";
+    private static final int PAGE_SIZE = 1000;
+
+    private static final IndicesOptions INDICES_OPTIONS = IndicesOptions.fromOptions(true,
+            SearchRequest.DEFAULT_INDICES_OPTIONS.allowNoIndices(),
+            SearchRequest.DEFAULT_INDICES_OPTIONS.expandWildcardsOpen(),
+            SearchRequest.DEFAULT_INDICES_OPTIONS.expandWildcardsClosed(),
+            SearchRequest.DEFAULT_INDICES_OPTIONS);
+
+    private final RestHighLevelClient client;
+    private final RestClient lowLevelClient;
+    private final AtomicBoolean templateCreated = new AtomicBoolean();
+
+    @Autowired
+    public MonitoringStatsRollupDao(final RestHighLevelClient client, final RestClient lowLevelClient) {
+        this.client = client;
+        this.lowLevelClient = lowLevelClient;
+    }
+
+    /**
+     * Saves rolled up stats of a node. Start time of each stats entry is used as the bucket start.
+     */
+    public void save(final String nodeName, final MonitoringRollupResolution resolution,
+                     final List<MonitoringStats> stats) {
+        if (CollectionUtils.isEmpty(stats)) {
+            return;
+        }
+        createTemplateIfMissing();
+        final BulkRequest request = new BulkRequest();
+        stats.forEach(it -> {
+            final LocalDateTime start = LocalDateTime.parse(it.getStartTime(), MonitoringConstants.FORMATTER);
+            final long timestamp = start.toInstant(ZoneOffset.UTC).toEpochMilli();
+            request.add(new IndexRequest(indexName(resolution, start.toLocalDate()), DOCUMENT_TYPE,
+                    nodeName + "-" + timestamp)
+                    .source(JsonMapper.convertDataToJsonStringForQuery(new RollupDocument(nodeName, timestamp, it)),
+                            XContentType.JSON));
+        });
+        try {
+            final BulkResponse response = client.bulk(request);
+            if (response.hasFailures()) {
+                throw new IllegalStateException(response.buildFailureMessage());
+            }
+        } catch (IOException e) {
+            throw new PipelineException(e);
+        }
+    }
+
+    /**
+     * Loads rolled up stats of a node which buckets start within the given period.
+     */
+    public List<MonitoringStats> load(final String nodeName, final MonitoringRollupResolution resolution,
+                                      final LocalDateTime from, final LocalDateTime to) {
+        final List<MonitoringStats> stats = new ArrayList<>();
+        final String[] indices = indexNames(resolution, from, to);
+        Object[] searchAfter = null;
+        while (true) {
+            final SearchSourceBuilder source = new SearchSourceBuilder()
+                    .query(QueryBuilders.boolQuery()
+                            .filter(QueryBuilders.termQuery(FIELD_NODE, nodeName))
+                            .filter(QueryBuilders.rangeQuery(FIELD_TIMESTAMP)
+                                    .gte(toMillis(from))
+                                    .lt(toMillis(to))))
+                    .sort(FIELD_TIMESTAMP, SortOrder.ASC)
+                    .size(PAGE_SIZE);
+            if (searchAfter != null) {
+                source.searchAfter(searchAfter);
+            }
+            final SearchHit[] hits = search(new SearchRequest(indices).source(source).indicesOptions(INDICES_OPTIONS))
+                    .getHits().getHits();
+            for (SearchHit hit : hits) {
+                final RollupDocument document = JsonMapper.parseData(hit.getSourceAsString(),
+                        new TypeReference<RollupDocument>() {});
+                stats.add(document.getStats());
+            }
+            if (hits.length < PAGE_SIZE) {
+                return stats;
+            }
+            searchAfter = hits[hits.length - 1].getSortValues();
+        }
+    }
+
+    /**
+     * Returns the period covered by rolled up stats of the given node and resolution. A node may be rolled up
+     * for a shorter period than the others, e.g. if it was launched or terminated in between.
+     */
+    public Optional<RollupCoverage> loadCoverage(final String nodeName, final MonitoringRollupResolution resolution) {
+        return loadCoverage(resolution, QueryBuilders.termQuery(FIELD_NODE, nodeName));
+    }
+
+    /**
+     * Deletes rollup indices which are older than retention period (in days).
+     */
+    public void deleteIndices(final int retentionPeriodDays) {
+        try {
+            final Response response = lowLevelClient.performRequest(HttpMethod.GET.name(),
+                    "/_cat/indices/" + INDEX_NAME_TOKEN + "*?h=index");
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.getEntity().getContent()))) {
+                final LocalDate oldestDate = DateUtils.nowUTC().toLocalDate().minusDays(retentionPeriodDays + 1L);
+                final String indicesToDelete = reader.lines()
+                        .map(String::trim)
+                        .filter(index -> indexDate(index).filter(date -> date.isBefore(oldestDate)).isPresent())
+                        .collect(Collectors.joining(","));
+                if (!indicesToDelete.isEmpty()) {
+                    lowLevelClient.performRequest(HttpMethod.DELETE.name(), "/" + indicesToDelete);
+                }
+            }
+        } catch (IOException e) {
+            throw new PipelineException(e);
+        }
+    }
+
+    private void createTemplateIfMissing() {
+        if (templateCreated.get()) {
+            return;
+        }
+        try {
+            lowLevelClient.performRequest(HttpMethod.PUT.name(), TEMPLATE_ENDPOINT, Collections.emptyMap(),
+                    new NStringEntity(TEMPLATE, ContentType.APPLICATION_JSON));
+            templateCreated.set(true);
+        } catch (IOException e) {
+            throw new PipelineException(e);
+        }
+    }
+
+    private Optional<RollupCoverage> loadCoverage(final MonitoringRollupResolution resolution,
+                                                  final QueryBuilder query) {
+        final SearchResponse response = search(new SearchRequest(String.format(INDEX_NAME_PATTERN,
+                resolution.getName(), "*"))
+                .source(new SearchSourceBuilder()
+                        .size(0)
+                        .query(query)
+                        .aggregation(AggregationBuilders.min(AGGREGATION_FROM).field(FIELD_TIMESTAMP))
+                        .aggregation(AggregationBuilders.max(AGGREGATION_TO).field(FIELD_TIMESTAMP)))
+                .indicesOptions(INDICES_OPTIONS));
+        return Optional.ofNullable(response.getAggregations())
+                .map(aggregations -> ImmutablePair.of(aggregations.<Min>get(AGGREGATION_FROM),
+                        aggregations.<Max>get(AGGREGATION_TO)))
+                .filter(pair -> pair.left != null && pair.right != null)
+                .filter(pair -> !Double.isInfinite(pair.left.getValue()) && !Double.isInfinite(pair.right.getValue()))
+                .map(pair -> new RollupCoverage(fromMillis((long) pair.left.getValue()),
+                        fromMillis((long) pair.right.getValue()).plus(resolution.getDuration())));
+    }
+
+    private SearchResponse search(final SearchRequest request) {
+        try {
+            return client.search(request);
+        } catch (IOException e) {
+            throw new PipelineException(e);
+        }
+    }
+
+    private String[] indexNames(final MonitoringRollupResolution resolution,
+                                final LocalDateTime from, final LocalDateTime to) {
+        final LocalDate fromDate = from.toLocalDate();
+        final LocalDate toDate = to.toLocalDate();
+        return Stream.iterate(fromDate, date -> date.plusDays(1))
+                .limit(fromDate.until(toDate, ChronoUnit.DAYS) + 1)
+                .map(date -> indexName(resolution, date))
+                .toArray(String[]::new);
+    }
+
+    private String indexName(final MonitoringRollupResolution resolution, final LocalDate date) {
+        return String.format(INDEX_NAME_PATTERN, resolution.getName(), date.format(DATE_FORMATTER));
+    }
+
+    private Optional<LocalDate> indexDate(final String index) {
+        final int dateStart = index.lastIndexOf('-') + 1;
+        if (!index.startsWith(INDEX_NAME_TOKEN) || dateStart <= 0) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(LocalDate.parse(index.substring(dateStart), DATE_FORMATTER));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    private long toMillis(final LocalDateTime date) {
+        return date.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private LocalDateTime fromMillis(final long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    @Value
+    public static class RollupCoverage {
+        LocalDateTime from;
+        LocalDateTime to;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    private static class RollupDocument {
+        private String node;
+        private long timestamp;
+        private MonitoringStats stats;
+    }
+}
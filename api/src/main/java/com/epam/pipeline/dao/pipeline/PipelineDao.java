@@ -19,6 +19,7 @@ package com.epam.pipeline.dao.pipeline;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.regex.Pattern;
@@ -32,6 +33,7 @@ import com.epam.pipeline.entity.pipeline.Folder;
 import com.epam.pipeline.entity.pipeline.Pipeline;
 import com.epam.pipeline.entity.pipeline.PipelineType;
 import com.epam.pipeline.entity.pipeline.RepositoryType;
+import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Required;
 import org.springframework.jdbc.core.ResultSetExtractor;
@@ -61,6 +63,7 @@ public class PipelineDao extends NamedParameterJdbcDaoSupport {
     private String loadAllPipelinesWithParentsQuery;
     private String loadPipelinesCountQuery;
     private String loadPipelineWithParentsQuery;
+    private String loadPipelinesWithParentsQuery;
 
     @Transactional(propagation = Propagation.MANDATORY)
     public Long createPipelineId() {
@@ -139,6 +142,16 @@ public class PipelineDao extends NamedParameterJdbcDaoSupport {
                 .orElse(null);
     }
 
+    public Collection<Pipeline> loadPipelinesWithParents(final List<Long> ids) {
+        if (CollectionUtils.isEmpty(ids)) {
+            return Collections.emptyList();
+        }
+        final MapSqlParameterSource params = new MapSqlParameterSource();
+        params.addValue("IDS", ids);
+        return getNamedParameterJdbcTemplate().query(loadPipelinesWithParentsQuery, params,
+                PipelineParameters.getPipelineWithFolderTreeExtractor());
+    }
+
     enum PipelineParameters {
         PIPELINE_ID,
         PIPELINE_NAME,
@@ -291,4 +304,9 @@ public class PipelineDao extends NamedParameterJdbcDaoSupport {
     public void setLoadPipelineWithParentsQuery(String loadPipelineWithParentsQuery) {
         this.loadPipelineWithParentsQuery = loadPipelineWithParentsQuery;
     }
+
+    @Required
+    public void setLoadPipelinesWithParentsQuery(final String loadPipelinesWithParentsQuery) {
+        this.loadPipelinesWithParentsQuery = loadPipelinesWithParentsQuery;
+    }
 }
@@ -247,6 +247,14 @@ public class PipelineRunDao extends NamedParameterJdbcDaoSupport {
                 .getParameters(run, getConnection()));
     }
 
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void updateRunsStatuses(final Collection<PipelineRun> runs) {
+        if (CollectionUtils.isEmpty(runs)) {
+            return;
+        }
+        getNamedParameterJdbcTemplate().batchUpdate(updateRunStatusQuery, getParamsForBatchUpdate(runs));
+    }
+
     @Transactional(propagation = Propagation.MANDATORY)
     public void updateRunCommitStatus(PipelineRun run) {
         getNamedParameterJdbcTemplate().update(updateRunCommitStatusQuery, PipelineRunParameters
@@ -16,10 +16,13 @@
 
 package com.epam.pipeline.dao.pipeline;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.Timestamp;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import com.epam.pipeline.entity.pipeline.PipelineTask;
@@ -27,6 +30,7 @@ import com.epam.pipeline.entity.pipeline.RunLog;
 import com.epam.pipeline.entity.pipeline.TaskStatus;
 import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.beans.factory.annotation.Required;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcDaoSupport;
@@ -35,12 +39,19 @@ import org.springframework.transaction.annotation.Transactional;
 
 public class RunLogDao extends NamedParameterJdbcDaoSupport {
 
+    private static final int FETCH_SIZE = 1000;
+    private static final String LIMIT = "LIMIT";
+    private static final String WINDOW = "WINDOW";
+
     private String createPipelineLogQuery;
     private String loadAllLogsByRunIdQuery;
     private String loadAllLogsForTaskQuery;
+    private String loadLogsSinceQuery;
+    private String loadLastLogsQuery;
     private String loadTasksByRunIdQuery;
     private String loadTaskForInstanceQuery;
     private String loadTaskStatusQuery;
+    private String loadTaskStatusesQuery;
 
     @Transactional(propagation = Propagation.MANDATORY)
     public void createRunLog(RunLog runLog) {
@@ -48,12 +59,70 @@ public class RunLogDao extends NamedParameterJdbcDaoSupport {
                 .getParameters(runLog));
     }
 
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void createRunLogs(List<RunLog> runLogs) {
+        final MapSqlParameterSource[] params = runLogs.stream()
+                .map(PipelineLogParameters::getParameters)
+                .toArray(MapSqlParameterSource[]::new);
+        getNamedParameterJdbcTemplate().batchUpdate(createPipelineLogQuery, params);
+    }
+
+    /**
+     * Writes logs in a separate transaction, so that a failed write doesn't mark the caller's transaction
+     * as rollback-only.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void createRunLogsInNewTransaction(List<RunLog> runLogs) {
+        createRunLogs(runLogs);
+    }
+
     @Transactional(propagation = Propagation.SUPPORTS)
     public List<RunLog> loadAllLogsForRun(Long runId) {
         return getJdbcTemplate().query(loadAllLogsByRunIdQuery,
                 PipelineLogParameters.getRowMapper(), runId);
     }
 
+    /**
+     * Passes all logs of the run to the given consumer one by one. Logs are read using a database cursor
+     * within a read-only transaction to avoid fetching all logs at once.
+     */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
+    public void loadAllLogsForRun(Long runId, Consumer<RunLog> consumer) {
+        final RowMapper<RunLog> rowMapper = PipelineLogParameters.getRowMapper();
+        getJdbcTemplate().query(connection -> {
+            final PreparedStatement statement = connection.prepareStatement(loadAllLogsByRunIdQuery,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setLong(1, runId);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(rowMapper.mapRow(rs, rs.getRow())));
+    }
+
+    /**
+     * Loads logs of the run, which were saved after the log with the given id, in the order of saving.
+     * If log id is not specified, the last saved logs are loaded.
+     *
+     * Since log ids are not assigned in the order of commit, up to {@code window} logs of the run preceding
+     * the given one are loaded as well, callers shall skip the ones which were already loaded.
+     *
+     * @param runId run id
+     * @param taskName optional task name to load logs of a single task
+     * @param sinceLogId optional id of the last log, which is already loaded
+     * @param window number of logs of the run before the given one, which are loaded again
+     * @param limit maximum number of logs after the given one to load
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<RunLog> loadLogsSince(Long runId, String taskName, Long sinceLogId, int window, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        params.addValue(PipelineLogParameters.RUN_ID.name(), runId);
+        params.addValue(PipelineLogParameters.TASK_NAME.name(), taskName);
+        params.addValue(PipelineLogParameters.LOG_ID.name(), sinceLogId);
+        params.addValue(WINDOW, window);
+        params.addValue(LIMIT, limit);
+        return getNamedParameterJdbcTemplate().query(sinceLogId == null ? loadLastLogsQuery : loadLogsSinceQuery,
+                params, PipelineLogParameters.getRowMapper());
+    }
+
     @Transactional(propagation = Propagation.SUPPORTS)
     public List<RunLog> loadAllLogsForTask(Long runId, String taskName) {
         return getJdbcTemplate().query(loadAllLogsForTaskQuery,
@@ -76,6 +145,16 @@ public class RunLogDao extends NamedParameterJdbcDaoSupport {
         return CollectionUtils.isEmpty(result) ? null : result.get(0);
     }
 
+    /**
+     * Loads the last status of each task of the run.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<PipelineTask> loadTaskStatuses(Long runId) {
+        List<PipelineTask> result = getJdbcTemplate().query(loadTaskStatusesQuery,
+                PipelineLogParameters.getTaskRowMapper(false), runId);
+        return result.stream().filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
     @Transactional(propagation = Propagation.SUPPORTS)
     public List<PipelineTask> loadTaskByInstance(Long runId, String instance) {
         return getJdbcTemplate().query(loadTaskForInstanceQuery,
@@ -83,6 +162,7 @@ public class RunLogDao extends NamedParameterJdbcDaoSupport {
     }
 
     enum PipelineLogParameters {
+        LOG_ID,
         RUN_ID,
         LOG_DATE,
         STATUS,
@@ -139,6 +219,7 @@ public class RunLogDao extends NamedParameterJdbcDaoSupport {
         static RowMapper<RunLog> getRowMapper() {
             return (rs, rowNum) -> {
                 RunLog runLog = new RunLog();
+                runLog.setId(rs.getLong(LOG_ID.name()));
                 runLog.setRunId(rs.getLong(RUN_ID.name()));
                 runLog.setDate(new Date(rs.getTimestamp(LOG_DATE.name()).getTime()));
                 runLog.setStatus(TaskStatus.getById(rs.getLong(STATUS.name())));
@@ -169,6 +250,16 @@ public class RunLogDao extends NamedParameterJdbcDaoSupport {
         this.loadAllLogsByRunIdQuery = loadAllLogsByRunIdQuery;
     }
 
+    @Required
+    public void setLoadLogsSinceQuery(String loadLogsSinceQuery) {
+        this.loadLogsSinceQuery = loadLogsSinceQuery;
+    }
+
+    @Required
+    public void setLoadLastLogsQuery(String loadLastLogsQuery) {
+        this.loadLastLogsQuery = loadLastLogsQuery;
+    }
+
     @Required
     public void setLoadTasksByRunIdQuery(String loadTasksByRunIdQuery) {
         this.loadTasksByRunIdQuery = loadTasksByRunIdQuery;
@@ -189,4 +280,9 @@ public class RunLogDao extends NamedParameterJdbcDaoSupport {
         this.loadTaskStatusQuery = loadTaskStatusQuery;
     }
 
+    @Required
+    public void setLoadTaskStatusesQuery(String loadTaskStatusesQuery) {
+        this.loadTaskStatusesQuery = loadTaskStatusesQuery;
+    }
+
 }
@@ -23,7 +23,7 @@ import java.time.LocalDateTime;
 import java.util.Map;
 
 @Value
-@Builder
+@Builder(toBuilder = true)
 public class BillingChartInfo {
 
     private Map<String, String> groupingInfo;
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.entity.cluster.monitoring;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Resolutions of downsampled node monitoring stats series.
+ */
+@Getter
+@AllArgsConstructor
+public enum MonitoringRollupResolution {
+
+    ONE_MINUTE("1m", Duration.ofMinutes(1)),
+    TEN_MINUTES("10m", Duration.ofMinutes(10)),
+    ONE_HOUR("1h", Duration.ofHours(1));
+
+    private final String name;
+    private final Duration duration;
+
+    /**
+     * Returns the coarsest resolution which is not coarser than the given interval.
+     */
+    public static Optional<MonitoringRollupResolution> notCoarserThan(final Duration interval) {
+        return Stream.of(values())
+                .filter(it -> it.duration.compareTo(interval) <= 0)
+                .max(Comparator.comparing(MonitoringRollupResolution::getDuration));
+    }
+
+    /**
+     * Returns the resolution which is exactly the given interval.
+     */
+    public static Optional<MonitoringRollupResolution> of(final Duration interval) {
+        return Stream.of(values())
+                .filter(it -> it.duration.equals(interval))
+                .findFirst();
+    }
+
+    /**
+     * Returns the start of a resolution bucket which contains the given date.
+     */
+    public LocalDateTime truncate(final LocalDateTime date) {
+        final long millis = date.toInstant(ZoneOffset.UTC).toEpochMilli();
+        final long bucketMillis = duration.toMillis();
+        return LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC)
+                .plus(Duration.ofMillis(millis - Math.floorMod(millis, bucketMillis)));
+    }
+}
@@ -62,12 +62,20 @@ public class MetadataFilter {
     private LocalDateTime endDateTo;
     @ApiModelProperty(notes = "Logical operator for search queries. Default: OR", allowableValues = "AND, OR")
     private LogicalSearchOperator logicalSearchOperator = LogicalSearchOperator.OR;
+    @ApiModelProperty(notes = "ID of the last entity of the previous page. If specified, the next page "
+            + "of entities ordered by ID is returned instead of the page with the given index, "
+            + "custom sorting is not supported in this mode")
+    private Long lastEntityId;
+    @ApiModelProperty(notes = "if true, the total count may be returned from a short-lived cache "
+            + "instead of being calculated for each page")
+    private boolean approximateCount = false;
 
 
     @Getter
     @Setter
     @NoArgsConstructor
     @AllArgsConstructor
+    @EqualsAndHashCode
     public static class FilterQuery {
         private String key;
         private List<String> values;
@@ -78,6 +86,7 @@ public class MetadataFilter {
     @Setter
     @NoArgsConstructor
     @AllArgsConstructor
+    @EqualsAndHashCode
     public static class OrderBy {
         private String field;
         private boolean desc = false;
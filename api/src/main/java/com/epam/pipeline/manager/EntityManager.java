@@ -88,4 +88,9 @@ public class EntityManager {
     public AbstractSecuredEntity loadEntityWithParents(final AclClass aclClass, final Long id) {
         return getEntityManager(aclClass).loadWithParents(id);
     }
+
+    public Collection<? extends AbstractSecuredEntity> loadEntitiesWithParents(final AclClass aclClass,
+                                                                              final List<Long> ids) {
+        return getEntityManager(aclClass).loadWithParentsByIds(ids);
+    }
 }
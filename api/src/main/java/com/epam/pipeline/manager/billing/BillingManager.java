@@ -32,6 +32,7 @@ import com.epam.pipeline.manager.utils.GlobalSearchElasticHelper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.http.HttpEntity;
 import org.apache.http.client.methods.HttpPost;
@@ -42,7 +43,6 @@ import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.support.IndicesOptions;
 import org.elasticsearch.client.Response;
-import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.common.ParseField;
 import org.elasticsearch.common.xcontent.ContextParser;
@@ -66,6 +66,8 @@ import org.elasticsearch.search.aggregations.bucket.terms.ParsedTerms;
 import org.elasticsearch.search.aggregations.bucket.terms.StringTerms;
 import org.elasticsearch.search.aggregations.bucket.terms.Terms;
 import org.elasticsearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
+import org.elasticsearch.search.aggregations.metrics.cardinality.CardinalityAggregationBuilder;
+import org.elasticsearch.search.aggregations.metrics.cardinality.ParsedCardinality;
 import org.elasticsearch.search.aggregations.metrics.sum.ParsedSum;
 import org.elasticsearch.search.aggregations.metrics.sum.SumAggregationBuilder;
 import org.elasticsearch.search.aggregations.metrics.valuecount.ParsedValueCount;
@@ -96,7 +98,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -129,15 +133,19 @@ public class BillingManager {
     private static final String ES_ELEMENTS_SEPARATOR = ",";
     private static final String ES_FILTER_PATH = "filter_path";
     private static final String ES_INDICES_SEARCH_PATTERN = "/%s/_search";
+    private static final String GROUPING_SEARCH_REQUEST_TYPE = "billing_grouping";
     private static final String FIRST_LEVEL_AGG_PATTERN = "aggregations.*#%s";
     private static final String FIRST_LEVEL_TERMS_AGG_BUCKETS_PATTERN = FIRST_LEVEL_AGG_PATTERN + ".buckets";
     private static final String ES_TERMS_AGG_BUCKET_KEY = "key";
     private static final String BUCKET_DOCUMENTS = "bucketDocs";
+    private static final String GROUPS_COUNT_AGG = "groups_count";
+    private static final int GROUPS_COUNT_PRECISION_THRESHOLD = 40000;
 
     private final AuthManager authManager;
     private final MessageHelper messageHelper;
     private final MetadataManager metadataManager;
     private final GlobalSearchElasticHelper elasticHelper;
+    private final BillingReportCache reportCache;
     private final String billingIndicesMonthlyPattern;
     private final Map<DateHistogramInterval, TemporalAdjuster> periodAdjusters;
     private final List<DateHistogramInterval> validIntervals;
@@ -157,6 +165,7 @@ public class BillingManager {
                           final MessageHelper messageHelper,
                           final MetadataManager metadataManager,
                           final GlobalSearchElasticHelper globalSearchElasticHelper,
+                          final BillingReportCache reportCache,
                           final @Value("${billing.index.common.prefix}") String commonPrefix,
                           final @Value("${billing.empty.report.value:unknown}") String emptyValue,
                           final @Value("${billing.center.key}") String billingCenterKey,
@@ -165,6 +174,7 @@ public class BillingManager {
         this.messageHelper = messageHelper;
         this.metadataManager = metadataManager;
         this.elasticHelper = globalSearchElasticHelper;
+        this.reportCache = reportCache;
         this.emptyValue = emptyValue;
         this.billingCenterKey = billingCenterKey;
         this.billingIndicesMonthlyPattern = String.join("-",
@@ -202,32 +212,41 @@ public class BillingManager {
 
     public List<BillingChartInfo> getBillingChartInfo(final BillingChartRequest request) {
         verifyRequest(request);
-        try (RestClient lowLevelEsClient = elasticHelper.buildLowLevelClient()) {
-            final RestHighLevelClient elasticsearchClient = new RestHighLevelClient(lowLevelEsClient);
-            final LocalDate from = request.getFrom();
-            final LocalDate to = request.getTo();
-            final BillingGrouping grouping = request.getGrouping();
-            final DateHistogramInterval interval = request.getInterval();
-            final Map<String, List<String>> filters = MapUtils.isEmpty(request.getFilters())
-                                                      ? new HashMap<>()
-                                                      : request.getFilters();
-            setAuthorizationFilters(filters);
+        final LocalDate from = request.getFrom();
+        final LocalDate to = request.getTo();
+        final BillingGrouping grouping = request.getGrouping();
+        final DateHistogramInterval interval = request.getInterval();
+        final Map<String, List<String>> filters = getFilters(request);
+        return reportCache.get(normalize(request, filters, null, null), () -> {
             if (interval != null) {
-                return getBillingStats(elasticsearchClient, from, to, filters, interval);
+                return getBillingStats(elasticHelper.getClient(), from, to, filters, interval);
             } else {
-                return getBillingStats(lowLevelEsClient, from, to, filters, grouping, request.isLoadDetails());
+                return getBillingStats(from, to, filters, grouping, request.isLoadDetails());
             }
-        } catch (IOException e) {
-            throw new SearchException(e.getMessage(), e);
-        }
+        });
     }
 
+    /**
+     * Returns a single page of a grouped billing report. Only the buckets up to the requested page are
+     * transferred from Elasticsearch and entity details are loaded for the page rows only. The total number
+     * of pages is based on a cardinality aggregation which is exact for up to
+     * {@value GROUPS_COUNT_PRECISION_THRESHOLD} groups.
+     */
     public List<BillingChartInfo> getBillingChartInfoPaginated(final BillingChartRequest request) {
         verifyPagingParameters(request);
-        return paginateResult(getBillingChartInfo(request),
-                              request.getGrouping(),
-                              request.getPageNum(),
-                              request.getPageSize());
+        if (request.getPageSize() == null || request.getGrouping() == null || request.getInterval() != null) {
+            return paginateResult(getBillingChartInfo(request),
+                                  request.getGrouping(),
+                                  request.getPageNum(),
+                                  request.getPageSize());
+        }
+        verifyRequest(request);
+        final Map<String, List<String>> filters = getFilters(request);
+        final long pageNum = Optional.ofNullable(request.getPageNum()).orElse(0L);
+        final long pageSize = request.getPageSize();
+        return reportCache.get(normalize(request, filters, pageNum, pageSize), () ->
+            getBillingStatsPage(request.getFrom(), request.getTo(), filters, request.getGrouping(),
+                                request.isLoadDetails(), pageNum, pageSize));
     }
 
     public List<String> getAllBillingCenters() {
@@ -260,6 +279,31 @@ public class BillingManager {
         }
     }
 
+    private Map<String, List<String>> getFilters(final BillingChartRequest request) {
+        final Map<String, List<String>> filters = MapUtils.isEmpty(request.getFilters())
+                                                  ? new HashMap<>()
+                                                  : new HashMap<>(request.getFilters());
+        setAuthorizationFilters(filters);
+        return filters;
+    }
+
+    /**
+     * Builds a cache key of the request: filters include authorization filters and are sorted,
+     * so that equal requests of users with the same billing access share the same report.
+     */
+    private BillingChartRequest normalize(final BillingChartRequest request,
+                                          final Map<String, List<String>> filters,
+                                          final Long pageNum, final Long pageSize) {
+        final Map<String, List<String>> normalizedFilters = new TreeMap<>();
+        filters.forEach((key, values) -> normalizedFilters.put(key, ListUtils.emptyIfNull(values).stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .sorted()
+            .collect(Collectors.toList())));
+        return new BillingChartRequest(request.getFrom(), request.getTo(), normalizedFilters, request.getInterval(),
+                                       request.getGrouping(), request.isLoadDetails(), pageSize, pageNum);
+    }
+
     private void setAuthorizationFilters(final Map<String, List<String>> filters) {
         final PipelineUser authorizedUser = authManager.getCurrentUser();
         if (!hasFullBillingAccess(authorizedUser)) {
@@ -309,18 +353,71 @@ public class BillingManager {
         }
     }
 
-    private List<BillingChartInfo> getBillingStats(final RestClient elasticsearchLowLevelClient,
-                                                   final LocalDate from, final LocalDate to,
+    private List<BillingChartInfo> getBillingStats(final LocalDate from, final LocalDate to,
                                                    final Map<String, List<String>> filters,
                                                    final BillingGrouping grouping,
                                                    final boolean isLoadDetails) {
+        final SearchRequest searchRequest = buildGroupingRequest(from, to, filters, grouping, Integer.MAX_VALUE);
+        try {
+            final SearchResponse searchResponse =
+                searchForGrouping(searchRequest, grouping.getCorrespondingField());
+            final List<BillingChartInfo> billingChartInfoForGrouping =
+                getBillingChartInfoForGrouping(from, to, grouping, searchResponse, isLoadDetails, 0);
+            return CollectionUtils.isEmpty(billingChartInfoForGrouping)
+                   ? getEmptyGroupingResponse(grouping)
+                   : billingChartInfoForGrouping;
+        } catch (IOException e) {
+            log.error(e.getMessage(), e);
+            throw new SearchException(e.getMessage(), e);
+        }
+    }
+
+    private List<BillingChartInfo> getBillingStatsPage(final LocalDate from, final LocalDate to,
+                                                       final Map<String, List<String>> filters,
+                                                       final BillingGrouping grouping,
+                                                       final boolean isLoadDetails,
+                                                       final long pageNum, final long pageSize) {
+        final long offset = pageNum * pageSize;
+        final long bucketsCount = offset + pageSize;
+        if (bucketsCount > Integer.MAX_VALUE) {
+            return getEmptyGroupingResponse(grouping);
+        }
+        final String groupingField = grouping.getCorrespondingField();
+        final SearchRequest searchRequest = buildGroupingRequest(from, to, filters, grouping, (int) bucketsCount);
+        searchRequest.source().aggregation(AggregationBuilders.cardinality(GROUPS_COUNT_AGG)
+                                               .field(groupingField)
+                                               .precisionThreshold(GROUPS_COUNT_PRECISION_THRESHOLD));
+        try {
+            final SearchResponse searchResponse = searchForGrouping(searchRequest, groupingField);
+            final List<BillingChartInfo> page =
+                getBillingChartInfoForGrouping(from, to, grouping, searchResponse, isLoadDetails, offset);
+            if (CollectionUtils.isEmpty(page)) {
+                return getEmptyGroupingResponse(grouping);
+            }
+            final long groupsCount = Math.max(offset + page.size(),
+                Optional.ofNullable(searchResponse.getAggregations())
+                    .map(aggs -> aggs.<ParsedCardinality>get(GROUPS_COUNT_AGG))
+                    .map(ParsedCardinality::getValue)
+                    .orElse(0L));
+            return withPageInfo(page, pageNum, (long) Math.ceil(1.0 * groupsCount / pageSize));
+        } catch (IOException e) {
+            log.error(e.getMessage(), e);
+            throw new SearchException(e.getMessage(), e);
+        }
+    }
+
+    private SearchRequest buildGroupingRequest(final LocalDate from, final LocalDate to,
+                                               final Map<String, List<String>> filters,
+                                               final BillingGrouping grouping,
+                                               final int bucketsCount) {
         final SearchRequest searchRequest = new SearchRequest();
         final SearchSourceBuilder searchSource = new SearchSourceBuilder();
         if (grouping != null) {
             final AggregationBuilder fieldAgg = AggregationBuilders.terms(grouping.getCorrespondingField())
                 .field(grouping.getCorrespondingField())
                 .order(Terms.Order.aggregation(COST_FIELD, false))
-                .size(Integer.MAX_VALUE);
+                .size(bucketsCount)
+                .shardSize(Integer.MAX_VALUE);
             fieldAgg.subAggregation(costAggregation);
             if (grouping.runUsageDetailsRequired()) {
                 fieldAgg.subAggregation(runUsageAggregation);
@@ -338,22 +435,10 @@ public class BillingManager {
         searchSource.aggregation(costAggregation);
 
         setFiltersAndPeriodForSearchRequest(from, to, filters, searchSource, searchRequest);
-
-        try {
-            final SearchResponse searchResponse =
-                searchForGrouping(elasticsearchLowLevelClient, searchRequest, grouping.getCorrespondingField());
-            final List<BillingChartInfo> billingChartInfoForGrouping =
-                getBillingChartInfoForGrouping(from, to, grouping, searchResponse, isLoadDetails);
-            return CollectionUtils.isEmpty(billingChartInfoForGrouping)
-                   ? getEmptyGroupingResponse(grouping)
-                   : billingChartInfoForGrouping;
-        } catch (IOException e) {
-            log.error(e.getMessage(), e);
-            throw new SearchException(e.getMessage(), e);
-        }
+        return searchRequest;
     }
 
-    private SearchResponse searchForGrouping(final RestClient lowLevelClient, final SearchRequest request,
+    private SearchResponse searchForGrouping(final SearchRequest request,
                                              final String groupingName) throws IOException {
         final String searchEndpoint = String.format(ES_INDICES_SEARCH_PATTERN,
                                                     String.join(ES_ELEMENTS_SEPARATOR, request.indices()));
@@ -361,8 +446,8 @@ public class BillingManager {
         final Map<String, String> parameters = new HashMap<>();
         parameters.put(ES_FILTER_PATH, buildResponseFilterForGrouping(groupingName));
         parameters.put(RestSearchAction.TYPED_KEYS_PARAM, Boolean.TRUE.toString());
-        final Response response =
-            lowLevelClient.performRequest(HttpPost.METHOD_NAME, searchEndpoint, parameters, httpEntity);
+        final Response response = elasticHelper.performRequest(GROUPING_SEARCH_REQUEST_TYPE, HttpPost.METHOD_NAME,
+                                                               searchEndpoint, parameters, httpEntity);
         final XContentParser parser = JsonXContent.jsonXContent
             .createParser(new NamedXContentRegistry(requiredGroupingAggregationsEntries),
                           EntityUtils.toString(response.getEntity()));
@@ -380,6 +465,7 @@ public class BillingManager {
         responseFilters.add(groupingBuckets + ES_DOC_FIELDS_SEPARATOR + ES_WILDCARD + lastByDateDocAggregation.getName()
                             + ".hits.hits._source");
         responseFilters.add(String.format(FIRST_LEVEL_AGG_PATTERN, costAggregation.getName()));
+        responseFilters.add(String.format(FIRST_LEVEL_AGG_PATTERN, GROUPS_COUNT_AGG));
         responseFilters.add(groupingBuckets + ES_DOC_FIELDS_SEPARATOR + ES_TERMS_AGG_BUCKET_KEY);
         return String.join(ES_ELEMENTS_SEPARATOR, responseFilters);
     }
@@ -391,6 +477,7 @@ public class BillingManager {
         map.put(InternalSimpleValue.NAME, (p, c) -> ParsedSimpleValue.fromXContent(p, (String) c));
         map.put(ValueCountAggregationBuilder.NAME, (p, c) -> ParsedValueCount.fromXContent(p, (String) c));
         map.put(TopHitsAggregationBuilder.NAME, (p, c) -> ParsedTopHits.fromXContent(p, (String) c));
+        map.put(CardinalityAggregationBuilder.NAME, (p, c) -> ParsedCardinality.fromXContent(p, (String) c));
         return map;
     }
 
@@ -411,20 +498,28 @@ public class BillingManager {
                 if (from > resultSize) {
                     return getEmptyGroupingResponse(grouping);
                 }
-                final List<BillingChartInfo> finalBilling = fullResult.subList(from, Math.min(to, resultSize));
-                final String totalPagesVal = Long.toString((long) Math.ceil(1.0 * resultSize / pageSize));
-                final String pageNumVal = Long.toString(requiredPageNum);
-                finalBilling.forEach(record -> {
-                    record.getGroupingInfo().put(PAGE, pageNumVal);
-                    record.getGroupingInfo().put(TOTAL_PAGES, totalPagesVal);
-                });
-                return finalBilling;
+                return withPageInfo(fullResult.subList(from, Math.min(to, resultSize)),
+                                    requiredPageNum, (long) Math.ceil(1.0 * resultSize / pageSize));
             }
         } else {
             return getEmptyGroupingResponse(grouping);
         }
     }
 
+    private List<BillingChartInfo> withPageInfo(final List<BillingChartInfo> page, final long pageNum,
+                                                final long totalPages) {
+        final String totalPagesVal = Long.toString(totalPages);
+        final String pageNumVal = Long.toString(pageNum);
+        return page.stream()
+            .map(record -> {
+                final Map<String, String> groupingInfo = new HashMap<>(record.getGroupingInfo());
+                groupingInfo.put(PAGE, pageNumVal);
+                groupingInfo.put(TOTAL_PAGES, totalPagesVal);
+                return record.toBuilder().groupingInfo(groupingInfo).build();
+            })
+            .collect(Collectors.toList());
+    }
+
     private List<BillingChartInfo> getEmptyGroupingResponse(final BillingGrouping grouping) {
         final Map<String, String> details = new HashMap<>();
         details.put(grouping.name(), emptyValue);
@@ -444,7 +539,8 @@ public class BillingManager {
     private List<BillingChartInfo> getBillingChartInfoForGrouping(final LocalDate from, final LocalDate to,
                                                                   final BillingGrouping grouping,
                                                                   final SearchResponse searchResponse,
-                                                                  final boolean isLoadDetails) {
+                                                                  final boolean isLoadDetails,
+                                                                  final long offset) {
         final Aggregations allAggregations = searchResponse.getAggregations();
         if (allAggregations == null) {
             return Collections.emptyList();
@@ -452,31 +548,52 @@ public class BillingManager {
         if (grouping != null) {
             final String groupingField = grouping.getCorrespondingField();
             final ParsedStringTerms terms = allAggregations.get(groupingField);
-            return Optional.ofNullable(terms)
+            final List<? extends Terms.Bucket> buckets = Optional.ofNullable(terms)
                 .map(ParsedTerms::getBuckets)
                 .map(Collection::stream)
                 .orElse(Stream.empty())
+                .skip(offset)
+                .collect(Collectors.toList());
+            final Map<String, Map<String, String>> entitiesDetails = loadEntitiesDetails(grouping, buckets,
+                                                                                         isLoadDetails);
+            return buckets.stream()
                 .map(bucket -> {
                     final Aggregations aggregations = bucket.getAggregations();
                     return getCostAggregation(from, to,
                                               grouping,
                                               (String) bucket.getKey(),
                                               aggregations,
-                                              isLoadDetails);
+                                              isLoadDetails,
+                                              entitiesDetails.get((String) bucket.getKey()));
                 })
                 .collect(Collectors.toList());
         } else {
             return CollectionUtils.isEmpty(allAggregations.asList())
                    ? Collections.emptyList()
-                   : Collections.singletonList(getCostAggregation(from, to, null, null, allAggregations, false));
+                   : Collections.singletonList(getCostAggregation(from, to, null, null, allAggregations, false,
+                                                                  null));
+        }
+    }
+
+    private Map<String, Map<String, String>> loadEntitiesDetails(final BillingGrouping grouping,
+                                                                 final List<? extends Terms.Bucket> buckets,
+                                                                 final boolean loadDetails) {
+        final EntityBillingDetailsLoader detailsLoader = billingDetailsLoaders.get(grouping);
+        if (detailsLoader == null || buckets.isEmpty()) {
+            return Collections.emptyMap();
         }
+        return detailsLoader.loadInformation(buckets.stream()
+                                                 .map(bucket -> (String) bucket.getKey())
+                                                 .collect(Collectors.toList()),
+                                             loadDetails);
     }
 
     private BillingChartInfo getCostAggregation(final LocalDate from, final LocalDate to,
                                                 final BillingGrouping grouping,
                                                 final String groupValue,
                                                 final Aggregations aggregations,
-                                                final boolean loadDetails) {
+                                                final boolean loadDetails,
+                                                final Map<String, String> loadedDetails) {
         final ParsedSum sumAggResult = aggregations.get(COST_FIELD);
         final long costVal = new Double(sumAggResult.getValue()).longValue();
         final BillingChartInfo.BillingChartInfoBuilder builder = BillingChartInfo.builder()
@@ -484,13 +601,12 @@ public class BillingManager {
             .periodEnd(to.atTime(LocalTime.MAX))
             .cost(costVal);
         final Map<String, String> groupingInfo = new HashMap<>();
-        final EntityBillingDetailsLoader detailsLoader = billingDetailsLoaders.get(grouping);
         final Map<String, String> entityDetails = new HashMap<>();
         if (grouping != null) {
-            if (detailsLoader == null) {
+            if (loadedDetails == null) {
                 groupingInfo.put(grouping.toString(), groupValue);
             } else {
-                entityDetails.putAll(detailsLoader.loadInformation(groupValue, loadDetails));
+                entityDetails.putAll(loadedDetails);
                 groupingInfo.put(grouping.name(), entityDetails.remove(EntityBillingDetailsLoader.NAME));
             }
         }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.billing;
+
+import com.epam.pipeline.controller.vo.billing.BillingChartRequest;
+import com.epam.pipeline.entity.billing.BillingChartInfo;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import com.epam.pipeline.manager.utils.GlobalSearchElasticHelper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.get.GetRequest;
+import org.elasticsearch.action.get.GetResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Keeps recently built billing reports until the next billing data synchronization.
+ *
+ * Reports are keyed by a normalized {@link BillingChartRequest} which filters already contain authorization
+ * filters of the current user. billing-report-agent stores the time of the last completed synchronization to
+ * {@code billing.sync.status.index}, once it changes all cached reports are dropped. If the synchronization
+ * status is not available, reports are not cached at all.
+ */
+@Slf4j
+@Component
+public class BillingReportCache {
+
+    private static final String SYNC_STATUS_TYPE = "_doc";
+    private static final String SYNC_STATUS_DOC_ID = "billing";
+    private static final String LAST_SYNC_FIELD = "last_synchronization";
+
+    private final GlobalSearchElasticHelper elasticHelper;
+    private final PreferenceManager preferenceManager;
+    private final String syncStatusIndex;
+    private final Map<BillingChartRequest, List<BillingChartInfo>> reports = new LinkedHashMap<>(16, 0.75f, true);
+    private String lastSync;
+
+    public BillingReportCache(final GlobalSearchElasticHelper elasticHelper,
+                              final PreferenceManager preferenceManager,
+                              @Value("${billing.sync.status.index:}") final String syncStatusIndex) {
+        this.elasticHelper = elasticHelper;
+        this.preferenceManager = preferenceManager;
+        this.syncStatusIndex = syncStatusIndex;
+    }
+
+    /**
+     * Returns a cached report for the request or builds it with the given loader.
+     */
+    public List<BillingChartInfo> get(final BillingChartRequest request,
+                                      final Supplier<List<BillingChartInfo>> loader) {
+        final int maxSize = preferenceManager.getPreference(SystemPreferences.BILLING_REPORTS_CACHE_SIZE);
+        if (maxSize <= 0) {
+            return loader.get();
+        }
+        final Optional<String> sync = loadLastSync();
+        if (!sync.isPresent()) {
+            return loader.get();
+        }
+        final List<BillingChartInfo> cached = find(sync.get(), request);
+        if (cached != null) {
+            return cached;
+        }
+        final List<BillingChartInfo> report = Collections.unmodifiableList(loader.get());
+        store(sync.get(), request, report, maxSize);
+        return report;
+    }
+
+    public synchronized int size() {
+        return reports.size();
+    }
+
+    private synchronized List<BillingChartInfo> find(final String sync, final BillingChartRequest request) {
+        if (!Objects.equals(sync, lastSync)) {
+            log.debug("Billing data was synchronized at {}, cached billing reports are dropped.", sync);
+            reports.clear();
+            lastSync = sync;
+            return null;
+        }
+        return reports.get(request);
+    }
+
+    private synchronized void store(final String sync, final BillingChartRequest request,
+                                    final List<BillingChartInfo> report, final int maxSize) {
+        if (!Objects.equals(sync, lastSync)) {
+            return;
+        }
+        reports.put(request, report);
+        final Iterator<BillingChartRequest> eldest = reports.keySet().iterator();
+        while (reports.size() > maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private Optional<String> loadLastSync() {
+        if (StringUtils.isBlank(syncStatusIndex)) {
+            return Optional.empty();
+        }
+        try {
+            final GetResponse response = elasticHelper.getClient()
+                    .get(new GetRequest(syncStatusIndex, SYNC_STATUS_TYPE, SYNC_STATUS_DOC_ID));
+            return Optional.ofNullable(response)
+                    .filter(GetResponse::isExists)
+                    .map(GetResponse::getSourceAsMap)
+                    .map(source -> source.get(LAST_SYNC_FIELD))
+                    .map(Object::toString);
+        } catch (IOException | ElasticsearchException e) {
+            log.debug("Failed to load billing synchronization status: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -18,7 +18,10 @@ package com.epam.pipeline.manager.billing;
 
 import com.epam.pipeline.entity.billing.BillingGrouping;
 
+import java.util.Collection;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public interface EntityBillingDetailsLoader {
 
@@ -34,6 +37,19 @@ public interface EntityBillingDetailsLoader {
      */
     Map<String, String> loadInformation(String entityIdentifier, boolean loadDetails);
 
+    /**
+     * Build maps of details for several entities at once. Implementations may override it to load
+     * the entities with a few batch queries instead of a query per entity.
+     * @param entityIdentifiers ids of entities to build information
+     * @return entities' details by entity id
+     */
+    default Map<String, Map<String, String>> loadInformation(final Collection<String> entityIdentifiers,
+                                                             final boolean loadDetails) {
+        return entityIdentifiers.stream()
+            .distinct()
+            .collect(Collectors.toMap(Function.identity(), id -> loadInformation(id, loadDetails)));
+    }
+
     Map<String, String> getEmptyDetails();
 
 }
@@ -31,14 +31,21 @@ import com.epam.pipeline.manager.datastorage.FileShareMountManager;
 import com.epam.pipeline.manager.region.CloudRegionManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -78,35 +85,49 @@ public class StorageBillingDetailsLoader implements EntityBillingDetailsLoader {
 
     @Override
     public Map<String, String> loadInformation(final String entityIdentifier, final boolean loadDetails) {
-        final Map<String, String> details = new HashMap<>();
         try {
             final AbstractDataStorage storage = dataStorageManager.loadByNameOrId(entityIdentifier);
-            final String storageName = DataStorageType.NFS.equals(storage.getType())
-                             ? storage.getName()
-                             : storage.getPath();
-            details.put(NAME, storageName);
-            if (loadDetails) {
-                details.putAll(getRegionDetails(storage));
-                details.put(OWNER, storage.getOwner());
-                details.put(CREATED, DateTimeFormatter.ISO_DATE_TIME.format(storage.getCreatedDate()
-                                                                                .toInstant()
-                                                                                .atZone(ZoneId.systemDefault())
-                                                                                .toLocalDateTime()));
-                details.put(BillingGrouping.BILLING_CENTER.getCorrespondingField(),
-                            userBillingDetailsLoader.getUserBillingCenter(storage.getOwner()));
-                details.put(BillingGrouping.STORAGE_TYPE.getCorrespondingField(), getExplicitStorageType(storage));
-
-
-            }
+            return buildDetails(storage, loadDetails, this::findRegion, fileShareMountManager::find,
+                                userBillingDetailsLoader::getUserBillingCenter);
         } catch (RuntimeException e) {
-            log.info(messageHelper.getMessage(MessageConstants.INFO_BILLING_ENTITY_FOR_DETAILS_NOT_FOUND,
-                                              entityIdentifier, getGrouping()));
-            details.putIfAbsent(NAME, entityIdentifier);
-            if (loadDetails) {
-                details.putAll(getEmptyDetails());
-            }
+            return getMissingStorageDetails(entityIdentifier, loadDetails);
         }
-        return details;
+    }
+
+    @Override
+    public Map<String, Map<String, String>> loadInformation(final Collection<String> entityIdentifiers,
+                                                            final boolean loadDetails) {
+        final Map<String, AbstractDataStorage> storages = loadStorages(entityIdentifiers);
+        final Map<Long, AbstractCloudRegion> regions = loadDetails
+                                                       ? loadRegions()
+                                                       : Collections.emptyMap();
+        final Map<String, String> billingCenters = loadDetails
+                                                   ? userBillingDetailsLoader.getUserBillingCenters(
+                                                       storages.values().stream()
+                                                           .map(AbstractDataStorage::getOwner)
+                                                           .filter(Objects::nonNull)
+                                                           .collect(Collectors.toSet()))
+                                                   : Collections.emptyMap();
+        final Map<Long, Optional<FileShareMount>> mounts = new HashMap<>();
+        return entityIdentifiers.stream()
+            .distinct()
+            .collect(Collectors.toMap(Function.identity(), entityIdentifier -> {
+                final AbstractDataStorage storage = storages.get(entityIdentifier);
+                if (storage == null) {
+                    return loadInformation(entityIdentifier, loadDetails);
+                }
+                try {
+                    return buildDetails(storage, loadDetails,
+                        regionId -> Optional.ofNullable(regions.get(regionId)),
+                        mountId -> mounts.computeIfAbsent(mountId, fileShareMountManager::find),
+                        owner -> Optional.ofNullable(owner)
+                            .map(String::toLowerCase)
+                            .map(billingCenters::get)
+                            .orElse(emptyValue));
+                } catch (RuntimeException e) {
+                    return getMissingStorageDetails(entityIdentifier, loadDetails);
+                }
+            }));
     }
 
     @Override
@@ -117,7 +138,70 @@ public class StorageBillingDetailsLoader implements EntityBillingDetailsLoader {
             .collect(Collectors.toMap(Function.identity(), k -> emptyValue));
     }
 
-    private Map<String, String> getRegionDetails(final AbstractDataStorage storage) {
+    private Map<String, String> buildDetails(final AbstractDataStorage storage, final boolean loadDetails,
+                                             final Function<Long, Optional<AbstractCloudRegion>> regions,
+                                             final Function<Long, Optional<FileShareMount>> mounts,
+                                             final Function<String, String> billingCenters) {
+        final Map<String, String> details = new HashMap<>();
+        final String storageName = DataStorageType.NFS.equals(storage.getType())
+                                   ? storage.getName()
+                                   : storage.getPath();
+        details.put(NAME, storageName);
+        if (loadDetails) {
+            details.putAll(getRegionDetails(storage, regions, mounts));
+            details.put(OWNER, storage.getOwner());
+            details.put(CREATED, DateTimeFormatter.ISO_DATE_TIME.format(storage.getCreatedDate()
+                                                                            .toInstant()
+                                                                            .atZone(ZoneId.systemDefault())
+                                                                            .toLocalDateTime()));
+            details.put(BillingGrouping.BILLING_CENTER.getCorrespondingField(),
+                        billingCenters.apply(storage.getOwner()));
+            details.put(BillingGrouping.STORAGE_TYPE.getCorrespondingField(),
+                        getExplicitStorageType(storage, mounts));
+        }
+        return details;
+    }
+
+    private Map<String, String> getMissingStorageDetails(final String entityIdentifier, final boolean loadDetails) {
+        log.info(messageHelper.getMessage(MessageConstants.INFO_BILLING_ENTITY_FOR_DETAILS_NOT_FOUND,
+                                          entityIdentifier, getGrouping()));
+        final Map<String, String> details = new HashMap<>();
+        details.put(NAME, entityIdentifier);
+        if (loadDetails) {
+            details.putAll(getEmptyDetails());
+        }
+        return details;
+    }
+
+    private Map<String, AbstractDataStorage> loadStorages(final Collection<String> entityIdentifiers) {
+        final List<Long> ids = entityIdentifiers.stream()
+            .filter(NumberUtils::isDigits)
+            .map(Long::parseLong)
+            .distinct()
+            .collect(Collectors.toList());
+        return ListUtils.partition(ids, UserBillingDetailsLoader.BATCH_SIZE).stream()
+            .map(dataStorageManager::getDatastoragesByIds)
+            .flatMap(Collection::stream)
+            .collect(Collectors.toMap(storage -> storage.getId().toString(), Function.identity(),
+                (first, second) -> first));
+    }
+
+    private Map<Long, AbstractCloudRegion> loadRegions() {
+        return regionManager.loadAll().stream()
+            .collect(Collectors.toMap(AbstractCloudRegion::getId, Function.identity()));
+    }
+
+    private Optional<AbstractCloudRegion> findRegion(final Long regionId) {
+        try {
+            return Optional.of(regionManager.load(regionId));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Map<String, String> getRegionDetails(final AbstractDataStorage storage,
+                                                 final Function<Long, Optional<AbstractCloudRegion>> regions,
+                                                 final Function<Long, Optional<FileShareMount>> mounts) {
         final Map<String, String> details = new HashMap<>();
         final Long regionId;
         switch (storage.getType()) {
@@ -131,42 +215,43 @@ public class StorageBillingDetailsLoader implements EntityBillingDetailsLoader {
                 regionId = ((GSBucketStorage) storage).getRegionId();
                 break;
             default:
-                regionId = tryLoadRegionIdThroughMount(storage);
+                regionId = tryLoadRegionIdThroughMount(storage, mounts);
                 break;
         }
         if (regionId != null) {
-            try {
-                final AbstractCloudRegion region = regionManager.load(regionId);
-                details.put(PROVIDER, region.getProvider().name());
-                details.put(REGION, region.getName());
+            final Optional<AbstractCloudRegion> region = regions.apply(regionId);
+            if (region.isPresent()) {
+                details.put(PROVIDER, region.get().getProvider().name());
+                details.put(REGION, region.get().getName());
                 return details;
-            } catch (IllegalArgumentException e) {
-                log.warn("Can't load from DB info about region id={}!", regionId);
             }
+            log.warn("Can't load from DB info about region id={}!", regionId);
         }
         details.put(PROVIDER, storage.getType().name());
         details.put(REGION, emptyValue);
         return details;
     }
 
-    private Long tryLoadRegionIdThroughMount(final AbstractDataStorage storage) {
+    private Long tryLoadRegionIdThroughMount(final AbstractDataStorage storage,
+                                             final Function<Long, Optional<FileShareMount>> mounts) {
         final Long mountId = storage.getFileShareMountId();
         if (mountId != null) {
-            try {
-                final FileShareMount mount = fileShareMountManager.load(mountId);
-                return mount.getRegionId();
-            } catch (IllegalArgumentException e) {
-                log.warn("Can't load region through mount point for storage id={}!", storage.getId());
+            final Optional<FileShareMount> mount = mounts.apply(mountId);
+            if (mount.isPresent()) {
+                return mount.get().getRegionId();
             }
+            log.warn("Can't load region through mount point for storage id={}!", storage.getId());
         }
         return null;
     }
 
-    private String getExplicitStorageType(final AbstractDataStorage dataStorage) {
+    private String getExplicitStorageType(final AbstractDataStorage dataStorage,
+                                          final Function<Long, Optional<FileShareMount>> mounts) {
         final DataStorageType commonType = dataStorage.getType();
         return commonType != DataStorageType.NFS
                ? commonType.getId()
-               : fileShareMountManager.find(dataStorage.getFileShareMountId())
+               : Optional.ofNullable(dataStorage.getFileShareMountId())
+                   .flatMap(mounts)
                    .map(FileShareMount::getMountType)
                    .map(Enum::name)
                    .orElse(emptyValue);
@@ -18,6 +18,7 @@ package com.epam.pipeline.manager.billing;
 
 import com.epam.pipeline.common.MessageConstants;
 import com.epam.pipeline.common.MessageHelper;
+import com.epam.pipeline.controller.vo.EntityVO;
 import com.epam.pipeline.entity.billing.BillingGrouping;
 import com.epam.pipeline.entity.metadata.MetadataEntry;
 import com.epam.pipeline.entity.security.acl.AclClass;
@@ -25,19 +26,27 @@ import com.epam.pipeline.entity.user.PipelineUser;
 import com.epam.pipeline.manager.metadata.MetadataManager;
 import com.epam.pipeline.manager.user.UserManager;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class UserBillingDetailsLoader implements EntityBillingDetailsLoader {
 
+    static final int BATCH_SIZE = 1000;
+
     private final String emptyValue;
     private final String billingCenterKey;
     private final UserManager userManager;
@@ -79,6 +88,31 @@ public class UserBillingDetailsLoader implements EntityBillingDetailsLoader {
         return details;
     }
 
+    @Override
+    public Map<String, Map<String, String>> loadInformation(final Collection<String> entityIdentifiers,
+                                                            final boolean loadDetails) {
+        final Map<String, String> billingCenters = loadDetails
+                                                   ? getUserBillingCenters(entityIdentifiers)
+                                                   : Collections.emptyMap();
+        return entityIdentifiers.stream()
+            .distinct()
+            .collect(Collectors.toMap(Function.identity(), entityIdentifier -> {
+                final Map<String, String> details = new HashMap<>();
+                details.put(NAME, entityIdentifier);
+                if (loadDetails) {
+                    final String billingCenter = billingCenters.get(entityIdentifier.toLowerCase());
+                    if (billingCenter != null) {
+                        details.put(BillingGrouping.BILLING_CENTER.getCorrespondingField(), billingCenter);
+                    } else {
+                        log.info(messageHelper.getMessage(MessageConstants.INFO_BILLING_ENTITY_FOR_DETAILS_NOT_FOUND,
+                                                          entityIdentifier, getGrouping()));
+                        details.putAll(getEmptyDetails());
+                    }
+                }
+                return details;
+            }));
+    }
+
     @Override
     public Map<String, String> getEmptyDetails() {
         return Collections.singletonMap(BillingGrouping.BILLING_CENTER.getCorrespondingField(), emptyValue);
@@ -90,8 +124,32 @@ public class UserBillingDetailsLoader implements EntityBillingDetailsLoader {
             .orElse(emptyValue);
     }
 
+    /**
+     * Loads billing centers of several users in batches.
+     * @return billing centers by lower case user name, users which don't exist are absent
+     */
+    Map<String, String> getUserBillingCenters(final Collection<String> usernames) {
+        final Map<String, String> billingCenters = new HashMap<>();
+        ListUtils.partition(new ArrayList<>(usernames), BATCH_SIZE).forEach(batch -> {
+            final List<PipelineUser> users = userManager.loadUsersByNames(batch);
+            final Map<Long, MetadataEntry> metadata = metadataManager.listMetadataItems(users.stream()
+                    .map(user -> new EntityVO(user.getId(), AclClass.PIPELINE_USER))
+                    .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(entry -> entry.getEntity().getEntityId(), Function.identity(),
+                    (first, second) -> first));
+            users.forEach(user -> billingCenters.put(user.getUserName().toLowerCase(),
+                                                     getBillingCenter(metadata.get(user.getId()))));
+        });
+        return billingCenters;
+    }
+
     private String getUserBillingCenter(final PipelineUser user) {
-        return Optional.ofNullable(metadataManager.loadMetadataItem(user.getId(), AclClass.PIPELINE_USER))
+        return getBillingCenter(metadataManager.loadMetadataItem(user.getId(), AclClass.PIPELINE_USER));
+    }
+
+    private String getBillingCenter(final MetadataEntry metadata) {
+        return Optional.ofNullable(metadata)
             .map(MetadataEntry::getData)
             .filter(MapUtils::isNotEmpty)
             .flatMap(attributes -> Optional.ofNullable(attributes.get(billingCenterKey)))
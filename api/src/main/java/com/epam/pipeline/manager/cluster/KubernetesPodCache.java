@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.cluster;
+
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps an in-memory view of all pods from the pipeline namespace. The view is populated with a single list
+ * request and then kept up to date by applying watch events, so that consumers may resolve pods of any number
+ * of runs without querying Kubernetes API server for each of them.
+ *
+ * A watch is started lazily on the first {@link #sync()} call. If the watch is closed by the server or a
+ * configured resync period passes, the view is rebuilt with a fresh list request on the next {@link #sync()}.
+ */
+@Slf4j
+@Component
+public class KubernetesPodCache {
+
+    private final KubernetesManager kubernetesManager;
+    private final PreferenceManager preferenceManager;
+    private final String kubeNamespace;
+
+    private final Map<String, Pod> pods = new ConcurrentHashMap<>();
+
+    private KubernetesClient client;
+    private Watch watch;
+    private volatile PodWatcher watcher;
+    private volatile boolean synced;
+    private long lastResyncTime;
+
+    public KubernetesPodCache(final KubernetesManager kubernetesManager,
+                              final PreferenceManager preferenceManager,
+                              final @Value("${kube.namespace}") String kubeNamespace) {
+        this.kubernetesManager = kubernetesManager;
+        this.preferenceManager = preferenceManager;
+        this.kubeNamespace = kubeNamespace;
+    }
+
+    /**
+     * Ensures that the cache is populated and the watch is active. Performs a full relist if the cache was
+     * never populated, the watch has been closed or a resync period has passed.
+     *
+     * @return true if the cache can be used as a source of pods states, false otherwise
+     */
+    public synchronized boolean sync() {
+        if (synced && !isResyncRequired()) {
+            return true;
+        }
+        try {
+            resync();
+            return true;
+        } catch (KubernetesClientException e) {
+            log.error("Failed to synchronize pods cache: {}", e.getMessage(), e);
+            stop();
+            return false;
+        }
+    }
+
+    /**
+     * @param podName the name of a pod
+     * @return the last known state of a pod or empty, if the pod doesn't exist
+     */
+    public Optional<Pod> getPod(final String podName) {
+        return Optional.ofNullable(pods.get(podName));
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        synced = false;
+        watcher = null;
+        if (watch != null) {
+            watch.close();
+            watch = null;
+        }
+        if (client != null) {
+            client.close();
+            client = null;
+        }
+    }
+
+    private void resync() {
+        stop();
+        client = kubernetesManager.getKubernetesClient();
+        final PodList podList = client.pods().inNamespace(kubeNamespace).list();
+        pods.clear();
+        ListUtils.emptyIfNull(podList.getItems()).forEach(pod -> pods.put(pod.getMetadata().getName(), pod));
+        final String resourceVersion = podList.getMetadata() == null ? null
+                : podList.getMetadata().getResourceVersion();
+        watcher = new PodWatcher();
+        watch = client.pods().inNamespace(kubeNamespace).watch(resourceVersion, watcher);
+        lastResyncTime = System.currentTimeMillis();
+        synced = true;
+        log.debug("Pods cache is synchronized with {} pods at resource version {}", pods.size(), resourceVersion);
+    }
+
+    private boolean isResyncRequired() {
+        final Integer resyncRate = preferenceManager.getPreference(SystemPreferences.LAUNCH_TASK_STATUS_RESYNC_RATE);
+        return resyncRate != null && resyncRate > 0 && System.currentTimeMillis() - lastResyncTime >= resyncRate;
+    }
+
+    private class PodWatcher implements Watcher<Pod> {
+
+        @Override
+        public void eventReceived(final Action action, final Pod pod) {
+            if (this != watcher) {
+                return;
+            }
+            if (action == Action.ERROR || pod == null || pod.getMetadata() == null) {
+                log.warn("Received {} event from pods watch, cache will be resynchronized", action);
+                synced = false;
+                return;
+            }
+            final String name = pod.getMetadata().getName();
+            log.debug("Received {} event for pod {}", action, name);
+            if (action == Action.DELETED) {
+                pods.remove(name);
+            } else {
+                pods.put(name, pod);
+            }
+        }
+
+        @Override
+        public void onClose(final KubernetesClientException cause) {
+            if (this != watcher) {
+                return;
+            }
+            log.warn("Pods watch is closed{}", cause == null ? "" : ": " + cause.getMessage());
+            synced = false;
+        }
+    }
+}
@@ -33,6 +33,7 @@ import com.epam.pipeline.manager.cloud.CloudFacade;
 import com.epam.pipeline.manager.cluster.cleaner.RunCleaner;
 import com.epam.pipeline.manager.notification.NotificationManager;
 import com.epam.pipeline.manager.notification.NotificationSettingsManager;
+import com.epam.pipeline.manager.pipeline.PipelineRunCRUDService;
 import com.epam.pipeline.manager.pipeline.PipelineRunManager;
 import com.epam.pipeline.manager.pipeline.RestartRunManager;
 import com.epam.pipeline.manager.pipeline.RunLogManager;
@@ -65,12 +66,18 @@ import javax.annotation.PostConstruct;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -99,7 +106,7 @@ public class PodMonitor extends AbstractSchedulingManager {
     }
 
     @Component
-    private static class PodMonitorCore {
+    static class PodMonitorCore {
         private static final String PIPELINE_ID_LABEL = "pipeline_id";
         private static final String CLUSTER_ID_LABEL = "cluster_id";
         private static final int DELETE_RETRY_ATTEMPTS = 5;
@@ -111,9 +118,11 @@ public class PodMonitor extends AbstractSchedulingManager {
         private final String kubeNamespace;
         private final RunLogManager runLogManager;
         private final PipelineRunManager pipelineRunManager;
+        private final PipelineRunCRUDService runCRUDService;
         private final RunStatusManager runStatusManager;
         private final MessageHelper messageHelper;
         private final KubernetesManager kubernetesManager;
+        private final KubernetesPodCache podCache;
         private final NotificationSettingsManager notificationSettingsManager;
         private final NotificationManager notificationManager;
         private final ToolManager toolManager;
@@ -125,9 +134,11 @@ public class PodMonitor extends AbstractSchedulingManager {
         @Autowired
         PodMonitorCore(final RunLogManager runLogManager,
                        final PipelineRunManager pipelineRunManager,
+                       final PipelineRunCRUDService runCRUDService,
                        final RunStatusManager runStatusManager,
                        final MessageHelper messageHelper,
                        final KubernetesManager kubernetesManager,
+                       final KubernetesPodCache podCache,
                        final NotificationSettingsManager notificationSettingsManager,
                        final NotificationManager notificationManager,
                        final ToolManager toolManager,
@@ -138,9 +149,11 @@ public class PodMonitor extends AbstractSchedulingManager {
                        final @Value("${kube.namespace}") String kubeNamespace) {
             this.runLogManager = runLogManager;
             this.pipelineRunManager = pipelineRunManager;
+            this.runCRUDService = runCRUDService;
             this.runStatusManager = runStatusManager;
             this.messageHelper = messageHelper;
             this.kubernetesManager = kubernetesManager;
+            this.podCache = podCache;
             this.notificationSettingsManager = notificationSettingsManager;
             this.notificationManager = notificationManager;
             this.toolManager = toolManager;
@@ -152,72 +165,165 @@ public class PodMonitor extends AbstractSchedulingManager {
         }
 
         /**
-         * Queries statuses of pods of running tasks and adjust task statuses corresponding to pods statuses
+         * Queries statuses of pods of running tasks and adjust task statuses corresponding to pods statuses.
+         *
+         * Pods are resolved from {@link KubernetesPodCache} if it is enabled. Pods which are missing in the cache,
+         * e.g. pods which were just launched and weren't delivered by the watch yet, are requested directly.
+         * All status transitions of a single cycle are persisted with a single batch update, if the batch update
+         * fails, runs are updated one by one. Runs, which pods couldn't be resolved because of Kubernetes API
+         * errors, are skipped till the next cycle.
          */
         @SchedulerLock(name = "PodMonitor_updateStatus", lockAtMostForString = "PT5M")
         public void updateStatus() {
             LOGGER.debug(messageHelper.getMessage(MessageConstants.DEBUG_MONITOR_CHECK_RUNNING));
-            List<PipelineRun> running = pipelineRunManager.loadRunningAndTerminatedPipelineRuns();
-            for (PipelineRun run : running) {
-                if (!run.getExecutionPreferences().getEnvironment().isMonitored()) {
-                    if (run.getStatus().isFinal()) {
-                        run.setTerminating(false);
-                        pipelineRunManager.updatePipelineStatus(run);
+            final List<PipelineRun> running = pipelineRunManager.loadRunningAndTerminatedPipelineRuns();
+            final List<PipelineRun> updated = new ArrayList<>();
+            final List<PipelineRun> finished = new ArrayList<>();
+            final Set<Long> lookupFailed = new HashSet<>();
+            try (KubernetesClient client = kubernetesManager.getKubernetesClient()) {
+                final boolean useCache = preferenceManager.getPreference(
+                        SystemPreferences.LAUNCH_TASK_STATUS_WATCH_ENABLED) && podCache.sync();
+                final Map<Long, Pod> pods = new HashMap<>();
+                for (PipelineRun run : running) {
+                    if (!run.getExecutionPreferences().getEnvironment().isMonitored()) {
+                        if (run.getStatus().isFinal()) {
+                            run.setTerminating(false);
+                            updated.add(run);
+                        }
+                        LOGGER.debug("Skipping run {} in exec environment {}", run.getId(),
+                                run.getExecutionPreferences().getEnvironment());
+                        continue;
+                    }
+                    try {
+                        findPod(run.getPodId(), client, useCache).ifPresent(pod -> pods.put(run.getId(), pod));
+                    } catch (KubernetesClientException e) {
+                        LOGGER.error("Failed to find pod {} of run {}, the run is skipped: {}",
+                                run.getPodId(), run.getId(), e.getMessage(), e);
+                        lookupFailed.add(run.getId());
                     }
-                    LOGGER.debug("Skipping run {} in exec environment {}", run.getId(),
-                            run.getExecutionPreferences().getEnvironment());
-                    continue;
                 }
-                LOGGER.debug("RUN ID {} status {} terminating {}", run.getId(), run.getStatus(), run.isTerminating());
-                try (KubernetesClient client = kubernetesManager.getKubernetesClient()) {
-                    Pod pod = client.pods().inNamespace(kubeNamespace).withName(run.getPodId()).get();
-                    //check maybe run was already processed with master node
-                    PipelineRun currentRunState = pipelineRunManager.loadPipelineRun(run.getId());
-                    if (pod == null && currentRunState.getStatus().isFinal()) {
-                        LOGGER.debug("Run ID {} is already in final status {}",
-                                run.getId(), currentRunState.getStatus());
-                        setRunFinished(currentRunState, pod, client);
+                //check maybe runs without pods were already processed with master node
+                final Map<Long, PipelineRun> currentRunStates = loadCurrentRunStates(running, pods, lookupFailed);
+                for (PipelineRun run : running) {
+                    if (!run.getExecutionPreferences().getEnvironment().isMonitored()
+                            || lookupFailed.contains(run.getId())) {
                         continue;
                     }
-                    if (pod == null || run.isTerminating()) {
-                        setRunFinished(run, pod, client);
-                    } else {
-                        PodStatus status = pod.getStatus();
-                        // update pod IP, if it is not set yet
-                        if (StringUtils.isEmpty(run.getPodIP())) {
-                            if (StringUtils.isEmpty(status.getPodIP())) {
-                                notifyIfExceedsThreshold(run, pod, NotificationType.LONG_INIT);
-                            } else {
-                                run.setPodIP(status.getPodIP());
-                                pipelineRunManager.updatePodIP(run);
-                            }
+                    LOGGER.debug("RUN ID {} status {} terminating {}", run.getId(), run.getStatus(),
+                            run.isTerminating());
+                    try {
+                        final Pod pod = pods.get(run.getId());
+                        final PipelineRun currentRunState = currentRunStates.getOrDefault(run.getId(), run);
+                        if (pod == null && currentRunState.getStatus().isFinal()) {
+                            LOGGER.debug("Run ID {} is already in final status {}",
+                                    run.getId(), currentRunState.getStatus());
+                            setRunFinished(currentRunState, null, client);
+                            finished.add(currentRunState);
+                            continue;
                         }
+                        if (pod == null || run.isTerminating()) {
+                            setRunFinished(run, pod, client);
+                            finished.add(run);
+                        } else {
+                            PodStatus status = pod.getStatus();
+                            // update pod IP, if it is not set yet
+                            if (StringUtils.isEmpty(run.getPodIP())) {
+                                if (StringUtils.isEmpty(status.getPodIP())) {
+                                    notifyIfExceedsThreshold(run, pod, NotificationType.LONG_INIT);
+                                } else {
+                                    run.setPodIP(status.getPodIP());
+                                    pipelineRunManager.updatePodIP(run);
+                                }
+                            }
 
-                        if (status.getPhase().equals(KubernetesConstants.POD_SUCCEEDED_PHASE)) {
-                            run.setStatus(TaskStatus.SUCCESS);
-                            run.setEndDate(DateUtils.now());
-                            run.setTerminating(false);
-                            //check that all tasks managed to reports its statuses
-                            if (!checkChildrenPods(run, client, pod)) {
+                            if (status.getPhase().equals(KubernetesConstants.POD_SUCCEEDED_PHASE)) {
+                                run.setStatus(TaskStatus.SUCCESS);
+                                run.setEndDate(DateUtils.now());
+                                run.setTerminating(false);
+                                //check that all tasks managed to reports its statuses
+                                if (!checkChildrenPods(run, client, pod, useCache)) {
+                                    continue;
+                                }
+                            } else if (status.getPhase().equals(KubernetesConstants.POD_FAILED_PHASE) ||
+                                    (status.getReason() != null &&
+                                            status.getReason().equals(KubernetesConstants.NODE_LOST))) {
+                                setRunFinished(run, pod, client);
+                                finished.add(run);
+                            } else {
+                                notifyIfExceedsThreshold(run, pod, NotificationType.LONG_RUNNING);
                                 continue;
                             }
-                        } else if (status.getPhase().equals(KubernetesConstants.POD_FAILED_PHASE) ||
-                                (status.getReason() != null &&
-                                        status.getReason().equals(KubernetesConstants.NODE_LOST))) {
-                            setRunFinished(run, pod, client);
-                        } else {
-                            notifyIfExceedsThreshold(run, pod, NotificationType.LONG_RUNNING);
-                            continue;
                         }
+                        updated.add(run);
+                    } catch (Exception e) {
+                        LOGGER.error(e.getMessage(), e);
                     }
-                    pipelineRunManager.updatePipelineStatus(run);
-                } catch (Exception e) {
-                    LOGGER.error(e.getMessage(), e);
                 }
+            } catch (Exception e) {
+                LOGGER.error(e.getMessage(), e);
+            } finally {
+                // runs are released only after their final statuses are persisted
+                final Set<Long> notUpdated = updateStatuses(updated);
+                finished.stream()
+                        .filter(run -> !notUpdated.contains(run.getId()))
+                        .forEach(this::killAsync);
             }
             LOGGER.debug(messageHelper.getMessage(MessageConstants.DEBUG_MONITOR_CHECK_FINISHED));
         }
 
+        private Optional<Pod> findPod(final String podName, final KubernetesClient client, final boolean useCache) {
+            if (useCache) {
+                final Optional<Pod> pod = podCache.getPod(podName);
+                if (pod.isPresent()) {
+                    return pod;
+                }
+            }
+            return Optional.ofNullable(client.pods().inNamespace(kubeNamespace).withName(podName).get());
+        }
+
+        private Map<Long, PipelineRun> loadCurrentRunStates(final List<PipelineRun> runs,
+                                                            final Map<Long, Pod> pods,
+                                                            final Set<Long> lookupFailed) {
+            final List<Long> runIds = runs.stream()
+                    .filter(run -> run.getExecutionPreferences().getEnvironment().isMonitored())
+                    .map(PipelineRun::getId)
+                    .filter(runId -> !pods.containsKey(runId) && !lookupFailed.contains(runId))
+                    .collect(Collectors.toList());
+            return runCRUDService.loadRunsByIds(runIds).stream()
+                    .collect(Collectors.toMap(PipelineRun::getId, Function.identity()));
+        }
+
+        /**
+         * @return ids of runs which statuses couldn't be persisted
+         */
+        private Set<Long> updateStatuses(final List<PipelineRun> runs) {
+            if (CollectionUtils.isEmpty(runs)) {
+                return Collections.emptySet();
+            }
+            try {
+                pipelineRunManager.updatePipelineStatuses(runs);
+                return Collections.emptySet();
+            } catch (Exception e) {
+                LOGGER.error("Failed to update statuses of {} runs with a batch update, "
+                        + "updating them one by one: {}", runs.size(), e.getMessage(), e);
+                return runs.stream()
+                        .filter(run -> !updateRunStatus(run))
+                        .map(PipelineRun::getId)
+                        .collect(Collectors.toSet());
+            }
+        }
+
+        private boolean updateRunStatus(final PipelineRun run) {
+            try {
+                pipelineRunManager.updatePipelineStatus(run);
+                return true;
+            } catch (Exception e) {
+                LOGGER.error("Failed to update status of run {}, the run will be released on the next cycle: {}",
+                        run.getId(), e.getMessage(), e);
+                return false;
+            }
+        }
+
         @Scheduled(fixedDelay = POD_RELEASE_TIMEOUT)
         public void releaseUnusedPods() {
             while (!queueToKill.isEmpty()) {
@@ -329,13 +435,14 @@ public class PodMonitor extends AbstractSchedulingManager {
             return Duration.between(first, second).getSeconds();
         }
 
-        private boolean checkChildrenPods(PipelineRun run, KubernetesClient client, Pod parent) {
+        private boolean checkChildrenPods(PipelineRun run, KubernetesClient client, Pod parent,
+                                          boolean useCache) {
             try {
                 //check all children
                 List<PipelineTask> tasks = runLogManager.loadTasksByRunId(run.getId());
                 tasks.forEach(task -> {
                     if (task.getStatus() == TaskStatus.RUNNING && !StringUtils.isEmpty(task.getInstance())) {
-                        Pod pod = client.pods().inNamespace(kubeNamespace).withName(task.getInstance()).get();
+                        Pod pod = findPod(task.getInstance(), client, useCache).orElse(null);
                         getPodLogs(run, pod);
                     }
                 });
@@ -467,7 +574,6 @@ public class PodMonitor extends AbstractSchedulingManager {
             run.setTerminating(true);
             run.setEndDate(DateUtils.now());
             notificationManager.removeNotificationTimestamps(run.getId());
-            killAsync(run);
         }
 
         private void cleanRunResources(final PipelineRun run) {
@@ -36,9 +36,7 @@ import com.epam.pipeline.manager.pipeline.PipelineRunManager;
 import com.epam.pipeline.manager.preference.PreferenceManager;
 import com.epam.pipeline.manager.preference.SystemPreferences;
 import com.epam.pipeline.manager.scheduling.AbstractSchedulingManager;
-import io.fabric8.kubernetes.api.model.Node;
 import io.fabric8.kubernetes.api.model.Pod;
-import io.fabric8.kubernetes.api.model.PodList;
 import io.fabric8.kubernetes.client.Config;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientException;
@@ -47,7 +45,6 @@ import net.javacrumbs.shedlock.core.SchedulerLock;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.MapUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -150,12 +147,12 @@ public class AutoscaleManager extends AbstractSchedulingManager {
             Config config = new Config();
             Set<String> scheduledRuns = new HashSet<>();
             try (KubernetesClient client = kubernetesManager.getKubernetesClient(config)) {
-                Set<String> nodes = kubernetesManager.getAvailableNodesIds(client);
-                checkPendingPods(scheduledRuns, client, nodes);
-                Set<String> pods = kubernetesManager.getAllPodIds(client);
-                scaleDownHandler.checkFreeNodes(scheduledRuns, client, pods);
-                checkPoolNodes(client);
-                int clusterSize = kubernetesManager.getAvailableNodes(client).getItems().size();
+                final ClusterSnapshot snapshot = loadClusterSnapshot(client);
+                final Set<String> reassignedNodes = checkPendingPods(scheduledRuns, client, snapshot);
+                scaleDownHandler.checkFreeNodes(scheduledRuns, reassignedNodes, snapshot);
+                checkPoolNodes(snapshot);
+                poolAutoscaler.adjustPoolSizes(snapshot);
+                int clusterSize = snapshot.getNodesCount();
                 int nodeUpTasksSize = nodeUpTaskInProgress.size() + getPoolNodeUpTasksCount();
 
                 log.debug(
@@ -172,57 +169,64 @@ public class AutoscaleManager extends AbstractSchedulingManager {
             } catch (KubernetesClientException e) {
                 log.error(e.getMessage(), e);
             }
-            poolAutoscaler.adjustPoolSizes();
         }
 
-        private void checkPendingPods(Set<String> scheduledRuns, KubernetesClient client, Set<String> nodes) {
+        /**
+         * Loads available nodes and pipeline pods once, all further decisions of the autoscaling cycle
+         * are made using the loaded snapshot.
+         */
+        private ClusterSnapshot loadClusterSnapshot(final KubernetesClient client) {
+            return ClusterSnapshot.of(kubernetesManager.getAvailableNodes(client).getItems(),
+                    kubernetesManager.getPodList(client).getItems(), kubernetesManager::isPodUnscheduled);
+        }
+
+        /**
+         * Schedules pending pods on new or reassigned nodes.
+         *
+         * @return labels of the nodes which were reassigned to pending runs, the snapshot still contains them
+         * with the previous labels
+         */
+        private Set<String> checkPendingPods(Set<String> scheduledRuns, KubernetesClient client,
+                                             ClusterSnapshot snapshot) {
             List<CompletableFuture<Void>> tasks = new ArrayList<>();
-            PodList podList = kubernetesManager.getPodList(client);
-            List<Pod> orderedPipelines = getOrderedPipelines(podList.getItems(), client);
-            Set<String> allPods = kubernetesManager.convertKubeItemsToRunIdSet(podList.getItems());
+            List<Pod> orderedPipelines = getOrderedPipelines(snapshot.getPods(), client);
             Set<String> reassignedNodes = new HashSet<>();
             orderedPipelines.forEach(pod -> {
                 if (kubernetesManager.isPodUnscheduled(pod)) {
-                    processPod(pod, client, scheduledRuns, tasks, allPods, nodes, reassignedNodes);
+                    processPod(pod, snapshot, scheduledRuns, tasks, reassignedNodes);
                 }
             });
             if (!tasks.isEmpty()) {
                 log.debug("Created {} nodeup tasks.", tasks.size());
             }
             log.debug("In progress {} nodeup tasks.", nodeUpTaskInProgress.size());
+            return reassignedNodes;
         }
 
-        private void checkPoolNodes(final KubernetesClient client) {
+        private void checkPoolNodes(final ClusterSnapshot snapshot) {
             final List<NodePool> activePools = nodePoolManager.getActivePools();
             if (CollectionUtils.isEmpty(activePools)) {
                 return;
             }
-            final List<Node> currentNodes = ListUtils.emptyIfNull(kubernetesManager.getAvailableNodes(client)
-                    .getItems());
             activePools.forEach(pool -> {
                 final Integer activeTasks = poolNodeUpTaskInProgress.getOrDefault(pool.getId(), 0);
                 log.debug("{} instance(s) are already created for pool {}.", activeTasks, pool);
                 if (activeTasks >= pool.getCount()) {
                     return;
                 }
-                final long matchingNodeCount = currentNodes.stream().filter(currentNode -> {
-                    final String nodeIdLabel = MapUtils.emptyIfNull(currentNode.getMetadata().getLabels())
-                            .get(KubernetesConstants.NODE_POOL_ID_LABEL);
-                    return StringUtils.isNotBlank(nodeIdLabel) && NumberUtils.isDigits(nodeIdLabel) &&
-                            pool.getId().equals(Long.parseLong(nodeIdLabel));
-                }).count();
+                final long matchingNodeCount = snapshot.getPoolNodesCount(pool.getId());
                 log.debug("Found {} existing instances matching {}.", matchingNodeCount, pool);
                 final long totalCount = activeTasks + matchingNodeCount;
                 if (totalCount < pool.getCount()) {
                     final long nodesToCreate = pool.getCount() - totalCount;
                     log.debug("Creating {} pool instance(s) for {}.", nodesToCreate, pool);
-                    LongStream.range(0, nodesToCreate).forEach(i -> createPoolNode(pool, client));
+                    LongStream.range(0, nodesToCreate).forEach(i -> createPoolNode(pool, snapshot));
                 }
             });
         }
 
-        private void createPoolNode(final NodePool node, final KubernetesClient client) {
-            final int currentClusterSize = getCurrentClusterSize(client);
+        private void createPoolNode(final NodePool node, final ClusterSnapshot snapshot) {
+            final int currentClusterSize = getCurrentClusterSize(snapshot);
             final Integer maxClusterSize = preferenceManager.getPreference(SystemPreferences.CLUSTER_MAX_SIZE);
             if (currentClusterSize >= maxClusterSize) {
                 log.debug("Reached maximum cluster size {} - current size {}.", maxClusterSize, currentClusterSize);
@@ -249,9 +253,8 @@ public class AutoscaleManager extends AbstractSchedulingManager {
                 });
         }
 
-        private void processPod(Pod pod, KubernetesClient client, Set<String> scheduledRuns,
-                                List<CompletableFuture<Void>> tasks, Set<String> allPods, Set<String> nodes,
-                                Set<String> reassignedNodes) {
+        private void processPod(Pod pod, ClusterSnapshot snapshot, Set<String> scheduledRuns,
+                                List<CompletableFuture<Void>> tasks, Set<String> reassignedNodes) {
             log.debug("Found an unscheduled pod: {}.", pod.getMetadata().getName());
             Map<String, String> labels = pod.getMetadata().getLabels();
             String runId = labels.get(KubernetesConstants.RUN_ID_LABEL);
@@ -261,7 +264,7 @@ public class AutoscaleManager extends AbstractSchedulingManager {
                 return;
             }
             // Check whether node with required RunID is available
-            if (nodes.contains(runId)) {
+            if (snapshot.getNodeIds().contains(runId)) {
                 log.debug("Node with required ID {} already exists.", runId);
                 return;
             }
@@ -287,19 +290,19 @@ public class AutoscaleManager extends AbstractSchedulingManager {
                     return;
                 }
                 List<String> freeNodes =
-                        nodes.stream().filter(nodeId -> !allPods.contains(nodeId)
+                        snapshot.getNodeIds().stream().filter(nodeId -> !snapshot.getPodIds().contains(nodeId)
                                 && !reassignedNodes.contains(nodeId) &&
-                                kubernetesManager.isNodeAvailable(client, nodeId))
+                                snapshot.findNode(nodeId).filter(kubernetesManager::isNodeAvailable).isPresent())
                                 .collect(Collectors.toList());
                 log.debug("Found {} free nodes.", freeNodes.size());
-                if (reassignHandler.tryReassignNode(client, scheduledRuns, reassignedNodes, runId,
+                if (reassignHandler.tryReassignNode(snapshot, scheduledRuns, reassignedNodes, runId,
                         longId, requiredInstance, freeNodes)) {
                     return;
                 }
-                if (!hasClusterCapacity(client)) {
+                if (!hasClusterCapacity(snapshot)) {
                     return;
                 }
-                int currentClusterSize = getCurrentClusterSize(client);
+                int currentClusterSize = getCurrentClusterSize(snapshot);
                 Integer maxClusterSize = preferenceManager.getPreference(SystemPreferences.CLUSTER_MAX_SIZE);
                 if (currentClusterSize == maxClusterSize &&
                         preferenceManager.getPreference(SystemPreferences.CLUSTER_KILL_NOT_MATCHING_NODES)) {
@@ -333,8 +336,8 @@ public class AutoscaleManager extends AbstractSchedulingManager {
             }
         }
 
-        private boolean hasClusterCapacity(final KubernetesClient client) {
-            final int currentClusterSize = getCurrentClusterSize(client);
+        private boolean hasClusterCapacity(final ClusterSnapshot snapshot) {
+            final int currentClusterSize = getCurrentClusterSize(snapshot);
             final Integer maxClusterSize = preferenceManager.getPreference(SystemPreferences.CLUSTER_MAX_SIZE);
             if (currentClusterSize > maxClusterSize) {
                 log.debug("Exceeded maximum cluster size {} - current size {}.",
@@ -526,9 +529,8 @@ public class AutoscaleManager extends AbstractSchedulingManager {
             }
         }
 
-        private int getCurrentClusterSize(KubernetesClient client) {
-            return nodeUpTaskInProgress.size() + getPoolNodeUpTasksCount() +
-                    kubernetesManager.getAvailableNodes(client).getItems().size();
+        private int getCurrentClusterSize(ClusterSnapshot snapshot) {
+            return nodeUpTaskInProgress.size() + getPoolNodeUpTasksCount() + snapshot.getNodesCount();
         }
 
         public InstanceRequest getNewRunInstance(String runId) throws GitClientException {
@@ -21,7 +21,6 @@ import com.epam.pipeline.entity.cluster.pool.NodePool;
 import com.epam.pipeline.entity.cluster.pool.RunningInstance;
 import com.epam.pipeline.entity.configuration.PipelineConfiguration;
 import com.epam.pipeline.entity.pipeline.RunInstance;
-import io.fabric8.kubernetes.client.KubernetesClient;
 
 import java.util.List;
 import java.util.Optional;
@@ -35,8 +34,8 @@ public interface AutoscalerService {
     boolean requirementsMatchWithImages(RunningInstance instanceOld, InstanceRequest instanceNew);
     RunInstance configurationToInstance(PipelineConfiguration configuration);
     RunInstance fillInstance(RunInstance instance);
-    RunningInstance getPreviousRunInstance(String nodeLabel, KubernetesClient client);
+    RunningInstance getPreviousRunInstance(String nodeLabel, ClusterSnapshot snapshot);
     void adjustRunPrices(long runId, List<InstanceDisk> disks);
-    Optional<NodePool> findPool(String nodeLabel, KubernetesClient client);
+    Optional<NodePool> findPool(String nodeLabel, ClusterSnapshot snapshot);
     void registerDisks(Long runId, RunInstance instance);
 }
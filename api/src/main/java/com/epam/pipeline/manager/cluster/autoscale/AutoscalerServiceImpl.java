@@ -25,7 +25,6 @@ import com.epam.pipeline.entity.pipeline.PipelineRun;
 import com.epam.pipeline.entity.pipeline.RunInstance;
 import com.epam.pipeline.entity.utils.DateUtils;
 import com.epam.pipeline.manager.cloud.CloudFacade;
-import com.epam.pipeline.manager.cluster.KubernetesConstants;
 import com.epam.pipeline.manager.cluster.NodeDiskManager;
 import com.epam.pipeline.manager.cluster.pool.NodePoolManager;
 import com.epam.pipeline.manager.pipeline.PipelineRunCRUDService;
@@ -33,13 +32,8 @@ import com.epam.pipeline.manager.pipeline.PipelineRunManager;
 import com.epam.pipeline.manager.preference.PreferenceManager;
 import com.epam.pipeline.manager.preference.SystemPreferences;
 import com.epam.pipeline.manager.region.CloudRegionManager;
-import io.fabric8.kubernetes.api.model.NodeList;
-import io.fabric8.kubernetes.client.KubernetesClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.ListUtils;
-import org.apache.commons.collections4.MapUtils;
-import org.apache.commons.lang3.math.NumberUtils;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -114,8 +108,8 @@ public class AutoscalerServiceImpl implements AutoscalerService {
         return instance;
     }
 
-    public RunningInstance getPreviousRunInstance(final String nodeLabel, final KubernetesClient client) {
-        return findPool(nodeLabel, client)
+    public RunningInstance getPreviousRunInstance(final String nodeLabel, final ClusterSnapshot snapshot) {
+        return findPool(nodeLabel, snapshot)
                 .map(NodePool::toRunningInstance)
                 .orElseGet(() -> {
                     try {
@@ -131,26 +125,11 @@ public class AutoscalerServiceImpl implements AutoscalerService {
                 });
     }
 
-    public Optional<NodePool> findPool(final String nodeLabel, final KubernetesClient client) {
-        return findPoolNodeId(nodeLabel, client)
+    public Optional<NodePool> findPool(final String nodeLabel, final ClusterSnapshot snapshot) {
+        return snapshot.findPoolId(nodeLabel)
                 .flatMap(nodePoolManager::find);
     }
 
-    public Optional<Long> findPoolNodeId(final String nodeLabel, final KubernetesClient client) {
-        final NodeList nodes = client.nodes()
-                .withLabel(KubernetesConstants.RUN_ID_LABEL, nodeLabel)
-                .withoutLabel(KubernetesConstants.PAUSED_NODE_LABEL)
-                .withLabel(KubernetesConstants.NODE_POOL_ID_LABEL)
-                .list();
-        return ListUtils.emptyIfNull(nodes.getItems())
-                .stream()
-                .map(node -> MapUtils.emptyIfNull(node.getMetadata().getLabels())
-                        .get(KubernetesConstants.NODE_POOL_ID_LABEL))
-                .filter(NumberUtils::isDigits)
-                .map(Long::parseLong)
-                .findFirst();
-    }
-
     public void adjustRunPrices(final long runId, final List<InstanceDisk> disks) {
         pipelineRunManager.adjustRunPricePerHourToDisks(runId, disks);
     }
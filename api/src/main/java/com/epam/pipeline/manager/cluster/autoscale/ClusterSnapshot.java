@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.cluster.autoscale;
+
+import com.epam.pipeline.manager.cluster.KubernetesConstants;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Node;
+import io.fabric8.kubernetes.api.model.Pod;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable state of the cluster which is loaded once per autoscaling cycle.
+ *
+ * Contains available (run id labeled and not paused) nodes and pipeline pods, so all autoscaling
+ * decisions of a cycle are made without additional requests to Kubernetes API.
+ */
+public final class ClusterSnapshot {
+
+    private final List<Node> nodes;
+    private final List<Pod> pods;
+    private final List<Pod> pendingPods;
+    private final Map<String, Node> nodesByRunId;
+    private final Set<String> podRunIds;
+
+    private ClusterSnapshot(final List<Node> nodes, final List<Pod> pods, final List<Pod> pendingPods) {
+        this.nodes = Collections.unmodifiableList(nodes);
+        this.pods = Collections.unmodifiableList(pods);
+        this.pendingPods = Collections.unmodifiableList(pendingPods);
+        this.nodesByRunId = Collections.unmodifiableMap(nodes.stream()
+                .filter(node -> getRunId(node) != null)
+                .collect(Collectors.toMap(ClusterSnapshot::getRunId, Function.identity(), (n1, n2) -> n1)));
+        this.podRunIds = Collections.unmodifiableSet(pods.stream()
+                .map(ClusterSnapshot::getRunId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+    }
+
+    /**
+     * Creates a snapshot from the given nodes and pods.
+     *
+     * @param nodes available cluster nodes
+     * @param pods pipeline pods
+     * @param unscheduled predicate which selects pods waiting for a node
+     */
+    public static ClusterSnapshot of(final List<Node> nodes, final List<Pod> pods,
+                                     final Predicate<Pod> unscheduled) {
+        final List<Pod> allPods = ListUtils.emptyIfNull(pods);
+        return new ClusterSnapshot(ListUtils.emptyIfNull(nodes), allPods, allPods.stream()
+                .filter(unscheduled)
+                .collect(Collectors.toList()));
+    }
+
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    public List<Pod> getPods() {
+        return pods;
+    }
+
+    public List<Pod> getPendingPods() {
+        return pendingPods;
+    }
+
+    public Set<String> getNodeIds() {
+        return nodesByRunId.keySet();
+    }
+
+    public Set<String> getPodIds() {
+        return podRunIds;
+    }
+
+    public int getNodesCount() {
+        return nodes.size();
+    }
+
+    public Optional<Node> findNode(final String nodeLabel) {
+        return Optional.ofNullable(nodesByRunId.get(nodeLabel));
+    }
+
+    /**
+     * Finds an id of the pool which the node with the given run id label belongs to.
+     */
+    public Optional<Long> findPoolId(final String nodeLabel) {
+        return findNode(nodeLabel).flatMap(ClusterSnapshot::getPoolId);
+    }
+
+    /**
+     * Counts available nodes of the given pool. Paused nodes are not counted since they are not
+     * part of the snapshot.
+     */
+    public long getPoolNodesCount(final Long poolId) {
+        return nodes.stream()
+                .map(ClusterSnapshot::getPoolId)
+                .filter(id -> id.filter(poolId::equals).isPresent())
+                .count();
+    }
+
+    private static Optional<Long> getPoolId(final Node node) {
+        return Optional.ofNullable(getLabel(node, KubernetesConstants.NODE_POOL_ID_LABEL))
+                .filter(NumberUtils::isDigits)
+                .map(Long::parseLong);
+    }
+
+    private static String getRunId(final HasMetadata item) {
+        return getLabel(item, KubernetesConstants.RUN_ID_LABEL);
+    }
+
+    private static String getLabel(final HasMetadata item, final String label) {
+        return Optional.ofNullable(item.getMetadata())
+                .map(metadata -> MapUtils.emptyIfNull(metadata.getLabels()).get(label))
+                .orElse(null);
+    }
+}
@@ -18,12 +18,10 @@ package com.epam.pipeline.manager.cluster.autoscale;
 import com.epam.pipeline.controller.vo.cluster.pool.NodePoolVO;
 import com.epam.pipeline.entity.cluster.pool.NodePool;
 import com.epam.pipeline.manager.cluster.KubernetesConstants;
-import com.epam.pipeline.manager.cluster.KubernetesManager;
 import com.epam.pipeline.manager.cluster.pool.NodePoolManager;
 import com.epam.pipeline.mapper.cluster.pool.NodePoolMapper;
 import com.epam.pipeline.utils.DoubleUtils;
 import io.fabric8.kubernetes.api.model.Node;
-import io.fabric8.kubernetes.client.KubernetesClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.ListUtils;
@@ -44,16 +42,13 @@ public class PoolAutoscaler {
     public static final int PERCENT_MULTIPLIER = 100;
     private final NodePoolManager poolManager;
     private final NodePoolMapper poolMapper;
-    private final KubernetesManager kubernetesManager;
 
-    public void adjustPoolSizes() {
-        try (KubernetesClient kubernetesClient = kubernetesManager.getKubernetesClient()) {
-            final List<Node> availableNodes = kubernetesManager.getNodes(kubernetesClient);
-            final Set<String> activePodIds = kubernetesManager.getAllPodIds(kubernetesClient);
-            poolManager.getActivePools()
-                    .forEach(pool ->
-                            adjustPoolSize(pool, availableNodes, activePodIds));
-        }
+    /**
+     * Adjusts sizes of autoscaled pools using nodes and pods of the current autoscaling cycle snapshot.
+     */
+    public void adjustPoolSizes(final ClusterSnapshot snapshot) {
+        poolManager.getActivePools()
+                .forEach(pool -> adjustPoolSize(pool, snapshot.getNodes(), snapshot.getPodIds()));
     }
 
     private void adjustPoolSize(final NodePool pool,
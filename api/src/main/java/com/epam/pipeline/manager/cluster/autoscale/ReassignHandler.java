@@ -29,7 +29,6 @@ import com.epam.pipeline.manager.cluster.KubernetesConstants;
 import com.epam.pipeline.manager.cluster.autoscale.filter.PoolFilterHandler;
 import com.epam.pipeline.manager.pipeline.PipelineRunManager;
 import com.epam.pipeline.utils.CommonUtils;
-import io.fabric8.kubernetes.client.KubernetesClient;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.MapUtils;
@@ -66,7 +65,7 @@ public class ReassignHandler {
         this.filterHandlers = CommonUtils.groupByKey(filterHandlers, PoolFilterHandler::type);
     }
 
-    public boolean tryReassignNode(final KubernetesClient client,
+    public boolean tryReassignNode(final ClusterSnapshot snapshot,
                                    final Set<String> scheduledRuns,
                                    final Set<String> reassignedNodes,
                                    final String runId,
@@ -82,7 +81,7 @@ public class ReassignHandler {
         final Map<String, RunningInstance> freeInstances = ListUtils.emptyIfNull(freeNodes)
                 .stream()
                 .collect(HashMap::new,
-                    (map, id) -> map.put(id, autoscalerService.getPreviousRunInstance(id, client)),
+                    (map, id) -> map.put(id, autoscalerService.getPreviousRunInstance(id, snapshot)),
                     HashMap::putAll);
 
         freeInstances.values()
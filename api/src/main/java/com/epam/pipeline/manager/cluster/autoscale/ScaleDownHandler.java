@@ -27,12 +27,8 @@ import com.epam.pipeline.manager.cluster.KubernetesManager;
 import com.epam.pipeline.manager.pipeline.PipelineRunCRUDService;
 import com.epam.pipeline.manager.pipeline.PipelineRunManager;
 import io.fabric8.kubernetes.api.model.Node;
-import io.fabric8.kubernetes.api.model.NodeList;
-import io.fabric8.kubernetes.api.model.PodList;
-import io.fabric8.kubernetes.client.KubernetesClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.ListUtils;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -51,18 +47,34 @@ public class ScaleDownHandler {
     private final KubernetesManager kubernetesManager;
     private final PipelineRunCRUDService runCRUDService;
 
+    /**
+     * Scales down nodes which are not used by runs and are not required by pending runs or active pools.
+     *
+     * @param scheduledRuns ids of the runs which were scheduled during the current autoscaling cycle
+     * @param reassignedNodes labels of the nodes which were reassigned to other runs during the current
+     *                        autoscaling cycle, such nodes are still labeled with the previous run ids in snapshot
+     * @param snapshot cluster state loaded at the beginning of the autoscaling cycle
+     */
     public void checkFreeNodes(final Set<String> scheduledRuns,
-                               final KubernetesClient client,
-                               final Set<String> pods) {
-        final List<InstanceRequest> requiredInstances = getRequiredInstances(scheduledRuns, client);
-        kubernetesManager.getAvailableNodes(client)
-                .getItems()
-                .forEach(node -> scaleDownNodeIfFree(scheduledRuns, client, pods, requiredInstances, node));
+                               final Set<String> reassignedNodes,
+                               final ClusterSnapshot snapshot) {
+        final List<InstanceRequest> requiredInstances = getRequiredInstances(scheduledRuns, snapshot);
+        snapshot.getNodes().stream()
+                .filter(node -> !isReassigned(node, reassignedNodes))
+                .forEach(node -> scaleDownNodeIfFree(scheduledRuns, snapshot, requiredInstances, node));
+    }
+
+    private boolean isReassigned(final Node node, final Set<String> reassignedNodes) {
+        final String nodeLabel = node.getMetadata().getLabels().get(KubernetesConstants.RUN_ID_LABEL);
+        if (reassignedNodes.contains(nodeLabel)) {
+            log.debug("Node {} is reassigned to another run.", nodeLabel);
+            return true;
+        }
+        return false;
     }
 
     private void scaleDownNodeIfFree(final Set<String> scheduledRuns,
-                                     final KubernetesClient client,
-                                     final Set<String> pods,
+                                     final ClusterSnapshot snapshot,
                                      final List<InstanceRequest> requiredInstances,
                                      final Node node) {
         final String nodeLabel = node.getMetadata().getLabels().get(KubernetesConstants.RUN_ID_LABEL);
@@ -78,7 +90,7 @@ public class ScaleDownHandler {
                 cloudFacade.scaleDownPoolNode(nodeLabel);
             } else {
                 final Long currentRunId = Long.parseLong(nodeLabel);
-                if (autoscalerService.getPreviousRunInstance(nodeLabel, client) != null) {
+                if (autoscalerService.getPreviousRunInstance(nodeLabel, snapshot) != null) {
                     log.debug("Trying to set failure status for run {}.", nodeLabel);
                     pipelineRunManager.updatePipelineStatusIfNotFinal(currentRunId, TaskStatus.FAILURE);
                     updatePodStatus(node, currentRunId);
@@ -88,22 +100,22 @@ public class ScaleDownHandler {
             }
             return;
         }
-        if (scheduledRuns.contains(nodeLabel) || pods.contains(nodeLabel)) {
+        if (scheduledRuns.contains(nodeLabel) || snapshot.getPodIds().contains(nodeLabel)) {
             log.debug("Node is already assigned to run {}.", nodeLabel);
             return;
         }
         if (poolNode) {
-            scaleDownPoolNodeIfNotRequired(nodeLabel, client, requiredInstances);
+            scaleDownPoolNodeIfNotRequired(nodeLabel, snapshot, requiredInstances);
         } else {
-            scaleDownRunNodeIfNotRequired(nodeLabel, client, requiredInstances);
+            scaleDownRunNodeIfNotRequired(nodeLabel, snapshot, requiredInstances);
         }
     }
 
     private void scaleDownPoolNodeIfNotRequired(final String nodeLabel,
-                                                final KubernetesClient client,
+                                                final ClusterSnapshot snapshot,
                                                 final List<InstanceRequest> requiredInstances) {
         final NodePool nodePool = autoscalerService
-                .findPool(nodeLabel, client)
+                .findPool(nodeLabel, snapshot)
                 .orElse(null);
 
         if (nodePool == null) {
@@ -118,7 +130,7 @@ public class ScaleDownHandler {
         if (matchingPipeline.isPresent()) {
             requiredInstances.remove(matchingPipeline.get());
             log.debug("Leaving node {} free since it possibly matches a pending run.", nodeLabel);
-        } else if (matchesActivePool(nodePool, client)) {
+        } else if (matchesActivePool(nodePool, snapshot)) {
             log.debug("Leaving {} node in cluster as it matches an active pool.", nodePool);
         } else {
             log.debug("Scaling down pool node {}.", nodeLabel);
@@ -127,10 +139,10 @@ public class ScaleDownHandler {
     }
 
     private void scaleDownRunNodeIfNotRequired(final String nodeLabel,
-                                               final KubernetesClient client,
+                                               final ClusterSnapshot snapshot,
                                                final List<InstanceRequest> requiredInstances) {
         final Long currentRunId = Long.parseLong(nodeLabel);
-        final RunningInstance previousConfiguration = autoscalerService.getPreviousRunInstance(nodeLabel, client);
+        final RunningInstance previousConfiguration = autoscalerService.getPreviousRunInstance(nodeLabel, snapshot);
 
         if (previousConfiguration == null) {
             log.debug("Scaling down {} node for deleted pipeline.", nodeLabel);
@@ -150,7 +162,7 @@ public class ScaleDownHandler {
         if (matchingPipeline.isPresent()) {
             requiredInstances.remove(matchingPipeline.get());
             log.debug("Leaving node {} free since it possibly matches a pending run.", nodeLabel);
-        } else if (matchesActivePool(nodeLabel, client)) {
+        } else if (matchesActivePool(nodeLabel, snapshot)) {
             log.debug("Leaving {} node in cluster as it matches active schedule.", nodeLabel);
         } else {
             if (cloudFacade.isNodeExpired(currentRunId)) {
@@ -163,21 +175,22 @@ public class ScaleDownHandler {
     }
 
     private boolean matchesActivePool(final String nodeLabel,
-                                      final KubernetesClient client) {
-        return autoscalerService.findPool(nodeLabel, client)
-                .map(node -> matchesActivePool(node, client))
+                                      final ClusterSnapshot snapshot) {
+        return autoscalerService.findPool(nodeLabel, snapshot)
+                .map(node -> matchesActivePool(node, snapshot))
                 .orElse(false);
     }
 
+    /**
+     * Checks whether the pool is active and doesn't exceed its size. Paused nodes are not counted,
+     * the same way as pool nodes are counted when the pool size is maintained.
+     */
     private boolean matchesActivePool(final NodePool nodePool,
-                                      final KubernetesClient client) {
+                                      final ClusterSnapshot snapshot) {
         if (!nodePool.isActive(DateUtils.nowUTC())) {
             return false;
         }
-        final NodeList nodes = client.nodes()
-                .withLabel(KubernetesConstants.NODE_POOL_ID_LABEL, String.valueOf(nodePool.getId()))
-                .list();
-        return nodes.getItems().size() <= nodePool.getCount();
+        return snapshot.getPoolNodesCount(nodePool.getId()) <= nodePool.getCount();
     }
 
     private void updatePodStatus(final Node node, final Long id) {
@@ -197,11 +210,9 @@ public class ScaleDownHandler {
 
     private List<InstanceRequest> getRequiredInstances(
             final Set<String> scheduledRuns,
-            final KubernetesClient client) {
-        final PodList podList = kubernetesManager.getPodList(client);
-        return ListUtils.emptyIfNull(podList.getItems())
+            final ClusterSnapshot snapshot) {
+        return snapshot.getPendingPods()
                 .stream()
-                .filter(kubernetesManager::isPodUnscheduled)
                 .map(pod -> pod.getMetadata().getLabels().get(KubernetesConstants.RUN_ID_LABEL))
                 .filter(runId -> !scheduledRuns.contains(runId))
                 .map(runId -> {
@@ -19,9 +19,11 @@ package com.epam.pipeline.manager.cluster.performancemonitoring;
 import com.epam.pipeline.common.MessageConstants;
 import com.epam.pipeline.common.MessageHelper;
 import com.epam.pipeline.dao.monitoring.MonitoringESDao;
+import com.epam.pipeline.dao.monitoring.MonitoringStatsRollupDao;
 import com.epam.pipeline.dao.monitoring.metricrequester.AbstractMetricRequester;
 import com.epam.pipeline.entity.cluster.NodeInstance;
 import com.epam.pipeline.entity.cluster.monitoring.ELKUsageMetric;
+import com.epam.pipeline.entity.cluster.monitoring.MonitoringRollupResolution;
 import com.epam.pipeline.entity.cluster.monitoring.MonitoringStats;
 import com.epam.pipeline.entity.utils.DateUtils;
 import com.epam.pipeline.manager.cluster.KubernetesConstants;
@@ -38,12 +40,15 @@ import org.springframework.stereotype.Service;
 import java.io.InputStream;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 @Service
@@ -56,10 +61,12 @@ public class ESMonitoringManager implements UsageMonitoringManager {
     private static final Duration FALLBACK_MINIMAL_INTERVAL = Duration.ofMinutes(1);
     private static final int FALLBACK_INTERVALS_NUMBER = 10;
     private static final int TWO = 2;
+    private static final int EXPORT_CHUNK_INTERVALS = 1000;
     private static final String SWAP_FILESYSTEM = "tmpfs";
 
     private final RestHighLevelClient client;
     private final MonitoringESDao monitoringDao;
+    private final MonitoringStatsRollupDao rollupDao;
     private final MessageHelper messageHelper;
     private final PreferenceManager preferenceManager;
     private final NodesManager nodesManager;
@@ -67,12 +74,14 @@ public class ESMonitoringManager implements UsageMonitoringManager {
 
     public ESMonitoringManager(final RestHighLevelClient client,
                                final MonitoringESDao monitoringDao,
+                               final MonitoringStatsRollupDao rollupDao,
                                final MessageHelper messageHelper,
                                final PreferenceManager preferenceManager,
                                final NodesManager nodesManager,
                                final List<AbstractMonitoringStatsWriter> writers) {
         this.client = client;
         this.monitoringDao = monitoringDao;
+        this.rollupDao = rollupDao;
         this.messageHelper = messageHelper;
         this.preferenceManager = preferenceManager;
         this.nodesManager = nodesManager;
@@ -88,7 +97,7 @@ public class ESMonitoringManager implements UsageMonitoringManager {
         final LocalDateTime end = Optional.ofNullable(to).orElseGet(DateUtils::nowUTC);
         final Duration interval = interval(start, end);
         return end.isAfter(start) && end.isAfter(oldestMonitoring)
-                ? getStats(nodeName, start, end, interval)
+                ? loadStats(nodeName, start, end, interval, MonitoringRollupResolution.notCoarserThan(interval))
                 : Collections.emptyList();
     }
 
@@ -109,7 +118,7 @@ public class ESMonitoringManager implements UsageMonitoringManager {
         final AbstractMonitoringStatsWriter statsWriter = Optional.ofNullable(statsWriters.get(type))
             .orElseThrow(() -> new IllegalArgumentException(
                 messageHelper.getMessage(MessageConstants.ERROR_UNSUPPORTED_STATS_FILE_TYPE)));
-        return statsWriter.convertStatsToFile(getStats(nodeName, start, end, adjustedDuration));
+        return statsWriter.convertStatsToFile(() -> loadStatsInChunks(nodeName, start, end, adjustedDuration));
     }
 
     @Override
@@ -141,6 +150,78 @@ public class ESMonitoringManager implements UsageMonitoringManager {
         return diskStats.getCapacity() - diskStats.getUsableSpace();
     }
 
+    /**
+     * Retrieves monitoring stats for node from raw monitoring indices bypassing rolled up stats.
+     */
+    public List<MonitoringStats> getRawStats(final String nodeName, final LocalDateTime start,
+                                             final LocalDateTime end, final Duration interval) {
+        return getStats(nodeName, start, end, interval);
+    }
+
+    private List<MonitoringStats> loadStats(final String nodeName, final LocalDateTime start,
+                                            final LocalDateTime end, final Duration interval,
+                                            final Optional<MonitoringRollupResolution> resolution) {
+        return resolution
+                .filter(it -> isRollupEnabled())
+                .flatMap(it -> loadRolledUpStats(nodeName, start, end, it))
+                .orElseGet(() -> getStats(nodeName, start, end, interval));
+    }
+
+    /**
+     * Lazily loads stats of the given period chunk by chunk, so that exports of long periods
+     * do not hold all the node stats in memory. Chunk boundaries are aligned to the chunk duration,
+     * so that no interval is split between two chunks.
+     */
+    private Stream<MonitoringStats> loadStatsInChunks(final String nodeName, final LocalDateTime start,
+                                                      final LocalDateTime end, final Duration interval) {
+        final Optional<MonitoringRollupResolution> resolution = MonitoringRollupResolution.of(interval);
+        final long chunkMillis = interval.toMillis() * EXPORT_CHUNK_INTERVALS;
+        final List<LocalDateTime> boundaries = new ArrayList<>();
+        LocalDateTime boundary = start;
+        while (boundary.isBefore(end)) {
+            boundaries.add(boundary);
+            final long boundaryMillis = boundary.toInstant(ZoneOffset.UTC).toEpochMilli();
+            boundary = boundary.plus(Duration.ofMillis(chunkMillis - Math.floorMod(boundaryMillis, chunkMillis)));
+        }
+        boundaries.add(end);
+        return IntStream.range(0, boundaries.size() - 1)
+                .mapToObj(i -> loadStats(nodeName, boundaries.get(i), boundaries.get(i + 1), interval, resolution))
+                .flatMap(List::stream);
+    }
+
+    /**
+     * Loads rolled up stats of the given resolution. Stats which are not rolled up yet are loaded
+     * from raw monitoring indices. If the requested period starts before the node rolled up period,
+     * nothing is returned and raw monitoring indices should be used instead. It is also the case
+     * for nodes which have no rolled up stats at all, e.g. nodes terminated before the rollup.
+     */
+    private Optional<List<MonitoringStats>> loadRolledUpStats(final String nodeName,
+                                                              final LocalDateTime start,
+                                                              final LocalDateTime end,
+                                                              final MonitoringRollupResolution resolution) {
+        return rollupDao.loadCoverage(nodeName, resolution)
+                .filter(coverage -> !start.isBefore(coverage.getFrom()))
+                .map(coverage -> {
+                    final LocalDateTime rolledUpEnd = end.isBefore(coverage.getTo()) ? end : coverage.getTo();
+                    final List<MonitoringStats> stats = new ArrayList<>();
+                    rollupDao.load(nodeName, resolution, resolution.truncate(start), rolledUpEnd).stream()
+                            .map(it -> statsWithinRegion(it, start, end, resolution.getDuration()))
+                            .filter(Optional::isPresent)
+                            .map(Optional::get)
+                            .forEach(stats::add);
+                    final LocalDateTime rawStart = start.isAfter(rolledUpEnd) ? start : rolledUpEnd;
+                    if (end.isAfter(rawStart)) {
+                        stats.addAll(getStats(nodeName, rawStart, end, resolution.getDuration()));
+                    }
+                    return stats;
+                });
+    }
+
+    private boolean isRollupEnabled() {
+        return Optional.ofNullable(preferenceManager.getPreference(SystemPreferences.CLUSTER_MONITORING_ROLLUP_ENABLED))
+                .orElse(false);
+    }
+
     private LocalDateTime oldestMonitoringDate() {
         return monitoringDao.oldestIndexDate().orElseGet(this::fallbackMonitoringStart);
     }
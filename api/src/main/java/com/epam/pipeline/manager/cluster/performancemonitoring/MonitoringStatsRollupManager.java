@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster.performancemonitoring;
+
+import com.epam.pipeline.dao.monitoring.MonitoringStatsRollupDao;
+import com.epam.pipeline.entity.cluster.NodeInstance;
+import com.epam.pipeline.entity.cluster.monitoring.MonitoringRollupResolution;
+import com.epam.pipeline.entity.cluster.monitoring.MonitoringStats;
+import com.epam.pipeline.entity.utils.DateUtils;
+import com.epam.pipeline.manager.cluster.NodesManager;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import com.epam.pipeline.manager.scheduling.AbstractSchedulingManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.core.SchedulerLock;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically downsamples raw node monitoring stats into 1m/10m/1h series stored
+ * by {@link MonitoringStatsRollupDao}.
+ *
+ * Each node is rolled up from the end of its own already rolled up period till the last completed
+ * resolution bucket, so that a failed node or a missed run is caught up by the next one. The last
+ * buckets are rolled up again on each run, so raw stats which arrive late are not lost.
+ */
+@Service
+@ConditionalOnProperty(name = "monitoring.backend", havingValue = "elastic")
+@RequiredArgsConstructor
+public class MonitoringStatsRollupManager extends AbstractSchedulingManager {
+
+    private final MonitoringStatsRollupManagerCore core;
+
+    @PostConstruct
+    public void init() {
+        scheduleFixedDelaySecured(core::rollup, SystemPreferences.CLUSTER_MONITORING_ROLLUP_PERIOD,
+                "Monitoring Stats Rollup");
+    }
+
+    public void rollup() {
+        core.rollup();
+    }
+
+    @Component
+    @Slf4j
+    @RequiredArgsConstructor
+    @ConditionalOnProperty(name = "monitoring.backend", havingValue = "elastic")
+    static class MonitoringStatsRollupManagerCore {
+
+        /**
+         * Delay of monitoring stats delivery to raw monitoring indices.
+         */
+        private static final Duration LAG = Duration.ofMinutes(1);
+        /**
+         * Period which is rolled up when there are no rolled up stats yet.
+         */
+        private static final Duration INITIAL_PERIOD = Duration.ofHours(1);
+        /**
+         * Maximum period which is caught up for a node which was not rolled up for a long time.
+         */
+        private static final Duration MAX_PERIOD = Duration.ofDays(1);
+        /**
+         * Period which is rolled up again on each run to pick up raw stats delivered later than {@link #LAG}.
+         */
+        private static final Duration TRAILING_PERIOD = Duration.ofMinutes(10);
+
+        private final ESMonitoringManager monitoringManager;
+        private final MonitoringStatsRollupDao rollupDao;
+        private final NodesManager nodesManager;
+        private final PreferenceManager preferenceManager;
+
+        @SchedulerLock(name = "MonitoringStatsRollupManager_rollup", lockAtMostForString = "PT10M")
+        public void rollup() {
+            if (!isEnabled()) {
+                return;
+            }
+            final List<String> nodes = nodesManager.getNodes().stream()
+                    .map(NodeInstance::getName)
+                    .collect(Collectors.toList());
+            final LocalDateTime now = DateUtils.nowUTC();
+            for (MonitoringRollupResolution resolution : MonitoringRollupResolution.values()) {
+                rollup(resolution, nodes, now);
+            }
+        }
+
+        @Scheduled(cron = "0 0 0 ? * *")
+        @SchedulerLock(name = "MonitoringStatsRollupManager_removeOldIndices", lockAtMostForString = "PT1H")
+        public void removeOldIndices() {
+            if (!isEnabled()) {
+                return;
+            }
+            rollupDao.deleteIndices(preferenceManager.getPreference(
+                    SystemPreferences.SYSTEM_RESOURCE_MONITORING_STATS_RETENTION_PERIOD));
+        }
+
+        private void rollup(final MonitoringRollupResolution resolution, final List<String> nodes,
+                            final LocalDateTime now) {
+            final LocalDateTime end = resolution.truncate(now.minus(LAG));
+            log.debug("Rolling up {} monitoring stats of {} nodes till {}", resolution.getName(), nodes.size(), end);
+            nodes.forEach(node -> rollup(resolution, node, end));
+        }
+
+        private void rollup(final MonitoringRollupResolution resolution, final String node,
+                            final LocalDateTime end) {
+            try {
+                final LocalDateTime start = getStart(resolution, node, end);
+                if (!end.isAfter(start)) {
+                    return;
+                }
+                final List<MonitoringStats> stats = monitoringManager.getRawStats(node, start, end,
+                        resolution.getDuration());
+                rollupDao.save(node, resolution, stats);
+            } catch (RuntimeException e) {
+                log.error(String.format("Failed to roll up %s monitoring stats of node %s",
+                        resolution.getName(), node), e);
+            }
+        }
+
+        private LocalDateTime getStart(final MonitoringRollupResolution resolution, final String node,
+                                       final LocalDateTime end) {
+            final LocalDateTime trailingStart = resolution.truncate(end.minus(TRAILING_PERIOD));
+            return rollupDao.loadCoverage(node, resolution)
+                    .map(MonitoringStatsRollupDao.RollupCoverage::getTo)
+                    .map(coveredTill -> max(coveredTill, resolution.truncate(end.minus(MAX_PERIOD))))
+                    .map(coveredTill -> coveredTill.isAfter(trailingStart) ? trailingStart : coveredTill)
+                    .orElseGet(() -> resolution.truncate(end.minus(INITIAL_PERIOD)));
+        }
+
+        private LocalDateTime max(final LocalDateTime first, final LocalDateTime second) {
+            return first.isAfter(second) ? first : second;
+        }
+
+        private boolean isEnabled() {
+            return Optional.ofNullable(preferenceManager.getPreference(
+                    SystemPreferences.CLUSTER_MONITORING_ROLLUP_ENABLED))
+                    .orElse(false);
+        }
+    }
+}
@@ -27,6 +27,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -44,17 +46,52 @@ public abstract class AbstractMonitoringStatsWriter {
 
     public abstract InputStream convertStatsToFile(List<MonitoringStats> stats);
 
+    /**
+     * Converts stats which are loaded lazily by the given supplier. The supplier may be called several times
+     * and shall return the same stats each time.
+     */
+    public InputStream convertStatsToFile(final Supplier<Stream<MonitoringStats>> stats) {
+        return convertStatsToFile(stats.get().collect(Collectors.toList()));
+    }
+
     public abstract MonitoringReportType getReportType();
 
     protected List<String[]> extractTable(final List<MonitoringStats> stats) {
-        final List<String[]> allLines = new ArrayList<>();
-        final MonitoringStatsHeader header = extractHeader(stats);
-        allLines.add(header.getColumnNames().toArray(new String[0]));
-        final List<String[]> entities = stats.stream()
-            .map(stat -> createNewLine(header, stat))
-            .collect(Collectors.toList());
-        allLines.addAll(entities);
-        return allLines;
+        return streamTable(stats).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns a header line followed by lines of the given stats. Stats lines are created lazily
+     * when the stream is consumed.
+     */
+    protected Stream<String[]> streamTable(final List<MonitoringStats> stats) {
+        if (stats.isEmpty()) {
+            return Stream.<String[]>of(COMMON_STATS_HEADER.toArray(new String[0]));
+        }
+        return streamTable(stats::stream);
+    }
+
+    /**
+     * Returns a header line followed by lines of the stats which are loaded by the given supplier. The stats
+     * are traversed twice: to collect disks and network interfaces of the header and to create stats lines
+     * once the stream is consumed, so that the stats are never kept in memory at once. If there are no
+     * stats, an empty stream is returned.
+     */
+    protected Stream<String[]> streamTable(final Supplier<Stream<MonitoringStats>> stats) {
+        final Set<String> disks = new TreeSet<>();
+        final Set<String> networkInterfaces = new TreeSet<>();
+        final long count = stats.get()
+            .peek(stat -> {
+                disks.addAll(stat.getDisksUsage().getStatsByDevices().keySet());
+                networkInterfaces.addAll(stat.getNetworkUsage().getStatsByInterface().keySet());
+            })
+            .count();
+        if (count == 0) {
+            return Stream.empty();
+        }
+        final MonitoringStatsHeader header = buildHeader(new ArrayList<>(disks), new ArrayList<>(networkInterfaces));
+        return Stream.concat(Stream.<String[]>of(header.getColumnNames().toArray(new String[0])),
+                             stats.get().map(stat -> createNewLine(header, stat)));
     }
 
     protected Stream<String> getDiskNamesStream(final List<MonitoringStats> stats) {
@@ -70,26 +107,16 @@ public abstract class AbstractMonitoringStatsWriter {
         return getDiskNamesStream(stats).sorted();
     }
 
-    private MonitoringStatsHeader extractHeader(final List<MonitoringStats> stats) {
+    private MonitoringStatsHeader buildHeader(final List<String> disks, final List<String> networkInterfaces) {
         final List<String> headerColumns = new ArrayList<>(COMMON_STATS_HEADER);
-        final List<String> disks = getSortedDiskNamesStream(stats)
-            .peek(disk -> {
-                headerColumns.add(String.format(DISK_TOTAL_HEADER_TEMPLATE, disk));
-                headerColumns.add(String.format(DISK_USAGE_HEADER_TEMPLATE, disk));
-            })
-            .collect(Collectors.toList());
-        final List<String> networkInterfaces = stats.stream()
-            .map(MonitoringStats::getNetworkUsage)
-            .map(MonitoringStats.NetworkUsage::getStatsByInterface)
-            .map(Map::keySet)
-            .flatMap(Set::stream)
-            .distinct()
-            .sorted()
-            .peek(netInterface -> {
-                headerColumns.add(String.format(NETWORK_USAGE_IN_HEADER_TEMPLATE, netInterface));
-                headerColumns.add(String.format(NETWORK_USAGE_OUT_HEADER_TEMPLATE, netInterface));
-            })
-            .collect(Collectors.toList());
+        disks.forEach(disk -> {
+            headerColumns.add(String.format(DISK_TOTAL_HEADER_TEMPLATE, disk));
+            headerColumns.add(String.format(DISK_USAGE_HEADER_TEMPLATE, disk));
+        });
+        networkInterfaces.forEach(netInterface -> {
+            headerColumns.add(String.format(NETWORK_USAGE_IN_HEADER_TEMPLATE, netInterface));
+            headerColumns.add(String.format(NETWORK_USAGE_OUT_HEADER_TEMPLATE, netInterface));
+        });
         return new MonitoringStatsHeader(disks, networkInterfaces, headerColumns);
     }
 
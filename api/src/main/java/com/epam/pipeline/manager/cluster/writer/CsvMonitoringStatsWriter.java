@@ -16,7 +16,6 @@
 
 package com.epam.pipeline.manager.cluster.writer;
 
-import com.amazonaws.util.StringInputStream;
 import com.epam.pipeline.common.MessageConstants;
 import com.epam.pipeline.common.MessageHelper;
 import com.epam.pipeline.entity.cluster.monitoring.MonitoringStats;
@@ -27,10 +26,15 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringWriter;
-import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -43,14 +47,25 @@ public class CsvMonitoringStatsWriter extends AbstractMonitoringStatsWriter{
         return MonitoringReportType.CSV;
     }
 
+    /**
+     * Returns a stream of csv lines which are written one by one while the stream is being read,
+     * so that the whole report is never kept in memory.
+     */
     @Override
     public InputStream convertStatsToFile(final List<MonitoringStats> stats) {
-        try {
-            return new StringInputStream(convertStatsToCsvString(stats));
-        } catch (UnsupportedEncodingException e) {
-            throw new IllegalStateException(messageHelper.getMessage(MessageConstants.ERROR_BAD_STATS_FILE_ENCODING),
-                                            e);
+        if (CollectionUtils.isEmpty(stats)) {
+            return new CsvInputStream(Collections.emptyIterator());
         }
+        return new CsvInputStream(streamTable(stats).iterator());
+    }
+
+    /**
+     * Returns a stream of csv lines of the lazily loaded stats, the stats are loaded twice: to build the header
+     * and to write the lines while the stream is being read.
+     */
+    @Override
+    public InputStream convertStatsToFile(final Supplier<Stream<MonitoringStats>> stats) {
+        return new CsvInputStream(streamTable(stats).iterator());
     }
 
     public String convertStatsToCsvString(final List<MonitoringStats> stats) {
@@ -63,4 +78,56 @@ public class CsvMonitoringStatsWriter extends AbstractMonitoringStatsWriter{
         csvWriter.writeAll(allLines);
         return stringWriter.toString();
     }
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    private final class CsvInputStream extends InputStream {
+
+        private final Iterator<String[]> lines;
+        private final StringWriter lineWriter = new StringWriter();
+        private final CSVWriter csvWriter = new CSVWriter(lineWriter);
+        private byte[] line = new byte[0];
+        private int position;
+
+        private CsvInputStream(final Iterator<String[]> lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!nextLineIfRequired()) {
+                return -1;
+            }
+            return line[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!nextLineIfRequired()) {
+                return -1;
+            }
+            final int count = Math.min(length, line.length - position);
+            System.arraycopy(line, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean nextLineIfRequired() throws IOException {
+            while (position >= line.length) {
+                if (!lines.hasNext()) {
+                    return false;
+                }
+                lineWriter.getBuffer().setLength(0);
+                csvWriter.writeNext(lines.next());
+                if (csvWriter.checkError()) {
+                    throw new IOException(messageHelper.getMessage(MessageConstants.ERROR_BAD_STATS_FILE_ENCODING));
+                }
+                line = lineWriter.toString().getBytes(StandardCharsets.UTF_8);
+                position = 0;
+            }
+            return true;
+        }
+    }
 }
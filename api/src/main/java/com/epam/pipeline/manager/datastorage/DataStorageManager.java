@@ -290,6 +290,11 @@ public class DataStorageManager implements SecuredEntityManager {
         return dataStorageDao.loadStorageWithParents(id);
     }
 
+    @Override
+    public Collection<AbstractDataStorage> loadWithParentsByIds(final List<Long> ids) {
+        return dataStorageDao.loadStoragesWithParents(ids);
+    }
+
     @Transactional(propagation = Propagation.REQUIRED)
     public AbstractDataStorage update(DataStorageVO dataStorageVO) {
         assertDataStorageMountPoint(dataStorageVO);
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.datastorage.providers.nfs;
+
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import lombok.Value;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Lists NFS directories page by page. A page marker is a name of the last entry of the previous page, so each
+ * page is resolved with a single directory read regardless of its position.
+ *
+ * If a directory doesn't fit into a single page, its sorted listing is cached until the directory modification
+ * time changes, so that subsequent pages are served without reading the directory at all. If the cache is disabled,
+ * each page is selected from a directory stream keeping only page size entries in memory.
+ */
+@Component
+public class NFSDirectoryLister {
+
+    private final PreferenceManager preferenceManager;
+    private final Map<Path, SortedListing> cache;
+
+    public NFSDirectoryLister(final PreferenceManager preferenceManager) {
+        this.preferenceManager = preferenceManager;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<Path, SortedListing>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Path, SortedListing> eldest) {
+                return size() > getCacheSize();
+            }
+        });
+    }
+
+    /**
+     * Lists a single page of a directory entries sorted by name.
+     *
+     * @param dir a directory to list
+     * @param marker a name of the last entry of the previous page or null to list the first page
+     * @param pageSize a maximum number of entries to return
+     * @return a page of directory entries
+     * @throws IOException if directory cannot be read
+     */
+    public Page list(final Path dir, final String marker, final int pageSize) throws IOException {
+        if (getCacheSize() <= 0) {
+            cache.clear();
+            return listTopEntries(dir, marker, pageSize);
+        }
+        final FileTime modificationTime = Files.getLastModifiedTime(dir);
+        final SortedListing cached = cache.get(dir);
+        if (cached != null && cached.getModificationTime().equals(modificationTime)) {
+            return cached.page(dir, marker, pageSize);
+        }
+        final SortedListing listing = new SortedListing(modificationTime, readSortedNames(dir));
+        if (listing.getNames().length > pageSize) {
+            cache.put(dir, listing);
+        } else {
+            cache.remove(dir);
+        }
+        return listing.page(dir, marker, pageSize);
+    }
+
+    private Page listTopEntries(final Path dir, final String marker, final int pageSize) throws IOException {
+        final int limit = pageSize + 1;
+        final PriorityQueue<String> top = new PriorityQueue<>(limit, Comparator.reverseOrder());
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (final Path path : stream) {
+                final String name = path.getFileName().toString();
+                if (StringUtils.isNotEmpty(marker) && name.compareTo(marker) <= 0) {
+                    continue;
+                }
+                if (top.size() < limit) {
+                    top.add(name);
+                } else if (name.compareTo(top.peek()) < 0) {
+                    top.poll();
+                    top.add(name);
+                }
+            }
+        }
+        final List<String> names = new ArrayList<>(top);
+        Collections.sort(names);
+        return toPage(dir, names, pageSize);
+    }
+
+    private String[] readSortedNames(final Path dir) throws IOException {
+        final List<String> names = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (final Path path : stream) {
+                names.add(path.getFileName().toString());
+            }
+        }
+        final String[] sorted = names.toArray(new String[0]);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static Page toPage(final Path dir, final List<String> names, final int pageSize) {
+        final boolean hasNext = names.size() > pageSize;
+        final List<String> pageNames = hasNext ? names.subList(0, pageSize) : names;
+        final List<Path> entries = new ArrayList<>(pageNames.size());
+        pageNames.forEach(name -> entries.add(dir.resolve(name)));
+        return new Page(entries, hasNext && !pageNames.isEmpty() ? pageNames.get(pageNames.size() - 1) : null);
+    }
+
+    private int getCacheSize() {
+        return Optional.ofNullable(preferenceManager.getPreference(
+                SystemPreferences.DATA_STORAGE_NFS_LISTING_CACHE_SIZE)).orElse(0);
+    }
+
+    @Value
+    public static class Page {
+        List<Path> entries;
+        String nextPageMarker;
+    }
+
+    @Value
+    private static class SortedListing {
+        FileTime modificationTime;
+        String[] names;
+
+        Page page(final Path dir, final String marker, final int pageSize) {
+            final int start;
+            if (StringUtils.isEmpty(marker)) {
+                start = 0;
+            } else {
+                final int index = Arrays.binarySearch(names, marker);
+                start = index >= 0 ? index + 1 : -index - 1;
+            }
+            final int end = (int) Math.min((long) start + pageSize + 1, names.length);
+            return toPage(dir, Arrays.asList(names).subList(start, end), pageSize);
+        }
+    }
+}
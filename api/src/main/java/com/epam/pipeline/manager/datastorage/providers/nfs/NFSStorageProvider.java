@@ -55,9 +55,12 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.PosixFilePermission;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
@@ -87,6 +90,7 @@ public class NFSStorageProvider implements StorageProvider<NFSDataStorage> {
     private final PreferenceManager preferenceManager;
     private final FileShareMountManager shareMountManager;
     private final NFSStorageMounter nfsStorageMounter;
+    private final NFSDirectoryLister directoryLister;
 
     @Override
     public DataStorageType getStorageType() {
@@ -188,56 +192,58 @@ public class NFSStorageProvider implements StorageProvider<NFSDataStorage> {
         }
     }
 
+    /**
+     * Lists a single page of a storage directory. A page marker is a name of the last item of the previous page.
+     */
     @Override
     public DataStorageListing getItems(NFSDataStorage dataStorage, String path, Boolean showVersion,
                                        Integer pageSize, String marker) {
         File dataStorageRoot = nfsStorageMounter.mount(dataStorage);
         File dir = path != null ? new File(dataStorageRoot, path) : dataStorageRoot;
 
-        long offset = StringUtils.isNumeric(marker) ? Long.parseLong(marker) : 1;
-        try (Stream<Path> dirStream = Files.walk(dir.toPath(), 1)) {
-            List<AbstractDataStorageItem> dataStorageItems = dirStream
-                .sorted()
-                .skip(offset) // First element is a directory itself
-                .limit(pageSize)
-                .map(p -> {
-                    File file = p.toFile();
-
-                    AbstractDataStorageItem item;
-                    if (file.isDirectory()) {
-                        item = new DataStorageFolder();
-                    } else {
-                        //set size if it's a file
-                        DataStorageFile dataStorageFile = new DataStorageFile();
-                        dataStorageFile.setSize(file.length());
-                        dataStorageFile.setChanged(S3Constants.getAwsDateFormat()
-                                .format(new Date(file.lastModified())));
-                        item = dataStorageFile;
-                    }
-
-                    item.setName(file.getName());
-                    item.setPath(dataStorageRoot.toURI().relativize(file.toURI()).getPath());
-
-                    return item;
-                })
-                .collect(Collectors.toList());
+        try {
+            NFSDirectoryLister.Page page = directoryLister.list(dir.toPath(), marker, pageSize);
+            List<AbstractDataStorageItem> dataStorageItems = new ArrayList<>(page.getEntries().size());
+            for (Path entry : page.getEntries()) {
+                toDataStorageItem(dataStorageRoot, entry).ifPresent(dataStorageItems::add);
+            }
 
             DataStorageListing listing = new DataStorageListing();
             listing.setResults(dataStorageItems);
-
-            Long nextOffset = offset + pageSize;
-            try (Stream<Path> nextStream = Files.walk(dir.toPath(), 1)) {
-                if (nextStream.skip(nextOffset).findFirst().isPresent()) {
-                    listing.setNextPageMarker(nextOffset.toString());
-                }
-            }
-
+            listing.setNextPageMarker(page.getNextPageMarker());
             return listing;
         } catch (IOException e) {
             throw new DataStorageException(e);
         }
     }
 
+    private Optional<AbstractDataStorageItem> toDataStorageItem(final File dataStorageRoot, final Path path) {
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            // the entry was removed after the directory was listed
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new DataStorageException(e);
+        }
+        final File file = path.toFile();
+        final AbstractDataStorageItem item;
+        if (attributes.isDirectory()) {
+            item = new DataStorageFolder();
+        } else {
+            //set size if it's a file
+            final DataStorageFile dataStorageFile = new DataStorageFile();
+            dataStorageFile.setSize(attributes.size());
+            dataStorageFile.setChanged(S3Constants.getAwsDateFormat()
+                    .format(new Date(attributes.lastModifiedTime().toMillis())));
+            item = dataStorageFile;
+        }
+        item.setName(file.getName());
+        item.setPath(dataStorageRoot.toURI().relativize(file.toURI()).getPath());
+        return Optional.of(item);
+    }
+
     @Override
     public Optional<DataStorageFile> findFile(final NFSDataStorage dataStorage,
                                               final String path,
@@ -54,6 +54,7 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import okhttp3.OkHttpClient;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -187,7 +188,7 @@ public class AggregatingToolScanManager implements ToolScanManager {
             throws ToolScanExternalServiceException {
         DockerRegistry registry = dockerRegistryManager.load(tool.getRegistryId());
         Optional<ToolVersionScanResult> actualScan = rescan ? Optional.empty() : getActualScan(tool, tag, registry);
-        return actualScan.isPresent() ? actualScan.get() : doScan(tool, tag, registry);
+        return actualScan.isPresent() ? actualScan.get() : doScan(tool, tag, registry, rescan);
     }
 
     public ToolVersionScanResult scanTool(Long toolId, String tag, Boolean rescan)
@@ -298,7 +299,16 @@ public class AggregatingToolScanManager implements ToolScanManager {
                 + ":" + UUID.randomUUID();
     }
 
-    private ToolVersionScanResult doScan(Tool tool, String tag, DockerRegistry registry)
+    /**
+     * Returns a name of the layer, that is defined by the layer digest and by the name of its parent layer.
+     * Images sharing the same base layers get the same names of these layers, so Clair and docker-comp-scan
+     * analyze such layers only once.
+     */
+    String getLayerChainName(String parentLayer, String layerDigest) {
+        return DigestUtils.sha256Hex(StringUtils.defaultString(parentLayer) + ":" + layerDigest);
+    }
+
+    private ToolVersionScanResult doScan(Tool tool, String tag, DockerRegistry registry, boolean rescan)
             throws ToolScanExternalServiceException {
 
         if (clairService == null) {
@@ -311,7 +321,7 @@ public class AggregatingToolScanManager implements ToolScanManager {
         }
 
         try {
-            String clairRef = scanLayers(tool, tag, registry);
+            String clairRef = scanLayers(tool, tag, registry, rescan);
             String digest = getDockerClient(tool.getImage(), registry)
                     .getVersionAttributes(registry, tool.getImage(), tag).getDigest();
 
@@ -355,7 +365,7 @@ public class AggregatingToolScanManager implements ToolScanManager {
         return Optional.empty();
     }
 
-    private String scanLayers(Tool tool, String tag, DockerRegistry registry)
+    private String scanLayers(Tool tool, String tag, DockerRegistry registry, boolean rescan)
         throws IOException, ToolScanExternalServiceException {
         List<String> layers = fetchLayers(tool, tag, registry);
 
@@ -365,7 +375,8 @@ public class AggregatingToolScanManager implements ToolScanManager {
             // Debug: use "172.31.38.143:5000" as registry path
             Response<ClairScanRequest> clairResp;
             Response<DockerComponentLayerScanResult> dockerCompResp;
-            String layerRef = getLayerName(tool.getImage(), tag);
+            // Rescan uses unique layer names to force scanners to analyze layers again
+            String layerRef = rescan ? getLayerName(tool.getImage(), tag) : getLayerChainName(lastLayer, layerDigest);
 
             ClairScanRequest clairRequest;
             DockerComponentScanRequest dockerComponentScanRequest;
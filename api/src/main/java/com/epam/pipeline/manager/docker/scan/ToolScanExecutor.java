@@ -0,0 +1,207 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.docker.scan;
+
+import com.epam.pipeline.entity.scan.ToolVersionScanResult;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Executes tool version scans in a bounded pool of threads. The size of the pool is defined by
+ * {@link SystemPreferences#DOCKER_SECURITY_TOOL_SCAN_THREADS}.
+ *
+ * Queued scans are ordered by {@link ToolScanPriority} and then by submission order. Scans are deduplicated by
+ * image digest: if a scan of the same digest is already queued or running, a new scan is not submitted and
+ * the caller receives the result of the existing one. The existing scan is moved up in the queue, if the caller
+ * requests a higher priority.
+ *
+ * The following metrics are collected:
+ * <ul>
+ *     <li>{@code counter.tool.scan.<priority>.scans} - number of performed scans</li>
+ *     <li>{@code counter.tool.scan.<priority>.errors} - number of failed scans</li>
+ *     <li>{@code counter.tool.scan.deduplicated} - number of scans, that joined an already submitted scan</li>
+ *     <li>{@code gauge.tool.scan.queue.size} - number of queued scans</li>
+ *     <li>{@code gauge.tool.scan.<priority>.wait} - time the last scan spent in the queue in milliseconds</li>
+ *     <li>{@code gauge.tool.scan.<priority>.latency} - duration of the last scan in milliseconds</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public class ToolScanExecutor {
+
+    private static final String PREFIX = "tool.scan.";
+    private static final String COUNTER_PREFIX = "counter." + PREFIX;
+    private static final String GAUGE_PREFIX = "gauge." + PREFIX;
+    private static final String DELIMITER = ".";
+    private static final String RESCAN_SUFFIX = ":rescan";
+
+    private final PreferenceManager preferenceManager;
+    private final CounterService counterService;
+    private final GaugeService gaugeService;
+
+    private final Map<String, ScanTask> tasks = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        final int threads = preferenceManager.getPreference(SystemPreferences.DOCKER_SECURITY_TOOL_SCAN_THREADS);
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), new CustomizableThreadFactory("tool-scan-"));
+        preferenceManager.getObservablePreference(SystemPreferences.DOCKER_SECURITY_TOOL_SCAN_THREADS)
+                .subscribe(this::resize);
+    }
+
+    @PreDestroy
+    public void shutDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Submits a scan of a tool version image.
+     *
+     * Dependent stages of the returned future, that do not specify an executor, are performed in the security
+     * context of the caller.
+     *
+     * @param priority scan priority
+     * @param digest   image digest, scans without digest are never deduplicated
+     * @param rescan   if the scan ignores results of the previous scans, such scans are deduplicated
+     *                 only with each other
+     * @param scan     the scan itself, it is performed in the security context of the caller
+     */
+    public CompletableFuture<ToolVersionScanResult> submit(final ToolScanPriority priority, final String digest,
+                                                           final boolean rescan,
+                                                           final Callable<ToolVersionScanResult> scan) {
+        final SecurityContext context = SecurityContextHolder.getContext();
+        final String key = digest == null ? null : digest + (rescan ? RESCAN_SUFFIX : "");
+        final ScanTask created = new ScanTask(key, priority, sequence.incrementAndGet(),
+                new DelegatingSecurityContextCallable<>(scan, context));
+        final ScanTask task = key == null ? created : tasks.computeIfAbsent(key, k -> created);
+        if (task == created) {
+            executor.execute(task);
+        } else {
+            log.debug("Scan of {} is already submitted, waiting for its result.", key);
+            counterService.increment(COUNTER_PREFIX + "deduplicated");
+            escalate(task, priority);
+        }
+        gaugeService.submit(GAUGE_PREFIX + "queue.size", executor.getQueue().size());
+        final Executor callerContext = new DelegatingSecurityContextExecutor(Runnable::run, context);
+        return task.result.thenApplyAsync(Function.identity(), callerContext);
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    private void escalate(final ScanTask task, final ToolScanPriority priority) {
+        synchronized (task) {
+            if (priority.compareTo(task.priority) < 0 && executor.getQueue().remove(task)) {
+                log.debug("Raising priority of {} scan from {} to {}.", task.key, task.priority, priority);
+                task.priority = priority;
+                executor.execute(task);
+            }
+        }
+    }
+
+    private void resize(final int threads) {
+        log.debug("Resizing tool scan pool to {} threads.", threads);
+        if (threads > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(threads);
+            executor.setCorePoolSize(threads);
+        } else {
+            executor.setCorePoolSize(threads);
+            executor.setMaximumPoolSize(threads);
+        }
+    }
+
+    private final class ScanTask implements Runnable, Comparable<ScanTask> {
+
+        private final String key;
+        private final long order;
+        private final Callable<ToolVersionScanResult> scan;
+        private final CompletableFuture<ToolVersionScanResult> result = new CompletableFuture<>();
+        private final long submitted = System.currentTimeMillis();
+        private volatile ToolScanPriority priority;
+
+        private ScanTask(final String key, final ToolScanPriority priority, final long order,
+                         final Callable<ToolVersionScanResult> scan) {
+            this.key = key;
+            this.priority = priority;
+            this.order = order;
+            this.scan = scan;
+        }
+
+        @Override
+        public void run() {
+            final String metric = priority.name().toLowerCase() + DELIMITER;
+            final long start = System.currentTimeMillis();
+            gaugeService.submit(GAUGE_PREFIX + metric + "wait", start - submitted);
+            ToolVersionScanResult scanResult = null;
+            Exception error = null;
+            try {
+                scanResult = scan.call();
+            } catch (Exception e) {
+                counterService.increment(COUNTER_PREFIX + metric + "errors");
+                error = e;
+            } finally {
+                if (key != null) {
+                    tasks.remove(key, this);
+                }
+                counterService.increment(COUNTER_PREFIX + metric + "scans");
+                gaugeService.submit(GAUGE_PREFIX + metric + "latency", System.currentTimeMillis() - start);
+                gaugeService.submit(GAUGE_PREFIX + "queue.size", executor.getQueue().size());
+            }
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(scanResult);
+            }
+        }
+
+        @Override
+        public int compareTo(final ScanTask other) {
+            final int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(order, other.order);
+        }
+    }
+}
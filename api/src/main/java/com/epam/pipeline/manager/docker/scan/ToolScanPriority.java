@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.docker.scan;
+
+/**
+ * Priority of a tool version scan. Scans with higher priority are taken from the queue first,
+ * constants are declared in descending order of priority.
+ */
+public enum ToolScanPriority {
+
+    /**
+     * Scan requested by a user
+     */
+    FORCED,
+
+    /**
+     * Scheduled scan of a tool version, that has not been scanned yet
+     */
+    NEW_VERSION,
+
+    /**
+     * Scheduled scan of an already scanned tool version
+     */
+    RESCAN
+}
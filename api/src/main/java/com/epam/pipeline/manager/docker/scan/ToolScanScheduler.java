@@ -61,8 +61,9 @@ public class ToolScanScheduler extends AbstractSchedulingManager {
 
     /**
      * Schedule a Tool for security scan. Since a Tool's scan is a time costly operation, there's a queue for that.
-     * A tool is added to that queue and will be processed in order. Once the tool is added to a queue, it's scanStatus
-     * field is being set to {@link ToolScanStatus}.PENDING
+     * A tool is added to that queue with {@link ToolScanPriority#FORCED} priority, so it is processed before the
+     * scheduled scans. Once the tool is added to a queue, it's scanStatus field is being set to
+     * {@link ToolScanStatus}.PENDING
      *
      * @param registry a registry path, where tool is located
      * @param id       Tool's id or image
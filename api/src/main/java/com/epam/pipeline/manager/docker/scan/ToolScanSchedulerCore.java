@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
  * You may obtain a copy of the License at
@@ -18,13 +18,14 @@ package com.epam.pipeline.manager.docker.scan;
 import com.epam.pipeline.common.MessageConstants;
 import com.epam.pipeline.common.MessageHelper;
 import com.epam.pipeline.dao.docker.DockerRegistryDao;
+import com.epam.pipeline.entity.docker.ToolVersion;
 import com.epam.pipeline.entity.pipeline.DockerRegistry;
 import com.epam.pipeline.entity.pipeline.Tool;
 import com.epam.pipeline.entity.pipeline.ToolScanStatus;
+import com.epam.pipeline.entity.scan.ToolDependency;
 import com.epam.pipeline.entity.scan.ToolVersionScanResult;
+import com.epam.pipeline.entity.scan.Vulnerability;
 import com.epam.pipeline.entity.scan.VulnerabilitySeverity;
-import com.epam.pipeline.exception.PipelineException;
-import com.epam.pipeline.exception.ToolScanExternalServiceException;
 import com.epam.pipeline.manager.docker.DockerClient;
 import com.epam.pipeline.manager.docker.DockerClientFactory;
 import com.epam.pipeline.manager.docker.DockerRegistryManager;
@@ -35,22 +36,22 @@ import com.epam.pipeline.manager.preference.SystemPreferences;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.javacrumbs.shedlock.core.SchedulerLock;
-import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.apache.commons.collections4.ListUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
-import javax.annotation.PreDestroy;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Collectors;
 
 @Component
 @Slf4j
@@ -66,13 +67,17 @@ class ToolScanSchedulerCore {
     private final DockerClientFactory dockerClientFactory;
     private final DockerRegistryManager dockerRegistryManager;
     private final PreferenceManager preferenceManager;
-    private final ExecutorService forceScanExecutor = Executors.newSingleThreadExecutor();
+    private final ToolScanExecutor scanExecutor;
 
-    @PreDestroy
     public void shutDown() {
-        forceScanExecutor.shutdownNow();
+        scanExecutor.shutDown();
     }
 
+    /**
+     * Submits scans of all tool versions to {@link ToolScanExecutor} and stores the results as soon as they
+     * are ready. Versions, that have never been scanned, are scanned before the already scanned ones.
+     * Results are stored in the calling thread.
+     */
     @SchedulerLock(name = "ToolScanScheduler_scheduledToolScan", lockAtMostForString = "PT48H")
     public void scheduledToolScan() {
         if (!preferenceManager.getPreference(SystemPreferences.DOCKER_SECURITY_TOOL_SCAN_ENABLED)) {
@@ -85,48 +90,74 @@ class ToolScanSchedulerCore {
                 SystemPreferences.DOCKER_SECURITY_TOOL_SCAN_ALL_REGISTRIES);
         List<DockerRegistry> registries = scanAllRegistries ? dockerRegistryDao.loadAllDockerRegistry() :
                 dockerRegistryDao.loadDockerRegistriesWithSecurityScanEnabled();
+        final BlockingQueue<Runnable> completed = new LinkedBlockingQueue<>();
+        int submitted = 0;
         for (DockerRegistry registry : registries) {
-            scanRegistry(registry);
+            submitted += scanRegistry(registry, completed);
+        }
+        for (int i = 0; i < submitted; i++) {
+            try {
+                completed.take().run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Scheduled tool scan was interrupted, {} of {} scans are not stored.",
+                        submitted - i, submitted);
+                return;
+            }
         }
 
         log.info(messageHelper.getMessage(MessageConstants.INFO_TOOL_SCAN_SCHEDULED_DONE));
     }
 
-    private void scanRegistry(final DockerRegistry registry) {
+    private int scanRegistry(final DockerRegistry registry, final BlockingQueue<Runnable> completed) {
         log.info(messageHelper.getMessage(MessageConstants.INFO_TOOL_SCAN_REGISTRY_STARTED, registry.getPath()));
-        registry.getTools()
+        return registry.getTools()
                 .stream()
                 .filter(Tool::isNotSymlink)
-                .forEach(tool -> scanTool(registry, tool));
+                .mapToInt(tool -> scanTool(registry, tool, completed))
+                .sum();
     }
 
-    private void scanTool(final DockerRegistry registry, final Tool tool) {
-        DockerClient dockerClient = getDockerClient(registry, tool);
+    private int scanTool(final DockerRegistry registry, final Tool tool, final BlockingQueue<Runnable> completed) {
         try {
+            DockerClient dockerClient = getDockerClient(registry, tool);
             List<String> versions = toolManager.loadTags(tool.getId());
             for (String version : versions) {
-                try {
-                    ToolVersionScanResult result = toolScanManager.scanTool(tool, version, false);
-                    toolManager.updateToolVulnerabilities(result.getVulnerabilities(), tool.getId(), version);
-                    toolManager.updateToolDependencies(result.getDependencies(), tool.getId(), version);
-                    toolManager.updateToolVersionScanStatus(tool.getId(), ToolScanStatus.COMPLETED, new Date(),
-                            version, result.getToolOSVersion(),
-                            result.getLastLayerRef(), result.getDigest(), result.getVulnerabilitiesCount());
-                    updateToolVersion(tool, version, registry, dockerClient);
-                } catch (ToolScanExternalServiceException e) {
-                    log.error(messageHelper.getMessage(MessageConstants.ERROR_TOOL_SCAN_FAILED,
-                            tool.getImage(), version), e);
-                    toolManager.updateToolVersionScanStatus(tool.getId(), ToolScanStatus.FAILED, new Date(),
-                            version, null, null, new HashMap<>());
-                }
+                scanExecutor.submit(getPriority(tool, version), getDigest(registry, tool, version, dockerClient),
+                        false, () -> toolScanManager.scanTool(tool, version, false))
+                        .whenComplete((result, e) -> completed.add(() -> {
+                            if (e == null) {
+                                storeScheduledScan(registry, tool, version, result);
+                            } else {
+                                storeScheduledScanFailure(tool, version, unwrap(e));
+                            }
+                        }));
             }
+            return versions.size();
         } catch (Exception e) {
             log.error(messageHelper.getMessage(MessageConstants.ERROR_TOOL_SCAN_FAILED, tool.getImage()), e);
             toolManager.updateToolVersionScanStatus(tool.getId(), ToolScanStatus.FAILED, new Date(),
                     "latest", null, null, new HashMap<>());
+            return 0;
+        }
+    }
+
+    private void storeScheduledScan(final DockerRegistry registry, final Tool tool, final String version,
+                                    final ToolVersionScanResult result) {
+        try {
+            storeScan(tool, version, result, new Date());
+            updateToolVersion(tool, version, registry, getDockerClient(registry, tool));
+        } catch (Exception e) {
+            storeScheduledScanFailure(tool, version, e);
         }
     }
 
+    private void storeScheduledScanFailure(final Tool tool, final String version, final Throwable e) {
+        log.error(messageHelper.getMessage(MessageConstants.ERROR_TOOL_SCAN_FAILED, tool.getImage(), version), e);
+        toolManager.updateToolVersionScanStatus(tool.getId(), ToolScanStatus.FAILED, new Date(),
+                version, null, null, new HashMap<>());
+    }
+
     public Future<ToolVersionScanResult> forceScheduleScanTool(final String registry, final String id,
                                                                 final String version, final Boolean rescan) {
         if (!preferenceManager.getPreference(SystemPreferences.DOCKER_SECURITY_TOOL_SCAN_ENABLED)) {
@@ -154,34 +185,99 @@ class ToolScanSchedulerCore {
                     .orElse(new HashMap<>());
             toolManager.updateToolVersionScanStatus(tool.getId(), ToolScanStatus.PENDING, null,
                     version, layerRef, digest, vulnerabilitiesCount);
-            return forceScanExecutor.submit(new DelegatingSecurityContextCallable<>(() -> {
-                log.info(messageHelper.getMessage(
-                        MessageConstants.INFO_TOOL_FORCE_SCAN_STARTED, tool.getImage()));
-
-                try {
-                    ToolVersionScanResult scanResult = toolScanManager.scanTool(tool, version, rescan);
-                    toolManager.updateToolVulnerabilities(scanResult.getVulnerabilities(), tool.getId(),
-                            version);
-                    toolManager.updateToolDependencies(scanResult.getDependencies(), tool.getId(), version);
-                    toolManager.updateToolVersionScanStatus(tool.getId(), ToolScanStatus.COMPLETED,
-                            scanResult.getScanDate(), version, scanResult.getToolOSVersion(),
-                            scanResult.getLastLayerRef(), scanResult.getDigest(),
-                            scanResult.getVulnerabilitiesCount());
-                    return scanResult;
-                } catch (Exception e) {
-                    toolManager.updateToolVersionScanStatus(tool.getId(), ToolScanStatus.FAILED, new Date(),
-                            version, null, null, new HashMap<>());
-                    log.error(messageHelper.getMessage(
-                            MessageConstants.ERROR_TOOL_SCAN_FAILED, tool.getImage()), e);
-                    throw new PipelineException(e);
-                }
-            }, SecurityContextHolder.getContext()));
+            final DockerRegistry dockerRegistry = dockerRegistryManager.load(tool.getRegistryId());
+            return scanExecutor.submit(ToolScanPriority.FORCED, getDigest(dockerRegistry, tool, version),
+                    Boolean.TRUE.equals(rescan), () -> {
+                        log.info(messageHelper.getMessage(
+                                MessageConstants.INFO_TOOL_FORCE_SCAN_STARTED, tool.getImage()));
+                        return toolScanManager.scanTool(tool, version, rescan);
+                    })
+                    .thenApply(scanResult -> {
+                        storeScan(tool, version, scanResult, scanResult.getScanDate());
+                        return scanResult;
+                    })
+                    .whenComplete((scanResult, e) -> {
+                        if (e != null) {
+                            toolManager.updateToolVersionScanStatus(tool.getId(), ToolScanStatus.FAILED,
+                                    new Date(), version, null, null, new HashMap<>());
+                            log.error(messageHelper.getMessage(
+                                    MessageConstants.ERROR_TOOL_SCAN_FAILED, tool.getImage()), unwrap(e));
+                        }
+                    });
         }
 
         return CompletableFuture.completedFuture(new ToolVersionScanResult(ToolScanStatus.PENDING, null,
                 Collections.emptyList(), Collections.emptyList()));
     }
 
+    /**
+     * Stores results of a scan for the given tool version. Since scans are shared between tool versions with
+     * the same digest, dependencies and vulnerabilities of the scan are copied for the given tool version.
+     */
+    private void storeScan(final Tool tool, final String version, final ToolVersionScanResult result,
+                           final Date scanDate) {
+        final List<ToolDependency> dependencies = ListUtils.emptyIfNull(result.getDependencies()).stream()
+                .map(dependency -> new ToolDependency(tool.getId(), version, dependency.getName(),
+                        dependency.getVersion(), dependency.getEcosystem(), dependency.getDescription()))
+                .collect(Collectors.toList());
+        final List<Vulnerability> vulnerabilities = ListUtils.emptyIfNull(result.getVulnerabilities()).stream()
+                .map(this::copyVulnerability)
+                .collect(Collectors.toList());
+        toolManager.updateToolVulnerabilities(vulnerabilities, tool.getId(), version);
+        toolManager.updateToolDependencies(dependencies, tool.getId(), version);
+        toolManager.updateToolVersionScanStatus(tool.getId(), ToolScanStatus.COMPLETED, scanDate,
+                version, result.getToolOSVersion(),
+                result.getLastLayerRef(), result.getDigest(), result.getVulnerabilitiesCount());
+    }
+
+    private Vulnerability copyVulnerability(final Vulnerability vulnerability) {
+        final Vulnerability copy = new Vulnerability();
+        copy.setName(vulnerability.getName());
+        copy.setDescription(vulnerability.getDescription());
+        copy.setLink(vulnerability.getLink());
+        copy.setSeverity(vulnerability.getSeverity());
+        copy.setFixedBy(vulnerability.getFixedBy());
+        copy.setFeature(vulnerability.getFeature());
+        copy.setFeatureVersion(vulnerability.getFeatureVersion());
+        copy.setCreatedDate(vulnerability.getCreatedDate());
+        return copy;
+    }
+
+    private Throwable unwrap(final Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    private ToolScanPriority getPriority(final Tool tool, final String version) {
+        final boolean scanned = toolManager.loadToolVersionScan(tool.getId(), version)
+                .map(ToolVersionScanResult::getStatus)
+                .filter(status -> status != ToolScanStatus.NOT_SCANNED)
+                .isPresent();
+        return scanned ? ToolScanPriority.RESCAN : ToolScanPriority.NEW_VERSION;
+    }
+
+    private String getDigest(final DockerRegistry registry, final Tool tool, final String version) {
+        try {
+            return getDigest(registry, tool, version, getDockerClient(registry, tool));
+        } catch (Exception e) {
+            log.warn("Failed to get digest of {}:{}, the scan is not deduplicated: {}",
+                    tool.getImage(), version, e.getMessage());
+            return null;
+        }
+    }
+
+    private String getDigest(final DockerRegistry registry, final Tool tool, final String version,
+                             final DockerClient dockerClient) {
+        try {
+            return Optional.ofNullable(dockerClient.getVersionAttributes(registry, tool.getImage(), version))
+                    .map(ToolVersion::getDigest)
+                    .orElse(null);
+        } catch (Exception e) {
+            log.warn("Failed to get digest of {}:{}, the scan is not deduplicated: {}",
+                    tool.getImage(), version, e.getMessage());
+            return null;
+        }
+    }
+
     private void updateToolVersion(Tool tool, String version, DockerRegistry registry, DockerClient dockerClient) {
         try {
             toolVersionManager.updateOrCreateToolVersion(tool.getId(), version, tool.getImage(),
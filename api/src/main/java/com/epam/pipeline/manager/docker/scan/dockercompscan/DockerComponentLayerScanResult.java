@@ -41,6 +41,10 @@ public class DockerComponentLayerScanResult {
 
     private List<ToolDependency> dependencies = Collections.emptyList();
 
+    private Long bytesRead;
+    private Long bytesUnpacked;
+    private Long scanTime;
+
     public enum Status {
         RUNNING, SUCCESSFUL, FAILURE
     }
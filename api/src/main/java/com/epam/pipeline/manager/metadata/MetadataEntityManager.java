@@ -37,6 +37,8 @@ import com.epam.pipeline.manager.metadata.parser.EntityTypeField;
 import com.epam.pipeline.manager.metadata.parser.MetadataEntityConverter;
 import com.epam.pipeline.manager.metadata.parser.MetadataParsingResult;
 import com.epam.pipeline.manager.pipeline.FolderManager;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
 import com.epam.pipeline.manager.security.SecuredEntityManager;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang.StringUtils;
@@ -53,6 +55,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -66,6 +69,7 @@ import java.util.stream.Collectors;
 public class MetadataEntityManager implements SecuredEntityManager {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MetadataEntityManager.class);
+    private static final long MILLIS_IN_SECOND = 1000L;
 
     @Autowired
     private MetadataEntityDao metadataEntityDao;
@@ -82,6 +86,18 @@ public class MetadataEntityManager implements SecuredEntityManager {
     @Autowired
     private DataStorageManager storageManager;
 
+    @Autowired
+    private PreferenceManager preferenceManager;
+
+    private final Map<MetadataFilter, FilterCount> filterCounts = Collections.synchronizedMap(
+            new LinkedHashMap<MetadataFilter, FilterCount>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<MetadataFilter, FilterCount> eldest) {
+                    return size() > preferenceManager.getPreference(
+                            SystemPreferences.MISC_METADATA_FILTER_COUNT_CACHE_SIZE);
+                }
+            });
+
     public Map<String, Integer> loadRootMetadataEntities() {
         Map<String, Integer> countEntities = new HashMap<>();
         List<MetadataEntity> entities = metadataEntityDao.loadRootMetadataEntities();
@@ -289,9 +305,15 @@ public class MetadataEntityManager implements SecuredEntityManager {
                 messageHelper.getMessage(MessageConstants.ERROR_INVALID_METADATA_FILTER,
                         "class", filter.getFolderId()));
         loadClass(filter.getMetadataClass());
-        Assert.isTrue(filter.getPage() > 0,
-                messageHelper.getMessage(MessageConstants.ERROR_PAGE_INDEX));
-        Assert.isTrue(filter.getPageSize() > 0,
+        if (filter.getLastEntityId() != null) {
+            Assert.isTrue(CollectionUtils.isEmpty(filter.getOrderBy()),
+                    messageHelper.getMessage(MessageConstants.ERROR_METADATA_FILTER_ORDER_BY_NOT_SUPPORTED,
+                            filter.getLastEntityId()));
+        } else {
+            Assert.isTrue(filter.getPage() != null && filter.getPage() > 0,
+                    messageHelper.getMessage(MessageConstants.ERROR_PAGE_INDEX));
+        }
+        Assert.isTrue(filter.getPageSize() != null && filter.getPageSize() > 0,
                 messageHelper.getMessage(MessageConstants.ERROR_PAGE_SIZE));
         List<MetadataEntity> result = metadataEntityDao.filterEntities(filter);
         List<PipeConfValue> paths = result.stream()
@@ -300,8 +322,41 @@ public class MetadataEntityManager implements SecuredEntityManager {
                 .filter(param -> param.getType() != null && param.getType().equals(EntityTypeField.PATH_TYPE))
                 .collect(Collectors.toList());
         storageManager.analyzePaths(paths);
-        return new PagedResult<>(result, metadataEntityDao.countEntities(filter));
+        return new PagedResult<>(result, countEntities(filter));
+    }
 
+    private Integer countEntities(final MetadataFilter filter) {
+        final int cacheSeconds = preferenceManager.getPreference(
+                SystemPreferences.MISC_METADATA_FILTER_COUNT_CACHE_SEC);
+        if (!filter.isApproximateCount() || cacheSeconds <= 0) {
+            return metadataEntityDao.countEntities(filter);
+        }
+        final long now = System.currentTimeMillis();
+        final MetadataFilter key = getCountKey(filter);
+        final FilterCount cached = filterCounts.get(key);
+        if (cached != null && !cached.isExpired(now)) {
+            return cached.getCount();
+        }
+        final Integer count = metadataEntityDao.countEntities(key);
+        filterCounts.put(key, new FilterCount(count, now + cacheSeconds * MILLIS_IN_SECOND));
+        return count;
+    }
+
+    /**
+     * Creates a copy of the filter which contains only the parameters that affect the total count.
+     */
+    private MetadataFilter getCountKey(final MetadataFilter filter) {
+        final MetadataFilter key = new MetadataFilter();
+        key.setFolderId(filter.getFolderId());
+        key.setRecursive(filter.isRecursive());
+        key.setMetadataClass(filter.getMetadataClass());
+        key.setSearchQueries(filter.getSearchQueries());
+        key.setFilters(filter.getFilters());
+        key.setExternalIdQueries(filter.getExternalIdQueries());
+        key.setStartDateFrom(filter.getStartDateFrom());
+        key.setEndDateTo(filter.getEndDateTo());
+        key.setLogicalSearchOperator(filter.getLogicalSearchOperator());
+        return key;
     }
 
     public List<MetadataField> getMetadataKeys(Long folderId, String className) {
@@ -441,4 +496,23 @@ public class MetadataEntityManager implements SecuredEntityManager {
     public AclClass getSupportedClass() {
         return AclClass.METADATA_ENTITY;
     }
+
+    private static final class FilterCount {
+
+        private final Integer count;
+        private final long expiration;
+
+        private FilterCount(final Integer count, final long expiration) {
+            this.count = count;
+            this.expiration = expiration;
+        }
+
+        private Integer getCount() {
+            return count;
+        }
+
+        private boolean isExpired(final long now) {
+            return now > expiration;
+        }
+    }
 }
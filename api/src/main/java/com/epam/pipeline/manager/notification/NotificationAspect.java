@@ -29,6 +29,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * This aspect controls sending notifications
  */
@@ -77,5 +79,19 @@ public class NotificationAspect {
                      run.getPodId(), run.getPipelineName(), run.getVersion(), run.getStatus());
         notificationManager.notifyRunStatusChanged(run);
     }
+
+    /**
+     * Generates system notifications for batch PipelineRun status changes
+     * @param joinPoint
+     * @param runs
+     */
+    @AfterReturning(
+        pointcut = "execution(* com.epam.pipeline.manager.pipeline.PipelineRunCRUDService.updateRunsStatuses(..))",
+        returning = "runs"
+        )
+    @Async("notificationsExecutor")
+    public void notifyRunsStatusChanged(JoinPoint joinPoint, List<PipelineRun> runs) {
+        runs.forEach(run -> notifyRunStatusChanged(joinPoint, run));
+    }
 }
 
@@ -53,6 +53,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 import org.springframework.web.client.HttpClientErrorException;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -291,6 +292,11 @@ public class PipelineManager implements SecuredEntityManager {
         return pipelineDao.loadPipelineWithParents(id);
     }
 
+    @Override
+    public Collection<Pipeline> loadWithParentsByIds(final List<Long> ids) {
+        return pipelineDao.loadPipelinesWithParents(ids);
+    }
+
     @Override
     public Integer loadTotalCount() {
         return pipelineDao.loadPipelinesCount();
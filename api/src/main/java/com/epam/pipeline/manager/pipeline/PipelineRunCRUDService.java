@@ -41,14 +41,27 @@ public class PipelineRunCRUDService {
 
     private final PipelineRunDao pipelineRunDao;
     private final MessageHelper messageHelper;
+    private final RunLogBuffer runLogBuffer;
 
     @Transactional(propagation = Propagation.REQUIRED)
     public PipelineRun updateRunStatus(PipelineRun run) {
         updatePrettyUrlForFinishedRun(run);
         pipelineRunDao.updateRunStatus(run);
+        runLogBuffer.invalidate(run.getId());
         return run;
     }
 
+    @Transactional(propagation = Propagation.REQUIRED)
+    public List<PipelineRun> updateRunsStatuses(final List<PipelineRun> runs) {
+        if (CollectionUtils.isEmpty(runs)) {
+            return Collections.emptyList();
+        }
+        runs.forEach(this::updatePrettyUrlForFinishedRun);
+        pipelineRunDao.updateRunsStatuses(runs);
+        runs.forEach(run -> runLogBuffer.invalidate(run.getId()));
+        return runs;
+    }
+
     @Transactional(propagation = Propagation.REQUIRED)
     public void updatePrettyUrlForFinishedRun(PipelineRun run) {
         if (run.getStatus().isFinal() && StringUtils.hasText(run.getPrettyUrl())) {
@@ -568,6 +568,11 @@ public class PipelineRunManager {
         return runCRUDService.updateRunStatus(run);
     }
 
+    @Transactional(propagation = Propagation.REQUIRED)
+    public List<PipelineRun> updatePipelineStatuses(final List<PipelineRun> runs) {
+        return runCRUDService.updateRunsStatuses(runs);
+    }
+
     /**
      * A shorthand method to stop a Pipeline Run
      * @param runId ID of a Pipeline Run
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.pipeline;
+
+import com.epam.pipeline.dao.pipeline.RunLogDao;
+import com.epam.pipeline.entity.pipeline.RunLog;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import com.epam.pipeline.manager.scheduling.AbstractSchedulingManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Write-behind buffer of run logs.
+ *
+ * Logs are coalesced per run and written to the database with a single batch insert either periodically
+ * or as soon as the number of buffered logs of a run reaches {@link SystemPreferences#SYSTEM_RUN_LOG_BUFFER_SIZE}.
+ * Logs of a run are written in the order they were added. Logs are written in a separate transaction, so that
+ * a failed write doesn't affect the transaction of a caller which either adds or flushes logs.
+ * Readers of run logs are expected to {@link #flush(Long)} the run before querying the database. Note that
+ * the buffer is local to an API instance, so flush before read only guarantees that the logs saved through
+ * the same instance are visible. Logs buffered by other instances become visible after their periodic flush.
+ *
+ * Statuses of new logs are resolved against a short-lived {@link RunLogContext} of the run, so that run and task
+ * statuses are not loaded from the database for each log. The context shall be {@link #invalidate(Long)}d once
+ * the run status changes.
+ *
+ * A failed batch insert is retried with the following writes of the run. After {@link #MAX_WRITE_ATTEMPTS}
+ * failed attempts in a row the logs are written one by one, so that only the logs which can't be saved are dropped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RunLogBuffer {
+
+    private static final long CONTEXT_TTL = TimeUnit.SECONDS.toMillis(5);
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private final RunLogDao runLogDao;
+    private final PreferenceManager preferenceManager;
+
+    private final Map<Long, RunLogQueue> queues = new ConcurrentHashMap<>();
+    private final Map<Long, RunLogContext> contexts = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return Optional.ofNullable(preferenceManager.getPreference(SystemPreferences.SYSTEM_RUN_LOG_BUFFER_ENABLED))
+                .orElse(false);
+    }
+
+    /**
+     * Resolves statuses of the given logs of a single run and buffers them.
+     *
+     * @param runId         id of the run
+     * @param runLogs       logs of the run
+     * @param contextLoader loads context of the run, if there is no actual context in the buffer
+     */
+    public void add(final Long runId, final List<RunLog> runLogs,
+                    final Function<Long, RunLogContext> contextLoader) {
+        final RunLogContext context = getContext(runId, contextLoader);
+        synchronized (context) {
+            runLogs.forEach(context::resolve);
+            enqueue(runId, runLogs);
+        }
+    }
+
+    /**
+     * Writes all buffered logs of the run to the database.
+     */
+    public void flush(final Long runId) {
+        final RunLogQueue queue = queues.get(runId);
+        if (queue == null) {
+            return;
+        }
+        synchronized (queue) {
+            write(runId, queue);
+        }
+    }
+
+    /**
+     * Discards the cached context of the run, so that statuses of the following logs are resolved
+     * against the actual run status.
+     */
+    public void invalidate(final Long runId) {
+        contexts.remove(runId);
+    }
+
+    /**
+     * Writes buffered logs of all runs to the database and evicts expired run contexts.
+     */
+    @PreDestroy
+    public void flushAll() {
+        queues.forEach((runId, queue) -> {
+            synchronized (queue) {
+                if (queue.logs.isEmpty()) {
+                    queue.closed = true;
+                    queues.remove(runId, queue);
+                } else {
+                    write(runId, queue);
+                }
+            }
+        });
+        contexts.values().removeIf(context -> context.isExpired(CONTEXT_TTL));
+    }
+
+    private RunLogContext getContext(final Long runId, final Function<Long, RunLogContext> contextLoader) {
+        final RunLogContext context = contexts.get(runId);
+        if (context != null && !context.isExpired(CONTEXT_TTL)) {
+            return context;
+        }
+        // task statuses are loaded from the database, so buffered logs shall be written first
+        flush(runId);
+        return contexts.compute(runId, (id, current) -> current != null && current != context
+                && !current.isExpired(CONTEXT_TTL) ? current : contextLoader.apply(id));
+    }
+
+    private void enqueue(final Long runId, final List<RunLog> runLogs) {
+        boolean added = false;
+        while (!added) {
+            final RunLogQueue queue = queues.computeIfAbsent(runId, id -> new RunLogQueue());
+            synchronized (queue) {
+                // a queue is closed when it is removed from the buffer, a new queue shall be created then
+                if (!queue.closed) {
+                    queue.logs.addAll(runLogs);
+                    if (queue.logs.size() >= preferenceManager.getPreference(
+                            SystemPreferences.SYSTEM_RUN_LOG_BUFFER_SIZE)) {
+                        write(runId, queue);
+                    }
+                    added = true;
+                }
+            }
+        }
+    }
+
+    private void write(final Long runId, final RunLogQueue queue) {
+        if (queue.logs.isEmpty()) {
+            return;
+        }
+        final List<RunLog> runLogs = new ArrayList<>(queue.logs);
+        queue.logs.clear();
+        try {
+            runLogDao.createRunLogsInNewTransaction(runLogs);
+            queue.failedWrites = 0;
+        } catch (RuntimeException e) {
+            queue.failedWrites++;
+            if (queue.failedWrites < MAX_WRITE_ATTEMPTS) {
+                log.warn("Failed to save {} logs of run {}, the logs will be written again: {}",
+                        runLogs.size(), runId, e.getMessage());
+                // failed logs are returned to the head of the queue to keep the order of run logs
+                queue.logs.addAll(0, runLogs);
+            } else {
+                queue.failedWrites = 0;
+                writeOneByOne(runId, runLogs, e);
+            }
+        }
+    }
+
+    private void writeOneByOne(final Long runId, final List<RunLog> runLogs, final RuntimeException batchError) {
+        final long droppedLogs = runLogs.stream()
+                .filter(runLog -> !tryWrite(runLog))
+                .count();
+        if (droppedLogs == 0) {
+            return;
+        }
+        log.error(String.format("Failed to save %d of %d logs of run %d after %d attempts",
+                droppedLogs, runLogs.size(), runId, MAX_WRITE_ATTEMPTS), batchError);
+        // task statuses of the context were resolved with the dropped logs
+        contexts.remove(runId);
+    }
+
+    private boolean tryWrite(final RunLog runLog) {
+        try {
+            runLogDao.createRunLogsInNewTransaction(Collections.singletonList(runLog));
+            return true;
+        } catch (RuntimeException e) {
+            log.debug("Failed to save log of run {}: {}", runLog.getRunId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static class RunLogQueue {
+        private final List<RunLog> logs = new ArrayList<>();
+        private boolean closed;
+        private int failedWrites;
+    }
+
+    @Service
+    @RequiredArgsConstructor
+    static class RunLogBufferScheduler extends AbstractSchedulingManager {
+
+        private final RunLogBuffer buffer;
+
+        @PostConstruct
+        public void init() {
+            scheduleFixedDelay(buffer::flushAll, SystemPreferences.SYSTEM_RUN_LOG_BUFFER_FLUSH_PERIOD,
+                    "Run Logs Flush");
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.pipeline;
+
+import com.epam.pipeline.entity.pipeline.PipelineTask;
+import com.epam.pipeline.entity.pipeline.RunLog;
+import com.epam.pipeline.entity.pipeline.TaskStatus;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Run status and last statuses of run tasks, which are required to resolve statuses of new run logs.
+ *
+ * Task statuses are updated with each resolved log, so that a context may be reused for the following logs
+ * of the same run without reloading task statuses from the database.
+ */
+class RunLogContext {
+
+    private final TaskStatus runStatus;
+    private final Map<String, TaskStatus> taskStatuses = new HashMap<>();
+    private final long created = System.currentTimeMillis();
+
+    RunLogContext(final TaskStatus runStatus, final List<PipelineTask> tasks) {
+        this.runStatus = runStatus;
+        ListUtils.emptyIfNull(tasks).stream()
+                .filter(task -> Objects.nonNull(task.getStatus()))
+                .forEach(task -> taskStatuses.put(task.getName(), task.getStatus()));
+    }
+
+    boolean isExpired(final long ttl) {
+        return System.currentTimeMillis() - created > ttl;
+    }
+
+    /**
+     * Resolves the status of the given log, the resolved status is set to the log.
+     *
+     * A task, which has already reported a final status, keeps it. Non final statuses reported after
+     * the whole run is finished are replaced with the run status.
+     */
+    synchronized void resolve(final RunLog runLog) {
+        TaskStatus statusToSave = runLog.getStatus();
+        final String taskName = runLog.getTaskName();
+        if (!StringUtils.isEmpty(taskName)) {
+            final TaskStatus previous = taskStatuses.get(taskName);
+            if (previous != null && previous.isFinal()) {
+                statusToSave = previous;
+            }
+        }
+        if (!statusToSave.isFinal() && runStatus != null && runStatus.isFinal()) {
+            statusToSave = runStatus;
+        }
+        runLog.setStatus(statusToSave);
+        if (!StringUtils.isEmpty(taskName)) {
+            taskStatuses.put(taskName, statusToSave);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.pipeline;
+
+import com.epam.pipeline.dao.pipeline.RunLogDao;
+import com.epam.pipeline.entity.pipeline.RunLog;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import com.epam.pipeline.manager.scheduling.AbstractSchedulingManager;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Long polling of new run logs.
+ *
+ * A follower is completed as soon as there are logs saved after its last loaded log or once
+ * {@link SystemPreferences#SYSTEM_RUN_LOG_FOLLOW_TIMEOUT} is exceeded. Pending followers are checked
+ * with {@link SystemPreferences#SYSTEM_RUN_LOG_FOLLOW_PERIOD}, so that logs saved by any API instance are found.
+ * Followers of the same run task are checked with a single query.
+ *
+ * Up to {@link SystemPreferences#SYSTEM_RUN_LOG_TAIL_WINDOW} logs of the run preceding the last loaded log are
+ * passed to a follower along with the new ones, since they may be committed after the last loaded log.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RunLogFollower {
+
+    private final PreferenceManager preferenceManager;
+    private final RunLogDao runLogDao;
+    private final RunLogBuffer runLogBuffer;
+
+    private final Set<Follower> followers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Passes new logs of the run to the given consumer once they are saved.
+     *
+     * @param runId      id of the run
+     * @param taskId     optional id of the task to follow logs of a single task
+     * @param sinceLogId id of the last log, which is already loaded by a client
+     * @param limit      maximum number of new logs to pass
+     * @param consumer   receives either new logs or an empty list, if there are no new logs before timeout
+     */
+    public void follow(final Long runId, final String taskId, final long sinceLogId, final int limit,
+                       final Consumer<List<RunLog>> consumer) {
+        final long timeout = TimeUnit.SECONDS.toMillis(
+                preferenceManager.getPreference(SystemPreferences.SYSTEM_RUN_LOG_FOLLOW_TIMEOUT));
+        final Follower follower = new Follower(new FollowedTask(runId, taskId), sinceLogId, limit, consumer,
+                System.currentTimeMillis() + timeout);
+        if (!poll(follower.getTask(), Collections.singletonList(follower), System.currentTimeMillis())) {
+            followers.add(follower);
+        }
+    }
+
+    public int size() {
+        return followers.size();
+    }
+
+    /**
+     * Completes followers, which have new logs or have been waiting longer than timeout.
+     */
+    public void poll() {
+        final long now = System.currentTimeMillis();
+        final Map<FollowedTask, List<Follower>> followersByTask = followers.stream()
+                .collect(Collectors.groupingBy(Follower::getTask));
+        followersByTask.forEach((task, taskFollowers) -> {
+            if (poll(task, taskFollowers, now)) {
+                followers.removeAll(taskFollowers);
+            } else {
+                taskFollowers.stream()
+                        .filter(Follower::isCompleted)
+                        .forEach(followers::remove);
+            }
+        });
+    }
+
+    /**
+     * Loads logs of the followed task once for all its followers.
+     *
+     * @return true if all followers are completed
+     */
+    private boolean poll(final FollowedTask task, final List<Follower> taskFollowers, final long now) {
+        final List<RunLog> logs;
+        try {
+            final long sinceLogId = taskFollowers.stream()
+                    .mapToLong(Follower::getSinceLogId)
+                    .min()
+                    .orElse(0L);
+            final int limit = taskFollowers.stream()
+                    .mapToInt(Follower::getLimit)
+                    .max()
+                    .orElse(0);
+            runLogBuffer.flush(task.getRunId());
+            logs = runLogDao.loadLogsSince(task.getRunId(), task.getTaskId(), sinceLogId,
+                    preferenceManager.getPreference(SystemPreferences.SYSTEM_RUN_LOG_TAIL_WINDOW), limit);
+        } catch (RuntimeException e) {
+            log.error("Failed to load followed run logs", e);
+            taskFollowers.forEach(follower -> follower.complete(Collections.emptyList()));
+            return true;
+        }
+        taskFollowers.forEach(follower -> follower.poll(logs, now));
+        return taskFollowers.stream().allMatch(Follower::isCompleted);
+    }
+
+    @Value
+    private static class FollowedTask {
+        Long runId;
+        String taskId;
+    }
+
+    @RequiredArgsConstructor
+    private static class Follower {
+
+        @Getter
+        private final FollowedTask task;
+        @Getter
+        private final long sinceLogId;
+        @Getter
+        private final int limit;
+        private final Consumer<List<RunLog>> consumer;
+        private final long deadline;
+        @Getter
+        private boolean completed;
+
+        /**
+         * Passes logs within the tail window and the new logs to the consumer, if there are new logs.
+         */
+        private void poll(final List<RunLog> logs, final long now) {
+            final List<RunLog> newLogs = logs.stream()
+                    .filter(runLog -> runLog.getId() > sinceLogId)
+                    .limit(limit)
+                    .collect(Collectors.toList());
+            if (!newLogs.isEmpty()) {
+                final long lastLogId = newLogs.get(newLogs.size() - 1).getId();
+                complete(logs.stream()
+                        .filter(runLog -> runLog.getId() <= lastLogId)
+                        .collect(Collectors.toList()));
+            } else if (now >= deadline) {
+                complete(Collections.emptyList());
+            }
+        }
+
+        private void complete(final List<RunLog> logs) {
+            completed = true;
+            consumer.accept(logs);
+        }
+    }
+
+    @Service
+    @RequiredArgsConstructor
+    static class RunLogFollowerScheduler extends AbstractSchedulingManager {
+
+        private final RunLogFollower follower;
+
+        @PostConstruct
+        public void init() {
+            scheduleFixedDelay(follower::poll, SystemPreferences.SYSTEM_RUN_LOG_FOLLOW_PERIOD, "Run Logs Follow");
+        }
+    }
+}
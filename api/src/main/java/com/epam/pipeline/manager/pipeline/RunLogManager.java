@@ -16,8 +16,12 @@
 
 package com.epam.pipeline.manager.pipeline;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.epam.pipeline.common.MessageHelper;
 import com.epam.pipeline.dao.pipeline.RunLogDao;
@@ -30,6 +34,7 @@ import com.epam.pipeline.manager.cluster.KubernetesManager;
 import com.epam.pipeline.manager.preference.PreferenceManager;
 import com.epam.pipeline.manager.preference.SystemPreferences;
 import com.epam.pipeline.utils.LogsFormatter;
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -62,9 +67,13 @@ public class RunLogManager {
     @Autowired
     private PipelineRunCRUDService runCRUDService;
 
-    private RunLogManager self;
+    @Autowired
+    private RunLogBuffer runLogBuffer;
+
+    @Autowired
+    private RunLogFollower runLogFollower;
 
-    private LogsFormatter logsFormatter = new LogsFormatter();
+    private RunLogManager self;
 
     @Value("${runs.console.log.task:Console}")
     private String consoleLogTask;
@@ -76,18 +85,12 @@ public class RunLogManager {
 
     @Transactional(propagation = Propagation.REQUIRED)
     public RunLog saveLog(final RunLog runLog) {
-        Assert.notNull(runLog.getRunId(), messageHelper.getMessage(MessageConstants.ERROR_PARAMETER_REQUIRED,
-                "runId", RunLog.class.getSimpleName()));
-        Assert.notNull(runLog.getDate(), messageHelper.getMessage(MessageConstants.ERROR_PARAMETER_REQUIRED,
-                "date", RunLog.class.getSimpleName()));
-        Assert.notNull(runLog.getStatus(), messageHelper.getMessage(MessageConstants.ERROR_PARAMETER_REQUIRED,
-                "status", RunLog.class.getSimpleName()));
-        PipelineRun run = runCRUDService.loadRunById(runLog.getRunId());
-        Assert.notNull(run,
-                messageHelper.getMessage(MessageConstants.ERROR_PIPELINE_NOT_FOUND, runLog.getRunId()));
-        if (!StringUtils.isEmpty(runLog.getLogText())) {
-            runLog.setLogText(runLog.getLogText().replaceAll("\\u0000", ""));
+        validateLog(runLog);
+        if (runLogBuffer.isEnabled()) {
+            runLogBuffer.add(runLog.getRunId(), Collections.singletonList(runLog), this::loadLogContext);
+            return runLog;
         }
+        PipelineRun run = loadRun(runLog.getRunId());
         // Check previous status, it may differ from pod status as error may occur during
         // results upload to s3
         TaskStatus statusToSave = runLog.getStatus();
@@ -109,14 +112,41 @@ public class RunLogManager {
         return runLog;
     }
 
+    /**
+     * Saves a batch of logs of a single run. Run and task statuses are resolved once for the whole batch
+     * and logs are written to the database with a single batch insert.
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public List<RunLog> saveLogs(final Long runId, final List<RunLog> runLogs) {
+        Assert.notNull(runId, messageHelper.getMessage(MessageConstants.ERROR_PARAMETER_REQUIRED,
+                "runId", RunLog.class.getSimpleName()));
+        if (CollectionUtils.isEmpty(runLogs)) {
+            return Collections.emptyList();
+        }
+        runLogs.forEach(runLog -> {
+            runLog.setRunId(runId);
+            validateLog(runLog);
+        });
+        if (runLogBuffer.isEnabled()) {
+            runLogBuffer.add(runId, runLogs, this::loadLogContext);
+        } else {
+            final RunLogContext context = loadLogContext(runId);
+            runLogs.forEach(context::resolve);
+            runLogDao.createRunLogs(runLogs);
+        }
+        return runLogs;
+    }
+
     @Transactional(propagation = Propagation.SUPPORTS)
     public PipelineTask loadPreviousTaskStatus(PipelineRun pipelineRun, RunLog runLog) {
+        runLogBuffer.flush(pipelineRun.getId());
         return runLogDao.loadTaskStatus(pipelineRun.getId(), runLog.getTaskName());
     }
 
     @Transactional(propagation = Propagation.SUPPORTS)
     public List<RunLog> loadAllLogsByRunId(Long runId) {
         runCRUDService.loadRunById(runId);
+        runLogBuffer.flush(runId);
         return runLogDao.loadAllLogsForRun(runId);
     }
 
@@ -127,11 +157,78 @@ public class RunLogManager {
             return getPodLogs(run);
         }
         String taskId = PipelineTask.buildTaskId(taskName, parameters);
+        runLogBuffer.flush(runId);
         return runLogDao.loadAllLogsForTask(runId, taskId);
     }
 
+    /**
+     * Loads logs of the run or a single run task, which were saved after the log with the given id.
+     * If log id is not specified, the last logs are loaded. Up to {@link SystemPreferences#SYSTEM_RUN_LOG_TAIL_WINDOW}
+     * logs of the run preceding the given one are loaded again, since they may be committed later, so a client shall
+     * skip logs with already loaded ids.
+     *
+     * @param runId run id
+     * @param taskName optional task name
+     * @param parameters optional task parameters
+     * @param sinceLogId optional id of the last log, which is already loaded by a client
+     * @param limit optional maximum number of logs to load, limited by {@link SystemPreferences#SYSTEM_LIMIT_LOG_LINES}
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<RunLog> tailLogs(final Long runId, final String taskName, final String parameters,
+                                 final Long sinceLogId, final Integer limit) {
+        final PipelineRun run = runCRUDService.loadRunById(runId);
+        if (consoleLogTask.equals(taskName)) {
+            return getPodLogs(run);
+        }
+        return loadLogsSince(runId, taskName, parameters, sinceLogId, limit);
+    }
+
+    /**
+     * Waits for logs of the run or a single run task, which are saved after the log with the given id.
+     * The given consumer is called either with the first portion of new logs or with an empty list,
+     * if there are no new logs during {@link SystemPreferences#SYSTEM_RUN_LOG_FOLLOW_TIMEOUT}.
+     * As well as {@link #tailLogs(Long, String, String, Long, Integer)}, new logs are accompanied with
+     * up to {@link SystemPreferences#SYSTEM_RUN_LOG_TAIL_WINDOW} logs of the run preceding the given one.
+     */
+    public void followLogs(final Long runId, final String taskName, final String parameters,
+                           final Long sinceLogId, final Integer limit, final Consumer<List<RunLog>> consumer) {
+        final PipelineRun run = runCRUDService.loadRunById(runId);
+        if (consoleLogTask.equals(taskName)) {
+            consumer.accept(getPodLogs(run));
+            return;
+        }
+        if (sinceLogId == null) {
+            final List<RunLog> logs = loadLogsSince(runId, taskName, parameters, null, limit);
+            if (CollectionUtils.isNotEmpty(logs)) {
+                consumer.accept(logs);
+                return;
+            }
+        }
+        runLogFollower.follow(runId, getTaskId(taskName, parameters), sinceLogId == null ? 0L : sinceLogId,
+                getLogsLimit(limit), consumer);
+    }
+
+    /**
+     * Writes formatted logs of the run to the given writer. Logs are read from the database with a cursor,
+     * so that all logs of the run are not loaded into memory at once. Buffered logs of the run are written
+     * before the read-only transaction of the cursor is started.
+     */
+    public void writeLogs(final PipelineRun run, final Writer writer) {
+        final LogsFormatter formatter = new LogsFormatter();
+        runLogBuffer.flush(run.getId());
+        runLogDao.loadAllLogsForRun(run.getId(), log -> {
+            try {
+                writer.write(formatter.formatLog(log));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
     public List<RunLog> loadAllLogsForTask(final Long runId, final String taskName) {
         String taskId = PipelineTask.buildTaskId(taskName, null);
+        runLogBuffer.flush(runId);
         return runLogDao.loadAllLogsForTask(runId, taskId);
     }
 
@@ -143,6 +240,7 @@ public class RunLogManager {
     @Transactional(propagation = Propagation.SUPPORTS)
     public List<PipelineTask> loadTasksByRunId(Long runId) {
         PipelineRun run = runCRUDService.loadRunById(runId);
+        runLogBuffer.flush(runId);
         List<PipelineTask> tasks = runLogDao.loadTasksForRun(runId);
         tasks.forEach(task -> {
             if (run.getStatus().isFinal() && !task.getStatus().isFinal()) {
@@ -181,6 +279,7 @@ public class RunLogManager {
 
     @Transactional(propagation = Propagation.SUPPORTS)
     public String loadTaskByInstance(String pod, PipelineRun pipelineRun) {
+        runLogBuffer.flush(pipelineRun.getId());
         List<PipelineTask> tasks = runLogDao.loadTaskByInstance(pipelineRun.getId(), pod);
         if (tasks == null || tasks.isEmpty()) {
             return null;
@@ -189,12 +288,42 @@ public class RunLogManager {
         }
     }
 
-    @Transactional(propagation = Propagation.SUPPORTS)
-    public String downloadLogs(PipelineRun run) {
-        List<RunLog> logs = loadAllLogsByRunId(run.getId());
-        StringBuilder builder = new StringBuilder();
-        logs.forEach(log -> builder.append(logsFormatter.formatLog(log)).append('\n'));
-        return builder.toString();
+    private void validateLog(final RunLog runLog) {
+        Assert.notNull(runLog.getRunId(), messageHelper.getMessage(MessageConstants.ERROR_PARAMETER_REQUIRED,
+                "runId", RunLog.class.getSimpleName()));
+        Assert.notNull(runLog.getDate(), messageHelper.getMessage(MessageConstants.ERROR_PARAMETER_REQUIRED,
+                "date", RunLog.class.getSimpleName()));
+        Assert.notNull(runLog.getStatus(), messageHelper.getMessage(MessageConstants.ERROR_PARAMETER_REQUIRED,
+                "status", RunLog.class.getSimpleName()));
+        if (!StringUtils.isEmpty(runLog.getLogText())) {
+            runLog.setLogText(runLog.getLogText().replaceAll("\\u0000", ""));
+        }
+    }
+
+    private List<RunLog> loadLogsSince(final Long runId, final String taskName, final String parameters,
+                                       final Long sinceLogId, final Integer limit) {
+        runLogBuffer.flush(runId);
+        return runLogDao.loadLogsSince(runId, getTaskId(taskName, parameters), sinceLogId,
+                preferenceManager.getPreference(SystemPreferences.SYSTEM_RUN_LOG_TAIL_WINDOW), getLogsLimit(limit));
+    }
+
+    private String getTaskId(final String taskName, final String parameters) {
+        return StringUtils.isEmpty(taskName) ? null : PipelineTask.buildTaskId(taskName, parameters);
+    }
+
+    private int getLogsLimit(final Integer limit) {
+        final int maxLimit = preferenceManager.getPreference(SystemPreferences.SYSTEM_LIMIT_LOG_LINES);
+        return limit == null || limit <= 0 ? maxLimit : Math.min(limit, maxLimit);
+    }
+
+    private PipelineRun loadRun(final Long runId) {
+        PipelineRun run = runCRUDService.loadRunById(runId);
+        Assert.notNull(run, messageHelper.getMessage(MessageConstants.ERROR_PIPELINE_NOT_FOUND, runId));
+        return run;
+    }
+
+    private RunLogContext loadLogContext(final Long runId) {
+        return new RunLogContext(loadRun(runId).getStatus(), runLogDao.loadTaskStatuses(runId));
     }
 
     private List<RunLog> getPodLogs(PipelineRun run) {
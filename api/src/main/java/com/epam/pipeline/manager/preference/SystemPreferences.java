@@ -183,6 +183,13 @@ public class SystemPreferences {
             DATA_STORAGE_GROUP,
             isNullOrValidEnum(NFSMountPolicy.class));
 
+    /**
+     * Defines a number of NFS directories, which sorted listings are cached for paging.
+     * A cached listing is invalidated when the directory modification time changes. Zero disables the cache.
+     */
+    public static final IntPreference DATA_STORAGE_NFS_LISTING_CACHE_SIZE = new IntPreference(
+            "storage.nfs.listing.cache.size", 50, DATA_STORAGE_GROUP, isGreaterThan(-1));
+
     /**
      * Configures a system data storage for storing attachments and etc.
      */
@@ -290,6 +297,11 @@ public class SystemPreferences {
      */
     public static final StringPreference DOCKER_SECURITY_TOOL_SCAN_SCHEDULE_CRON = new StringPreference(
         "security.tools.scan.schedule.cron", "0 0 0 ? * *", DOCKER_SECURITY_GROUP, PreferenceValidators.isValidCron);
+    /**
+     * Number of tool versions, that are scanned simultaneously
+     */
+    public static final IntPreference DOCKER_SECURITY_TOOL_SCAN_THREADS = new IntPreference(
+        "security.tools.scan.threads", 4, DOCKER_SECURITY_GROUP, isGreaterThan(0));
     /**
      * Denies running a Tool, if it hasn't been scanned yet, or all scans has failed
      */
@@ -427,6 +439,17 @@ public class SystemPreferences {
     public static final LongPreference CLUSTER_MONITORING_ELASTIC_MINIMAL_INTERVAL = new LongPreference(
             "cluster.monitoring.elastic.minimal.interval", TimeUnit.MILLISECONDS.convert(1, TimeUnit.MINUTES),
             CLUSTER_GROUP, isGreaterThan(0L));
+    /**
+     * Enables background rollup of node monitoring stats into 1m/10m/1h series which are used for
+     * node usage charts and reports instead of raw monitoring indices.
+     */
+    public static final BooleanPreference CLUSTER_MONITORING_ROLLUP_ENABLED = new BooleanPreference(
+            "cluster.monitoring.rollup.enabled", false, CLUSTER_GROUP, pass);
+    /**
+     * Controls the period (in milliseconds) of node monitoring stats rollup task
+     */
+    public static final IntPreference CLUSTER_MONITORING_ROLLUP_PERIOD = new IntPreference(
+            "cluster.monitoring.rollup.period", 60000, CLUSTER_GROUP, isGreaterThan(10000));
     public static final IntPreference CLUSTER_KUBE_MASTER_PORT =
             new IntPreference("cluster.kube.master.port", 6443, CLUSTER_GROUP, isGreaterThan(0));
     public static final IntPreference CLUSTER_KUBE_WINDOWS_SERVICE_PORT =
@@ -550,6 +573,18 @@ public class SystemPreferences {
      */
     public static final IntPreference LAUNCH_TASK_STATUS_UPDATE_RATE = new IntPreference(
         "launch.task.status.update.rate", 30000, LAUNCH_GROUP, isGreaterThan(5000));
+    /**
+     * Enables resolving of running tasks pods from a watch based pods cache instead of querying Kubernetes cluster
+     * for each running task separately
+     */
+    public static final BooleanPreference LAUNCH_TASK_STATUS_WATCH_ENABLED = new BooleanPreference(
+        "launch.task.status.watch.enabled", true, LAUNCH_GROUP, pass);
+    /**
+     * Sets the rate, on which pods cache is fully relisted from Kubernetes cluster, milliseconds.
+     * Zero disables periodic relisting, the cache will be relisted only when the watch is closed.
+     */
+    public static final IntPreference LAUNCH_TASK_STATUS_RESYNC_RATE = new IntPreference(
+        "launch.task.status.resync.rate", 600000, LAUNCH_GROUP, isGreaterThan(-1));
     public static final StringPreference LAUNCH_DOCKER_IMAGE = new StringPreference("launch.docker.image", null,
                                                                                     LAUNCH_GROUP, null);
     /**
@@ -639,6 +674,39 @@ public class SystemPreferences {
     public static final IntPreference SYSTEM_LIMIT_LOG_LINES = new IntPreference(
             "system.log.line.limit", 8000, SYSTEM_GROUP, isGreaterThan(0));
 
+    /**
+     * Controls whether run logs are buffered in memory and written to the database in batches
+     */
+    public static final BooleanPreference SYSTEM_RUN_LOG_BUFFER_ENABLED = new BooleanPreference(
+            "system.run.log.buffer.enabled", false, SYSTEM_GROUP, pass);
+    /**
+     * Controls the period (in milliseconds) of buffered run logs flush
+     */
+    public static final IntPreference SYSTEM_RUN_LOG_BUFFER_FLUSH_PERIOD = new IntPreference(
+            "system.run.log.buffer.flush.period", 1000, SYSTEM_GROUP, isGreaterThan(0));
+    /**
+     * Controls the number of buffered logs of a single run, which are flushed immediately
+     */
+    public static final IntPreference SYSTEM_RUN_LOG_BUFFER_SIZE = new IntPreference(
+            "system.run.log.buffer.size", 1000, SYSTEM_GROUP, isGreaterThan(0));
+    /**
+     * Controls the maximum time (in seconds), which a client may wait for new run logs in follow mode
+     */
+    public static final IntPreference SYSTEM_RUN_LOG_FOLLOW_TIMEOUT = new IntPreference(
+            "system.run.log.follow.timeout", 30, SYSTEM_GROUP, isGreaterThan(0));
+    /**
+     * Controls the period (in milliseconds) of new run logs check for clients waiting in follow mode
+     */
+    public static final IntPreference SYSTEM_RUN_LOG_FOLLOW_PERIOD = new IntPreference(
+            "system.run.log.follow.period", 1000, SYSTEM_GROUP, isGreaterThan(0));
+    /**
+     * Controls the number of logs of a run (or a run task) preceding the last loaded log, which are read again
+     * on logs tail and follow. Log ids are not assigned in the order of commit, so a log with a lower id
+     * may become visible later.
+     */
+    public static final IntPreference SYSTEM_RUN_LOG_TAIL_WINDOW = new IntPreference(
+            "system.run.log.tail.window", 1000, SYSTEM_GROUP, isGreaterThan(-1));
+
     /**
      * Level of CPU load, below which a Run is considered `idle`
      */
@@ -737,6 +805,10 @@ public class SystemPreferences {
     public static final ObjectPreference<List<String>> MISC_METADATA_MANDATORY_KEYS = new ObjectPreference<>(
             "misc.metadata.mandatory.keys", null, new TypeReference<List<String>>() {}, MISC_GROUP,
             isNullOrValidJson(new TypeReference<List<String>>() {}));
+    public static final IntPreference MISC_METADATA_FILTER_COUNT_CACHE_SEC = new IntPreference(
+            "misc.metadata.filter.count.cache.sec", 60, MISC_GROUP, isGreaterThanOrEquals(0));
+    public static final IntPreference MISC_METADATA_FILTER_COUNT_CACHE_SIZE = new IntPreference(
+            "misc.metadata.filter.count.cache.size", 1000, MISC_GROUP, isGreaterThan(0));
     public static final ObjectPreference<Map<String, Object>> MISC_GROUPS_UI_PREF = new ObjectPreference<>(
             "misc.groups.ui.preferences", null, new TypeReference<Map<String, Object>>() {}, MISC_GROUP,
             isNullOrValidJson(new TypeReference<Map<String, Object>>() {}));
@@ -748,6 +820,26 @@ public class SystemPreferences {
             null, SEARCH_GROUP, pass);
     public static final IntPreference SEARCH_ELASTIC_PORT = new IntPreference("search.elastic.port",
             null, SEARCH_GROUP, pass);
+    /**
+     * Maximum number of pooled connections of the search Elasticsearch client in total and per host.
+     */
+    public static final IntPreference SEARCH_ELASTIC_MAX_CONNECTIONS = new IntPreference(
+            "search.elastic.max.connections", 100, SEARCH_GROUP, isGreaterThan(0));
+    public static final IntPreference SEARCH_ELASTIC_MAX_CONNECTIONS_PER_ROUTE = new IntPreference(
+            "search.elastic.max.connections.per.route", 100, SEARCH_GROUP, isGreaterThan(0));
+    /**
+     * Timeouts of the search Elasticsearch client in milliseconds, socket timeout also limits
+     * the total duration of a request including retries.
+     */
+    public static final IntPreference SEARCH_ELASTIC_CONNECT_TIMEOUT = new IntPreference(
+            "search.elastic.connect.timeout", 5000, SEARCH_GROUP, isGreaterThan(0));
+    public static final IntPreference SEARCH_ELASTIC_SOCKET_TIMEOUT = new IntPreference(
+            "search.elastic.socket.timeout", 60000, SEARCH_GROUP, isGreaterThan(0));
+    /**
+     * Maximum time in milliseconds an idle pooled connection of the search Elasticsearch client is kept alive.
+     */
+    public static final IntPreference SEARCH_ELASTIC_KEEP_ALIVE = new IntPreference(
+            "search.elastic.keep.alive", 60000, SEARCH_GROUP, isGreaterThan(0));
     public static final StringPreference SEARCH_ELASTIC_CP_INDEX_PREFIX = new StringPreference(
             "search.elastic.index.common.prefix", null, SEARCH_GROUP, pass);
     public static final StringPreference SEARCH_ELASTIC_TYPE_FIELD = new StringPreference(
@@ -818,6 +910,12 @@ public class SystemPreferences {
             "billing.reports.enabled", true, BILLING_GROUP, pass);
     public static final BooleanPreference BILLING_REPORTS_ENABLED_ADMINS = new BooleanPreference(
             "billing.reports.enabled.admins", true, BILLING_GROUP, pass);
+    /**
+     * Maximum number of billing reports kept in memory until the next billing data synchronization,
+     * 0 disables the cache.
+     */
+    public static final IntPreference BILLING_REPORTS_CACHE_SIZE = new IntPreference(
+            "billing.reports.cache.size", 200, BILLING_GROUP, isGreaterThanOrEquals(0));
 
     // Lustre FS
     public static final IntPreference LUSTRE_FS_DEFAULT_SIZE_GB = new IntPreference(
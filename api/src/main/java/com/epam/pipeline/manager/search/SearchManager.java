@@ -57,7 +57,7 @@ public class SearchManager {
             final String typeFieldName = getTypeFieldName();
             final Set<String> metadataSourceFields =
                     new HashSet<>(ListUtils.emptyIfNull(searchRequest.getMetadataFields()));
-            final SearchResponse searchResult = globalSearchElasticHelper.buildClient().search(
+            final SearchResponse searchResult = globalSearchElasticHelper.getClient().search(
                     requestBuilder.buildRequest(searchRequest, typeFieldName, TYPE_AGGREGATION, metadataSourceFields));
             return resultConverter.buildResult(searchResult, TYPE_AGGREGATION, typeFieldName, getAclFilterFields(),
                     metadataSourceFields, searchRequest.getScrollingParameters());
@@ -74,7 +74,7 @@ public class SearchManager {
     public StorageUsage getStorageUsage(final AbstractDataStorage dataStorage, final String path,
                                         final boolean allowNoIndex) {
         try {
-            final SearchResponse searchResponse = globalSearchElasticHelper.buildClient().search(requestBuilder
+            final SearchResponse searchResponse = globalSearchElasticHelper.getClient().search(requestBuilder
                     .buildSumAggregationForStorage(dataStorage.getId(), dataStorage.getType(), path, allowNoIndex));
             return resultConverter.buildStorageUsageResponse(searchResponse, dataStorage, path);
         } catch (IOException e) {
@@ -92,7 +92,7 @@ public class SearchManager {
             final String typeFieldName = getTypeFieldName();
             final Set<String> metadataSourceFields =
                     new HashSet<>(ListUtils.emptyIfNull(searchRequest.getMetadataFields()));
-            final SearchResponse response = globalSearchElasticHelper.buildClient()
+            final SearchResponse response = globalSearchElasticHelper.getClient()
                     .search(requestBuilder.buildFacetedRequest(searchRequest, typeFieldName, metadataSourceFields));
             return resultConverter.buildFacetedResult(response, typeFieldName, getAclFilterFields(),
                     metadataSourceFields, searchRequest.getScrollingParameters());
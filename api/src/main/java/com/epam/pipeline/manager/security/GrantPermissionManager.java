@@ -119,6 +119,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.groupingBy;
@@ -386,12 +387,20 @@ public class GrantPermissionManager {
 
     public Integer getPermissionsMask(AbstractSecuredEntity entity, boolean merge,
             boolean includeInherited, List<Sid> sids) {
-        if (isAdmin(sids)) {
-            return merge ?
-                    AbstractSecuredEntity.ALL_PERMISSIONS_MASK :
-                    AbstractSecuredEntity.ALL_PERMISSIONS_MASK_FULL;
+        return getPermissionsMask(entity, merge, includeInherited, sids, aclService::getAcl);
+    }
+
+    /**
+     * Sets merged permissions masks of the current user to the given entities. ACLs of the entities
+     * are loaded in batches rather than one by one.
+     */
+    public void setPermissionsMasks(final List<? extends AbstractSecuredEntity> entities) {
+        if (CollectionUtils.isEmpty(entities)) {
+            return;
         }
-        return retrieveMaskForSid(entity, merge, includeInherited, sids);
+        final List<Sid> sids = getSids();
+        final Function<AbstractSecuredEntity, Acl> acls = isAdmin(sids) ? aclService::getAcl : loadAcls(entities);
+        entities.forEach(entity -> entity.setMask(getPermissionsMask(entity, true, true, sids, acls)));
     }
 
     @Transactional(propagation = Propagation.REQUIRED)
@@ -429,7 +438,9 @@ public class GrantPermissionManager {
         if (isAdmin(sids)) {
             return;
         }
-        processHierarchicalEntity(0, entity, new HashMap<>(), permission, true, sids);
+        final List<AbstractSecuredEntity> entities = new ArrayList<>();
+        collectTreeEntities(entity, entities);
+        processHierarchicalEntity(0, entity, new HashMap<>(), permission, true, sids, loadAcls(entities));
     }
 
     public boolean ownerPermission(Long id, AclClass aclClass) {
@@ -663,6 +674,29 @@ public class GrantPermissionManager {
         return entityPermissionMapper.toEntityPermissionVO(entityPermission);
     }
 
+    /**
+     * Loads permissions of several entities of the same class. Entities with their parents and their ACLs
+     * are resolved at once. Entities which are not found are skipped.
+     */
+    public List<EntityPermissionVO> loadEntitiesPermissions(final AclClass entityClass, final List<Long> ids) {
+        final List<Long> distinctIds = ListUtils.emptyIfNull(ids).stream()
+                .distinct()
+                .collect(toList());
+        if (distinctIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<AbstractSecuredEntity> entities = new ArrayList<>(
+                entityManager.loadEntitiesWithParents(entityClass, distinctIds));
+        final Map<AbstractSecuredEntity, List<AclPermissionEntry>> allPermissions = getEntitiesPermissions(
+                entities.stream()
+                        .map(this::getAclEntity)
+                        .collect(toList()));
+        return entities.stream()
+                .map(entity -> getEntityPermission(allPermissions, entity))
+                .map(entityPermissionMapper::toEntityPermissionVO)
+                .collect(toList());
+    }
+
     public EntityWithPermissionVO loadAllEntitiesPermissions(AclClass aclClass, Integer page, Integer pageSize,
                                                              boolean expandGroups, Integer filterMask) {
         EntityWithPermissionVO result = new EntityWithPermissionVO();
@@ -946,8 +980,49 @@ public class GrantPermissionManager {
         return entry;
     }
 
+    private Integer getPermissionsMask(AbstractSecuredEntity entity, boolean merge, boolean includeInherited,
+                                       List<Sid> sids, Function<AbstractSecuredEntity, Acl> acls) {
+        if (isAdmin(sids)) {
+            return merge ?
+                    AbstractSecuredEntity.ALL_PERMISSIONS_MASK :
+                    AbstractSecuredEntity.ALL_PERMISSIONS_MASK_FULL;
+        }
+        return retrieveMaskForSid(entity, merge, includeInherited, sids, acls);
+    }
+
+    /**
+     * Loads ACLs of the given entities at once. Entities which are not found in batch have no ACL.
+     * ACLs of other entities, e.g. parents which are not in the given list, are loaded separately
+     * once per entity.
+     */
+    private Function<AbstractSecuredEntity, Acl> loadAcls(
+            final Collection<? extends AbstractSecuredEntity> entities) {
+        final Map<ObjectIdentity, Acl> acls = new HashMap<>(aclService.getAcls(entities));
+        entities.stream()
+                .filter(entity -> entity.getId() != null)
+                .forEach(entity -> acls.putIfAbsent(new ObjectIdentityImpl(entity), null));
+        return entity -> {
+            if (entity.getId() == null) {
+                return aclService.getAcl(entity);
+            }
+            final ObjectIdentity identity = new ObjectIdentityImpl(entity);
+            if (!acls.containsKey(identity)) {
+                acls.put(identity, aclService.getAcl(entity));
+            }
+            return acls.get(identity);
+        };
+    }
+
+    private void collectTreeEntities(final AbstractHierarchicalEntity entity,
+                                     final List<AbstractSecuredEntity> entities) {
+        entities.add(entity);
+        ListUtils.emptyIfNull(entity.getLeaves()).forEach(entities::add);
+        ListUtils.emptyIfNull(entity.getChildren()).forEach(child -> collectTreeEntities(child, entities));
+    }
+
     private Integer retrieveMaskForSid(AbstractSecuredEntity entity, boolean merge,
-                                       boolean includeInherited, List<Sid> sids) {
+                                       boolean includeInherited, List<Sid> sids,
+                                       Function<AbstractSecuredEntity, Acl> acls) {
         if (entity instanceof NFSDataStorage) {
             final NFSStorageMountStatus mountStatus = ((NFSDataStorage) entity).getMountStatus();
             switch (mountStatus) {
@@ -959,7 +1034,7 @@ public class GrantPermissionManager {
                     break;
             }
         }
-        Acl child = aclService.getAcl(entity);
+        Acl child = acls.apply(entity);
         //case for Runs and Nodes, that are not registered as ACL entities
         //check ownership
         if (child == null && permissionsHelper.isOwner(entity)) {
@@ -972,7 +1047,7 @@ public class GrantPermissionManager {
             return 0;
         }
         //get parent
-        Acl acl = child == null ? aclService.getAcl(entity.getParent()) : child;
+        Acl acl = child == null ? acls.apply(entity.getParent()) : child;
         if (sids.stream().anyMatch(sid -> acl.getOwner().equals(sid))) {
             return merge ?
                     AbstractSecuredEntity.ALL_PERMISSIONS_MASK :
@@ -985,15 +1060,15 @@ public class GrantPermissionManager {
 
     private void processHierarchicalEntity(int parentMask, AbstractHierarchicalEntity entity,
             Map<AclClass, Set<Long>> entitiesToRemove, Permission permission, boolean root,
-            List<Sid> sids) {
+            List<Sid> sids, Function<AbstractSecuredEntity, Acl> acls) {
         int defaultMask = 0;
         int currentMask = entity.getId() != null ?
-                permissionsService.mergeParentMask(retrieveMaskForSid(entity, false, root, sids),
+                permissionsService.mergeParentMask(retrieveMaskForSid(entity, false, root, sids, acls),
                         parentMask) : defaultMask;
         entity.getChildren().forEach(
             leaf -> processHierarchicalEntity(currentMask, leaf, entitiesToRemove, permission,
-                        false, sids));
-        filterChildren(currentMask, entity.getLeaves(), entitiesToRemove, permission, sids);
+                        false, sids, acls));
+        filterChildren(currentMask, entity.getLeaves(), entitiesToRemove, permission, sids, acls);
         entity.filterLeaves(entitiesToRemove);
         entity.filterChildren(entitiesToRemove);
         boolean permissionGranted = permissionsService.isPermissionGranted(currentMask, permission);
@@ -1011,10 +1086,11 @@ public class GrantPermissionManager {
     }
 
     private void filterChildren(int parentMask, List<? extends AbstractSecuredEntity> children,
-            Map<AclClass, Set<Long>> entitiesToRemove, Permission permission, List<Sid> sids) {
+            Map<AclClass, Set<Long>> entitiesToRemove, Permission permission, List<Sid> sids,
+            Function<AbstractSecuredEntity, Acl> acls) {
         ListUtils.emptyIfNull(children).forEach(child -> {
             int mask = permissionsService
-                    .mergeParentMask(getPermissionsMask(child, false, false, sids), parentMask);
+                    .mergeParentMask(getPermissionsMask(child, false, false, sids, acls), parentMask);
             if (!permissionsService.isPermissionGranted(mask, permission)) {
                 addToEntitiesToBeRemoved(entitiesToRemove, child);
             }
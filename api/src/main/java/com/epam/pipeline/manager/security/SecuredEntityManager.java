@@ -20,6 +20,9 @@ import com.epam.pipeline.entity.AbstractSecuredEntity;
 import com.epam.pipeline.entity.security.acl.AclClass;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * Interface for all managers that support work with secured entities
@@ -39,4 +42,21 @@ public interface SecuredEntityManager {
     Collection<? extends AbstractSecuredEntity> loadAllWithParents(Integer page, Integer pageSize);
 
     AbstractSecuredEntity loadWithParents(Long id);
+
+    /**
+     * Loads several entities with their parents. Entities which are not found are skipped.
+     * By default entities are loaded one by one, managers may override it with a single query.
+     */
+    default Collection<? extends AbstractSecuredEntity> loadWithParentsByIds(final List<Long> ids) {
+        return ids.stream()
+                .map(id -> {
+                    try {
+                        return loadWithParents(id);
+                    } catch (IllegalArgumentException e) {
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
 }
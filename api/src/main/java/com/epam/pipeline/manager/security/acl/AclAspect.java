@@ -136,8 +136,7 @@ public class AclAspect {
             returning = "list")
     @Transactional(propagation = Propagation.REQUIRED)
     public void setMaskForList(JoinPoint joinPoint, List<? extends AbstractSecuredEntity> list) {
-        list.forEach(entity ->
-                entity.setMask(permissionManager.getPermissionsMask(entity, true, true)));
+        permissionManager.setPermissionsMasks(list);
     }
 
     @AfterReturning(pointcut = "@annotation(com.epam.pipeline.manager.security.acl.AclMaskDelegateList)",
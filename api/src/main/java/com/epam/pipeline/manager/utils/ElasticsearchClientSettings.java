@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.utils;
+
+import lombok.Builder;
+import lombok.Value;
+import org.apache.http.HttpHost;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.elasticsearch.client.RestClient;
+
+/**
+ * Connection settings of a long-living Elasticsearch client: target host, connection pool size,
+ * timeouts and keep-alive of pooled connections.
+ */
+@Value
+@Builder
+public class ElasticsearchClientSettings {
+
+    private final String host;
+    private final int port;
+    private final String scheme;
+    private final int maxConnections;
+    private final int maxConnectionsPerRoute;
+    private final int connectTimeout;
+    private final int socketTimeout;
+    private final long keepAlive;
+
+    public RestClient buildLowLevelClient() {
+        return RestClient.builder(new HttpHost(host, port, scheme))
+                .setMaxRetryTimeoutMillis(socketTimeout)
+                .setRequestConfigCallback(config -> config
+                        .setConnectTimeout(connectTimeout)
+                        .setSocketTimeout(socketTimeout))
+                .setHttpClientConfigCallback(client -> client
+                        .setMaxConnTotal(maxConnections)
+                        .setMaxConnPerRoute(maxConnectionsPerRoute)
+                        .setKeepAliveStrategy((response, context) -> {
+                            final long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                                    .getKeepAliveDuration(response, context);
+                            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive) : keepAlive;
+                        }))
+                .build();
+    }
+}
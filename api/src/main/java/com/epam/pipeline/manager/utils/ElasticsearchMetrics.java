@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.utils;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects metrics of Elasticsearch requests performed by the API. Metrics are grouped by client
+ * (e.g. {@code search} or {@code monitoring}) and request type (e.g. {@code search} or {@code bulk}):
+ * <ul>
+ *     <li>{@code counter.elasticsearch.<client>.<type>.requests} - number of performed requests</li>
+ *     <li>{@code counter.elasticsearch.<client>.<type>.errors} - number of failed requests</li>
+ *     <li>{@code counter.elasticsearch.<client>.inflight} - number of currently running requests</li>
+ *     <li>{@code gauge.elasticsearch.<client>.<type>.last_latency} - duration of the last request
+ *     in milliseconds</li>
+ *     <li>{@code gauge.elasticsearch.<client>.<type>.total_latency} - total duration of all requests
+ *     in milliseconds, the average latency is {@code total_latency / requests}</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class ElasticsearchMetrics {
+
+    private static final String PREFIX = "elasticsearch.";
+    private static final String COUNTER_PREFIX = "counter." + PREFIX;
+    private static final String GAUGE_PREFIX = "gauge." + PREFIX;
+    private static final String DELIMITER = ".";
+
+    private final CounterService counterService;
+    private final GaugeService gaugeService;
+    private final Map<String, LongAdder> totalLatencies = new ConcurrentHashMap<>();
+
+    public <T> T measure(final String client, final String type,
+                         final ElasticsearchCall<T> call) throws IOException {
+        final String inflight = COUNTER_PREFIX + client + DELIMITER + "inflight";
+        final String metric = client + DELIMITER + type + DELIMITER;
+        counterService.increment(inflight);
+        final long start = System.currentTimeMillis();
+        try {
+            return call.perform();
+        } catch (IOException | RuntimeException e) {
+            counterService.increment(COUNTER_PREFIX + metric + "errors");
+            throw e;
+        } finally {
+            counterService.decrement(inflight);
+            counterService.increment(COUNTER_PREFIX + metric + "requests");
+            final long latency = System.currentTimeMillis() - start;
+            final LongAdder totalLatency = totalLatencies.computeIfAbsent(metric, key -> new LongAdder());
+            totalLatency.add(latency);
+            gaugeService.submit(GAUGE_PREFIX + metric + "last_latency", latency);
+            gaugeService.submit(GAUGE_PREFIX + metric + "total_latency", totalLatency.sum());
+        }
+    }
+
+    @FunctionalInterface
+    public interface ElasticsearchCall<T> {
+        T perform() throws IOException;
+    }
+}
@@ -2,29 +2,95 @@ package com.epam.pipeline.manager.utils;
 
 import com.epam.pipeline.manager.preference.PreferenceManager;
 import com.epam.pipeline.manager.preference.SystemPreferences;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.http.HttpHost;
+import org.apache.http.HttpEntity;
+import org.elasticsearch.client.Response;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Provides a single long-living pooled client of the search Elasticsearch cluster which is shared by search,
+ * billing and log managers. The client is rebuilt if any of {@code search.elastic.*} connection preferences
+ * changes. A replaced client is closed after a grace period, so requests which already obtained it can complete.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class GlobalSearchElasticHelper {
 
+    public static final String CLIENT_NAME = "search";
+    private static final long MIN_CLOSE_DELAY = 60_000L;
+
     private final PreferenceManager preferenceManager;
+    private final ElasticsearchMetrics metrics;
+
+    private final Set<SearchClient> retiredClients = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService closeExecutor = Executors.newSingleThreadScheduledExecutor();
 
+    private volatile SearchClient client;
 
-    public RestHighLevelClient buildClient() {
-        return new RestHighLevelClient(buildLowLevelClient());
+    public RestHighLevelClient getClient() {
+        return getSearchClient().getHighLevelClient();
     }
 
-    public RestClient buildLowLevelClient() {
+    public RestClient getLowLevelClient() {
+        return getSearchClient().getLowLevelClient();
+    }
+
+    /**
+     * Performs a request with the low level client and reports it to {@link ElasticsearchMetrics}
+     * with the given request type.
+     */
+    public Response performRequest(final String type, final String method, final String endpoint,
+                                   final Map<String, String> parameters, final HttpEntity entity)
+            throws IOException {
+        final RestClient lowLevelClient = getLowLevelClient();
+        return metrics.measure(CLIENT_NAME, type, () ->
+                lowLevelClient.performRequest(method, endpoint, parameters, entity));
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        closeExecutor.shutdownNow();
+        retiredClients.forEach(this::closeQuietly);
+        retiredClients.clear();
+        closeQuietly(client);
+        client = null;
+    }
+
+    private SearchClient getSearchClient() {
+        final ElasticsearchClientSettings settings = loadSettings();
+        final SearchClient current = client;
+        if (current != null && current.getSettings().equals(settings)) {
+            return current;
+        }
+        synchronized (this) {
+            if (client == null || !client.getSettings().equals(settings)) {
+                final SearchClient previous = client;
+                log.info("Creating search Elasticsearch client for {}://{}:{}.",
+                        settings.getScheme(), settings.getHost(), settings.getPort());
+                client = new SearchClient(settings, metrics);
+                retire(previous);
+            }
+            return client;
+        }
+    }
+
+    private ElasticsearchClientSettings loadSettings() {
         final String host = preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_HOST);
         final Integer port = preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_PORT);
         final String schema = preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_SCHEME);
@@ -35,7 +101,55 @@ public class GlobalSearchElasticHelper {
                         + SystemPreferences.SEARCH_ELASTIC_PORT.getKey() + ", "
                         + SystemPreferences.SEARCH_ELASTIC_SCHEME.getKey()
         );
-        return RestClient.builder(new HttpHost(host, port, schema)).build();
+        return ElasticsearchClientSettings.builder()
+                .host(host)
+                .port(port)
+                .scheme(schema)
+                .maxConnections(preferenceManager.getPreference(
+                        SystemPreferences.SEARCH_ELASTIC_MAX_CONNECTIONS))
+                .maxConnectionsPerRoute(preferenceManager.getPreference(
+                        SystemPreferences.SEARCH_ELASTIC_MAX_CONNECTIONS_PER_ROUTE))
+                .connectTimeout(preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_CONNECT_TIMEOUT))
+                .socketTimeout(preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_SOCKET_TIMEOUT))
+                .keepAlive(preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_KEEP_ALIVE))
+                .build();
+    }
+
+    private void retire(final SearchClient searchClient) {
+        if (searchClient == null) {
+            return;
+        }
+        final long delay = Math.max(MIN_CLOSE_DELAY, searchClient.getSettings().getSocketTimeout());
+        retiredClients.add(searchClient);
+        closeExecutor.schedule(() -> {
+            if (retiredClients.remove(searchClient)) {
+                closeQuietly(searchClient);
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void closeQuietly(final SearchClient searchClient) {
+        if (searchClient == null) {
+            return;
+        }
+        try {
+            searchClient.getLowLevelClient().close();
+        } catch (IOException e) {
+            log.warn("Failed to close search Elasticsearch client: {}", e.getMessage());
+        }
     }
 
+    @Getter
+    private static final class SearchClient {
+
+        private final ElasticsearchClientSettings settings;
+        private final RestClient lowLevelClient;
+        private final RestHighLevelClient highLevelClient;
+
+        private SearchClient(final ElasticsearchClientSettings settings, final ElasticsearchMetrics metrics) {
+            this.settings = settings;
+            this.lowLevelClient = settings.buildLowLevelClient();
+            this.highLevelClient = new InstrumentedRestHighLevelClient(lowLevelClient, CLIENT_NAME, metrics);
+        }
+    }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.utils;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
+import org.elasticsearch.action.ActionRequest;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.CheckedFunction;
+import org.elasticsearch.common.xcontent.NamedXContentRegistry;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link RestHighLevelClient} which reports all synchronous requests to {@link ElasticsearchMetrics}.
+ * Request type is resolved from the request class, e.g. {@code search} for {@code SearchRequest}.
+ */
+public class InstrumentedRestHighLevelClient extends RestHighLevelClient {
+
+    private static final String REQUEST_SUFFIX = "Request";
+
+    private final String name;
+    private final ElasticsearchMetrics metrics;
+
+    public InstrumentedRestHighLevelClient(final RestClient restClient, final String name,
+                                           final ElasticsearchMetrics metrics) {
+        this(restClient, Collections.emptyList(), name, metrics);
+    }
+
+    public InstrumentedRestHighLevelClient(final RestClient restClient,
+                                           final List<NamedXContentRegistry.Entry> namedXContentEntries,
+                                           final String name, final ElasticsearchMetrics metrics) {
+        super(restClient, namedXContentEntries);
+        this.name = name;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected <Req extends ActionRequest, Resp> Resp performRequest(
+            final Req request, final CheckedFunction<Req, Request, IOException> requestConverter,
+            final CheckedFunction<Response, Resp, IOException> responseConverter, final Set<Integer> ignores,
+            final Header... headers) throws IOException {
+        return metrics.measure(name, getType(request), () ->
+                super.performRequest(request, requestConverter, responseConverter, ignores, headers));
+    }
+
+    private String getType(final ActionRequest request) {
+        return StringUtils.removeEnd(request.getClass().getSimpleName(), REQUEST_SUFFIX).toLowerCase();
+    }
+}
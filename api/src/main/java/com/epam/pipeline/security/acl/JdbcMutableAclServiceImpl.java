@@ -17,6 +17,7 @@
 package com.epam.pipeline.security.acl;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -66,9 +67,12 @@ public class JdbcMutableAclServiceImpl extends JdbcMutableAclService {
     @Autowired
     private MessageHelper messageHelper;
 
+    private final LookupStrategy aclLookupStrategy;
+
     public JdbcMutableAclServiceImpl(DataSource dataSource, LookupStrategy lookupStrategy,
             AclCache aclCache) {
         super(dataSource, lookupStrategy, aclCache);
+        this.aclLookupStrategy = lookupStrategy;
         setClassIdentityQuery(CLASS_IDENTITY_QUERY);
         setSidIdentityQuery(SID_IDENTITY_QUERY);
     }
@@ -123,6 +127,22 @@ public class JdbcMutableAclServiceImpl extends JdbcMutableAclService {
         return readAclsById(objectIdentities);
     }
 
+    /**
+     * Loads ACLs of the given entities in batches. Unlike {@link #getObjectIdentities(Set)} it doesn't fail
+     * if some of the entities are not registered in ACL, such entities are just missing from the result.
+     */
+    public Map<ObjectIdentity, Acl> getAcls(Collection<? extends AbstractSecuredEntity> securedEntities) {
+        List<ObjectIdentity> objectIdentities = securedEntities.stream()
+                .filter(entity -> entity.getId() != null)
+                .map(ObjectIdentityImpl::new)
+                .distinct()
+                .collect(Collectors.toList());
+        if (objectIdentities.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return aclLookupStrategy.readAclsById(objectIdentities, null);
+    }
+
     @Transactional(propagation = Propagation.REQUIRED)
     public void deleteSidById(Long sidId) {
         jdbcTemplate.update(DELETE_ENTRIES_BY_SID_QUERY, sidId);
@@ -0,0 +1,10 @@
+CREATE OR REPLACE FUNCTION notify_pipeline_event() RETURNS TRIGGER AS $NOTIFY_PIPELINE_EVENT$
+BEGIN
+        PERFORM pg_notify('pipeline_event', NEW.object_type);
+        RETURN NULL;
+END;
+$NOTIFY_PIPELINE_EVENT$ LANGUAGE plpgsql;
+
+CREATE TRIGGER t_notify_pipeline_event
+AFTER INSERT ON pipeline.pipeline_event FOR EACH ROW
+EXECUTE PROCEDURE notify_pipeline_event();
@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS metadata_entity_parent_class_id_index
+    ON pipeline.metadata_entity (parent_id, class_id, entity_id);
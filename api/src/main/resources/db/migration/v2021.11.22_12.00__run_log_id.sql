@@ -0,0 +1,2 @@
+ALTER TABLE pipeline.pipeline_run_log ADD COLUMN IF NOT EXISTS log_id BIGSERIAL;
+CREATE INDEX IF NOT EXISTS pipeline_run_log_run_id_log_id_index ON pipeline.pipeline_run_log (run_id, log_id);
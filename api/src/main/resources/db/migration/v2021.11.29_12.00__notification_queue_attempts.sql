@@ -0,0 +1,3 @@
+ALTER TABLE pipeline.notification_queue ADD COLUMN IF NOT EXISTS attempts INT NOT NULL DEFAULT 0;
+ALTER TABLE pipeline.notification_queue ADD COLUMN IF NOT EXISTS next_attempt TIMESTAMP WITH TIME ZONE;
+CREATE INDEX IF NOT EXISTS notification_queue_attempts_id_index ON pipeline.notification_queue (attempts, id);
@@ -31,6 +31,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.test.context.support.WithMockUser;
 
+import java.util.Collections;
+import java.util.List;
+
 import static com.epam.pipeline.test.creator.CommonCreatorConstants.ID;
 import static com.epam.pipeline.test.creator.datastorage.DatastorageCreatorUtils.getS3bucketDataStorage;
 import static com.epam.pipeline.test.creator.security.PermissionCreatorUtils.getAclSecuredEntry;
@@ -268,4 +271,22 @@ public class AclPermissionApiServiceTest extends AbstractAclTest {
         assertThrows(AccessDeniedException.class,
             () -> aclPermissionApiService.loadEntityPermission(ID, AclClass.DATA_STORAGE));
     }
+
+    @Test
+    @WithMockUser(roles = ADMIN_ROLE)
+    public void shouldLoadEntitiesPermissionsForAdmin() {
+        final List<EntityPermissionVO> permissions = Collections.singletonList(entityPermissionVO);
+        doReturn(permissions).when(spyPermissionManager)
+                .loadEntitiesPermissions(AclClass.DATA_STORAGE, Collections.singletonList(ID));
+
+        assertThat(aclPermissionApiService.loadEntitiesPermissions(AclClass.DATA_STORAGE,
+                Collections.singletonList(ID))).isEqualTo(permissions);
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldDenyLoadEntitiesPermissionsForNotAdmin() {
+        assertThrows(AccessDeniedException.class, () -> aclPermissionApiService.loadEntitiesPermissions(
+                AclClass.DATA_STORAGE, Collections.singletonList(ID)));
+    }
 }
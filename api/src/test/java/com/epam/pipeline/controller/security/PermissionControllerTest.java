@@ -27,9 +27,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.Collections;
+import java.util.List;
+
 import static com.epam.pipeline.test.creator.CommonCreatorConstants.ID;
 import static com.epam.pipeline.test.creator.CommonCreatorConstants.TEST_STRING;
 import static com.epam.pipeline.test.creator.security.PermissionCreatorUtils.ACL_SECURED_ENTRY_TYPE;
+import static com.epam.pipeline.test.creator.security.PermissionCreatorUtils.ENTITY_WITH_PERMISSION_VO_LIST_TYPE;
 import static com.epam.pipeline.test.creator.security.PermissionCreatorUtils.ENTITY_WITH_PERMISSION_VO_TYPE;
 import static com.epam.pipeline.test.creator.security.PermissionCreatorUtils.getAclSecuredEntry;
 import static com.epam.pipeline.test.creator.security.PermissionCreatorUtils.getEntityPermissionVO;
@@ -46,6 +50,7 @@ public class PermissionControllerTest extends AbstractControllerTest {
     private static final String ALL_PERMISSIONS_URL = GRANT_URL + "/all";
     private static final String OWNER_URL = GRANT_URL + "/owner";
     private static final String PERMISSIONS_URL = SERVLET_PATH + "/permissions";
+    private static final String PERMISSIONS_BATCH_URL = PERMISSIONS_URL + "/batch";
     private static final String ID_AS_STRING = String.valueOf(ID);
     private static final String ID_PARAM = "id";
     private static final String ACL_CLASS_PARAM = "aclClass";
@@ -172,4 +177,24 @@ public class PermissionControllerTest extends AbstractControllerTest {
         verify(mockPermissionApiService).loadEntityPermission(ID, DATA_STORAGE);
         assertResponse(mvcResult, entityPermissionVO, ENTITY_WITH_PERMISSION_VO_TYPE);
     }
+
+    @Test
+    public void shouldFailLoadEntitiesPermissionsForUnauthorizedUser() {
+        performUnauthorizedRequest(post(PERMISSIONS_BATCH_URL));
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldLoadEntitiesPermissions() throws Exception {
+        final List<Long> ids = Collections.singletonList(ID);
+        final List<EntityPermissionVO> permissions = Collections.singletonList(entityPermissionVO);
+        doReturn(permissions).when(mockPermissionApiService).loadEntitiesPermissions(DATA_STORAGE, ids);
+
+        final MvcResult mvcResult = performRequest(post(PERMISSIONS_BATCH_URL)
+                .params(multiValueMapOf(ACL_CLASS_PARAM, DATA_STORAGE_STRING))
+                .content(getObjectMapper().writeValueAsString(ids)));
+
+        verify(mockPermissionApiService).loadEntitiesPermissions(DATA_STORAGE, ids);
+        assertResponse(mvcResult, permissions, ENTITY_WITH_PERMISSION_VO_LIST_TYPE);
+    }
 }
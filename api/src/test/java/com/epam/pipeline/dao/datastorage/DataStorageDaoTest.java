@@ -36,6 +36,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import static com.epam.pipeline.assertions.ProjectAssertions.assertThat;
@@ -125,6 +126,21 @@ public class DataStorageDaoTest extends AbstractJdbcTest {
                 .containsOnly(testFolder);
     }
 
+    @Test
+    public void shouldReturnStoragesWithParentsByIds() {
+        s3Bucket.setParentFolderId(testFolder.getId());
+        dataStorageDao.createDataStorage(s3Bucket);
+        dataStorageDao.createDataStorage(nfsStorage);
+
+        Collection<AbstractDataStorage> storages = dataStorageDao.loadStoragesWithParents(
+                Collections.singletonList(s3Bucket.getId()));
+        assertThat(storages)
+                .hasSize(1)
+                .containsOnly(s3Bucket)
+                .extracting(AbstractDataStorage::getParent)
+                .containsOnly(testFolder);
+    }
+
     @Test
     public void shouldReturnFolderWithoutParents() {
         s3Bucket.setParentFolderId(null);
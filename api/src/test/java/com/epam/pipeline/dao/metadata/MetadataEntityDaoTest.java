@@ -689,6 +689,31 @@ public class MetadataEntityDaoTest extends AbstractJdbcTest {
         checkFilterRequest(combineSearchAndFilter, Arrays.asList(folder1Sample1, folder1Sample2));
     }
 
+    @Test
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public void testKeysetPagination() {
+        MetadataClass metadataClass1 = createMetadataClass(CLASS_NAME_1);
+        Folder folder1 = createFolder();
+
+        MetadataEntity sample1 = createMetadataEntity(folder1, metadataClass1, EXTERNAL_ID_1, new HashMap<>());
+        MetadataEntity sample2 = createMetadataEntity(folder1, metadataClass1, EXTERNAL_ID_2, new HashMap<>());
+        MetadataEntity sample3 = createMetadataEntity(folder1, metadataClass1, EXTERNAL_ID_1 + 2, new HashMap<>());
+
+        MetadataFilter filter = createFilter(folder1.getId(), metadataClass1.getName(),
+                null, null, null, false);
+        filter.setPage(null);
+        filter.setPageSize(2);
+        filter.setLastEntityId(0L);
+        List<MetadataEntity> firstPage = metadataEntityDao.filterEntities(filter);
+        Assert.assertEquals(Arrays.asList(sample1.getId(), sample2.getId()), firstPage.stream()
+                .map(BaseEntity::getId)
+                .collect(Collectors.toList()));
+
+        filter.setLastEntityId(sample2.getId());
+        checkSearchResult(Collections.singletonList(sample3), metadataEntityDao.filterEntities(filter));
+        Assert.assertEquals(3, metadataEntityDao.countEntities(filter).intValue());
+    }
+
     private MetadataField getDataField(String key) {
         return new MetadataField(key, null, false);
     }
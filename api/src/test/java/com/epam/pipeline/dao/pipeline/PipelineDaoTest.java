@@ -24,6 +24,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -145,6 +147,26 @@ public class PipelineDaoTest extends AbstractJdbcTest {
         verifyFolderTree(loaded.getParent(), parent);
     }
 
+    @Test
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public void shouldLoadPipelinesWithFoldersByIds() {
+        Folder root = buildFolder(null);
+        root.setParentId(0L);
+        Folder folder = buildFolder(root.getId());
+        folder.setParent(root);
+
+        Pipeline pipeline = getPipeline(TEST_NAME);
+        pipeline.setParentFolderId(folder.getId());
+        pipelineDao.createPipeline(pipeline);
+        Pipeline other = getPipeline(TEST_NAME + TEST_NAME);
+        pipelineDao.createPipeline(other);
+
+        Collection<Pipeline> loaded = pipelineDao.loadPipelinesWithParents(
+                Collections.singletonList(pipeline.getId()));
+        assertEquals(1, loaded.size());
+        verifyFolderTree(loaded.iterator().next().getParent(), folder);
+    }
+
     private void assertPipelineWithParameters(List<Pipeline> expected, Integer pageNum, Integer pageSize) {
         Set<Pipeline> loaded = pipelineDao.loadAllPipelinesWithParents(pageNum, pageSize);
         assertEquals(expected.size(), loaded.size());
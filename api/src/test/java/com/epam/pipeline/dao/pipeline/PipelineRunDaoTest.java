@@ -253,6 +253,28 @@ public class PipelineRunDaoTest extends AbstractJdbcTest {
         assertEquals(run.isTerminating(), loadedRun.isTerminating());
     }
 
+    @Test
+    public void updateRunsStatuses() {
+        PipelineRun succeededRun = createTestPipelineRun();
+        PipelineRun failedRun = createTestPipelineRun();
+
+        succeededRun.setStatus(TaskStatus.SUCCESS);
+        succeededRun.setEndDate(new Date());
+        failedRun.setStatus(TaskStatus.FAILURE);
+        failedRun.setEndDate(new Date());
+        failedRun.setTerminating(true);
+
+        pipelineRunDao.updateRunsStatuses(Arrays.asList(succeededRun, failedRun));
+
+        PipelineRun loadedSucceededRun = pipelineRunDao.loadPipelineRun(succeededRun.getId());
+        assertEquals(TaskStatus.SUCCESS, loadedSucceededRun.getStatus());
+        assertEquals(succeededRun.getEndDate(), loadedSucceededRun.getEndDate());
+        assertFalse(loadedSucceededRun.isTerminating());
+        PipelineRun loadedFailedRun = pipelineRunDao.loadPipelineRun(failedRun.getId());
+        assertEquals(TaskStatus.FAILURE, loadedFailedRun.getStatus());
+        assertTrue(loadedFailedRun.isTerminating());
+    }
+
     @Test
     public void updateRunCommitStatus() {
         PipelineRun run = createTestPipelineRun();
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.entity.cluster.monitoring;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+
+public class MonitoringRollupResolutionTest {
+
+    @Test
+    public void shouldSelectCoarsestResolutionNotCoarserThanInterval() {
+        assertEquals(Optional.empty(), MonitoringRollupResolution.notCoarserThan(Duration.ofSeconds(30)));
+        assertEquals(Optional.of(MonitoringRollupResolution.ONE_MINUTE),
+                MonitoringRollupResolution.notCoarserThan(Duration.ofMinutes(3)));
+        assertEquals(Optional.of(MonitoringRollupResolution.TEN_MINUTES),
+                MonitoringRollupResolution.notCoarserThan(Duration.ofMinutes(13)));
+        assertEquals(Optional.of(MonitoringRollupResolution.ONE_HOUR),
+                MonitoringRollupResolution.notCoarserThan(Duration.ofHours(18)));
+    }
+
+    @Test
+    public void shouldSelectOnlyExactResolution() {
+        assertEquals(Optional.of(MonitoringRollupResolution.TEN_MINUTES),
+                MonitoringRollupResolution.of(Duration.ofMinutes(10)));
+        assertEquals(Optional.empty(), MonitoringRollupResolution.of(Duration.ofMinutes(5)));
+    }
+
+    @Test
+    public void shouldTruncateDateToBucketStart() {
+        final LocalDateTime date = LocalDateTime.of(2021, 3, 4, 10, 17, 42);
+
+        assertEquals(LocalDateTime.of(2021, 3, 4, 10, 17), MonitoringRollupResolution.ONE_MINUTE.truncate(date));
+        assertEquals(LocalDateTime.of(2021, 3, 4, 10, 10), MonitoringRollupResolution.TEN_MINUTES.truncate(date));
+        assertEquals(LocalDateTime.of(2021, 3, 4, 10, 0), MonitoringRollupResolution.ONE_HOUR.truncate(date));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.billing;
+
+import com.epam.pipeline.controller.vo.billing.BillingChartRequest;
+import com.epam.pipeline.entity.billing.BillingChartInfo;
+import com.epam.pipeline.entity.billing.BillingGrouping;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import com.epam.pipeline.manager.utils.GlobalSearchElasticHelper;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.get.GetRequest;
+import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.index.get.GetResult;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+public class BillingReportCacheTest {
+
+    private static final String SYNC_STATUS_INDEX = "cp-billing-sync-status";
+    private static final String FIRST_SYNC = "2021-03-01T00:00";
+    private static final String SECOND_SYNC = "2021-03-01T00:03";
+    private static final LocalDate FROM = LocalDate.of(2021, 2, 1);
+    private static final LocalDate TO = LocalDate.of(2021, 2, 28);
+
+    private final RestHighLevelClient client = mock(RestHighLevelClient.class);
+    private final GlobalSearchElasticHelper elasticHelper = mock(GlobalSearchElasticHelper.class);
+    private final PreferenceManager preferenceManager = mock(PreferenceManager.class);
+    private final BillingReportCache cache =
+            new BillingReportCache(elasticHelper, preferenceManager, SYNC_STATUS_INDEX);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        doReturn(client).when(elasticHelper).getClient();
+        doReturn(2).when(preferenceManager).getPreference(SystemPreferences.BILLING_REPORTS_CACHE_SIZE);
+    }
+
+    @Test
+    public void reportShouldBeCachedUntilNextSynchronization() throws IOException {
+        mockLastSync(FIRST_SYNC);
+        final List<BillingChartInfo> report = cache.get(request(BillingGrouping.USER), loader());
+
+        Assert.assertSame(report, cache.get(request(BillingGrouping.USER), loader()));
+        Assert.assertEquals(1, loads.get());
+
+        mockLastSync(SECOND_SYNC);
+        cache.get(request(BillingGrouping.USER), loader());
+
+        Assert.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void reportShouldNotBeCachedIfSynchronizationStatusIsNotAvailable() throws IOException {
+        doThrow(new ElasticsearchStatusException("no such index", RestStatus.NOT_FOUND))
+                .when(client).get(any(GetRequest.class));
+
+        cache.get(request(BillingGrouping.USER), loader());
+        cache.get(request(BillingGrouping.USER), loader());
+
+        Assert.assertEquals(2, loads.get());
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void leastRecentlyUsedReportShouldBeEvicted() throws IOException {
+        mockLastSync(FIRST_SYNC);
+        cache.get(request(BillingGrouping.USER), loader());
+        cache.get(request(BillingGrouping.STORAGE), loader());
+        cache.get(request(BillingGrouping.USER), loader());
+        cache.get(request(BillingGrouping.TOOL), loader());
+        Assert.assertEquals(3, loads.get());
+
+        cache.get(request(BillingGrouping.USER), loader());
+        Assert.assertEquals(3, loads.get());
+
+        cache.get(request(BillingGrouping.STORAGE), loader());
+        Assert.assertEquals(4, loads.get());
+        Assert.assertEquals(2, cache.size());
+    }
+
+    private void mockLastSync(final String lastSync) throws IOException {
+        final GetResult result = new GetResult(SYNC_STATUS_INDEX, "_doc", "billing", 1L, true,
+                new BytesArray("{\"last_synchronization\":\"" + lastSync + "\"}"), null);
+        doReturn(new GetResponse(result)).when(client).get(any(GetRequest.class));
+    }
+
+    private BillingChartRequest request(final BillingGrouping grouping) {
+        return new BillingChartRequest(FROM, TO, Collections.emptyMap(), null, grouping, false, null, null);
+    }
+
+    private Supplier<List<BillingChartInfo>> loader() {
+        return () -> {
+            loads.incrementAndGet();
+            return Collections.singletonList(BillingChartInfo.builder().cost(1L).build());
+        };
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster;
+
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import com.epam.pipeline.util.KubernetesTestUtils;
+import io.fabric8.kubernetes.api.model.DoneablePod;
+import io.fabric8.kubernetes.api.model.ListMeta;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import io.fabric8.kubernetes.client.dsl.PodResource;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+public class KubernetesPodCacheTest {
+
+    private static final String NAMESPACE = "default";
+    private static final String POD = "pipeline-1";
+    private static final String ANOTHER_POD = "pipeline-2";
+    private static final int RESYNC_RATE = 600000;
+
+    private final KubernetesManager kubernetesManager = mock(KubernetesManager.class);
+    private final PreferenceManager preferenceManager = mock(PreferenceManager.class);
+    private final KubernetesClient client = mock(KubernetesClient.class);
+    private final Watch watch = mock(Watch.class);
+    private final KubernetesPodCache cache = new KubernetesPodCache(kubernetesManager, preferenceManager, NAMESPACE);
+    private NonNamespaceOperation<Pod, PodList, DoneablePod, PodResource<Pod, DoneablePod>> namespacePods;
+    private Watcher<Pod> watcher;
+
+    @Before
+    public void setUp() {
+        final KubernetesTestUtils.MockPods mockPods = new KubernetesTestUtils.MockPods();
+        namespacePods = mockPods.mockNamespace(NAMESPACE).getNamespace();
+        when(client.pods()).thenReturn(mockPods.getMockedEntity());
+        when(kubernetesManager.getKubernetesClient()).thenReturn(client);
+        when(preferenceManager.getPreference(SystemPreferences.LAUNCH_TASK_STATUS_RESYNC_RATE))
+                .thenReturn(RESYNC_RATE);
+        when(namespacePods.watch(anyString(), any(Watcher.class))).thenAnswer(invocation -> {
+            watcher = (Watcher<Pod>) invocation.getArguments()[1];
+            return watch;
+        });
+    }
+
+    @Test
+    public void shouldResolvePodsFromListAndWatchEvents() {
+        mockPodList(pod(POD));
+
+        assertTrue(cache.sync());
+        assertTrue(cache.getPod(POD).isPresent());
+        assertFalse(cache.getPod(ANOTHER_POD).isPresent());
+
+        watcher.eventReceived(Watcher.Action.ADDED, pod(ANOTHER_POD));
+        watcher.eventReceived(Watcher.Action.DELETED, pod(POD));
+
+        assertTrue(cache.sync());
+        assertFalse(cache.getPod(POD).isPresent());
+        assertTrue(cache.getPod(ANOTHER_POD).isPresent());
+        verify(namespacePods, times(1)).list();
+    }
+
+    @Test
+    public void shouldRelistPodsIfWatchIsClosed() {
+        mockPodList(pod(POD));
+        assertTrue(cache.sync());
+
+        watcher.onClose(new KubernetesClientException("watch is closed"));
+        mockPodList(pod(ANOTHER_POD));
+
+        assertTrue(cache.sync());
+        assertFalse(cache.getPod(POD).isPresent());
+        assertTrue(cache.getPod(ANOTHER_POD).isPresent());
+        verify(namespacePods, times(2)).list();
+        verify(watch).close();
+    }
+
+    @Test
+    public void shouldRelistPodsAfterWatchError() {
+        mockPodList(pod(POD));
+        assertTrue(cache.sync());
+
+        watcher.eventReceived(Watcher.Action.ERROR, null);
+        mockPodList();
+
+        assertTrue(cache.sync());
+        assertFalse(cache.getPod(POD).isPresent());
+        verify(namespacePods, times(2)).list();
+    }
+
+    @Test
+    public void shouldIgnoreEventsOfStaleWatch() {
+        mockPodList(pod(POD));
+        assertTrue(cache.sync());
+        final Watcher<Pod> staleWatcher = watcher;
+        staleWatcher.onClose(null);
+        assertTrue(cache.sync());
+
+        staleWatcher.eventReceived(Watcher.Action.DELETED, pod(POD));
+        staleWatcher.onClose(null);
+
+        assertTrue(cache.getPod(POD).isPresent());
+        assertTrue(cache.sync());
+        verify(namespacePods, times(2)).list();
+    }
+
+    @Test
+    public void shouldRelistPodsAfterResyncPeriod() {
+        when(preferenceManager.getPreference(SystemPreferences.LAUNCH_TASK_STATUS_RESYNC_RATE)).thenReturn(1);
+        mockPodList(pod(POD));
+        assertTrue(cache.sync());
+
+        sleep();
+        mockPodList(pod(ANOTHER_POD));
+
+        assertTrue(cache.sync());
+        assertTrue(cache.getPod(ANOTHER_POD).isPresent());
+        verify(namespacePods, times(2)).list();
+    }
+
+    @Test
+    public void shouldNotBeUsedIfPodsCannotBeListed() {
+        when(namespacePods.list()).thenThrow(new KubernetesClientException("api server is unavailable"));
+
+        assertFalse(cache.sync());
+        assertFalse(cache.getPod(POD).isPresent());
+        verify(client).close();
+    }
+
+    private void mockPodList(final Pod... pods) {
+        final ListMeta metadata = new ListMeta();
+        metadata.setResourceVersion("1");
+        when(namespacePods.list()).thenReturn(new PodList("", Arrays.asList(pods), "", metadata));
+    }
+
+    private Pod pod(final String name) {
+        final ObjectMeta metadata = new ObjectMeta();
+        metadata.setName(name);
+        final Pod pod = new Pod();
+        pod.setMetadata(metadata);
+        return pod;
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster;
+
+import com.epam.pipeline.common.MessageHelper;
+import com.epam.pipeline.entity.pipeline.PipelineRun;
+import com.epam.pipeline.entity.pipeline.TaskStatus;
+import com.epam.pipeline.manager.cloud.CloudFacade;
+import com.epam.pipeline.manager.notification.NotificationManager;
+import com.epam.pipeline.manager.notification.NotificationSettingsManager;
+import com.epam.pipeline.manager.pipeline.PipelineRunCRUDService;
+import com.epam.pipeline.manager.pipeline.PipelineRunManager;
+import com.epam.pipeline.manager.pipeline.RestartRunManager;
+import com.epam.pipeline.manager.pipeline.RunLogManager;
+import com.epam.pipeline.manager.pipeline.RunStatusManager;
+import com.epam.pipeline.manager.pipeline.ToolManager;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import com.epam.pipeline.util.KubernetesTestUtils;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodStatus;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PodMonitorTest {
+
+    private static final String NAMESPACE = "default";
+    private static final Long RUN_ID = 1L;
+    private static final String POD_ID = "pipeline-1";
+    private static final String POD_IP = "10.0.0.1";
+
+    private final PipelineRunManager pipelineRunManager = mock(PipelineRunManager.class);
+    private final PipelineRunCRUDService runCRUDService = mock(PipelineRunCRUDService.class);
+    private final KubernetesManager kubernetesManager = mock(KubernetesManager.class);
+    private final KubernetesPodCache podCache = mock(KubernetesPodCache.class);
+    private final PreferenceManager preferenceManager = mock(PreferenceManager.class);
+    private final KubernetesClient client = mock(KubernetesClient.class);
+    private final PodMonitor.PodMonitorCore core = new PodMonitor.PodMonitorCore(
+            mock(RunLogManager.class), pipelineRunManager, runCRUDService, mock(RunStatusManager.class),
+            mock(MessageHelper.class), kubernetesManager, podCache, mock(NotificationSettingsManager.class),
+            mock(NotificationManager.class), mock(ToolManager.class), mock(RestartRunManager.class),
+            mock(CloudFacade.class), preferenceManager, Collections.emptyList(), NAMESPACE);
+
+    @Before
+    public void setUp() {
+        when(kubernetesManager.getKubernetesClient()).thenReturn(client);
+        when(preferenceManager.getPreference(SystemPreferences.LAUNCH_TASK_STATUS_WATCH_ENABLED)).thenReturn(true);
+        when(podCache.sync()).thenReturn(true);
+        when(pipelineRunManager.loadRunningAndTerminatedPipelineRuns())
+                .thenReturn(Collections.singletonList(run(TaskStatus.RUNNING)));
+        when(runCRUDService.loadRunsByIds(anyListOf(Long.class)))
+                .thenReturn(Collections.singletonList(run(TaskStatus.RUNNING)));
+        mockLivePod(null);
+    }
+
+    @Test
+    public void shouldSkipRunIfItsPodLookupFails() {
+        when(podCache.getPod(POD_ID)).thenThrow(new KubernetesClientException("watch error"));
+
+        core.updateStatus();
+
+        verify(runCRUDService).loadRunsByIds(Collections.emptyList());
+        verify(pipelineRunManager, never()).updatePodStatus(any(), any());
+        verify(pipelineRunManager, never()).updatePipelineStatuses(any());
+        core.releaseUnusedPods();
+        verify(kubernetesManager, times(1)).getKubernetesClient();
+    }
+
+    @Test
+    public void shouldLookupPodsDirectlyIfCacheIsNotSynchronized() {
+        when(podCache.sync()).thenReturn(false);
+        mockLivePod(runningPod());
+
+        core.updateStatus();
+
+        verify(podCache, never()).getPod(any());
+        verify(runCRUDService).loadRunsByIds(Collections.emptyList());
+        verify(pipelineRunManager, never()).updatePipelineStatuses(any());
+    }
+
+    @Test
+    public void shouldLookupPodDirectlyIfItIsMissingInCache() {
+        when(podCache.getPod(POD_ID)).thenReturn(Optional.empty());
+        mockLivePod(runningPod());
+
+        core.updateStatus();
+
+        verify(runCRUDService).loadRunsByIds(Collections.emptyList());
+        verify(pipelineRunManager, never()).updatePipelineStatuses(any());
+    }
+
+    @Test
+    public void shouldFinishRunWithoutPodAndReleaseItAfterStatusIsPersisted() {
+        when(podCache.getPod(POD_ID)).thenReturn(Optional.empty());
+
+        core.updateStatus();
+
+        final List<PipelineRun> updated = captureUpdatedRuns();
+        assertEquals(1, updated.size());
+        assertEquals(TaskStatus.FAILURE, updated.get(0).getStatus());
+        core.releaseUnusedPods();
+        verify(kubernetesManager, times(2)).getKubernetesClient();
+    }
+
+    @Test
+    public void shouldNotReleaseFinishedRunIfStatusIsNotPersisted() {
+        when(podCache.getPod(POD_ID)).thenReturn(Optional.empty());
+        doThrow(new IllegalStateException("database is unavailable"))
+                .when(pipelineRunManager).updatePipelineStatuses(any());
+        doThrow(new IllegalStateException("database is unavailable"))
+                .when(pipelineRunManager).updatePipelineStatus(any());
+
+        core.updateStatus();
+        core.releaseUnusedPods();
+
+        verify(kubernetesManager, times(1)).getKubernetesClient();
+        verify(pipelineRunManager, times(1)).updatePipelineStatus(any());
+    }
+
+    @Test
+    public void shouldUpdateRunsOneByOneAndReleaseThemIfBatchUpdateFails() {
+        when(podCache.getPod(POD_ID)).thenReturn(Optional.empty());
+        doThrow(new IllegalStateException("invalid run"))
+                .when(pipelineRunManager).updatePipelineStatuses(any());
+
+        core.updateStatus();
+
+        final ArgumentCaptor<PipelineRun> captor = ArgumentCaptor.forClass(PipelineRun.class);
+        verify(pipelineRunManager).updatePipelineStatus(captor.capture());
+        assertEquals(TaskStatus.FAILURE, captor.getValue().getStatus());
+        core.releaseUnusedPods();
+        verify(kubernetesManager, times(2)).getKubernetesClient();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<PipelineRun> captureUpdatedRuns() {
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(pipelineRunManager).updatePipelineStatuses(captor.capture());
+        return captor.getValue();
+    }
+
+    private void mockLivePod(final Pod pod) {
+        final KubernetesTestUtils.MockPods pods = new KubernetesTestUtils.MockPods()
+                .mockNamespace(NAMESPACE)
+                    .mockWithName(POD_ID)
+                    .mockPod(pod)
+                .and();
+        when(client.pods()).thenReturn(pods.getMockedEntity());
+    }
+
+    private PipelineRun run(final TaskStatus status) {
+        final PipelineRun run = new PipelineRun();
+        run.setId(RUN_ID);
+        run.setPodId(POD_ID);
+        run.setPodIP(POD_IP);
+        run.setStatus(status);
+        return run;
+    }
+
+    private Pod runningPod() {
+        final ObjectMeta metadata = new ObjectMeta();
+        metadata.setName(POD_ID);
+        final PodStatus status = new PodStatus();
+        status.setPhase("Running");
+        status.setPodIP(POD_IP);
+        final Pod pod = new Pod();
+        pod.setMetadata(metadata);
+        pod.setStatus(status);
+        return pod;
+    }
+}
@@ -210,4 +210,15 @@ public class AutoscaleManagerTest {
             .scaleUpNode(eq(TEST_RUN_ID), argThat(
                 Matchers.hasProperty("spot", Matchers.is(false))));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldLoadNodesAndPodsOncePerAutoscalingCycle() {
+        when(kubernetesManager.isPodUnscheduled(any())).thenReturn(true);
+
+        autoscaleManagerCore.runAutoscaling();
+
+        verify(kubernetesManager).getAvailableNodes(any());
+        verify(kubernetesManager).getPodList(any());
+        verify(poolAutoscaler).adjustPoolSizes(any(ClusterSnapshot.class));
+    }
+}
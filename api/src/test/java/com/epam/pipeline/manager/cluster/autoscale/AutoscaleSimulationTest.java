@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.cluster.autoscale;
+
+import com.epam.pipeline.entity.cluster.pool.NodePool;
+import com.epam.pipeline.entity.cluster.pool.NodeSchedule;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import com.epam.pipeline.test.creator.cluster.pool.NodePoolCreatorUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Replays workloads against the autoscaler with {@link AutoscaleSimulator}.
+ *
+ * Benchmark of a single autoscaling cycle for large pending queues is skipped unless
+ * {@code -Dautoscale.benchmark=true} is specified.
+ */
+@Slf4j
+public class AutoscaleSimulationTest {
+
+    private static final String BENCHMARK_PROPERTY = "autoscale.benchmark";
+    private static final String INSTANCE_TYPE_1 = "m5.large";
+    private static final String INSTANCE_TYPE_2 = "m5.xlarge";
+    private static final List<String> INSTANCE_TYPES = Arrays.asList(INSTANCE_TYPE_1, INSTANCE_TYPE_2);
+    private static final int RUNS = 30;
+    private static final long SEED = 42L;
+    private static final long HOUR = 3600L;
+    private static final int BENCHMARK_CYCLES = 5;
+
+    @Test
+    public void shouldCompleteAllRunsOfSyntheticWorkload() {
+        final AutoscaleWorkload workload = AutoscaleWorkload.synthetic(RUNS, HOUR, 300, 1800,
+                INSTANCE_TYPES, 0, SEED);
+
+        final AutoscaleSimulator.Report report = new AutoscaleSimulator(settings()).run(workload);
+
+        assertEquals(RUNS, report.getCompletedRuns());
+        assertEquals(0, report.getFailedRuns());
+        assertTrue(report.getLaunchedNodes() > 0);
+        assertTrue(report.getLaunchedNodes() <= RUNS);
+        assertTrue(report.getCost() > 0);
+    }
+
+    @Test
+    public void shouldQueueRunsLongerWithFewerNodeUpThreads() {
+        final AutoscaleWorkload workload = AutoscaleWorkload.synthetic(RUNS, 0, 600, 600,
+                INSTANCE_TYPES, 0, SEED);
+
+        final AutoscaleSimulator.Report limited = new AutoscaleSimulator(settings()
+                .withPreference(SystemPreferences.CLUSTER_NODEUP_MAX_THREADS, 1)).run(workload);
+        final AutoscaleSimulator.Report unlimited = new AutoscaleSimulator(settings()
+                .withPreference(SystemPreferences.CLUSTER_NODEUP_MAX_THREADS, RUNS)).run(workload);
+
+        assertEquals(RUNS, limited.getCompletedRuns());
+        assertEquals(RUNS, unlimited.getCompletedRuns());
+        assertTrue(limited.getAverageQueueWaitSeconds() > unlimited.getAverageQueueWaitSeconds());
+    }
+
+    @Test
+    public void shouldFallBackToOnDemandInstancesIfSpotRequestsFail() {
+        final AutoscaleWorkload workload = AutoscaleWorkload.synthetic(RUNS, HOUR, 300, 600,
+                INSTANCE_TYPES, 1, SEED);
+        final AutoscaleSimulator.Settings settings = settings();
+        settings.setSpotFailureRate(1);
+
+        final AutoscaleSimulator.Report report = new AutoscaleSimulator(settings).run(workload);
+
+        assertEquals(RUNS, report.getCompletedRuns());
+        assertEquals(0, report.getFailedRuns());
+        assertTrue(report.getFailedNodeUps() >= RUNS);
+    }
+
+    @Test
+    public void shouldReuseIdleNodesForMatchingRuns() throws IOException {
+        final AutoscaleWorkload workload = AutoscaleWorkload.fromCsv(new StringReader(String.join("\n",
+                "# arrival,duration,instance type,spot",
+                "0,600," + INSTANCE_TYPE_1 + ",false",
+                "1200,600," + INSTANCE_TYPE_1 + ",false",
+                "2400,600," + INSTANCE_TYPE_1 + ",false")));
+        final AutoscaleSimulator.Settings settings = settings();
+        settings.setIdleTimeoutSeconds(HOUR);
+
+        final AutoscaleSimulator.Report report = new AutoscaleSimulator(settings).run(workload);
+
+        assertEquals(3, report.getCompletedRuns());
+        assertEquals(1, report.getLaunchedNodes());
+    }
+
+    @Test
+    public void shouldServeMatchingRunsWithPoolNodes() {
+        final NodePool pool = NodePoolCreatorUtils.getPoolWithoutSchedule(1L);
+        pool.setSchedule(new NodeSchedule());
+        pool.setAutoscaled(false);
+        pool.setDockerImages(Collections.singleton(AutoscaleSimulator.DOCKER_IMAGE));
+        final AutoscaleSimulator.Settings settings = settings();
+        settings.setNodeDisk(NodePoolCreatorUtils.INSTANCE_DISK);
+        settings.setPools(Collections.singletonList(pool));
+        final AutoscaleWorkload workload = AutoscaleWorkload.synthetic(RUNS, HOUR, 60, 300,
+                Collections.singletonList(NodePoolCreatorUtils.INSTANCE_TYPE), 0, SEED);
+
+        final AutoscaleSimulator.Report report = new AutoscaleSimulator(settings).run(workload);
+
+        assertEquals(RUNS, report.getCompletedRuns());
+        assertTrue(report.getLaunchedNodes() < RUNS);
+    }
+
+    @Test
+    public void benchmarkAutoscalingCycle() {
+        Assume.assumeTrue(Boolean.getBoolean(BENCHMARK_PROPERTY));
+        for (final int pods : Arrays.asList(100, 1000, 10000)) {
+            final AutoscaleSimulator simulator = new AutoscaleSimulator(settings()
+                    .withPreference(SystemPreferences.CLUSTER_MAX_SIZE, pods)
+                    .withPreference(SystemPreferences.CLUSTER_NODEUP_MAX_THREADS, pods));
+            simulator.submit(AutoscaleWorkload.synthetic(pods, 0, HOUR, HOUR, INSTANCE_TYPES, 0, SEED));
+            for (int i = 0; i < BENCHMARK_CYCLES; i++) {
+                simulator.cycle();
+            }
+            log.info("Autoscaling of {} pending pods: {}", pods, simulator.report());
+        }
+    }
+
+    private AutoscaleSimulator.Settings settings() {
+        final AutoscaleSimulator.Settings settings = new AutoscaleSimulator.Settings();
+        settings.setSeed(SEED);
+        return settings;
+    }
+}
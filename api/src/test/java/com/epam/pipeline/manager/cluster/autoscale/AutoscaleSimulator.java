@@ -0,0 +1,680 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.cluster.autoscale;
+
+import com.epam.pipeline.controller.vo.cluster.pool.NodePoolVO;
+import com.epam.pipeline.entity.cluster.InstanceDisk;
+import com.epam.pipeline.entity.cluster.pool.NodePool;
+import com.epam.pipeline.entity.pipeline.PipelineRun;
+import com.epam.pipeline.entity.pipeline.RunInstance;
+import com.epam.pipeline.entity.pipeline.TaskStatus;
+import com.epam.pipeline.entity.region.AbstractCloudRegion;
+import com.epam.pipeline.entity.region.AwsRegion;
+import com.epam.pipeline.entity.utils.DateUtils;
+import com.epam.pipeline.exception.CmdExecutionException;
+import com.epam.pipeline.manager.cloud.CloudFacade;
+import com.epam.pipeline.manager.cluster.KubernetesConstants;
+import com.epam.pipeline.manager.cluster.KubernetesManager;
+import com.epam.pipeline.manager.cluster.NodeDiskManager;
+import com.epam.pipeline.manager.cluster.NodesManager;
+import com.epam.pipeline.manager.cluster.autoscale.filter.PoolFilterHandler;
+import com.epam.pipeline.manager.cluster.pool.NodePoolManager;
+import com.epam.pipeline.manager.parallel.ParallelExecutorService;
+import com.epam.pipeline.manager.pipeline.PipelineRunCRUDService;
+import com.epam.pipeline.manager.pipeline.PipelineRunManager;
+import com.epam.pipeline.manager.preference.AbstractSystemPreference;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.region.CloudRegionManager;
+import com.epam.pipeline.mapper.cluster.pool.NodePoolMapper;
+import io.fabric8.kubernetes.api.model.Node;
+import io.fabric8.kubernetes.api.model.NodeList;
+import io.fabric8.kubernetes.api.model.NodeStatus;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodCondition;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.api.model.PodStatus;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Value;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.mapstruct.factory.Mappers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Offline autoscaler simulation. Runs the actual {@link AutoscaleManager.AutoscaleManagerCore},
+ * {@link AutoscalerServiceImpl}, {@link ScaleDownHandler}, {@link ReassignHandler} and {@link PoolAutoscaler}
+ * against a simulated cluster and cloud which replay the given workload with node boot latencies and spot failures.
+ *
+ * Simulated time advances by a single autoscaling period per cycle. Nodeup tasks are completed after
+ * a boot latency, so the in-progress nodeups are accounted by the autoscaler the same way as in a
+ * real cluster.
+ */
+public class AutoscaleSimulator {
+
+    private static final String KUBE_NAMESPACE = "default";
+    static final String DOCKER_IMAGE = "library/tool:latest";
+    private static final String POD_PENDING_PHASE = "Pending";
+    private static final String POD_RUNNING_PHASE = "Running";
+    private static final long REGION_ID = 1L;
+    private static final double SECONDS_IN_HOUR = 3600.0;
+    private static final ThreadLocal<DeferredTask> CURRENT_TASK = new ThreadLocal<>();
+
+    private final Settings settings;
+    private final Random random;
+    private final Map<Long, RunState> runs = new LinkedHashMap<>();
+    private final Map<String, SimulatedNode> nodes = new LinkedHashMap<>();
+    private final Map<Long, NodePool> pools = new HashMap<>();
+    private final List<DeferredTask> nodeUpTasks = new ArrayList<>();
+    private final List<Long> decisionLatencies = new ArrayList<>();
+    private final List<Long> queueWaits = new ArrayList<>();
+    private final AutoscaleManager.AutoscaleManagerCore core;
+    private long now;
+    private long nextNodeId;
+    private long launchedNodes;
+    private long failedNodeUps;
+    private long interruptedRuns;
+    private long failedRuns;
+    private long completedRuns;
+    private long idleNodeSeconds;
+    private double cost;
+
+    public AutoscaleSimulator(final Settings settings) {
+        this.settings = settings;
+        this.random = new Random(settings.getSeed());
+        settings.getPools().forEach(pool -> pools.put(pool.getId(), pool));
+        this.core = buildCore();
+    }
+
+    /**
+     * Replays the workload until all runs are finished or simulation time limit is reached.
+     */
+    public Report run(final AutoscaleWorkload workload) {
+        workload.getRuns().forEach(run -> runs.put(run.getId(), new RunState(run, buildRun(run))));
+        while (now < settings.getMaxSimulationSeconds() && hasUnfinishedRuns()) {
+            cycle();
+        }
+        return report();
+    }
+
+    /**
+     * Runs a single autoscaling cycle against the current cluster state and returns its duration in nanos.
+     */
+    public long cycle() {
+        now += settings.getCycleSeconds();
+        completeNodeUps();
+        startArrivedRuns();
+        interruptSpotNodes();
+        completeFinishedRuns();
+        scheduleRuns();
+        accountNodes();
+        final long start = System.nanoTime();
+        core.runAutoscaling();
+        final long latency = System.nanoTime() - start;
+        decisionLatencies.add(latency);
+        return latency;
+    }
+
+    /**
+     * Puts the given runs to the cluster as pending pods without advancing the simulated time.
+     */
+    public void submit(final AutoscaleWorkload workload) {
+        workload.getRuns().forEach(run -> {
+            final RunState state = new RunState(run, buildRun(run));
+            runs.put(run.getId(), state);
+            state.pod = buildPod(run.getId());
+        });
+    }
+
+    public Report report() {
+        return Report.builder()
+                .simulatedSeconds(now)
+                .cycles(decisionLatencies.size())
+                .averageDecisionMillis(toMillis(decisionLatencies.stream()
+                        .mapToLong(Long::longValue).average().orElse(0)))
+                .p95DecisionMillis(toMillis(percentile(decisionLatencies, 0.95)))
+                .maxDecisionMillis(toMillis(percentile(decisionLatencies, 1.0)))
+                .launchedNodes(launchedNodes)
+                .failedNodeUps(failedNodeUps)
+                .idleNodeMinutes(idleNodeSeconds / 60.0)
+                .averageQueueWaitSeconds(queueWaits.stream().mapToLong(Long::longValue).average().orElse(0))
+                .maxQueueWaitSeconds(percentile(queueWaits, 1.0))
+                .cost(cost)
+                .completedRuns(completedRuns)
+                .failedRuns(failedRuns)
+                .interruptedRuns(interruptedRuns)
+                .remainingNodes(nodes.size())
+                .build();
+    }
+
+    private boolean hasUnfinishedRuns() {
+        return runs.values().stream().anyMatch(state -> !state.finished);
+    }
+
+    private void completeNodeUps() {
+        final List<DeferredTask> dueTasks = nodeUpTasks.stream()
+                .filter(task -> task.due <= now)
+                .collect(Collectors.toList());
+        nodeUpTasks.removeAll(dueTasks);
+        dueTasks.forEach(task -> task.command.run());
+    }
+
+    private void startArrivedRuns() {
+        runs.values().stream()
+                .filter(state -> !state.finished && state.pod == null && state.run.getArrivalSeconds() <= now)
+                .forEach(state -> state.pod = buildPod(state.run.getId()));
+    }
+
+    private void interruptSpotNodes() {
+        if (settings.getSpotInterruptionsPerHour() <= 0) {
+            return;
+        }
+        final double probability = settings.getSpotInterruptionsPerHour() * settings.getCycleSeconds()
+                / SECONDS_IN_HOUR;
+        final Iterator<SimulatedNode> iterator = nodes.values().iterator();
+        while (iterator.hasNext()) {
+            final SimulatedNode node = iterator.next();
+            if (Boolean.TRUE.equals(node.instance.getSpot()) && random.nextDouble() < probability) {
+                iterator.remove();
+                findRunningRun(node).ifPresent(state -> {
+                    interruptedRuns++;
+                    finish(state, TaskStatus.FAILURE);
+                });
+            }
+        }
+    }
+
+    private void completeFinishedRuns() {
+        runs.values().stream()
+                .filter(state -> !state.finished && state.startedAt != null
+                        && state.startedAt + state.run.getDurationSeconds() <= now)
+                .collect(Collectors.toList())
+                .forEach(state -> {
+                    completedRuns++;
+                    finish(state, TaskStatus.SUCCESS);
+                });
+    }
+
+    private void scheduleRuns() {
+        runs.values().stream()
+                .filter(state -> !state.finished && state.pod != null && state.startedAt == null)
+                .forEach(state -> Optional.ofNullable(nodes.get(String.valueOf(state.run.getId())))
+                        .ifPresent(node -> {
+                            state.startedAt = now;
+                            state.pod.getStatus().setPhase(POD_RUNNING_PHASE);
+                            state.pod.getStatus().setConditions(Collections.emptyList());
+                            queueWaits.add(now - state.run.getArrivalSeconds());
+                        }));
+    }
+
+    private void accountNodes() {
+        nodes.values().forEach(node -> {
+            cost += getPrice(node.instance.getNodeType()) * settings.getCycleSeconds() / SECONDS_IN_HOUR;
+            if (!findRunningRun(node).isPresent()) {
+                idleNodeSeconds += settings.getCycleSeconds();
+            }
+        });
+    }
+
+    private void finish(final RunState state, final TaskStatus status) {
+        state.finished = true;
+        state.pod = null;
+        state.pipelineRun.setStatus(status);
+        nodes.values().stream()
+                .filter(node -> node.runId.equals(String.valueOf(state.run.getId())))
+                .forEach(node -> node.idleSince = now);
+    }
+
+    private Optional<RunState> findRunningRun(final SimulatedNode node) {
+        return Optional.of(node.runId)
+                .filter(NumberUtils::isDigits)
+                .map(Long::parseLong)
+                .map(runs::get)
+                .filter(state -> !state.finished && state.startedAt != null);
+    }
+
+    private AutoscaleManager.AutoscaleManagerCore buildCore() {
+        final PipelineRunManager pipelineRunManager = mockRunManager();
+        final PipelineRunCRUDService runCRUDService = mock(PipelineRunCRUDService.class);
+        when(runCRUDService.loadRunById(anyLong())).thenAnswer(invocation -> Optional
+                .ofNullable(getRun(invocation.getArguments()[0]))
+                .orElseThrow(() -> new IllegalArgumentException("Run not found: " + invocation.getArguments()[0])));
+        final ParallelExecutorService executorService = mock(ParallelExecutorService.class);
+        when(executorService.getExecutorService()).thenReturn(new DeferredExecutorService());
+        final NodesManager nodesManager = mock(NodesManager.class);
+        when(nodesManager.getNextFreeNodeId()).thenAnswer(invocation -> ++nextNodeId);
+        final KubernetesManager kubernetesManager = mockKubernetesManager();
+        final CloudFacade cloudFacade = mockCloudFacade();
+        final NodePoolManager nodePoolManager = mockNodePoolManager();
+        final PreferenceManager preferenceManager = mockPreferenceManager();
+        final AutoscalerService autoscalerService = new AutoscalerServiceImpl(preferenceManager,
+                mockRegionManager(), pipelineRunManager, runCRUDService, nodePoolManager, cloudFacade,
+                mock(NodeDiskManager.class));
+        final ReassignHandler reassignHandler = new ReassignHandler(autoscalerService, cloudFacade,
+                pipelineRunManager, settings.getPoolFilterHandlers());
+        final ScaleDownHandler scaleDownHandler = new ScaleDownHandler(autoscalerService, cloudFacade,
+                pipelineRunManager, kubernetesManager, runCRUDService);
+        final PoolAutoscaler poolAutoscaler = new PoolAutoscaler(nodePoolManager,
+                Mappers.getMapper(NodePoolMapper.class));
+        return new AutoscaleManager.AutoscaleManagerCore(pipelineRunManager, executorService, autoscalerService,
+                nodesManager, kubernetesManager, preferenceManager, KUBE_NAMESPACE, cloudFacade,
+                nodePoolManager, reassignHandler, scaleDownHandler, Collections.emptyList(), poolAutoscaler);
+    }
+
+    private PipelineRunManager mockRunManager() {
+        final PipelineRunManager pipelineRunManager = mock(PipelineRunManager.class);
+        when(pipelineRunManager.loadPipelineRuns(anyListOf(Long.class))).thenAnswer(invocation -> {
+            final List<?> ids = (List<?>) invocation.getArguments()[0];
+            return ids.stream()
+                    .map(this::getRun)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        });
+        when(pipelineRunManager.findRun(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(getRun(invocation.getArguments()[0])));
+        when(pipelineRunManager.updateRunInstance(anyLong(), any(RunInstance.class))).thenAnswer(invocation -> {
+            final PipelineRun run = getRun(invocation.getArguments()[0]);
+            if (run != null) {
+                run.setInstance((RunInstance) invocation.getArguments()[1]);
+            }
+            return run;
+        });
+        when(pipelineRunManager.updatePipelineStatusIfNotFinal(anyLong(), any(TaskStatus.class)))
+                .thenAnswer(invocation -> {
+                    final RunState state = runs.get((Long) invocation.getArguments()[0]);
+                    if (state != null && !state.finished) {
+                        failedRuns++;
+                        finish(state, (TaskStatus) invocation.getArguments()[1]);
+                    }
+                    return state == null ? null : state.pipelineRun;
+                });
+        return pipelineRunManager;
+    }
+
+    private KubernetesManager mockKubernetesManager() {
+        final KubernetesManager kubernetesManager = mock(KubernetesManager.class);
+        final KubernetesClient client = mock(KubernetesClient.class);
+        when(kubernetesManager.getKubernetesClient()).thenReturn(client);
+        when(kubernetesManager.getKubernetesClient(any(Config.class))).thenReturn(client);
+        when(kubernetesManager.getAvailableNodes(any(KubernetesClient.class))).thenAnswer(invocation -> {
+            final NodeList nodeList = new NodeList();
+            nodeList.setItems(getNodes());
+            return nodeList;
+        });
+        when(kubernetesManager.getNodes(any(KubernetesClient.class))).thenAnswer(invocation -> getNodes());
+        when(kubernetesManager.getPodList(any(KubernetesClient.class))).thenAnswer(invocation -> {
+            final PodList podList = new PodList();
+            podList.setItems(getPods());
+            return podList;
+        });
+        when(kubernetesManager.getAllPodIds(any(KubernetesClient.class))).thenAnswer(invocation -> runs.values()
+                .stream()
+                .filter(state -> state.pod != null)
+                .map(state -> String.valueOf(state.run.getId()))
+                .collect(Collectors.toSet()));
+        when(kubernetesManager.isPodUnscheduled(any(Pod.class))).thenCallRealMethod();
+        when(kubernetesManager.isNodeAvailable(any(Node.class))).thenCallRealMethod();
+        when(kubernetesManager.isNodeUnavailable(any(Node.class))).thenCallRealMethod();
+        return kubernetesManager;
+    }
+
+    private CloudFacade mockCloudFacade() {
+        final CloudFacade cloudFacade = mock(CloudFacade.class);
+        when(cloudFacade.scaleUpNode(anyLong(), any(RunInstance.class))).thenAnswer(invocation -> {
+            final Long runId = (Long) invocation.getArguments()[0];
+            final RunInstance instance = (RunInstance) invocation.getArguments()[1];
+            if (Boolean.TRUE.equals(instance.getSpot()) && random.nextDouble() < settings.getSpotFailureRate()) {
+                failedNodeUps++;
+                throw new CmdExecutionException("nodeup", AutoscaleContants.NODEUP_SPOT_FAILED_EXIT_CODE, "");
+            }
+            return launchNode(String.valueOf(runId), instance, null);
+        });
+        when(cloudFacade.scaleUpPoolNode(anyString(), any(NodePool.class))).thenAnswer(invocation -> {
+            final NodePool pool = (NodePool) invocation.getArguments()[1];
+            return launchNode((String) invocation.getArguments()[0], pool.toRunInstance(), pool.getId());
+        });
+        when(cloudFacade.reassignNode(anyLong(), anyLong())).thenAnswer(invocation ->
+                relabelNode(String.valueOf(invocation.getArguments()[0]), (Long) invocation.getArguments()[1]));
+        when(cloudFacade.reassignPoolNode(anyString(), anyLong())).thenAnswer(invocation ->
+                relabelNode((String) invocation.getArguments()[0], (Long) invocation.getArguments()[1]));
+        when(cloudFacade.isNodeExpired(anyLong())).thenAnswer(invocation ->
+                Optional.ofNullable(nodes.get(String.valueOf(invocation.getArguments()[0])))
+                        .map(node -> node.idleSince != null
+                                && now - node.idleSince >= settings.getIdleTimeoutSeconds())
+                        .orElse(true));
+        when(cloudFacade.describeInstance(anyLong(), any(RunInstance.class))).thenAnswer(invocation ->
+                Optional.ofNullable(nodes.get(String.valueOf(invocation.getArguments()[0])))
+                        .map(node -> node.instance)
+                        .orElse(null));
+        when(cloudFacade.loadDisks(anyLong(), anyLong())).thenReturn(Collections.<InstanceDisk>emptyList());
+        doAnswer(invocation -> nodes.remove(String.valueOf(invocation.getArguments()[0])))
+                .when(cloudFacade).scaleDownNode(anyLong());
+        doAnswer(invocation -> nodes.remove((String) invocation.getArguments()[0]))
+                .when(cloudFacade).scaleDownPoolNode(anyString());
+        return cloudFacade;
+    }
+
+    private NodePoolManager mockNodePoolManager() {
+        final NodePoolManager nodePoolManager = mock(NodePoolManager.class);
+        when(nodePoolManager.getActivePools()).thenAnswer(invocation -> pools.values().stream()
+                .filter(pool -> pool.isActive(DateUtils.nowUTC()))
+                .collect(Collectors.toList()));
+        when(nodePoolManager.createOrUpdate(any(NodePoolVO.class))).thenAnswer(invocation -> {
+            final NodePoolVO vo = (NodePoolVO) invocation.getArguments()[0];
+            final NodePool pool = pools.get(vo.getId());
+            pool.setCount(vo.getCount());
+            return pool;
+        });
+        when(nodePoolManager.find(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(pools.get((Long) invocation.getArguments()[0])));
+        return nodePoolManager;
+    }
+
+    private CloudRegionManager mockRegionManager() {
+        final AbstractCloudRegion region = new AwsRegion();
+        region.setId(REGION_ID);
+        final CloudRegionManager regionManager = mock(CloudRegionManager.class);
+        when(regionManager.load(anyLong())).thenReturn(region);
+        when(regionManager.loadDefaultRegion()).thenReturn(region);
+        return regionManager;
+    }
+
+    private PreferenceManager mockPreferenceManager() {
+        final PreferenceManager preferenceManager = mock(PreferenceManager.class);
+        when(preferenceManager.getPreference(any(AbstractSystemPreference.class))).thenAnswer(invocation -> {
+            final AbstractSystemPreference<?> preference = (AbstractSystemPreference<?>) invocation.getArguments()[0];
+            return settings.getPreferences().getOrDefault(preference.getKey(), preference.getDefaultValue());
+        });
+        return preferenceManager;
+    }
+
+    private RunInstance launchNode(final String runId, final RunInstance instance, final Long poolId) {
+        final DeferredTask task = CURRENT_TASK.get();
+        final long bootSeconds = task == null ? 0 : now - task.submitted;
+        final RunInstance nodeInstance = copy(instance);
+        nodeInstance.setNodeId("i-" + runId);
+        nodeInstance.setNodeName(runId);
+        nodes.put(runId, new SimulatedNode(runId, poolId, nodeInstance, now));
+        launchedNodes++;
+        cost += getPrice(instance.getNodeType()) * bootSeconds / SECONDS_IN_HOUR;
+        return nodeInstance;
+    }
+
+    private boolean relabelNode(final String oldRunId, final Long newRunId) {
+        final SimulatedNode node = nodes.remove(oldRunId);
+        if (node == null) {
+            return false;
+        }
+        node.runId = String.valueOf(newRunId);
+        node.idleSince = now;
+        nodes.put(node.runId, node);
+        return true;
+    }
+
+    private List<Node> getNodes() {
+        return nodes.values().stream()
+                .map(SimulatedNode::toNode)
+                .collect(Collectors.toList());
+    }
+
+    private List<Pod> getPods() {
+        return runs.values().stream()
+                .map(state -> state.pod)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private PipelineRun getRun(final Object id) {
+        return Optional.ofNullable(runs.get((Long) id))
+                .map(state -> state.pipelineRun)
+                .orElse(null);
+    }
+
+    private double getPrice(final String instanceType) {
+        return settings.getPricesPerHour().getOrDefault(instanceType, settings.getDefaultPricePerHour());
+    }
+
+    private PipelineRun buildRun(final AutoscaleWorkload.SimulatedRun run) {
+        final PipelineRun pipelineRun = new PipelineRun();
+        pipelineRun.setId(run.getId());
+        pipelineRun.setStatus(TaskStatus.RUNNING);
+        pipelineRun.setStartDate(DateUtils.now());
+        pipelineRun.setPipelineRunParameters(Collections.emptyList());
+        pipelineRun.setActualDockerImage(DOCKER_IMAGE);
+        final RunInstance instance = new RunInstance();
+        instance.setNodeType(run.getInstanceType());
+        instance.setNodeDisk(settings.getNodeDisk());
+        instance.setEffectiveNodeDisk(settings.getNodeDisk());
+        instance.setSpot(run.isSpot());
+        instance.setCloudRegionId(REGION_ID);
+        pipelineRun.setInstance(instance);
+        return pipelineRun;
+    }
+
+    private Pod buildPod(final Long runId) {
+        final ObjectMeta metadata = new ObjectMeta();
+        metadata.setName(String.valueOf(runId));
+        final Map<String, String> labels = new HashMap<>();
+        labels.put(KubernetesConstants.RUN_ID_LABEL, String.valueOf(runId));
+        labels.put("type", "pipeline");
+        metadata.setLabels(labels);
+        final PodCondition condition = new PodCondition();
+        condition.setReason(KubernetesConstants.POD_UNSCHEDULABLE);
+        final PodStatus status = new PodStatus();
+        status.setPhase(POD_PENDING_PHASE);
+        status.setConditions(Collections.singletonList(condition));
+        final Pod pod = new Pod();
+        pod.setMetadata(metadata);
+        pod.setStatus(status);
+        return pod;
+    }
+
+    private RunInstance copy(final RunInstance instance) {
+        final RunInstance copy = new RunInstance();
+        copy.setNodeType(instance.getNodeType());
+        copy.setNodeDisk(instance.getNodeDisk());
+        copy.setEffectiveNodeDisk(instance.getEffectiveNodeDisk());
+        copy.setNodeImage(instance.getNodeImage());
+        copy.setSpot(instance.getSpot());
+        copy.setCloudRegionId(instance.getCloudRegionId());
+        copy.setPrePulledDockerImages(instance.getPrePulledDockerImages());
+        return copy;
+    }
+
+    private long nextBootSeconds() {
+        final long min = settings.getMinBootSeconds();
+        final long max = settings.getMaxBootSeconds();
+        return max <= min ? min : min + (long) (random.nextDouble() * (max - min));
+    }
+
+    private static long percentile(final List<Long> values, final double percentile) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        final List<Long> sorted = values.stream().sorted().collect(Collectors.toList());
+        final int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+
+    private static double toMillis(final double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Data
+    public static class Settings {
+        private long cycleSeconds = 10;
+        private long minBootSeconds = 60;
+        private long maxBootSeconds = 180;
+        private double spotFailureRate;
+        private double spotInterruptionsPerHour;
+        private long idleTimeoutSeconds = 300;
+        private int nodeDisk = 50;
+        private double defaultPricePerHour = 1.0;
+        private Map<String, Double> pricesPerHour = new HashMap<>();
+        private long maxSimulationSeconds = TimeUnit.DAYS.toSeconds(1);
+        private long seed;
+        private Map<String, Object> preferences = new HashMap<>();
+        private List<NodePool> pools = new ArrayList<>();
+        private List<PoolFilterHandler> poolFilterHandlers = new ArrayList<>();
+
+        public <T> Settings withPreference(final AbstractSystemPreference<T> preference, final T value) {
+            preferences.put(preference.getKey(), value);
+            return this;
+        }
+    }
+
+    @Value
+    @Builder
+    public static class Report {
+        long simulatedSeconds;
+        int cycles;
+        double averageDecisionMillis;
+        double p95DecisionMillis;
+        double maxDecisionMillis;
+        long launchedNodes;
+        long failedNodeUps;
+        double idleNodeMinutes;
+        double averageQueueWaitSeconds;
+        long maxQueueWaitSeconds;
+        double cost;
+        long completedRuns;
+        long failedRuns;
+        long interruptedRuns;
+        int remainingNodes;
+    }
+
+    private static final class RunState {
+        private final AutoscaleWorkload.SimulatedRun run;
+        private final PipelineRun pipelineRun;
+        private Pod pod;
+        private Long startedAt;
+        private boolean finished;
+
+        private RunState(final AutoscaleWorkload.SimulatedRun run, final PipelineRun pipelineRun) {
+            this.run = run;
+            this.pipelineRun = pipelineRun;
+        }
+    }
+
+    private static final class SimulatedNode {
+        private final Long poolId;
+        private final RunInstance instance;
+        private String runId;
+        private Long idleSince;
+
+        private SimulatedNode(final String runId, final Long poolId, final RunInstance instance,
+                              final long launchedAt) {
+            this.runId = runId;
+            this.poolId = poolId;
+            this.instance = instance;
+            this.idleSince = launchedAt;
+        }
+
+        private Node toNode() {
+            final Map<String, String> labels = new HashMap<>();
+            labels.put(KubernetesConstants.RUN_ID_LABEL, runId);
+            if (poolId != null) {
+                labels.put(KubernetesConstants.NODE_POOL_ID_LABEL, String.valueOf(poolId));
+            }
+            final ObjectMeta metadata = new ObjectMeta();
+            metadata.setName(instance.getNodeName());
+            metadata.setLabels(labels);
+            final Node node = new Node();
+            node.setMetadata(metadata);
+            node.setStatus(new NodeStatus());
+            return node;
+        }
+    }
+
+    private static final class DeferredTask {
+        private final long submitted;
+        private final long due;
+        private final Runnable command;
+
+        private DeferredTask(final long submitted, final long due, final Runnable command) {
+            this.submitted = submitted;
+            this.due = due;
+            this.command = () -> {
+                CURRENT_TASK.set(this);
+                try {
+                    command.run();
+                } finally {
+                    CURRENT_TASK.remove();
+                }
+            };
+        }
+    }
+
+    /**
+     * Executes nodeup tasks once their boot latency is elapsed in the simulated time.
+     */
+    private final class DeferredExecutorService extends AbstractExecutorService {
+
+        @Override
+        public void execute(final Runnable command) {
+            nodeUpTasks.add(new DeferredTask(now, now + nextBootSeconds(), command));
+        }
+
+        @Override
+        public void shutdown() {
+            // no op
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(final long timeout, final TimeUnit unit) {
+            return true;
+        }
+    }
+}
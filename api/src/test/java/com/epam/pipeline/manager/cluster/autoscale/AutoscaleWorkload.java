@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.cluster.autoscale;
+
+import lombok.Value;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Workload which is replayed by {@link AutoscaleSimulator}: a list of runs with their arrival times
+ * and durations relative to the simulation start.
+ */
+@Value
+public class AutoscaleWorkload {
+
+    private static final String CSV_DELIMITER = ",";
+    private static final int CSV_COLUMNS = 4;
+
+    List<SimulatedRun> runs;
+
+    public static AutoscaleWorkload of(final List<SimulatedRun> runs) {
+        return new AutoscaleWorkload(Collections.unmodifiableList(runs.stream()
+                .sorted(Comparator.comparingLong(SimulatedRun::getArrivalSeconds))
+                .collect(Collectors.toList())));
+    }
+
+    /**
+     * Generates runs which arrive uniformly during the given window.
+     */
+    public static AutoscaleWorkload synthetic(final int runs, final long arrivalWindowSeconds,
+                                              final long minDurationSeconds, final long maxDurationSeconds,
+                                              final List<String> instanceTypes, final double spotShare,
+                                              final long seed) {
+        final Random random = new Random(seed);
+        return of(IntStream.range(0, runs)
+                .mapToObj(i -> new SimulatedRun(
+                        i + 1L,
+                        nextLong(random, 0, arrivalWindowSeconds),
+                        nextLong(random, minDurationSeconds, maxDurationSeconds),
+                        instanceTypes.get(random.nextInt(instanceTypes.size())),
+                        random.nextDouble() < spotShare))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Reads a recorded workload. Each line contains arrival seconds, duration seconds, instance type
+     * and spot flag separated by comma, lines starting with # are skipped.
+     */
+    public static AutoscaleWorkload fromCsv(final Reader reader) throws IOException {
+        final List<SimulatedRun> runs = new ArrayList<>();
+        try (BufferedReader lines = new BufferedReader(reader)) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                if (StringUtils.isBlank(line) || line.startsWith("#")) {
+                    continue;
+                }
+                final String[] columns = line.split(CSV_DELIMITER);
+                if (columns.length < CSV_COLUMNS) {
+                    throw new IllegalArgumentException("Invalid workload line: " + line);
+                }
+                runs.add(new SimulatedRun(runs.size() + 1L,
+                        Long.parseLong(columns[0].trim()),
+                        Long.parseLong(columns[1].trim()),
+                        columns[2].trim(),
+                        Boolean.parseBoolean(columns[3].trim())));
+            }
+        }
+        return of(runs);
+    }
+
+    private static long nextLong(final Random random, final long from, final long to) {
+        return to <= from ? from : from + (long) (random.nextDouble() * (to - from));
+    }
+
+    @Value
+    public static class SimulatedRun {
+        Long id;
+        long arrivalSeconds;
+        long durationSeconds;
+        String instanceType;
+        boolean spot;
+    }
+}
@@ -18,12 +18,12 @@ package com.epam.pipeline.manager.cluster.autoscale;
 import com.epam.pipeline.controller.vo.cluster.pool.NodePoolVO;
 import com.epam.pipeline.entity.cluster.pool.NodePool;
 import com.epam.pipeline.manager.cluster.KubernetesConstants;
-import com.epam.pipeline.manager.cluster.KubernetesManager;
 import com.epam.pipeline.manager.cluster.pool.NodePoolManager;
 import com.epam.pipeline.mapper.cluster.pool.NodePoolMapper;
 import com.epam.pipeline.test.creator.cluster.pool.NodePoolCreatorUtils;
 import io.fabric8.kubernetes.api.model.Node;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.Pod;
 import org.junit.Before;
 import org.junit.Test;
 import org.mapstruct.factory.Mappers;
@@ -33,7 +33,6 @@ import org.mockito.MockitoAnnotations;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -53,8 +52,6 @@ public class PoolAutoscalerTest {
     private static final String RUN_ID_3 = "3";
     private static final String RUN_ID_4 = "4";
 
-    @Mock
-    private KubernetesManager kubernetesManager;
     @Mock
     private NodePoolManager poolManager;
     private NodePoolMapper poolMapper = Mappers.getMapper(NodePoolMapper.class);
@@ -63,15 +60,15 @@ public class PoolAutoscalerTest {
     @Before
     public void setUp() {
         MockitoAnnotations.initMocks(this);
-        poolAutoscaler = new PoolAutoscaler(poolManager, poolMapper, kubernetesManager);
+        poolAutoscaler = new PoolAutoscaler(poolManager, poolMapper);
     }
 
     @Test
     public void shouldScaleUpPoolWhenUpThresholdIsExceeded() {
-        initKubeResources(RUN_ID_1, RUN_ID_2, RUN_ID_3, RUN_ID_4);
+        final ClusterSnapshot snapshot = buildSnapshot(RUN_ID_1, RUN_ID_2, RUN_ID_3, RUN_ID_4);
         final NodePool pool = initPool();
 
-        poolAutoscaler.adjustPoolSizes();
+        poolAutoscaler.adjustPoolSizes(snapshot);
 
         final NodePoolVO vo = poolMapper.toVO(pool);
         vo.setCount(pool.getCount() + pool.getScaleStep());
@@ -80,20 +77,20 @@ public class PoolAutoscalerTest {
 
     @Test
     public void shouldNotScalePoolWhenThresholdIsNotExceeded() {
-        initKubeResources(RUN_ID_1, RUN_ID_2, RUN_ID_3);
+        final ClusterSnapshot snapshot = buildSnapshot(RUN_ID_1, RUN_ID_2, RUN_ID_3);
         initPool();
 
-        poolAutoscaler.adjustPoolSizes();
+        poolAutoscaler.adjustPoolSizes(snapshot);
 
         verify(poolManager, times(0)).createOrUpdate(any());
     }
 
     @Test
     public void shouldScaleDownPoolWhenDownThresholdIsExceeded() {
-        initKubeResources(RUN_ID_1);
+        final ClusterSnapshot snapshot = buildSnapshot(RUN_ID_1);
         final NodePool pool = initPool();
 
-        poolAutoscaler.adjustPoolSizes();
+        poolAutoscaler.adjustPoolSizes(snapshot);
 
         final NodePoolVO vo = poolMapper.toVO(pool);
         vo.setCount(pool.getCount() - pool.getScaleStep());
@@ -118,11 +115,22 @@ public class PoolAutoscalerTest {
                 .collect(Collectors.toList());
     }
 
-    private void initKubeResources(final String... runIds) {
-        doReturn(buildNodes(POOL_ID, Arrays.asList(RUN_ID_1, RUN_ID_2, RUN_ID_3, RUN_ID_4)))
-                .when(kubernetesManager).getNodes(any());
-        doReturn(new HashSet<>(Arrays.asList(runIds)))
-                .when(kubernetesManager).getAllPodIds(any());
+    private List<Pod> buildPods(final List<String> runIds) {
+        return runIds
+                .stream()
+                .map(id -> {
+                    final ObjectMeta objectMeta = new ObjectMeta();
+                    objectMeta.setLabels(Collections.singletonMap(KubernetesConstants.RUN_ID_LABEL, id));
+                    final Pod pod = new Pod();
+                    pod.setMetadata(objectMeta);
+                    return pod;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private ClusterSnapshot buildSnapshot(final String... runIds) {
+        return ClusterSnapshot.of(buildNodes(POOL_ID, Arrays.asList(RUN_ID_1, RUN_ID_2, RUN_ID_3, RUN_ID_4)),
+                buildPods(Arrays.asList(runIds)), pod -> false);
     }
 
     private NodePool initPool() {
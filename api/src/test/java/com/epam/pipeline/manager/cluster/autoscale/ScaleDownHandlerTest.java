@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.cluster.autoscale;
+
+import com.epam.pipeline.manager.cloud.CloudFacade;
+import com.epam.pipeline.manager.cluster.KubernetesConstants;
+import com.epam.pipeline.manager.cluster.KubernetesManager;
+import com.epam.pipeline.manager.pipeline.PipelineRunCRUDService;
+import com.epam.pipeline.manager.pipeline.PipelineRunManager;
+import io.fabric8.kubernetes.api.model.Node;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ScaleDownHandlerTest {
+
+    private static final Long RUN_ID = 1L;
+
+    private final AutoscalerService autoscalerService = mock(AutoscalerService.class);
+    private final CloudFacade cloudFacade = mock(CloudFacade.class);
+
+    private final ScaleDownHandler scaleDownHandler = new ScaleDownHandler(
+            autoscalerService,
+            cloudFacade,
+            mock(PipelineRunManager.class),
+            mock(KubernetesManager.class),
+            mock(PipelineRunCRUDService.class));
+
+    private final ClusterSnapshot snapshot = ClusterSnapshot.of(
+            Collections.singletonList(node(String.valueOf(RUN_ID))), Collections.emptyList(), pod -> false);
+
+    @Test
+    public void shouldScaleDownFreeNode() {
+        scaleDownHandler.checkFreeNodes(Collections.emptySet(), Collections.emptySet(), snapshot);
+
+        verify(cloudFacade).scaleDownNode(RUN_ID);
+    }
+
+    @Test
+    public void shouldNotScaleDownReassignedNode() {
+        scaleDownHandler.checkFreeNodes(Collections.emptySet(), Collections.singleton(String.valueOf(RUN_ID)),
+                snapshot);
+
+        verify(cloudFacade, never()).scaleDownNode(RUN_ID);
+    }
+
+    private static Node node(final String runId) {
+        final ObjectMeta metadata = new ObjectMeta();
+        metadata.setLabels(Collections.singletonMap(KubernetesConstants.RUN_ID_LABEL, runId));
+        final Node node = new Node();
+        node.setMetadata(metadata);
+        return node;
+    }
+}
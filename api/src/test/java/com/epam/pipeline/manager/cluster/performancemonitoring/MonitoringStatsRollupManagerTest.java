@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.cluster.performancemonitoring;
+
+import com.epam.pipeline.dao.monitoring.MonitoringStatsRollupDao;
+import com.epam.pipeline.entity.cluster.NodeInstance;
+import com.epam.pipeline.entity.cluster.monitoring.MonitoringRollupResolution;
+import com.epam.pipeline.entity.cluster.monitoring.MonitoringStats;
+import com.epam.pipeline.entity.utils.DateUtils;
+import com.epam.pipeline.manager.cluster.NodesManager;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("PMD.TooManyStaticImports")
+public class MonitoringStatsRollupManagerTest {
+
+    private static final String ROLLED_UP_NODE = "rolled-up-node";
+    private static final String NEW_NODE = "new-node";
+    private static final Duration ONE_MINUTE = MonitoringRollupResolution.ONE_MINUTE.getDuration();
+
+    private final ESMonitoringManager monitoringManager = mock(ESMonitoringManager.class);
+    private final MonitoringStatsRollupDao rollupDao = mock(MonitoringStatsRollupDao.class);
+    private final NodesManager nodesManager = mock(NodesManager.class);
+    private final PreferenceManager preferenceManager = mock(PreferenceManager.class);
+    private final MonitoringStatsRollupManager.MonitoringStatsRollupManagerCore core =
+            new MonitoringStatsRollupManager.MonitoringStatsRollupManagerCore(monitoringManager, rollupDao,
+                    nodesManager, preferenceManager);
+
+    @Before
+    public void setUp() {
+        when(preferenceManager.getPreference(SystemPreferences.CLUSTER_MONITORING_ROLLUP_ENABLED)).thenReturn(true);
+        when(nodesManager.getNodes()).thenReturn(Arrays.asList(node(ROLLED_UP_NODE), node(NEW_NODE)));
+        when(rollupDao.loadCoverage(any(String.class), any(MonitoringRollupResolution.class)))
+                .thenReturn(Optional.empty());
+        when(monitoringManager.getRawStats(any(String.class), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(Duration.class))).thenReturn(Collections.singletonList(new MonitoringStats()));
+    }
+
+    @Test
+    public void shouldRollupEachNodeFromItsOwnCoverage() {
+        final LocalDateTime coveredTill = MonitoringRollupResolution.ONE_HOUR.truncate(DateUtils.nowUTC())
+                .minusHours(2);
+        mockCoverage(ROLLED_UP_NODE, coveredTill);
+
+        core.rollup();
+
+        assertEquals(coveredTill, captureRawStatsStart(ROLLED_UP_NODE));
+        final LocalDateTime newNodeStart = captureRawStatsStart(NEW_NODE);
+        assertTrue(newNodeStart.isAfter(coveredTill));
+    }
+
+    @Test
+    public void shouldRollupTrailingPeriodAgainIfNodeIsAlreadyCovered() {
+        mockCoverage(ROLLED_UP_NODE, DateUtils.nowUTC().plusHours(1));
+
+        core.rollup();
+
+        final LocalDateTime start = captureRawStatsStart(ROLLED_UP_NODE);
+        assertTrue(start.isBefore(DateUtils.nowUTC().minus(ONE_MINUTE)));
+        verify(rollupDao).save(eq(ROLLED_UP_NODE), eq(MonitoringRollupResolution.ONE_MINUTE),
+                anyListOf(MonitoringStats.class));
+    }
+
+    @Test
+    public void shouldRollupOtherNodesIfOneNodeFails() {
+        when(monitoringManager.getRawStats(eq(ROLLED_UP_NODE), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(Duration.class))).thenThrow(new IllegalStateException("Elasticsearch is unavailable"));
+
+        core.rollup();
+
+        verify(rollupDao).save(eq(NEW_NODE), eq(MonitoringRollupResolution.ONE_MINUTE),
+                anyListOf(MonitoringStats.class));
+    }
+
+    private void mockCoverage(final String node, final LocalDateTime coveredTill) {
+        when(rollupDao.loadCoverage(eq(node), any(MonitoringRollupResolution.class)))
+                .thenReturn(Optional.of(new MonitoringStatsRollupDao.RollupCoverage(coveredTill.minusDays(1),
+                        coveredTill)));
+    }
+
+    private LocalDateTime captureRawStatsStart(final String node) {
+        final ArgumentCaptor<LocalDateTime> start = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(monitoringManager).getRawStats(eq(node), start.capture(), any(LocalDateTime.class),
+                eq(ONE_MINUTE));
+        return start.getValue();
+    }
+
+    private NodeInstance node(final String name) {
+        final NodeInstance node = new NodeInstance();
+        node.setName(name);
+        return node;
+    }
+}
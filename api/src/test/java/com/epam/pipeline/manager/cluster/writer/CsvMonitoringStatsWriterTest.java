@@ -19,17 +19,24 @@ package com.epam.pipeline.manager.cluster.writer;
 import com.epam.pipeline.common.MessageHelper;
 import com.epam.pipeline.entity.cluster.monitoring.MonitoringStats;
 import lombok.Value;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 public class CsvMonitoringStatsWriterTest {
 
@@ -105,6 +112,36 @@ public class CsvMonitoringStatsWriterTest {
         Assert.assertEquals(StringUtils.EMPTY, monitoringStatsWriter.convertStatsToCsvString(stats));
     }
 
+    @Test
+    public void testMonitoringStatsToCsvStreamConversion() throws IOException {
+        final List<MonitoringStats> stats = createStatsList();
+        try (InputStream stream = monitoringStatsWriter.convertStatsToFile(stats)) {
+            Assert.assertEquals(monitoringStatsWriter.convertStatsToCsvString(stats),
+                                IOUtils.toString(stream, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testEmptyStatsStreamConversion() throws IOException {
+        try (InputStream stream = monitoringStatsWriter.convertStatsToFile(Collections.emptyList())) {
+            Assert.assertEquals(-1, stream.read());
+        }
+    }
+
+    @Test
+    public void testLazyMonitoringStatsToCsvStreamConversion() throws IOException {
+        final AtomicInteger loads = new AtomicInteger();
+        final Supplier<Stream<MonitoringStats>> stats = () -> {
+            loads.incrementAndGet();
+            return createStatsList().stream();
+        };
+        try (InputStream stream = monitoringStatsWriter.convertStatsToFile(stats)) {
+            Assert.assertEquals(monitoringStatsWriter.convertStatsToCsvString(createStatsList()),
+                                IOUtils.toString(stream, StandardCharsets.UTF_8));
+        }
+        Assert.assertEquals(2, loads.get());
+    }
+
     private List<MonitoringStats> createStatsList() {
         return IntStream.range(0, 2).mapToObj(i -> createMonitoringStats(END_TIMES.get(i),
                                                                          CPU_LOADS.get(i),
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.datastorage.providers.nfs;
+
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class NFSDirectoryListerTest {
+
+    private static final int PAGE_SIZE = 2;
+    private static final int CACHE_SIZE = 10;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final PreferenceManager preferenceManager = mock(PreferenceManager.class);
+    private final NFSDirectoryLister lister = new NFSDirectoryLister(preferenceManager);
+    private Path dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = folder.getRoot().toPath();
+        for (String name : Arrays.asList("e", "c", "a", "d", "b")) {
+            Files.createFile(dir.resolve(name));
+        }
+    }
+
+    @Test
+    public void shouldListAllPagesWithoutCache() throws IOException {
+        when(preferenceManager.getPreference(SystemPreferences.DATA_STORAGE_NFS_LISTING_CACHE_SIZE)).thenReturn(0);
+
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"), listAll());
+    }
+
+    @Test
+    public void shouldListAllPagesWithCache() throws IOException {
+        when(preferenceManager.getPreference(SystemPreferences.DATA_STORAGE_NFS_LISTING_CACHE_SIZE))
+                .thenReturn(CACHE_SIZE);
+
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"), listAll());
+    }
+
+    @Test
+    public void shouldInvalidateCacheIfDirectoryIsModified() throws IOException {
+        when(preferenceManager.getPreference(SystemPreferences.DATA_STORAGE_NFS_LISTING_CACHE_SIZE))
+                .thenReturn(CACHE_SIZE);
+        final NFSDirectoryLister.Page firstPage = lister.list(dir, null, PAGE_SIZE);
+
+        Files.createFile(dir.resolve("bb"));
+        Files.setLastModifiedTime(dir, FileTime.fromMillis(Files.getLastModifiedTime(dir).toMillis() + 1000));
+
+        final NFSDirectoryLister.Page secondPage = lister.list(dir, firstPage.getNextPageMarker(), PAGE_SIZE);
+        assertEquals(Arrays.asList("bb", "c"), names(secondPage));
+    }
+
+    @Test
+    public void shouldReturnNoMarkerForTheLastPage() throws IOException {
+        when(preferenceManager.getPreference(SystemPreferences.DATA_STORAGE_NFS_LISTING_CACHE_SIZE)).thenReturn(0);
+
+        final NFSDirectoryLister.Page page = lister.list(dir, "c", PAGE_SIZE);
+
+        assertEquals(Arrays.asList("d", "e"), names(page));
+        assertNull(page.getNextPageMarker());
+    }
+
+    private List<String> listAll() throws IOException {
+        final List<String> names = new ArrayList<>();
+        String marker = null;
+        do {
+            final NFSDirectoryLister.Page page = lister.list(dir, marker, PAGE_SIZE);
+            names.addAll(names(page));
+            marker = page.getNextPageMarker();
+        } while (marker != null);
+        return names;
+    }
+
+    private List<String> names(final NFSDirectoryLister.Page page) {
+        return page.getEntries().stream()
+                .map(path -> path.getFileName().toString())
+                .collect(Collectors.toList());
+    }
+}
@@ -279,10 +279,11 @@ public class NFSStorageProviderTest extends AbstractSpringTest {
         Assert.assertNull(listing.getNextPageMarker());
 
         listing = nfsProvider.getItems(dataStorage, null, false, 1, null);
-        Assert.assertEquals("2", listing.getNextPageMarker());
+        Assert.assertEquals(testFileName, listing.getNextPageMarker());
         listing = nfsProvider.getItems(dataStorage, null, false, 1, listing.getNextPageMarker());
         Assert.assertNull(listing.getNextPageMarker());
-        Assert.assertFalse(listing.getResults().isEmpty());
+        Assert.assertEquals(1, listing.getResults().size());
+        Assert.assertEquals(testFolderName, listing.getResults().get(0).getName());
     }
 
     @Test
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.docker.scan;
+
+import com.epam.pipeline.entity.scan.ToolVersionScanResult;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import io.reactivex.subjects.PublishSubject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ToolScanExecutorTest {
+
+    private static final String DIGEST = "sha256:digest";
+    private static final String ANOTHER_DIGEST = "sha256:another";
+    private static final long TIMEOUT = 10;
+
+    private final PreferenceManager preferenceManager = mock(PreferenceManager.class);
+    private final List<String> performed = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch blocked = new CountDownLatch(1);
+    private final CountDownLatch released = new CountDownLatch(1);
+    private ToolScanExecutor executor;
+
+    @Before
+    public void setUp() {
+        when(preferenceManager.getPreference(SystemPreferences.DOCKER_SECURITY_TOOL_SCAN_THREADS)).thenReturn(1);
+        when(preferenceManager.getObservablePreference(SystemPreferences.DOCKER_SECURITY_TOOL_SCAN_THREADS))
+                .thenReturn(PublishSubject.create());
+        executor = new ToolScanExecutor(preferenceManager, mock(CounterService.class), mock(GaugeService.class));
+        executor.init();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutDown();
+    }
+
+    @Test
+    public void shouldScanTheSameDigestOnlyOnce() throws Exception {
+        final CompletableFuture<ToolVersionScanResult> blocker = block();
+        final AtomicInteger scans = new AtomicInteger();
+        final Callable<ToolVersionScanResult> scan = () -> {
+            scans.incrementAndGet();
+            return new ToolVersionScanResult();
+        };
+
+        final CompletableFuture<ToolVersionScanResult> first =
+                executor.submit(ToolScanPriority.RESCAN, DIGEST, false, scan);
+        final CompletableFuture<ToolVersionScanResult> second =
+                executor.submit(ToolScanPriority.RESCAN, DIGEST, false, scan);
+        release(blocker);
+
+        assertSame(first.get(TIMEOUT, TimeUnit.SECONDS), second.get(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(1, scans.get());
+    }
+
+    @Test
+    public void shouldNotDeduplicateScansWithoutDigestOrWithDifferentRescanFlag() throws Exception {
+        final CompletableFuture<ToolVersionScanResult> blocker = block();
+
+        final List<CompletableFuture<ToolVersionScanResult>> scans = Arrays.asList(
+                executor.submit(ToolScanPriority.RESCAN, null, false, record("first")),
+                executor.submit(ToolScanPriority.RESCAN, null, false, record("second")),
+                executor.submit(ToolScanPriority.RESCAN, DIGEST, false, record("third")),
+                executor.submit(ToolScanPriority.RESCAN, DIGEST, true, record("fourth")));
+        release(blocker);
+        awaitAll(scans);
+
+        assertEquals(Arrays.asList("first", "second", "third", "fourth"), performed);
+    }
+
+    @Test
+    public void shouldPerformScansInOrderOfPriority() throws Exception {
+        final CompletableFuture<ToolVersionScanResult> blocker = block();
+
+        final List<CompletableFuture<ToolVersionScanResult>> scans = Arrays.asList(
+                executor.submit(ToolScanPriority.RESCAN, null, false, record("rescan")),
+                executor.submit(ToolScanPriority.NEW_VERSION, null, false, record("new")),
+                executor.submit(ToolScanPriority.FORCED, null, false, record("forced")),
+                executor.submit(ToolScanPriority.NEW_VERSION, null, false, record("another new")));
+        release(blocker);
+        awaitAll(scans);
+
+        assertEquals(Arrays.asList("forced", "new", "another new", "rescan"), performed);
+    }
+
+    @Test
+    public void shouldRaisePriorityOfQueuedScanIfItIsRequestedWithHigherPriority() throws Exception {
+        final CompletableFuture<ToolVersionScanResult> blocker = block();
+
+        final List<CompletableFuture<ToolVersionScanResult>> scans = Arrays.asList(
+                executor.submit(ToolScanPriority.RESCAN, ANOTHER_DIGEST, false, record("another")),
+                executor.submit(ToolScanPriority.RESCAN, DIGEST, false, record("escalated")),
+                executor.submit(ToolScanPriority.FORCED, DIGEST, false, record("forced")));
+        assertEquals(2, executor.getQueueSize());
+        release(blocker);
+        awaitAll(scans);
+
+        assertEquals(Arrays.asList("escalated", "another"), performed);
+    }
+
+    @Test
+    public void shouldPassScanErrorToAllWaiters() throws Exception {
+        final CompletableFuture<ToolVersionScanResult> blocker = block();
+        final Callable<ToolVersionScanResult> failing = () -> {
+            throw new IllegalStateException();
+        };
+
+        final CompletableFuture<ToolVersionScanResult> first =
+                executor.submit(ToolScanPriority.RESCAN, DIGEST, false, failing);
+        final CompletableFuture<ToolVersionScanResult> second =
+                executor.submit(ToolScanPriority.FORCED, DIGEST, false, failing);
+        release(blocker);
+
+        assertFailed(first);
+        assertFailed(second);
+    }
+
+    private CompletableFuture<ToolVersionScanResult> block() throws InterruptedException {
+        final CompletableFuture<ToolVersionScanResult> blocker =
+                executor.submit(ToolScanPriority.FORCED, null, false, () -> {
+                    blocked.countDown();
+                    released.await();
+                    return new ToolVersionScanResult();
+                });
+        assertTrue(blocked.await(TIMEOUT, TimeUnit.SECONDS));
+        return blocker;
+    }
+
+    private void release(final CompletableFuture<ToolVersionScanResult> blocker) throws Exception {
+        released.countDown();
+        blocker.get(TIMEOUT, TimeUnit.SECONDS);
+    }
+
+    private Callable<ToolVersionScanResult> record(final String name) {
+        return () -> {
+            performed.add(name);
+            return new ToolVersionScanResult();
+        };
+    }
+
+    private void awaitAll(final List<CompletableFuture<ToolVersionScanResult>> scans) throws Exception {
+        CompletableFuture.allOf(scans.toArray(new CompletableFuture[0])).get(TIMEOUT, TimeUnit.SECONDS);
+    }
+
+    private void assertFailed(final CompletableFuture<ToolVersionScanResult> scan) throws Exception {
+        try {
+            scan.get(TIMEOUT, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            return;
+        }
+        throw new AssertionError("Scan is expected to fail");
+    }
+}
@@ -39,6 +39,7 @@ import com.epam.pipeline.util.TestUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.reactivex.subjects.PublishSubject;
 import io.reactivex.subjects.Subject;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -47,6 +48,8 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.mockito.internal.util.reflection.Whitebox;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.transaction.annotation.Propagation;
@@ -106,6 +109,8 @@ public class ToolScanSchedulerTest extends AbstractSpringTest {
     private ToolVersionManager toolVersionManager;
     @Mock
     private DockerRegistryManager dockerRegistryManager;
+    @Mock
+    private PreferenceManager executorPreferenceManager;
 
     ObjectMapper objectMapper = new ObjectMapper();
 
@@ -120,13 +125,20 @@ public class ToolScanSchedulerTest extends AbstractSpringTest {
     @Before
     public void setUp() throws Exception {
         MockitoAnnotations.initMocks(this);
+        when(executorPreferenceManager.getPreference(SystemPreferences.DOCKER_SECURITY_TOOL_SCAN_THREADS))
+                .thenReturn(2);
+        when(executorPreferenceManager.getObservablePreference(SystemPreferences.DOCKER_SECURITY_TOOL_SCAN_THREADS))
+                .thenReturn(PublishSubject.create());
+        final ToolScanExecutor scanExecutor = new ToolScanExecutor(executorPreferenceManager,
+                mock(CounterService.class), mock(GaugeService.class));
+        scanExecutor.init();
         core = new ToolScanSchedulerCore(dockerRegistryDao,
                                                      toolScanManager,
                                                      toolManager,
                                                      messageHelper,
                                                      toolVersionManager,
                                                      dockerClientFactory,
-                                                     dockerRegistryManager, null);
+                                                     dockerRegistryManager, null, scanExecutor);
         toolScanScheduler = new ToolScanScheduler(core);
         Whitebox.setInternalState(toolScanScheduler, "authManager", authManager);
         Whitebox.setInternalState(toolScanScheduler, "scheduler", taskScheduler);
@@ -164,6 +176,11 @@ public class ToolScanSchedulerTest extends AbstractSpringTest {
                 .thenReturn("token");
     }
 
+    @After
+    public void tearDown() {
+        core.shutDown();
+    }
+
     @Test
     @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Throwable.class)
     public void testScheduledToolScan() {
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.pipeline;
+
+import com.epam.pipeline.dao.pipeline.RunLogDao;
+import com.epam.pipeline.entity.pipeline.PipelineTask;
+import com.epam.pipeline.entity.pipeline.RunLog;
+import com.epam.pipeline.entity.pipeline.TaskStatus;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+public class RunLogBufferTest {
+
+    private static final Long RUN_ID = 1L;
+    private static final String TASK = "Task";
+    private static final int BUFFER_SIZE = 3;
+    private static final String BAD_LOG = "bad";
+
+    private final RunLogDao runLogDao = mock(RunLogDao.class);
+    private final PreferenceManager preferenceManager = mock(PreferenceManager.class);
+    private final Function<Long, RunLogContext> contextLoader = mock(Function.class);
+    private final RunLogBuffer buffer = new RunLogBuffer(runLogDao, preferenceManager);
+
+    @Before
+    public void setUp() {
+        when(preferenceManager.getPreference(SystemPreferences.SYSTEM_RUN_LOG_BUFFER_SIZE)).thenReturn(BUFFER_SIZE);
+        when(contextLoader.apply(RUN_ID)).thenReturn(new RunLogContext(TaskStatus.RUNNING, Collections.emptyList()));
+    }
+
+    @Test
+    public void shouldWriteBufferedLogsOfRunInSingleBatchInOrder() {
+        buffer.add(RUN_ID, Collections.singletonList(log("first", TaskStatus.RUNNING)), contextLoader);
+        buffer.add(RUN_ID, Collections.singletonList(log("second", TaskStatus.RUNNING)), contextLoader);
+        verify(runLogDao, never()).createRunLogsInNewTransaction(any());
+
+        buffer.flush(RUN_ID);
+
+        assertEquals(Arrays.asList("first", "second"), texts(captureWrittenLogs(1).get(0)));
+    }
+
+    @Test
+    public void shouldLoadRunContextOncePerBatches() {
+        buffer.add(RUN_ID, Collections.singletonList(log("first", TaskStatus.RUNNING)), contextLoader);
+        buffer.add(RUN_ID, Collections.singletonList(log("second", TaskStatus.RUNNING)), contextLoader);
+
+        verify(contextLoader, times(1)).apply(RUN_ID);
+    }
+
+    @Test
+    public void shouldWriteLogsImmediatelyIfBufferSizeIsReached() {
+        buffer.add(RUN_ID, Arrays.asList(log("first", TaskStatus.RUNNING), log("second", TaskStatus.RUNNING),
+                log("third", TaskStatus.RUNNING)), contextLoader);
+
+        assertEquals(BUFFER_SIZE, captureWrittenLogs(1).get(0).size());
+    }
+
+    @Test
+    public void shouldKeepFinalStatusOfTask() {
+        final RunLog success = log("success", TaskStatus.SUCCESS);
+        final RunLog running = log("running", TaskStatus.RUNNING);
+
+        buffer.add(RUN_ID, Arrays.asList(success, running), contextLoader);
+
+        assertEquals(TaskStatus.SUCCESS, running.getStatus());
+    }
+
+    @Test
+    public void shouldResolveStatusesAgainstLoadedTaskStatuses() {
+        final PipelineTask task = new PipelineTask(TASK);
+        task.setStatus(TaskStatus.FAILURE);
+        when(contextLoader.apply(RUN_ID)).thenReturn(
+                new RunLogContext(TaskStatus.RUNNING, Collections.singletonList(task)));
+        final RunLog running = log("running", TaskStatus.RUNNING);
+
+        buffer.add(RUN_ID, Collections.singletonList(running), contextLoader);
+
+        assertEquals(TaskStatus.FAILURE, running.getStatus());
+    }
+
+    @Test
+    public void shouldReplaceNonFinalStatusWithFinalRunStatus() {
+        when(contextLoader.apply(RUN_ID)).thenReturn(new RunLogContext(TaskStatus.STOPPED, Collections.emptyList()));
+        final RunLog running = log("running", TaskStatus.RUNNING);
+
+        buffer.add(RUN_ID, Collections.singletonList(running), contextLoader);
+
+        assertEquals(TaskStatus.STOPPED, running.getStatus());
+    }
+
+    @Test
+    public void shouldWriteLogsOfAllRunsOnFlushAll() {
+        buffer.add(RUN_ID, Collections.singletonList(log("first", TaskStatus.RUNNING)), contextLoader);
+        buffer.add(RUN_ID + 1, Collections.singletonList(log("second", TaskStatus.RUNNING)), id ->
+                new RunLogContext(TaskStatus.RUNNING, Collections.emptyList()));
+
+        buffer.flushAll();
+        buffer.flushAll();
+
+        captureWrittenLogs(2);
+    }
+
+    @Test
+    public void shouldWriteFailedLogsAgainInOrder() {
+        doThrow(new IllegalStateException()).doNothing().when(runLogDao).createRunLogsInNewTransaction(any());
+        buffer.add(RUN_ID, Collections.singletonList(log("first", TaskStatus.RUNNING)), contextLoader);
+        buffer.flush(RUN_ID);
+        buffer.add(RUN_ID, Collections.singletonList(log("second", TaskStatus.RUNNING)), contextLoader);
+
+        buffer.flush(RUN_ID);
+
+        assertEquals(Arrays.asList("first", "second"), texts(captureWrittenLogs(2).get(1)));
+    }
+
+    @Test
+    public void shouldWriteLogsOneByOneAndDropOnlyFailedLogsAfterAllWriteAttemptsFailed() {
+        final List<String> writtenLogs = new ArrayList<>();
+        doAnswer(invocation -> {
+            final List<String> logs = texts((List<RunLog>) invocation.getArguments()[0]);
+            if (logs.contains(BAD_LOG)) {
+                throw new IllegalStateException();
+            }
+            writtenLogs.addAll(logs);
+            return null;
+        }).when(runLogDao).createRunLogsInNewTransaction(any());
+        buffer.add(RUN_ID, Arrays.asList(log("first", TaskStatus.RUNNING), log(BAD_LOG, TaskStatus.RUNNING),
+                log("third", TaskStatus.RUNNING)), contextLoader);
+        buffer.flush(RUN_ID);
+        buffer.flush(RUN_ID);
+
+        buffer.flush(RUN_ID);
+
+        assertEquals(Arrays.asList("first", "third"), writtenLogs);
+        verify(runLogDao, times(6)).createRunLogsInNewTransaction(any());
+    }
+
+    @Test
+    public void shouldReloadRunContextAfterInvalidation() {
+        buffer.add(RUN_ID, Collections.singletonList(log("first", TaskStatus.RUNNING)), contextLoader);
+        when(contextLoader.apply(RUN_ID)).thenReturn(new RunLogContext(TaskStatus.STOPPED, Collections.emptyList()));
+        buffer.invalidate(RUN_ID);
+        final RunLog running = log("running", TaskStatus.RUNNING);
+
+        buffer.add(RUN_ID, Collections.singletonList(running), contextLoader);
+
+        assertEquals(TaskStatus.STOPPED, running.getStatus());
+    }
+
+    private List<List<RunLog>> captureWrittenLogs(final int batches) {
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(runLogDao, times(batches)).createRunLogsInNewTransaction(captor.capture());
+        return captor.getAllValues().stream().map(logs -> (List<RunLog>) logs).collect(Collectors.toList());
+    }
+
+    private List<String> texts(final List<RunLog> logs) {
+        return logs.stream().map(RunLog::getLogText).collect(Collectors.toList());
+    }
+
+    private RunLog log(final String text, final TaskStatus status) {
+        return RunLog.builder()
+                .runId(RUN_ID)
+                .date(new Date())
+                .status(status)
+                .taskName(TASK)
+                .logText(text)
+                .build();
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.pipeline;
+
+import com.epam.pipeline.dao.pipeline.RunLogDao;
+import com.epam.pipeline.entity.pipeline.RunLog;
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RunLogFollowerTest {
+
+    private static final Long RUN_ID = 1L;
+    private static final int WINDOW = 10;
+    private static final int LIMIT = 100;
+
+    private final PreferenceManager preferenceManager = mock(PreferenceManager.class);
+    private final RunLogDao runLogDao = mock(RunLogDao.class);
+    private final RunLogBuffer runLogBuffer = mock(RunLogBuffer.class);
+    private final List<List<RunLog>> received = new ArrayList<>();
+    private final RunLogFollower follower = new RunLogFollower(preferenceManager, runLogDao, runLogBuffer);
+
+    @Before
+    public void setUp() {
+        when(preferenceManager.getPreference(SystemPreferences.SYSTEM_RUN_LOG_FOLLOW_TIMEOUT)).thenReturn(30);
+        when(preferenceManager.getPreference(SystemPreferences.SYSTEM_RUN_LOG_TAIL_WINDOW)).thenReturn(WINDOW);
+        mockLogs();
+    }
+
+    @Test
+    public void shouldCompleteImmediatelyIfThereAreNewLogs() {
+        mockLogs(log(2L));
+
+        follower.follow(RUN_ID, null, 1L, LIMIT, received::add);
+
+        assertEquals(1, received.size());
+        assertEquals(0, follower.size());
+    }
+
+    @Test
+    public void shouldCompleteOnceNewLogsAppear() {
+        follower.follow(RUN_ID, null, 1L, LIMIT, received::add);
+        follower.poll();
+        assertTrue(received.isEmpty());
+
+        mockLogs(log(2L));
+        follower.poll();
+
+        assertEquals(1, received.size());
+        assertEquals(1, received.get(0).size());
+        assertEquals(0, follower.size());
+    }
+
+    @Test
+    public void shouldCompleteWithEmptyLogsAfterTimeout() {
+        when(preferenceManager.getPreference(SystemPreferences.SYSTEM_RUN_LOG_FOLLOW_TIMEOUT)).thenReturn(0);
+        follower.follow(RUN_ID, null, 1L, LIMIT, received::add);
+
+        follower.poll();
+
+        assertEquals(Collections.singletonList(Collections.emptyList()), received);
+        assertEquals(0, follower.size());
+    }
+
+    @Test
+    public void shouldNotCompleteWithLogsWithinTailWindowOnly() {
+        mockLogs(log(3L));
+        follower.follow(RUN_ID, null, 5L, LIMIT, received::add);
+        follower.poll();
+        assertTrue(received.isEmpty());
+
+        mockLogs(log(3L), log(4L), log(6L));
+        follower.poll();
+
+        assertEquals(Arrays.asList(3L, 4L, 6L), ids(received.get(0)));
+    }
+
+    @Test
+    public void shouldLoadLogsOnceForAllFollowersOfTask() {
+        follower.follow(RUN_ID, null, 5L, LIMIT, received::add);
+        follower.follow(RUN_ID, null, 3L, LIMIT, received::add);
+        mockLogs(log(4L), log(6L));
+
+        follower.poll();
+
+        verify(runLogDao, times(3)).loadLogsSince(eq(RUN_ID), isNull(String.class), anyLong(), eq(WINDOW),
+                eq(LIMIT));
+        verify(runLogDao, times(2)).loadLogsSince(RUN_ID, null, 3L, WINDOW, LIMIT);
+        assertEquals(2, received.size());
+        assertEquals(0, follower.size());
+    }
+
+    @Test
+    public void shouldPassLimitedNumberOfNewLogs() {
+        mockLogs(log(2L), log(3L), log(4L));
+
+        follower.follow(RUN_ID, null, 1L, 2, received::add);
+
+        assertEquals(Arrays.asList(2L, 3L), ids(received.get(0)));
+    }
+
+    private void mockLogs(final RunLog... logs) {
+        when(runLogDao.loadLogsSince(eq(RUN_ID), anyString(), anyLong(), anyInt(), anyInt()))
+                .thenReturn(Arrays.asList(logs));
+        when(runLogDao.loadLogsSince(eq(RUN_ID), isNull(String.class), anyLong(), anyInt(), anyInt()))
+                .thenReturn(Arrays.asList(logs));
+    }
+
+    private List<Long> ids(final List<RunLog> logs) {
+        return logs.stream().map(RunLog::getId).collect(Collectors.toList());
+    }
+
+    private RunLog log(final Long id) {
+        final RunLog log = new RunLog();
+        log.setId(id);
+        log.setRunId(RUN_ID);
+        return log;
+    }
+}
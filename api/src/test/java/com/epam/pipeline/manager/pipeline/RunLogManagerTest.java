@@ -16,10 +16,12 @@
 
 package com.epam.pipeline.manager.pipeline;
 
+import java.io.StringWriter;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.epam.pipeline.dao.pipeline.RunLogDao;
 import com.epam.pipeline.entity.pipeline.PipelineRun;
@@ -45,6 +47,9 @@ public class RunLogManagerTest extends AbstractManagerTest {
     @Mock
     private RunLogDao logDao;
 
+    @Mock
+    private RunLogBuffer runLogBuffer;
+
     @InjectMocks
     private RunLogManager logManager;
 
@@ -54,7 +59,8 @@ public class RunLogManagerTest extends AbstractManagerTest {
     }
 
     @Test
-    public void downloadLogs() throws Exception {
+    @SuppressWarnings("unchecked")
+    public void writeLogs() throws Exception {
         PipelineRun run = new PipelineRun(1L, "");
         List<RunLog> logs = new ArrayList<>();
         logs.add(RunLog.builder().date(Date.from(Instant.now())).task(new PipelineTask(FIRST_TASK))
@@ -63,10 +69,15 @@ public class RunLogManagerTest extends AbstractManagerTest {
                 .logText("Second task Log1").build());
         logs.add(RunLog.builder().date(Date.from(Instant.now())).task(new PipelineTask(FIRST_TASK))
                 .logText("First task Log2").build());
-        Mockito.when(runCRUDServiceMock.loadRunById(run.getId())).thenReturn(run);
-        Mockito.when(logDao.loadAllLogsForRun(run.getId())).thenReturn(logs);
-        String result = logManager.downloadLogs(run);
-        Assert.assertNotNull(result);
-        Assert.assertTrue(!result.isEmpty());
+        Mockito.doAnswer(invocation -> {
+            logs.forEach(((Consumer<RunLog>) invocation.getArguments()[1])::accept);
+            return null;
+        }).when(logDao).loadAllLogsForRun(Mockito.eq(run.getId()), Mockito.any(Consumer.class));
+        StringWriter writer = new StringWriter();
+        logManager.writeLogs(run, writer);
+        String result = writer.toString();
+        Assert.assertTrue(result.contains("First task Log1"));
+        Assert.assertTrue(result.contains("First task Log2"));
+        Mockito.verify(runLogBuffer).flush(run.getId());
     }
 }
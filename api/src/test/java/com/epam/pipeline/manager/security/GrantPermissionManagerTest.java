@@ -0,0 +1,174 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.security;
+
+import com.epam.pipeline.common.MessageHelper;
+import com.epam.pipeline.entity.AbstractSecuredEntity;
+import com.epam.pipeline.entity.pipeline.Folder;
+import com.epam.pipeline.entity.pipeline.Pipeline;
+import com.epam.pipeline.entity.security.acl.AclClass;
+import com.epam.pipeline.entity.security.acl.EntityPermission;
+import com.epam.pipeline.entity.user.DefaultRoles;
+import com.epam.pipeline.manager.EntityManager;
+import com.epam.pipeline.mapper.AbstractEntityPermissionMapper;
+import com.epam.pipeline.security.acl.JdbcMutableAclServiceImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.acls.domain.GrantedAuthoritySid;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.MutableAcl;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.security.acls.model.SidRetrievalStrategy;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.anySetOf;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("PMD.TooManyStaticImports")
+public class GrantPermissionManagerTest {
+
+    private static final Long ID = 1L;
+    private static final Long MISSING_ID = 2L;
+    private static final Long FOLDER_ID = 3L;
+    private static final Sid USER = new PrincipalSid("USER");
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private JdbcMutableAclServiceImpl aclService;
+
+    @Mock
+    private AbstractEntityPermissionMapper entityPermissionMapper;
+
+    @Mock
+    private SidRetrievalStrategy sidRetrievalStrategy;
+
+    @Mock
+    @SuppressWarnings("PMD.UnusedPrivateField")
+    private CheckPermissionHelper permissionsHelper;
+
+    @Mock
+    @SuppressWarnings("PMD.UnusedPrivateField")
+    private MessageHelper messageHelper;
+
+    @InjectMocks
+    private final GrantPermissionManager permissionManager = new GrantPermissionManager();
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void loadEntitiesPermissionsShouldSkipEntitiesWhichAreNotFound() {
+        final Pipeline pipeline = new Pipeline(ID);
+        doReturn(Collections.singletonList(pipeline))
+                .when(entityManager).loadEntitiesWithParents(AclClass.PIPELINE, Arrays.asList(ID, MISSING_ID));
+        final MutableAcl acl = mock(MutableAcl.class);
+        when(acl.getEntries()).thenReturn(Collections.emptyList());
+        final Map<ObjectIdentity, Acl> acls = Collections.singletonMap(new ObjectIdentityImpl(pipeline), acl);
+        when(aclService.getObjectIdentities(anySetOf(AbstractSecuredEntity.class))).thenReturn(acls);
+
+        assertThat(permissionManager.loadEntitiesPermissions(AclClass.PIPELINE, Arrays.asList(ID, MISSING_ID))
+                .size(), is(1));
+
+        final ArgumentCaptor<EntityPermission> permission = ArgumentCaptor.forClass(EntityPermission.class);
+        verify(entityPermissionMapper).toEntityPermissionVO(permission.capture());
+        assertThat(permission.getValue().getEntity(), is(pipeline));
+    }
+
+    @Test
+    public void setPermissionsMasksShouldNotLoadAclsSeparatelyForEntitiesWhichAreMissingFromBatch() {
+        final Pipeline pipeline = new Pipeline(ID);
+        final Pipeline unregistered = new Pipeline(MISSING_ID);
+        mockSids(USER);
+        final Acl acl = ownedAcl();
+        when(aclService.getAcls(anyCollectionOf(AbstractSecuredEntity.class)))
+                .thenReturn(Collections.singletonMap(new ObjectIdentityImpl(pipeline), acl));
+
+        permissionManager.setPermissionsMasks(Arrays.asList(pipeline, unregistered));
+
+        assertThat(pipeline.getMask(), is(AbstractSecuredEntity.ALL_PERMISSIONS_MASK));
+        assertThat(unregistered.getMask(), is(0));
+        verify(aclService, never()).getAcl(any(AbstractSecuredEntity.class));
+    }
+
+    @Test
+    public void setPermissionsMasksShouldLoadAclOfParentOutsideOfBatchOnce() {
+        final Folder folder = new Folder(FOLDER_ID);
+        final Pipeline first = pipeline(ID, folder);
+        final Pipeline second = pipeline(MISSING_ID, folder);
+        mockSids(USER);
+        when(aclService.getAcls(anyCollectionOf(AbstractSecuredEntity.class))).thenReturn(Collections.emptyMap());
+        final Acl folderAcl = ownedAcl();
+        when(aclService.getAcl(folder)).thenReturn((MutableAcl) folderAcl);
+
+        permissionManager.setPermissionsMasks(Arrays.asList(first, second));
+
+        assertThat(first.getMask(), is(AbstractSecuredEntity.ALL_PERMISSIONS_MASK));
+        assertThat(second.getMask(), is(AbstractSecuredEntity.ALL_PERMISSIONS_MASK));
+        verify(aclService, times(1)).getAcl(folder);
+    }
+
+    @Test
+    public void setPermissionsMasksShouldNotLoadAclsForAdmin() {
+        final Pipeline pipeline = new Pipeline(ID);
+        mockSids(new GrantedAuthoritySid(DefaultRoles.ROLE_ADMIN.getName()));
+
+        permissionManager.setPermissionsMasks(Collections.singletonList(pipeline));
+
+        assertThat(pipeline.getMask(), is(AbstractSecuredEntity.ALL_PERMISSIONS_MASK));
+        verify(aclService, never()).getAcls(anyCollectionOf(AbstractSecuredEntity.class));
+    }
+
+    private void mockSids(final Sid sid) {
+        when(sidRetrievalStrategy.getSids(any())).thenReturn(Collections.singletonList(sid));
+    }
+
+    private Acl ownedAcl() {
+        final MutableAcl acl = mock(MutableAcl.class);
+        when(acl.getOwner()).thenReturn(USER);
+        return acl;
+    }
+
+    private Pipeline pipeline(final Long id, final Folder folder) {
+        final Pipeline pipeline = new Pipeline(id);
+        pipeline.setParent(folder);
+        return pipeline;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.epam.pipeline.manager.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+
+import java.io.IOException;
+
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ElasticsearchMetricsTest {
+
+    private static final String CLIENT = "search";
+    private static final String TYPE = "search";
+    private static final String RESULT = "result";
+
+    private final CounterService counterService = mock(CounterService.class);
+    private final GaugeService gaugeService = mock(GaugeService.class);
+    private final ElasticsearchMetrics metrics = new ElasticsearchMetrics(counterService, gaugeService);
+
+    @Test
+    public void successfulRequestShouldBeMeasured() throws IOException {
+        Assert.assertEquals(RESULT, metrics.measure(CLIENT, TYPE, () -> RESULT));
+
+        verify(counterService).increment("counter.elasticsearch.search.inflight");
+        verify(counterService).decrement("counter.elasticsearch.search.inflight");
+        verify(counterService).increment("counter.elasticsearch.search.search.requests");
+        verify(counterService, never()).increment("counter.elasticsearch.search.search.errors");
+        verify(gaugeService).submit(eq("gauge.elasticsearch.search.search.last_latency"), anyDouble());
+        verify(gaugeService).submit(eq("gauge.elasticsearch.search.search.total_latency"), anyDouble());
+    }
+
+    @Test
+    public void failedRequestShouldBeMeasured() {
+        try {
+            metrics.measure(CLIENT, TYPE, () -> {
+                throw new IOException("Connection refused");
+            });
+            Assert.fail("Request failure should be propagated");
+        } catch (IOException e) {
+            Assert.assertEquals("Connection refused", e.getMessage());
+        }
+
+        verify(counterService).decrement("counter.elasticsearch.search.inflight");
+        verify(counterService).increment("counter.elasticsearch.search.search.requests");
+        verify(counterService).increment("counter.elasticsearch.search.search.errors");
+    }
+}
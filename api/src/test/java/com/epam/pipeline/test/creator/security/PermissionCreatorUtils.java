@@ -28,6 +28,7 @@ import com.epam.pipeline.security.acl.AclPermission;
 import com.fasterxml.jackson.core.type.TypeReference;
 
 import java.util.Collections;
+import java.util.List;
 
 import static com.epam.pipeline.test.creator.CommonCreatorConstants.ID;
 import static com.epam.pipeline.test.creator.CommonCreatorConstants.TEST_INT;
@@ -39,6 +40,8 @@ public final class PermissionCreatorUtils {
             new TypeReference<Result<AclSecuredEntry>>() {};
     public static final TypeReference<Result<EntityPermissionVO>> ENTITY_WITH_PERMISSION_VO_TYPE =
             new TypeReference<Result<EntityPermissionVO>>() {};
+    public static final TypeReference<Result<List<EntityPermissionVO>>> ENTITY_WITH_PERMISSION_VO_LIST_TYPE =
+            new TypeReference<Result<List<EntityPermissionVO>>>() {};
     public static final TypeReference<Result<PermissionVO>> PERMISSION_VO_TYPE =
             new TypeReference<Result<PermissionVO>>() {};
     public static final TypeReference<Result<PermissionGrantVO>> PERMISSION_GRANT_VO_TYPE =
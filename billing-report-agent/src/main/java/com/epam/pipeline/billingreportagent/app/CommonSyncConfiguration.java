@@ -61,6 +61,12 @@ public class CommonSyncConfiguration {
     @Value("${sync.bulk.insert.timeout:1000}")
     private long insertTimeout;
 
+    @Value("${sync.bulk.insert.max.in.flight:2}")
+    private int maxInFlightBulks;
+
+    @Value("${sync.bulk.insert.max.retries:5}")
+    private int maxBulkRetries;
+
     @Value("${sync.storage.index.mapping}")
     private String storageMapping;
 
@@ -79,7 +85,7 @@ public class CommonSyncConfiguration {
     @Bean
     public BulkRequestSender bulkRequestSender(
             final ElasticsearchServiceClient elasticsearchClient) {
-        return new BulkRequestSender(elasticsearchClient);
+        return new BulkRequestSender(elasticsearchClient, bulkSize, maxInFlightBulks, insertTimeout, maxBulkRetries);
     }
 
     @Bean
@@ -88,15 +94,13 @@ public class CommonSyncConfiguration {
             final RunBillingMapper mapper,
             final PipelineRunLoader loader,
             final ElasticIndexService indexService,
-            final ElasticsearchServiceClient elasticsearchClient,
+            final BulkRequestSender requestSender,
             final @Value("${sync.run.index.name}") String runIndexName,
             final @Value("${sync.run.index.mapping}") String runMapping) {
         return new PipelineRunSynchronizer(runMapping,
                 commonIndexPrefix,
                 runIndexName,
-                bulkSize,
-                insertTimeout,
-                elasticsearchClient,
+                requestSender,
                 indexService,
                 mapper,
                 loader);
@@ -106,6 +110,7 @@ public class CommonSyncConfiguration {
     @ConditionalOnProperty(value = "sync.storage.s3.disable", matchIfMissing = true, havingValue = FALSE)
     public StorageSynchronizer s3Synchronizer(final StorageLoader loader,
                                               final ElasticIndexService indexService,
+                                              final BulkRequestSender requestSender,
                                               final ElasticsearchServiceClient elasticsearchClient,
                                               final @Value("${sync.storage.price.load.mode:api}")
                                                       String priceMode,
@@ -119,9 +124,7 @@ public class CommonSyncConfiguration {
         return new StorageSynchronizer(storageMapping,
                 commonIndexPrefix,
                 storageIndexName,
-                bulkSize,
-                insertTimeout,
-                elasticsearchClient,
+                requestSender,
                 loader,
                 indexService,
                 new StorageToBillingRequestConverter(mapper, elasticsearchClient,
@@ -136,6 +139,7 @@ public class CommonSyncConfiguration {
     @ConditionalOnProperty(value = "sync.storage.efs.disable", matchIfMissing = true, havingValue = FALSE)
     public StorageSynchronizer efsSynchronizer(final StorageLoader loader,
                                                final ElasticIndexService indexService,
+                                               final BulkRequestSender requestSender,
                                                final ElasticsearchServiceClient elasticsearchClient,
                                                final @Value("${sync.storage.price.load.mode:api}")
                                                        String priceMode,
@@ -150,9 +154,7 @@ public class CommonSyncConfiguration {
         return new StorageSynchronizer(storageMapping,
                 commonIndexPrefix,
                 storageIndexName,
-                bulkSize,
-                insertTimeout,
-                elasticsearchClient,
+                requestSender,
                 loader,
                 indexService,
                 new StorageToBillingRequestConverter(mapper, elasticsearchClient,
@@ -169,6 +171,7 @@ public class CommonSyncConfiguration {
     @ConditionalOnProperty(value = "sync.storage.gs.disable", matchIfMissing = true, havingValue = FALSE)
     public StorageSynchronizer gsSynchronizer(final StorageLoader loader,
                                               final ElasticIndexService indexService,
+                                              final BulkRequestSender requestSender,
                                               final ElasticsearchServiceClient elasticsearchClient) {
         final StorageBillingMapper mapper = new StorageBillingMapper(SearchDocumentType.GS_STORAGE, billingCenterKey);
         final StoragePricingService pricingService =
@@ -176,9 +179,7 @@ public class CommonSyncConfiguration {
         return new StorageSynchronizer(storageMapping,
                 commonIndexPrefix,
                 storageIndexName,
-                bulkSize,
-                insertTimeout,
-                elasticsearchClient,
+                requestSender,
                 loader,
                 indexService,
                 new StorageToBillingRequestConverter(mapper, elasticsearchClient,
@@ -194,6 +195,7 @@ public class CommonSyncConfiguration {
     public StorageSynchronizer azureBlobSynchronizer(
         final StorageLoader loader,
         final ElasticIndexService indexService,
+        final BulkRequestSender requestSender,
         final ElasticsearchServiceClient elasticsearchClient,
         final CloudRegionLoader regionLoader,
         final AzureRateCardRawPriceLoader rawRateCardPriceLoader,
@@ -211,9 +213,7 @@ public class CommonSyncConfiguration {
         return new StorageSynchronizer(storageMapping,
                 commonIndexPrefix,
                 storageIndexName,
-                bulkSize,
-                insertTimeout,
-                elasticsearchClient,
+                requestSender,
                 loader,
                 indexService,
                 new StorageToBillingRequestConverter(mapper, elasticsearchClient,
@@ -228,6 +228,7 @@ public class CommonSyncConfiguration {
     @ConditionalOnProperty(value = "sync.storage.azure-netapp.disable", matchIfMissing = true, havingValue = FALSE)
     public StorageSynchronizer azureNetAppSynchronizer(final StorageLoader loader,
                                                        final ElasticIndexService indexService,
+                                                       final BulkRequestSender requestSender,
                                                        final ElasticsearchServiceClient elasticsearchClient,
                                                        final FileShareMountsService fileShareMountsService,
                                                        final CloudRegionLoader regionLoader,
@@ -241,9 +242,7 @@ public class CommonSyncConfiguration {
         return new StorageSynchronizer(storageMapping,
                 commonIndexPrefix,
                 storageIndexName,
-                bulkSize,
-                insertTimeout,
-                elasticsearchClient,
+                requestSender,
                 loader,
                 indexService,
                 new StorageToBillingRequestConverter(mapper, elasticsearchClient,
@@ -260,6 +259,7 @@ public class CommonSyncConfiguration {
     @ConditionalOnProperty(value = "sync.storage.azure-files.disable", matchIfMissing = true, havingValue = FALSE)
     public StorageSynchronizer azureFilesSynchronizer(final StorageLoader loader,
                                                       final ElasticIndexService indexService,
+                                                      final BulkRequestSender requestSender,
                                                       final ElasticsearchServiceClient elasticsearchClient,
                                                       final FileShareMountsService fileShareMountsService,
                                                       final CloudRegionLoader regionLoader,
@@ -273,9 +273,7 @@ public class CommonSyncConfiguration {
         return new StorageSynchronizer(storageMapping,
                                        commonIndexPrefix,
                                        storageIndexName,
-                                       bulkSize,
-                                       insertTimeout,
-                                       elasticsearchClient,
+                                       requestSender,
                                        loader,
                                        indexService,
                                        new StorageToBillingRequestConverter(mapper, elasticsearchClient,
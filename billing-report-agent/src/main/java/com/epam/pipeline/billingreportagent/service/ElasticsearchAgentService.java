@@ -18,6 +18,7 @@ package com.epam.pipeline.billingreportagent.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.input.ReversedLinesFileReader;
+import org.elasticsearch.action.index.IndexRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -50,20 +51,28 @@ public class ElasticsearchAgentService {
 
     private static final String DATE_PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSS";
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(DATE_PATTERN);
+    private static final String SYNC_STATUS_DOC_ID = "billing";
+    private static final String LAST_SYNC_FIELD = "last_synchronization";
 
     private final ExecutorService elasticsearchAgentThreadPool;
     private final Set<ElasticsearchSynchronizer> synchronizers;
     private final String lastSynchronizationTimeFilePath;
     private final LocalDateTime billingStartDate;
+    private final ElasticsearchServiceClient elasticsearchClient;
+    private final String syncStatusIndex;
 
     public ElasticsearchAgentService(final ExecutorService elasticsearchAgentThreadPool,
                                      final Optional<Set<ElasticsearchSynchronizer>> synchronizers,
                                      final @Value("${sync.last.synchronization.file}")
                                          String lastSynchronizationTimeFilePath,
-                                     final @Value("${sync.billing.initial.date:}") String startDateStringValue) {
+                                     final @Value("${sync.billing.initial.date:}") String startDateStringValue,
+                                     final ElasticsearchServiceClient elasticsearchClient,
+                                     final @Value("${sync.billing.status.index:}") String syncStatusIndex) {
         this.elasticsearchAgentThreadPool = elasticsearchAgentThreadPool;
         this.synchronizers = synchronizers.orElse(Collections.emptySet());
         this.lastSynchronizationTimeFilePath = lastSynchronizationTimeFilePath;
+        this.elasticsearchClient = elasticsearchClient;
+        this.syncStatusIndex = syncStatusIndex;
         this.billingStartDate = Optional.of(startDateStringValue)
             .filter(StringUtils::isNotEmpty)
             .map(LocalDate::parse)
@@ -106,6 +115,7 @@ public class ElasticsearchAgentService {
             Files.write(Paths.get(lastSynchronizationTimeFilePath),
                         (syncStart.toString() + System.lineSeparator()).getBytes(),
                         StandardOpenOption.APPEND, StandardOpenOption.CREATE);
+            updateSyncStatus(syncStart);
             log.debug("Finished billing data synchronization...");
         } catch (IOException | InterruptedException | ExecutionException e) {
             log.error("An error occurred synchronization: {}", e.getMessage());
@@ -115,6 +125,25 @@ public class ElasticsearchAgentService {
         log.debug("Stop Elasticsearch agent.");
     }
 
+    /**
+     * Stores the time of the completed synchronization to the sync status index. API uses it to drop
+     * billing reports cached before the synchronization.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void updateSyncStatus(final LocalDateTime syncStart) {
+        if (StringUtils.isBlank(syncStatusIndex)) {
+            return;
+        }
+        try {
+            elasticsearchClient.sendRequests(Collections.singletonList(
+                new IndexRequest(syncStatusIndex, EntityToBillingRequestConverter.INDEX_TYPE)
+                    .id(SYNC_STATUS_DOC_ID)
+                    .source(Collections.singletonMap(LAST_SYNC_FIELD, syncStart.toString()))));
+        } catch (RuntimeException e) {
+            log.warn("Failed to update billing synchronization status: {}", e.getMessage());
+        }
+    }
+
     private LocalDateTime getLastSyncTime() {
         final String lastTime = getLastLineFromFile();
         if (StringUtils.isEmpty(lastTime)) {
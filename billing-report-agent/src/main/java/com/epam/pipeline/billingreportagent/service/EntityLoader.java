@@ -42,6 +42,23 @@ public interface EntityLoader<T> {
 
     List<EntityContainer<T>> loadAllEntitiesActiveInPeriod(LocalDateTime from, LocalDateTime to);
 
+    /**
+     * Lazily loads all entities. Loaders that retrieve entities in chunks may override it to avoid
+     * keeping all entities in memory at once.
+     */
+    default Stream<EntityContainer<T>> streamAllEntities() {
+        return loadAllEntities().stream();
+    }
+
+    /**
+     * Lazily loads all entities active in the given period. Loaders that retrieve entities in chunks may
+     * override it to avoid keeping all entities in memory at once.
+     */
+    default Stream<EntityContainer<T>> streamAllEntitiesActiveInPeriod(final LocalDateTime from,
+                                                                       final LocalDateTime to) {
+        return loadAllEntitiesActiveInPeriod(from, to).stream();
+    }
+
     default Map<String, EntityWithMetadata<PipelineUser>> prepareUsers(final CloudPipelineAPIClient apiClient) {
 
         final Map<String, PipelineUser> users =
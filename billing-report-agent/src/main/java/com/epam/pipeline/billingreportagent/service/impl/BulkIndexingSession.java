@@ -0,0 +1,260 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.billingreportagent.service.impl;
+
+import com.epam.pipeline.billingreportagent.service.ElasticsearchServiceClient;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.rest.RestStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams documents to Elasticsearch in bulk requests.
+ *
+ * Documents are buffered until a bulk is full and then sent asynchronously. The number of in-flight bulk
+ * requests is bounded, so a producer is blocked in {@link #add(DocWriteRequest)} once the limit is reached.
+ * Documents rejected by Elasticsearch because of a full write queue are retried with an exponential backoff
+ * which is shared across all in-flight requests and decreases back as soon as bulks succeed again.
+ *
+ * A summary of the session (indexing rate, failed and rejected documents, average and max bulk latency) is
+ * written to the log once the session is closed.
+ */
+@Slf4j
+public class BulkIndexingSession implements AutoCloseable {
+
+    private static final long MAX_BACKOFF = TimeUnit.MINUTES.toMillis(1);
+    private static final long MIN_BACKOFF = 100;
+
+    private final ElasticsearchServiceClient elasticsearchClient;
+    private final int bulkSize;
+    private final long initialBackoff;
+    private final int maxRetries;
+    private final Semaphore inFlightRequests;
+    private final ExecutorService executor;
+
+    private final AtomicLong backoff = new AtomicLong();
+    private final AtomicLong indexedDocuments = new AtomicLong();
+    private final AtomicLong failedDocuments = new AtomicLong();
+    private final AtomicLong rejectedDocuments = new AtomicLong();
+    private final AtomicLong bulkRequests = new AtomicLong();
+    private final AtomicLong totalBulkLatency = new AtomicLong();
+    private final AtomicLong maxBulkLatency = new AtomicLong();
+    private final long startTime = System.currentTimeMillis();
+
+    private List<DocWriteRequest> buffer;
+    private boolean closed;
+
+    BulkIndexingSession(final ElasticsearchServiceClient elasticsearchClient,
+                        final int bulkSize,
+                        final int maxInFlightRequests,
+                        final long initialBackoff,
+                        final int maxRetries) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.bulkSize = Math.max(1, bulkSize);
+        this.initialBackoff = Math.max(MIN_BACKOFF, initialBackoff);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.inFlightRequests = new Semaphore(Math.max(1, maxInFlightRequests));
+        this.executor = Executors.newFixedThreadPool(Math.max(1, maxInFlightRequests),
+                new CustomizableThreadFactory("bulk-request-"));
+        this.buffer = new ArrayList<>(this.bulkSize);
+    }
+
+    /**
+     * Adds a document to the current bulk and sends the bulk if it is full. Blocks if the maximum number
+     * of bulk requests is already in flight.
+     */
+    public void add(final DocWriteRequest request) {
+        if (closed) {
+            throw new IllegalStateException("Bulk indexing session is already closed.");
+        }
+        buffer.add(request);
+        if (buffer.size() >= bulkSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Sends remaining documents, waits for all in-flight bulk requests and logs a summary of the session.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            closed = true;
+            executor.shutdown();
+            awaitTermination();
+            logSummary();
+        }
+    }
+
+    private void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        final List<DocWriteRequest> bulk = buffer;
+        buffer = new ArrayList<>(bulkSize);
+        try {
+            inFlightRequests.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for in-flight bulk requests.", e);
+        }
+        executor.execute(() -> {
+            try {
+                indexBulk(bulk);
+            } finally {
+                inFlightRequests.release();
+            }
+        });
+    }
+
+    private void indexBulk(final List<DocWriteRequest> bulk) {
+        List<DocWriteRequest> pending = bulk;
+        for (int attempt = 0; !pending.isEmpty(); attempt++) {
+            if (attempt > 0 && !waitBackoff()) {
+                failedDocuments.addAndGet(pending.size());
+                return;
+            }
+            final List<DocWriteRequest> rejected = sendBulk(pending);
+            if (rejected.isEmpty()) {
+                decreaseBackoff();
+                return;
+            }
+            rejectedDocuments.addAndGet(rejected.size());
+            if (attempt >= maxRetries) {
+                log.error("Failed to insert {} document(s) into Elasticsearch after {} retries.",
+                        rejected.size(), maxRetries);
+                failedDocuments.addAndGet(rejected.size());
+                return;
+            }
+            log.warn("{} of {} document(s) were rejected by Elasticsearch, retrying in {} ms.",
+                    rejected.size(), pending.size(), increaseBackoff());
+            pending = rejected;
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private List<DocWriteRequest> sendBulk(final List<DocWriteRequest> documentRequests) {
+        final long start = System.currentTimeMillis();
+        try {
+            final BulkResponse response = elasticsearchClient.sendRequests(documentRequests);
+            return processResponse(documentRequests, response);
+        } catch (ElasticsearchException e) {
+            if (e.status() == RestStatus.TOO_MANY_REQUESTS) {
+                return documentRequests;
+            }
+            log.error("Partial error during index sync: {}.", e.getMessage());
+            failedDocuments.addAndGet(documentRequests.size());
+            return Collections.emptyList();
+        } catch (Exception e) {
+            log.error("Partial error during index sync: {}.", e.getMessage());
+            failedDocuments.addAndGet(documentRequests.size());
+            return Collections.emptyList();
+        } finally {
+            final long latency = System.currentTimeMillis() - start;
+            bulkRequests.incrementAndGet();
+            totalBulkLatency.addAndGet(latency);
+            maxBulkLatency.accumulateAndGet(latency, Math::max);
+            log.debug("Bulk request of {} document(s) took {} ms.", documentRequests.size(), latency);
+        }
+    }
+
+    private List<DocWriteRequest> processResponse(final List<DocWriteRequest> documentRequests,
+                                                  final BulkResponse response) {
+        if (response == null) {
+            log.debug("No documents were created in Elasticsearch for {} request(s).", documentRequests.size());
+            return Collections.emptyList();
+        }
+        final List<DocWriteRequest> rejected = new ArrayList<>();
+        int failed = 0;
+        for (final BulkItemResponse item : response.getItems()) {
+            if (!item.isFailed()) {
+                continue;
+            }
+            if (item.status() == RestStatus.TOO_MANY_REQUESTS) {
+                rejected.add(documentRequests.get(item.getItemId()));
+            } else {
+                failed++;
+                log.error("Error for doc {} index {}: {}.", item.getId(), item.getIndex(), item.getFailureMessage());
+            }
+        }
+        if (failed > 0) {
+            log.error("Failed to insert {} of {} document(s) into Elasticsearch.", failed, documentRequests.size());
+            failedDocuments.addAndGet(failed);
+        }
+        indexedDocuments.addAndGet(response.getItems().length - failed - rejected.size());
+        return rejected;
+    }
+
+    private long increaseBackoff() {
+        return backoff.updateAndGet(current -> Math.min(MAX_BACKOFF, Math.max(initialBackoff, current * 2)));
+    }
+
+    private void decreaseBackoff() {
+        backoff.updateAndGet(current -> current / 2 < initialBackoff ? 0 : current / 2);
+    }
+
+    private boolean waitBackoff() {
+        final long delay = Math.max(initialBackoff, backoff.get());
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Bulk request retry was interrupted.");
+            return false;
+        }
+    }
+
+    private void awaitTermination() {
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.debug("Waiting for in-flight bulk requests to complete...");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            log.warn("Interrupted while waiting for in-flight bulk requests.");
+        }
+    }
+
+    private void logSummary() {
+        final long duration = Math.max(1, System.currentTimeMillis() - startTime);
+        final long bulks = bulkRequests.get();
+        log.info("Inserted {} document(s) into Elasticsearch in {} ms ({} docs/sec): {} failed, {} rejected " +
+                        "and retried, {} bulk request(s) with average latency {} ms and max latency {} ms.",
+                indexedDocuments.get(), duration, indexedDocuments.get() * TimeUnit.SECONDS.toMillis(1) / duration,
+                failedDocuments.get(), rejectedDocuments.get(), bulks,
+                bulks == 0 ? 0 : totalBulkLatency.get() / bulks, maxBulkLatency.get());
+    }
+}
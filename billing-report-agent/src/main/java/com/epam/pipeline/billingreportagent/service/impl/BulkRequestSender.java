@@ -19,69 +19,40 @@ package com.epam.pipeline.billingreportagent.service.impl;
 import com.epam.pipeline.billingreportagent.service.ElasticsearchServiceClient;
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.ListUtils;
 import org.elasticsearch.action.DocWriteRequest;
-import org.elasticsearch.action.bulk.BulkItemResponse;
-import org.elasticsearch.action.bulk.BulkResponse;
-import org.springframework.util.ObjectUtils;
 
-import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
-@Slf4j
 @RequiredArgsConstructor
 @AllArgsConstructor
 public class BulkRequestSender {
 
     private static final int DEFAULT_BULK_SIZE = 1000;
+    private static final int DEFAULT_MAX_IN_FLIGHT_REQUESTS = 1;
+    private static final int DEFAULT_MAX_RETRIES = 5;
     private final ElasticsearchServiceClient elasticsearchClient;
 
     private int currentBulkSize = DEFAULT_BULK_SIZE;
-    private long insertTimeout = 0;
-
-    public void indexDocuments(final List<DocWriteRequest> documentRequests) {
-        indexDocuments(documentRequests, currentBulkSize);
+    private int maxInFlightRequests = DEFAULT_MAX_IN_FLIGHT_REQUESTS;
+    private long rejectionBackoff = 0;
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+
+    /**
+     * Opens a new indexing session. Documents added to the session are sent to Elasticsearch in bulks
+     * of a configured size as soon as a bulk is full. Session shall be closed to flush remaining documents
+     * and wait for the completion of all in-flight bulk requests.
+     */
+    public BulkIndexingSession openSession() {
+        return new BulkIndexingSession(elasticsearchClient, currentBulkSize, maxInFlightRequests,
+                rejectionBackoff, maxRetries);
     }
 
-    @SuppressWarnings("PMD.AvoidCatchingGenericException")
-    public void indexDocuments(final List<DocWriteRequest> documentRequests,
-                               final int bulkSize) {
+    public void indexDocuments(final List<DocWriteRequest> documentRequests) {
         if (documentRequests.isEmpty()) {
             return;
         }
-        ListUtils.partition(documentRequests, bulkSize).forEach(chunk -> {
-            try {
-                indexChunk(chunk);
-                Thread.sleep(insertTimeout);
-            } catch (Exception e) {
-                log.error("Partial error during index sync: {}.", e.getMessage());
-            }
-        });
-    }
-
-    private void indexChunk(final List<DocWriteRequest> documentRequests) {
-        final BulkResponse response = elasticsearchClient.sendRequests(documentRequests);
-        if (ObjectUtils.isEmpty(response)) {
-            log.debug("No documents were created in Elasticsearch for {} request(s).", documentRequests.size());
-            return;
-        }
-        final Map<Boolean, List<BulkItemResponse>> indexResults = Arrays.stream(response.getItems())
-                .collect(Collectors.partitioningBy(BulkItemResponse::isFailed));
-        final List<BulkItemResponse> failed = indexResults.get(true);
-        if (CollectionUtils.isNotEmpty(failed)) {
-            log.error("Failed to insert {} of {} document(s) into Elasticsearch.",
-                    failed.size(), documentRequests.size());
-            failed.forEach(item -> log.error("Error for doc {} index {}: {}.",
-                                             item.getId(), item.getIndex(), item.getFailureMessage()));
-        }
-        final List<BulkItemResponse> successful = indexResults.get(false);
-        if (CollectionUtils.isNotEmpty(successful)) {
-            log.debug("Successfully inserted {} of {} document(s) into Elasticsearch).",
-                    successful.size(), documentRequests.size());
+        try (BulkIndexingSession session = openSession()) {
+            documentRequests.forEach(session::add);
         }
     }
 }
@@ -55,6 +55,22 @@ public class ElasticIndexService {
         }
     }
 
+    /**
+     * Creates an index if it doesn't exist yet, failures are logged and not propagated.
+     *
+     * @return true if the index exists and documents may be inserted into it, false otherwise
+     */
+    public boolean tryCreateIndexIfNotExists(final String indexName, final String settingsFilePath) {
+        try {
+            log.debug("Inserting documents into index {}.", indexName);
+            createIndexIfNotExists(indexName, settingsFilePath);
+            return true;
+        } catch (ElasticClientException e) {
+            log.error("Can't create index {}!", indexName);
+            return false;
+        }
+    }
+
     private InputStream openJsonMapping(final String path) throws FileNotFoundException {
         if (path.startsWith(ResourceUtils.CLASSPATH_URL_PREFIX)) {
             final InputStream classPathResource = getClass()
@@ -33,11 +33,15 @@ import com.epam.pipeline.entity.datastorage.NFSDataStorage;
 import com.epam.pipeline.entity.datastorage.S3bucketDataStorage;
 import com.epam.pipeline.entity.user.PipelineUser;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.support.IndicesOptions;
 import org.elasticsearch.search.SearchHits;
 import org.elasticsearch.search.aggregations.AggregationBuilders;
 import org.elasticsearch.search.aggregations.metrics.sum.ParsedSum;
@@ -53,7 +57,9 @@ import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -66,6 +72,7 @@ public class StorageToBillingRequestConverter implements EntityToBillingRequestC
     private static final String SIZE_FIELD = "size";
     private static final String REGION_FIELD = "storage_region";
     private static final RoundingMode ROUNDING_MODE = RoundingMode.CEILING;
+    private static final int MULTI_SEARCH_BATCH_SIZE = 100;
 
     private final AbstractEntityMapper<StorageBillingInfo> mapper;
     private final ElasticsearchServiceClient elasticsearchService;
@@ -112,11 +119,8 @@ public class StorageToBillingRequestConverter implements EntityToBillingRequestC
         final Long storageId = storageContainer.getEntity().getId();
         final DataStorageType storageType = storageContainer.getEntity().getType();
         return requestSumAggregationForStorage(storageId, storageType)
-            .map(searchResponse -> enableStorageHistoricalBillingGeneration
-                                   ? buildRequestsForGivenPeriod(storageContainer, indexPrefix, previousSync, syncStart,
-                                                                 searchResponse)
-                                   : buildRequestsForGivenDate(storageContainer, indexPrefix, searchResponse,
-                                                               syncStart))
+            .map(searchResponse -> buildRequests(storageContainer, indexPrefix, previousSync, syncStart,
+                                                 searchResponse))
             .orElse(Collections.emptyList());
     }
 
@@ -133,28 +137,78 @@ public class StorageToBillingRequestConverter implements EntityToBillingRequestC
                 return !desiredMountType.equals(service.getMountTypeForShare(fileShareMountId));
             });
         });
-        return EntityToBillingRequestConverter.super
-            .convertEntitiesToRequests(containers, indexName, previousSync, syncStart);
+        final Map<Long, SearchResponse> searchResponses = requestSumAggregationForStorages(containers);
+        return containers.stream()
+            .map(container -> Optional.ofNullable(searchResponses.get(container.getEntity().getId()))
+                .map(searchResponse -> buildRequests(container, indexName, previousSync, syncStart,
+                                                     searchResponse))
+                .orElse(Collections.emptyList()))
+            .flatMap(Collection::stream)
+            .collect(Collectors.toList());
+    }
+
+    private List<DocWriteRequest> buildRequests(final EntityContainer<AbstractDataStorage> storageContainer,
+                                                final String indexPrefix,
+                                                final LocalDateTime previousSync,
+                                                final LocalDateTime syncStart,
+                                                final SearchResponse searchResponse) {
+        return enableStorageHistoricalBillingGeneration
+               ? buildRequestsForGivenPeriod(storageContainer, indexPrefix, previousSync, syncStart, searchResponse)
+               : buildRequestsForGivenDate(storageContainer, indexPrefix, searchResponse, syncStart);
+    }
+
+    /**
+     * Requests size aggregations for all the given storages using multi search requests of a limited size.
+     * Storage file indices which don't exist are ignored by Elasticsearch, so no separate index existence
+     * checks are required.
+     */
+    private Map<Long, SearchResponse> requestSumAggregationForStorages(
+            final List<EntityContainer<AbstractDataStorage>> containers) {
+        final Map<Long, SearchResponse> searchResponses = new HashMap<>();
+        ListUtils.partition(containers, MULTI_SEARCH_BATCH_SIZE).forEach(batch -> {
+            final MultiSearchRequest multiSearchRequest = new MultiSearchRequest();
+            batch.forEach(container -> multiSearchRequest.add(
+                buildSumAggregationRequest(container.getEntity().getId(), container.getEntity().getType())
+                    .indicesOptions(IndicesOptions.lenientExpandOpen())));
+            final MultiSearchResponse.Item[] items = elasticsearchService.multiSearch(multiSearchRequest)
+                .getResponses();
+            for (int i = 0; i < items.length; i++) {
+                final Long storageId = batch.get(i).getEntity().getId();
+                if (items[i].isFailure()) {
+                    log.warn("Failed to request size of storage {}: {}", storageId, items[i].getFailureMessage());
+                } else {
+                    searchResponses.put(storageId, items[i].getResponse());
+                }
+            }
+        });
+        return searchResponses;
     }
 
     private Optional<SearchResponse> requestSumAggregationForStorage(final Long storageId,
                                                                      final DataStorageType storageType) {
-        final String searchIndex = String.format(esFileIndexPattern,
-                                                 storageType.toString().toLowerCase(),
-                                                 DataStorageType.AZ.equals(storageType) ? "blob" : "file",
-                                                 storageId);
-        if (elasticsearchService.isIndexExists(searchIndex)) {
-            final SearchRequest searchRequest = new SearchRequest();
-            searchRequest.indices(searchIndex);
-            final SumAggregationBuilder sizeSumAgg = AggregationBuilders.sum(STORAGE_SIZE_AGG_NAME).field(SIZE_FIELD);
-            final SearchSourceBuilder sizeSumSearch = new SearchSourceBuilder().aggregation(sizeSumAgg);
-            searchRequest.source(sizeSumSearch);
-            return Optional.of(elasticsearchService.search(searchRequest));
+        if (elasticsearchService.isIndexExists(getFileIndex(storageId, storageType))) {
+            return Optional.of(elasticsearchService.search(buildSumAggregationRequest(storageId, storageType)));
         } else {
             return Optional.empty();
         }
     }
 
+    private SearchRequest buildSumAggregationRequest(final Long storageId, final DataStorageType storageType) {
+        final SearchRequest searchRequest = new SearchRequest();
+        searchRequest.indices(getFileIndex(storageId, storageType));
+        final SumAggregationBuilder sizeSumAgg = AggregationBuilders.sum(STORAGE_SIZE_AGG_NAME).field(SIZE_FIELD);
+        final SearchSourceBuilder sizeSumSearch = new SearchSourceBuilder().size(1).aggregation(sizeSumAgg);
+        searchRequest.source(sizeSumSearch);
+        return searchRequest;
+    }
+
+    private String getFileIndex(final Long storageId, final DataStorageType storageType) {
+        return String.format(esFileIndexPattern,
+                             storageType.toString().toLowerCase(),
+                             DataStorageType.AZ.equals(storageType) ? "blob" : "file",
+                             storageId);
+    }
+
     private List<DocWriteRequest> buildRequestFromAggregation(final EntityContainer<AbstractDataStorage> container,
                                                               final LocalDateTime syncStart,
                                                               final SearchResponse response,
@@ -30,6 +30,7 @@ import com.epam.pipeline.entity.pipeline.run.parameter.PipelineRunParameter;
 import com.epam.pipeline.entity.user.PipelineUser;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -38,11 +39,14 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 @Slf4j
@@ -63,46 +67,57 @@ public class PipelineRunLoader implements EntityLoader<PipelineRunWithType> {
 
     @Override
     public List<EntityContainer<PipelineRunWithType>> loadAllEntities() {
-        return loadAllEntitiesActiveInPeriod(LocalDate.ofEpochDay(0).atStartOfDay(), LocalDateTime.now());
+        return streamAllEntities().collect(Collectors.toList());
     }
 
     @Override
     public List<EntityContainer<PipelineRunWithType>> loadAllEntitiesActiveInPeriod(final LocalDateTime from,
                                                                                     final LocalDateTime to) {
-        final Map<String, EntityWithMetadata<PipelineUser>> usersWithMetadata = prepareUsers(apiClient);
-
-        final List<PipelineRun> runs = getRuns(from, to);
+        return streamAllEntitiesActiveInPeriod(from, to).collect(Collectors.toList());
+    }
 
-        final Map<Long, List<InstanceType>> regionOffers = runs.stream()
-                .map(PipelineRun::getInstance)
-                .map(RunInstance::getCloudRegionId)
-                .distinct()
-                .collect(Collectors
-                        .toMap(Function.identity(), apiClient::loadAllInstanceTypesForRegion));
+    @Override
+    public Stream<EntityContainer<PipelineRunWithType>> streamAllEntities() {
+        return streamAllEntitiesActiveInPeriod(LocalDate.ofEpochDay(0).atStartOfDay(), LocalDateTime.now());
+    }
 
-        return runs
+    /**
+     * Lazily loads runs active in the given period step by step, so that only runs of a single load step
+     * are kept in memory at once. Runs which are active during several load steps are returned only once.
+     */
+    @Override
+    public Stream<EntityContainer<PipelineRunWithType>> streamAllEntitiesActiveInPeriod(final LocalDateTime from,
+                                                                                        final LocalDateTime to) {
+        final Map<String, EntityWithMetadata<PipelineUser>> usersWithMetadata = prepareUsers(apiClient);
+        final Map<Long, List<InstanceType>> regionOffers = new HashMap<>();
+        final Set<Long> loadedRuns = new HashSet<>();
+        return getLoadSteps(from, to)
                 .stream()
+                .flatMap(step -> getRuns(step.getLeft(), step.getRight()).stream())
+                .filter(run -> loadedRuns.add(run.getId()))
                 .map(run -> EntityContainer.<PipelineRunWithType>builder()
                         .entity(new PipelineRunWithType(run, loadDisks(run), getRunType(run, regionOffers)))
                         .owner(getOwner(run, usersWithMetadata))
-                        .build())
-                .collect(Collectors.toList());
+                        .build());
     }
 
-    private List<PipelineRun> getRuns(final LocalDateTime from, final LocalDateTime to) {
+    private List<Pair<LocalDateTime, LocalDateTime>> getLoadSteps(final LocalDateTime from, final LocalDateTime to) {
         LocalDateTime start = from;
-        final List<PipelineRun> runs = new ArrayList<>();
+        final List<Pair<LocalDateTime, LocalDateTime>> steps = new ArrayList<>();
         while (start.isBefore(to)) {
             final LocalDateTime next = start.plusDays(loadStep).isAfter(to) ? to : start.plusDays(loadStep);
-            log.debug("Loading runs from {} to {}", start, next);
-            runs.addAll(
-                    ListUtils.emptyIfNull(
-                            apiClient.loadAllPipelineRunsActiveInPeriod(
-                                    DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(start),
-                                    DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(next))));
+            steps.add(Pair.of(start, next));
             start = next;
         }
-        return runs;
+        return steps;
+    }
+
+    private List<PipelineRun> getRuns(final LocalDateTime from, final LocalDateTime to) {
+        log.debug("Loading runs from {} to {}", from, to);
+        return ListUtils.emptyIfNull(
+                apiClient.loadAllPipelineRunsActiveInPeriod(
+                        DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(from),
+                        DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(to)));
     }
 
     private List<NodeDisk> loadDisks(final PipelineRun run) {
@@ -114,7 +129,8 @@ public class PipelineRunLoader implements EntityLoader<PipelineRunWithType> {
     }
 
     private ComputeType getRunType(final PipelineRun run, final Map<Long, List<InstanceType>> regionOffers) {
-        return regionOffers.get(run.getInstance().getCloudRegionId())
+        return regionOffers.computeIfAbsent(run.getInstance().getCloudRegionId(),
+                                            apiClient::loadAllInstanceTypesForRegion)
                 .stream()
                 .filter(instanceOffer -> instanceOffer.getName().equals(run.getInstance().getNodeType()))
                 .findAny()
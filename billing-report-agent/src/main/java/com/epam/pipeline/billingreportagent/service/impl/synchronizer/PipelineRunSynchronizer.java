@@ -16,27 +16,27 @@
 
 package com.epam.pipeline.billingreportagent.service.impl.synchronizer;
 
-import com.epam.pipeline.billingreportagent.exception.ElasticClientException;
 import com.epam.pipeline.billingreportagent.model.EntityContainer;
 import com.epam.pipeline.billingreportagent.model.PipelineRunWithType;
 import com.epam.pipeline.billingreportagent.service.ElasticsearchSynchronizer;
-import com.epam.pipeline.billingreportagent.service.ElasticsearchServiceClient;
 import com.epam.pipeline.billingreportagent.service.EntityLoader;
 import com.epam.pipeline.billingreportagent.service.EntityToBillingRequestConverter;
+import com.epam.pipeline.billingreportagent.service.impl.BulkIndexingSession;
 import com.epam.pipeline.billingreportagent.service.impl.BulkRequestSender;
 import com.epam.pipeline.billingreportagent.service.impl.ElasticIndexService;
 import com.epam.pipeline.billingreportagent.service.impl.converter.RunToBillingRequestConverter;
 import com.epam.pipeline.billingreportagent.service.impl.mapper.RunBillingMapper;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
 import org.elasticsearch.action.DocWriteRequest;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Data
 @Slf4j
@@ -52,9 +52,7 @@ public class PipelineRunSynchronizer implements ElasticsearchSynchronizer {
     public PipelineRunSynchronizer(final String pipelineRunIndexMappingFile,
                                    final String indexPrefix,
                                    final String pipelineRunIndexName,
-                                   final Integer bulkInsertSize,
-                                   final Long insertTimeout,
-                                   final ElasticsearchServiceClient elasticsearchServiceClient,
+                                   final BulkRequestSender requestSender,
                                    final ElasticIndexService indexService,
                                    final RunBillingMapper mapper,
                                    final EntityLoader<PipelineRunWithType> loader) {
@@ -63,40 +61,27 @@ public class PipelineRunSynchronizer implements ElasticsearchSynchronizer {
         this.indexPrefix = indexPrefix + pipelineRunIndexName;
         this.loader = loader;
         this.runToBillingRequestConverter = new RunToBillingRequestConverter(mapper);
-        this.requestSender = new BulkRequestSender(elasticsearchServiceClient, bulkInsertSize, insertTimeout);
+        this.requestSender = requestSender;
     }
 
     @Override
     public void synchronize(final LocalDateTime lastSyncTime, final LocalDateTime syncStart) {
         log.debug("Started pipeline run billing synchronization");
-        final List<EntityContainer<PipelineRunWithType>> pipelineRuns;
+        final Stream<EntityContainer<PipelineRunWithType>> pipelineRuns;
         if (lastSyncTime == null) {
-            pipelineRuns = loader.loadAllEntities();
+            pipelineRuns = loader.streamAllEntities();
         } else {
-            pipelineRuns = loader.loadAllEntitiesActiveInPeriod(lastSyncTime, syncStart);
+            pipelineRuns = loader.streamAllEntitiesActiveInPeriod(lastSyncTime, syncStart);
         }
-        if (CollectionUtils.isEmpty(pipelineRuns)) {
-            log.debug("PipelineRun entities for synchronization were not found.");
-            return;
+        final Map<String, Boolean> indices = new HashMap<>();
+        try (BulkIndexingSession session = requestSender.openSession()) {
+            pipelineRuns
+                .map(pipelineRun -> createPipelineRunBillings(pipelineRun, lastSyncTime, syncStart))
+                .flatMap(Collection::stream)
+                .filter(request -> indices.computeIfAbsent(request.index(),
+                    index -> indexService.tryCreateIndexIfNotExists(index, pipelineRunIndexMappingFile)))
+                .forEach(session::add);
         }
-        final List<DocWriteRequest> pipelineRunBillingRequests = pipelineRuns.stream()
-            .map(pipelineRun -> createPipelineRunBillings(pipelineRun, lastSyncTime, syncStart))
-            .flatMap(Collection::stream)
-            .collect(Collectors.toList());
-
-        log.info("{} document requests created", pipelineRunBillingRequests.size());
-
-        pipelineRunBillingRequests.stream()
-                .collect(Collectors.groupingBy(DocWriteRequest::index))
-                .forEach((index, docs) -> {
-                    try {
-                        log.debug("Inserting {} document(s) into index {}.", docs.size(), index);
-                        indexService.createIndexIfNotExists(index, pipelineRunIndexMappingFile);
-                        requestSender.indexDocuments(docs);
-                    } catch (ElasticClientException e) {
-                        log.error("Can't create index {}!", index);
-                    }
-                });
 
         log.debug("Successfully finished runs billing synchronization.");
     }
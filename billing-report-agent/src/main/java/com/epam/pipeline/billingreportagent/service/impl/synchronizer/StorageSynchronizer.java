@@ -16,12 +16,11 @@
 
 package com.epam.pipeline.billingreportagent.service.impl.synchronizer;
 
-import com.epam.pipeline.billingreportagent.exception.ElasticClientException;
 import com.epam.pipeline.billingreportagent.model.EntityContainer;
-import com.epam.pipeline.billingreportagent.service.ElasticsearchServiceClient;
 import com.epam.pipeline.billingreportagent.service.ElasticsearchSynchronizer;
 import com.epam.pipeline.billingreportagent.service.EntityLoader;
 import com.epam.pipeline.billingreportagent.service.EntityToBillingRequestConverter;
+import com.epam.pipeline.billingreportagent.service.impl.BulkIndexingSession;
 import com.epam.pipeline.billingreportagent.service.impl.BulkRequestSender;
 import com.epam.pipeline.billingreportagent.service.impl.ElasticIndexService;
 import com.epam.pipeline.entity.datastorage.AbstractDataStorage;
@@ -32,8 +31,9 @@ import org.elasticsearch.action.DocWriteRequest;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Data
 @Slf4j
@@ -51,9 +51,7 @@ public class StorageSynchronizer implements ElasticsearchSynchronizer {
     public StorageSynchronizer(final String storageIndexMappingFile,
                                final String indexPrefix,
                                final String storageIndexName,
-                               final Integer bulkInsertSize,
-                               final Long insertTimeout,
-                               final ElasticsearchServiceClient elasticsearchServiceClient,
+                               final BulkRequestSender requestSender,
                                final EntityLoader<AbstractDataStorage> loader,
                                final ElasticIndexService indexService,
                                final EntityToBillingRequestConverter<AbstractDataStorage> storageToBillingReqConverter,
@@ -63,7 +61,7 @@ public class StorageSynchronizer implements ElasticsearchSynchronizer {
         this.loader = loader;
         this.storageToBillingRequestConverter = storageToBillingReqConverter;
         this.indexService = indexService;
-        this.requestSender = new BulkRequestSender(elasticsearchServiceClient, bulkInsertSize, insertTimeout);
+        this.requestSender = requestSender;
         this.storageType = storageType;
     }
 
@@ -77,17 +75,13 @@ public class StorageSynchronizer implements ElasticsearchSynchronizer {
 
         log.info("{} document requests created", storageBillingRequests.size());
 
-        storageBillingRequests.stream()
-                .collect(Collectors.groupingBy(DocWriteRequest::index))
-                .forEach((index, docs) -> {
-                    try {
-                        log.debug("Inserting {} document(s) into index {}.", docs.size(), index);
-                        indexService.createIndexIfNotExists(index, storageIndexMappingFile);
-                        requestSender.indexDocuments(docs);
-                    } catch (ElasticClientException e) {
-                        log.error("Can't create index {}!", index);
-                    }
-                });
+        final Map<String, Boolean> indices = new HashMap<>();
+        try (BulkIndexingSession session = requestSender.openSession()) {
+            storageBillingRequests.stream()
+                .filter(request -> indices.computeIfAbsent(request.index(),
+                    index -> indexService.tryCreateIndexIfNotExists(index, storageIndexMappingFile)))
+                .forEach(session::add);
+        }
 
         log.debug("Successfully finished {} storage billing synchronization.", storageType);
     }
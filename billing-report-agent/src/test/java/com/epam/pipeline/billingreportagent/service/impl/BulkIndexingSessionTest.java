@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.billingreportagent.service.impl;
+
+import com.epam.pipeline.billingreportagent.service.ElasticsearchServiceClient;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+public class BulkIndexingSessionTest {
+
+    private static final String INDEX = "index";
+    private static final String TYPE = "_doc";
+    private static final int BULK_SIZE = 2;
+    private static final int MAX_IN_FLIGHT = 2;
+    private static final int MAX_RETRIES = 2;
+    private static final long BACKOFF = 1;
+
+    private final ElasticsearchServiceClient elasticsearchClient = mock(ElasticsearchServiceClient.class);
+
+    @Test
+    public void shouldSendDocumentsInBulksOfConfiguredSize() {
+        when(elasticsearchClient.sendRequests(anyList())).thenAnswer(invocation ->
+                successful(invocation.getArgument(0)));
+
+        index(requests(5));
+
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(elasticsearchClient, times(3)).sendRequests(captor.capture());
+        assertEquals(Arrays.asList(1, 2, 2), captor.getAllValues().stream()
+                .map(List::size)
+                .sorted()
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldRetryRejectedDocuments() {
+        final List<DocWriteRequest> requests = requests(BULK_SIZE);
+        when(elasticsearchClient.sendRequests(anyList()))
+                .thenAnswer(invocation -> response(invocation.getArgument(0), Collections.singletonList(1)))
+                .thenAnswer(invocation -> successful(invocation.getArgument(0)));
+
+        index(requests);
+
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(elasticsearchClient, times(2)).sendRequests(captor.capture());
+        assertEquals(requests, captor.getAllValues().get(0));
+        assertEquals(Collections.singletonList(requests.get(1)), captor.getAllValues().get(1));
+    }
+
+    @Test
+    public void shouldRetryRejectedBulkRequest() {
+        final List<DocWriteRequest> requests = requests(BULK_SIZE);
+        when(elasticsearchClient.sendRequests(anyList()))
+                .thenThrow(new ElasticsearchStatusException("rejected", RestStatus.TOO_MANY_REQUESTS))
+                .thenAnswer(invocation -> successful(invocation.getArgument(0)));
+
+        index(requests);
+
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(elasticsearchClient, times(2)).sendRequests(captor.capture());
+        assertEquals(requests, captor.getAllValues().get(1));
+    }
+
+    @Test
+    public void shouldStopRetryingAfterMaxRetries() {
+        when(elasticsearchClient.sendRequests(anyList()))
+                .thenThrow(new ElasticsearchStatusException("rejected", RestStatus.TOO_MANY_REQUESTS));
+
+        index(requests(BULK_SIZE));
+
+        verify(elasticsearchClient, times(MAX_RETRIES + 1)).sendRequests(anyList());
+    }
+
+    @Test
+    public void shouldNotRetryFailedDocuments() {
+        when(elasticsearchClient.sendRequests(anyList()))
+                .thenThrow(new ElasticsearchStatusException("failed", RestStatus.BAD_REQUEST));
+
+        index(requests(BULK_SIZE));
+
+        verify(elasticsearchClient).sendRequests(anyList());
+    }
+
+    private void index(final List<DocWriteRequest> requests) {
+        try (BulkIndexingSession session = new BulkIndexingSession(elasticsearchClient, BULK_SIZE, MAX_IN_FLIGHT,
+                BACKOFF, MAX_RETRIES)) {
+            requests.forEach(session::add);
+        }
+    }
+
+    private List<DocWriteRequest> requests(final int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new IndexRequest(INDEX, TYPE, String.valueOf(i)))
+                .collect(Collectors.toList());
+    }
+
+    private BulkResponse successful(final List<DocWriteRequest> requests) {
+        return response(requests, Collections.emptyList());
+    }
+
+    private BulkResponse response(final List<DocWriteRequest> requests, final List<Integer> rejected) {
+        final List<BulkItemResponse> items = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            final String id = requests.get(i).id();
+            items.add(rejected.contains(i)
+                    ? new BulkItemResponse(i, DocWriteRequest.OpType.INDEX, new BulkItemResponse.Failure(INDEX,
+                            TYPE, id, new EsRejectedExecutionException("rejected")))
+                    : new BulkItemResponse(i, DocWriteRequest.OpType.INDEX, new IndexResponse(
+                            new ShardId(INDEX, INDEX, 0), TYPE, id, 1, 1, 1, true)));
+        }
+        return new BulkResponse(items.toArray(new BulkItemResponse[0]), 1);
+    }
+}
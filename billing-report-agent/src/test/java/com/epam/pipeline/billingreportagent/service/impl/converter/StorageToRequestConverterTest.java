@@ -44,6 +44,7 @@ import com.epam.pipeline.entity.user.PipelineUser;
 import org.apache.commons.lang3.StringUtils;
 import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.text.Text;
@@ -71,6 +72,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -309,6 +311,31 @@ public class StorageToRequestConverterTest {
         Assert.assertEquals(0, requests.size());
     }
 
+    @Test
+    public void testStoragesConvertingWithSingleMultiSearch() throws IOException {
+        final EntityContainer<AbstractDataStorage> emptyStorageContainer =
+            getStorageContainer(STORAGE_ID + 1, STORAGE_NAME, STORAGE_NAME, DataStorageType.S3);
+        final EntityContainer<AbstractDataStorage> failedStorageContainer =
+            getStorageContainer(STORAGE_ID + 2, STORAGE_NAME, STORAGE_NAME, DataStorageType.S3);
+        final MultiSearchResponse.Item[] items = {
+            new MultiSearchResponse.Item(createSearchResponse(BYTES_IN_1_GB, false, US_EAST_1), null),
+            new MultiSearchResponse.Item(createSearchResponse(0L, true, US_EAST_1), null),
+            new MultiSearchResponse.Item(null, new IllegalStateException())
+        };
+        Mockito.when(elasticsearchClient.multiSearch(Mockito.any())).thenReturn(new MultiSearchResponse(items));
+
+        final List<DocWriteRequest> requests = s3Converter.convertEntitiesToRequests(
+            new ArrayList<>(Arrays.asList(s3StorageContainer, emptyStorageContainer, failedStorageContainer)),
+            TestUtils.STORAGE_BILLING_PREFIX, SYNC_START, SYNC_END);
+
+        Assert.assertEquals(1, requests.size());
+        Assert.assertEquals(STORAGE_ID.intValue(),
+                            ((IndexRequest) requests.get(0)).sourceAsMap().get("storage_id"));
+        Mockito.verify(elasticsearchClient).multiSearch(Mockito.any());
+        Mockito.verify(elasticsearchClient, Mockito.never()).isIndexExists(Mockito.anyString());
+        Mockito.verify(elasticsearchClient, Mockito.never()).search(Mockito.any());
+    }
+
     private void testStorageConverting(final StorageToBillingRequestConverter converter,
                                        final EntityContainer<AbstractDataStorage> storageContainer,
                                        final SearchDocumentType desiredType,
@@ -332,6 +359,14 @@ public class StorageToRequestConverterTest {
     private void createElasticsearchSearchContext(final Long storageSize,
                                                   final boolean isEmptyResponse,
                                                   final String region) throws IOException {
+        final SearchResponse response = createSearchResponse(storageSize, isEmptyResponse, region);
+        Mockito.when(elasticsearchClient.isIndexExists(Mockito.anyString())).thenReturn(true);
+        Mockito.when(elasticsearchClient.search(Mockito.any())).thenReturn(response);
+    }
+
+    private SearchResponse createSearchResponse(final Long storageSize,
+                                                final boolean isEmptyResponse,
+                                                final String region) throws IOException {
         final XContentParser parser =
             XContentType.JSON.xContent().createParser(NamedXContentRegistry.EMPTY,
                                                       DeprecationHandler.THROW_UNSUPPORTED_OPERATION,
@@ -355,8 +390,7 @@ public class StorageToRequestConverterTest {
         final SearchResponse response = Mockito.mock(SearchResponse.class);
         Mockito.when(response.getAggregations()).thenReturn(aggregations);
         Mockito.when(response.getHits()).thenReturn(hits);
-        Mockito.when(elasticsearchClient.isIndexExists(Mockito.anyString())).thenReturn(true);
-        Mockito.when(elasticsearchClient.search(Mockito.any())).thenReturn(response);
+        return response;
     }
 
     private void assertFields(final AbstractDataStorage storage, final Map<String, Object> fieldMap,
@@ -48,10 +48,12 @@ import com.epam.pipeline.entity.region.AbstractCloudRegion;
 import com.epam.pipeline.entity.region.AwsRegion;
 import com.epam.pipeline.entity.security.acl.AclClass;
 import com.epam.pipeline.entity.user.PipelineUser;
+import com.epam.pipeline.rest.PagedResult;
 import com.epam.pipeline.rest.Result;
 import com.epam.pipeline.vo.EntityPermissionVO;
 import com.epam.pipeline.vo.EntityVO;
 import com.epam.pipeline.vo.FilterNodesVO;
+import com.epam.pipeline.vo.PagingRunFilterVO;
 import com.epam.pipeline.vo.RunStatusVO;
 import com.epam.pipeline.vo.data.storage.DataStorageTagInsertBatchRequest;
 import com.epam.pipeline.vo.data.storage.DataStorageTagLoadBatchRequest;
@@ -110,6 +112,9 @@ public interface CloudPipelineAPI {
     @GET("run/{runId}/logs")
     Call<Result<List<RunLog>>> loadLogs(@Path(RUN_ID) Long runId);
 
+    @POST("run/filter")
+    Call<Result<PagedResult<List<PipelineRun>>>> filterRuns(@Body PagingRunFilterVO filterVO);
+
     @POST("metadata/load")
     Call<Result<List<MetadataEntry>>> loadFolderMetadata(@Body List<EntityVO> entities);
 
@@ -157,6 +162,9 @@ public interface CloudPipelineAPI {
     @GET("datastorage/{id}/load")
     Call<Result<AbstractDataStorage>> loadDataStorage(@Path(ID) Long storageId);
 
+    @GET("datastorage/findByPath")
+    Call<Result<AbstractDataStorage>> findDataStorageByPath(@Query(ID) String path);
+
     @PUT("datastorage/{id}/tags/batch/insert")
     Call<Result<Object>> insertDataStorageTags(@Path(ID) Long storageId,
                                                @Body DataStorageTagInsertBatchRequest request);
@@ -223,11 +231,18 @@ public interface CloudPipelineAPI {
     @GET("permissions")
     Call<Result<EntityPermissionVO>> loadEntityPermissions(@Query(ID) Long id, @Query("aclClass") AclClass aclClass);
 
+    @POST("permissions/batch")
+    Call<Result<List<EntityPermissionVO>>> loadEntitiesPermissions(@Query("aclClass") AclClass aclClass,
+                                                                   @Body List<Long> ids);
+
     @GET("pipeline/{id}/repository")
     Call<Result<List<GitRepositoryEntry>>> loadRepositoryContent(@Path(ID) Long id, @Query(VERSION) String version,
                                                                  @Query(PATH) String path);
 
     // Node methods
+    @GET("cluster/node/loadAll")
+    Call<Result<List<NodeInstance>>> loadAllNodes();
+
     @POST("cluster/node/filter")
     Call<Result<List<NodeInstance>>> findNodes(@Body FilterNodesVO filterNodesVO);
 
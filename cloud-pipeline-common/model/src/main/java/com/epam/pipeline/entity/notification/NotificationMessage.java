@@ -22,6 +22,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -34,6 +35,8 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -64,6 +67,19 @@ public class NotificationMessage {
     @Convert(converter = ParameterConverterJson.class)
     private Map<String, Object> templateParameters;
 
+    /**
+     * Number of failed attempts to send the message.
+     */
+    @Column(name = "attempts")
+    private int attempts;
+
+    /**
+     * Time before which the message is not sent again after a failed attempt.
+     */
+    @Column(name = "next_attempt")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date nextAttempt;
+
     public static class ParameterConverterJson implements AttributeConverter<Map<String, Object>, String> {
 
         private final ObjectMapper mapper = new ObjectMapper();
@@ -20,6 +20,9 @@ import com.epam.pipeline.client.pipeline.CloudPipelineAPI;
 import com.epam.pipeline.client.pipeline.CloudPipelineApiBuilder;
 import com.epam.pipeline.client.pipeline.RetryingCloudPipelineApiExecutor;
 import com.epam.pipeline.dts.transfer.model.pipeline.PipelineCredentials;
+import com.epam.pipeline.entity.datastorage.AbstractDataStorage;
+import com.epam.pipeline.entity.datastorage.DataStorageAction;
+import com.epam.pipeline.entity.datastorage.TemporaryCredentials;
 import com.epam.pipeline.entity.dts.submission.DtsRegistry;
 import com.epam.pipeline.entity.metadata.MetadataEntry;
 import com.epam.pipeline.entity.metadata.PipeConfValue;
@@ -94,6 +97,14 @@ public class CloudPipelineAPIClient {
         }
     }
 
+    public AbstractDataStorage findDataStorageByPath(final String path) {
+        return pipelineApiExecutor.execute(cloudPipelineAPI.findDataStorageByPath(path));
+    }
+
+    public TemporaryCredentials generateTemporaryCredentials(final List<DataStorageAction> actions) {
+        return pipelineApiExecutor.execute(cloudPipelineAPI.generateTemporaryCredentials(actions));
+    }
+
     public DtsRegistry deleteDtsRegistryPreferences(final String dtsId, final List<String> preferencesToRemove) {
         return pipelineApiExecutor.execute(
             cloudPipelineAPI.deleteDtsPreferences(dtsId, new DtsRegistryPreferencesRemovalVO(preferencesToRemove)));
@@ -58,6 +58,12 @@ public class CommonConfiguration {
         return new DelegatingSecurityContextExecutor(getThreadPoolTaskExecutor("LocalTask", taskPoolSize));
     }
 
+    //for parallel submissions reconciliation in SubmissionMonitor
+    @Bean
+    public Executor submissionMonitorExecutor(@Value("${task.submission.pool.size:4}") int taskPoolSize) {
+        return getThreadPoolTaskExecutor("SubmissionMonitor", taskPoolSize);
+    }
+
     //for scheduled methods (SubmissionMonitor)
     @Bean
     public TaskScheduler taskScheduler(@Value("${task.scheduled.pool.size:2}") int scheduledTasksPoolSize) {
@@ -26,4 +26,8 @@ import org.springframework.stereotype.Component;
 public class ListingPreference {
     private String listScript;
     private String listCommand;
+    /**
+     * Max number of directories which sorted listings are cached, 0 disables caching.
+     */
+    private int cacheSize;
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.listing.service.impl;
+
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded LRU cache of sorted directory entry names.
+ *
+ * Cached names are valid only while the directory modification time stays the same. Directories which were
+ * modified recently are not cached since file systems may have a coarse modification time granularity.
+ */
+public class DirectoryListingCache {
+
+    private static final long MIN_UNMODIFIED_MILLIS = 2000L;
+
+    private final Map<Path, Entry> entries;
+
+    public DirectoryListingCache(final int maxDirectories) {
+        this.entries = new LinkedHashMap<Path, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Path, Entry> eldest) {
+                return size() > maxDirectories;
+            }
+        };
+    }
+
+    public synchronized Optional<List<String>> get(final Path directory, final FileTime modified) {
+        final Entry entry = entries.get(directory);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (!entry.getModified().equals(modified)) {
+            entries.remove(directory);
+            return Optional.empty();
+        }
+        return Optional.of(entry.getNames());
+    }
+
+    public synchronized void put(final Path directory, final FileTime modified, final List<String> names) {
+        if (System.currentTimeMillis() - modified.toMillis() < MIN_UNMODIFIED_MILLIS) {
+            return;
+        }
+        entries.put(directory, new Entry(modified, names));
+    }
+
+    @Value
+    private static class Entry {
+        FileTime modified;
+        List<String> names;
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.epam.pipeline.dts.listing.service.impl;
 
+import com.epam.pipeline.dts.listing.configuration.ListingPreference;
 import com.epam.pipeline.dts.listing.exception.ForbiddenException;
 import com.epam.pipeline.dts.listing.exception.NotFoundException;
 import com.epam.pipeline.dts.listing.model.ListingItemsPaging;
@@ -23,18 +24,31 @@ import com.epam.pipeline.dts.listing.model.ListingItem;
 import com.epam.pipeline.dts.listing.model.ListingItemType;
 import com.epam.pipeline.dts.listing.rest.dto.ItemsListingRequestDTO;
 import com.epam.pipeline.dts.listing.service.ListingService;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Optional;
 
+/**
+ * Local file system listing service.
+ *
+ * Directory entries are sorted by name and paged with name based markers: a page marker is the name
+ * of the first entry of the next page. Only entries of the requested page are accessed for attributes.
+ * Sorted entry names of directories may be cached, see {@link DirectoryListingCache}.
+ */
+@Slf4j
 @Service
 @ConditionalOnProperty(value = "dts.impersonation.enabled", havingValue = "false")
 public class LocalListingService implements ListingService {
@@ -42,93 +56,113 @@ public class LocalListingService implements ListingService {
     private static final int WRITE_PERMISSION = 1 << 1;
     private static final int EXECUTE_PERMISSION = 1 << 2;
     private static final int NO_PERMISSION = 0;
-    private static final int MAX_DEPTH = 1;
+
+    private final DirectoryListingCache cache;
+
+    public LocalListingService() {
+        this.cache = null;
+    }
+
+    @Autowired
+    public LocalListingService(final ListingPreference preference) {
+        this.cache = preference.getCacheSize() > 0 ? new DirectoryListingCache(preference.getCacheSize()) : null;
+    }
 
     @Override
     public ListingItemsPaging list(ItemsListingRequestDTO request) {
-        verifyPath(request.getPath());
+        final Path path = request.getPath();
+        verifyPath(path);
         verifyPagingAttributes(request.getPageSize());
-        long offset = StringUtils.isNumeric(request.getMarker()) ? Long.parseLong(request.getMarker()) : 1;
-        Assert.isTrue(offset > 0, "Page marker must be greater than null");
-        try (Stream<Path> files = Files.walk(request.getPath(), MAX_DEPTH)) {
-            List<ListingItem> items = files
-                    .sorted()
-                    .filter(file -> doNotSkipFile(file, request.getPath()))
-                    .skip(offset - 1)
-                    .limit(normalizePageSize(request.getPageSize()))
-                    .map(file -> ListingItem.builder()
-                            .path(getRelativePath(file, request.getPath()))
-                            .type(determineListingItemType(file))
-                            .permission(buildPermissions(file))
-                            .name(file.getFileName().toString())
-                            .size(getSize(file))
-                            .changed(getLastModifiedTime(file))
-                            .build())
-                    .collect(Collectors.toList());
-            return ListingItemsPaging.builder()
-                    .results(items)
-                    .nextPageMarker(getNextPageMarker(offset, request.getPageSize(), request.getPath()))
-                    .build();
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attributes.isDirectory()) {
+                return ListingItemsPaging.builder()
+                        .results(Collections.singletonList(toListingItem(path, attributes)))
+                        .build();
+            }
+            return listDirectory(path, attributes, request.getPageSize(), request.getMarker());
         } catch (IOException e) {
             throw new IllegalArgumentException(
                     String.format("An error occurred during listing local file %s.", 
-                            request.getPath().toAbsolutePath()), e);
+                            path.toAbsolutePath()), e);
         }
     }
 
-    private void verifyPagingAttributes(Integer pageSize) {
-        Assert.isTrue(pageSize == null || pageSize > 0,
-                String.format("Invalid paging attributes: page size - %s. Page size must be grater then zero,",
-                        pageSize));
-    }
-
-    private long normalizePageSize(Integer pageSize) {
-        return pageSize == null ? Long.MAX_VALUE : pageSize;
+    private ListingItemsPaging listDirectory(final Path directory, final BasicFileAttributes attributes,
+                                             final Integer pageSize, final String marker) throws IOException {
+        final List<String> names = getSortedNames(directory, attributes);
+        final long size = normalizePageSize(pageSize);
+        final List<ListingItem> items = new ArrayList<>();
+        int index = getStartIndex(names, marker);
+        for (; index < names.size() && items.size() < size; index++) {
+            final Path file = directory.resolve(names.get(index));
+            readAttributes(file)
+                    .filter(fileAttributes -> fileAttributes.isRegularFile() || fileAttributes.isDirectory())
+                    .map(fileAttributes -> toListingItem(file, fileAttributes))
+                    .ifPresent(items::add);
+        }
+        return ListingItemsPaging.builder()
+                .results(items)
+                .nextPageMarker(pageSize != null && index < names.size() ? names.get(index) : null)
+                .build();
     }
 
-    private String getNextPageMarker(long offset, Integer pageSize, Path path) throws IOException {
-        if (pageSize == null) {
-            return null;
+    private List<String> getSortedNames(final Path directory, final BasicFileAttributes attributes)
+            throws IOException {
+        final Path key = directory.toAbsolutePath();
+        final Optional<List<String>> cached = Optional.ofNullable(cache)
+                .flatMap(it -> it.get(key, attributes.lastModifiedTime()));
+        if (cached.isPresent()) {
+            return cached.get();
         }
-        Long nextOffset = offset + pageSize;
-        try (Stream<Path> nextStream = Files.walk(path, MAX_DEPTH)) {
-            if (nextStream.skip(nextOffset).findFirst().isPresent()) {
-                return nextOffset.toString();
-            }
+        final List<String> names = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            files.forEach(file -> names.add(file.getFileName().toString()));
         }
-        return null;
+        Collections.sort(names);
+        final List<String> sortedNames = Collections.unmodifiableList(names);
+        if (cache != null) {
+            cache.put(key, attributes.lastModifiedTime(), sortedNames);
+        }
+        return sortedNames;
     }
 
-    private String getRelativePath(Path path, Path rootPath) {
-        return Files.isDirectory(rootPath)
-                ? rootPath.relativize(path).toString()
-                : rootPath.getFileName().toString();
+    private int getStartIndex(final List<String> names, final String marker) {
+        if (StringUtils.isEmpty(marker)) {
+            return 0;
+        }
+        final int index = Collections.binarySearch(names, marker);
+        return index >= 0 ? index : -index - 1;
     }
 
-    private Long getSize(Path path) {
+    private Optional<BasicFileAttributes> readAttributes(final Path file) {
         try {
-            return !Files.isDirectory(path) ? Files.size(path) : null;
+            return Optional.of(Files.readAttributes(file, BasicFileAttributes.class));
         } catch (IOException e) {
-            throw new IllegalArgumentException(String.format("Cannot get size for file %s.", path.toAbsolutePath()));
+            log.debug("Skipping file {} which attributes cannot be read: {}", file, e.getMessage());
+            return Optional.empty();
         }
     }
 
-    private String getLastModifiedTime(Path path) {
-        try {
-            return !Files.isDirectory(path) ? Files.getLastModifiedTime(path).toString() : null;
-        } catch (IOException e) {
-            throw new IllegalArgumentException(String.format("Cannot get last modified time for file %s.",
-                    path.toAbsolutePath()));
-        }
+    private ListingItem toListingItem(final Path file, final BasicFileAttributes attributes) {
+        return ListingItem.builder()
+                .path(file.getFileName().toString())
+                .type(attributes.isDirectory() ? ListingItemType.Folder : ListingItemType.File)
+                .permission(buildPermissions(file))
+                .name(file.getFileName().toString())
+                .size(attributes.isDirectory() ? null : attributes.size())
+                .changed(attributes.isDirectory() ? null : attributes.lastModifiedTime().toString())
+                .build();
     }
 
-    private static boolean doNotSkipFile(Path path, Path rootPath) {
-        return Files.isRegularFile(path)
-                || Files.isDirectory(path) && !path.toAbsolutePath().equals(rootPath.toAbsolutePath());
+    private void verifyPagingAttributes(Integer pageSize) {
+        Assert.isTrue(pageSize == null || pageSize > 0,
+                String.format("Invalid paging attributes: page size - %s. Page size must be grater then zero,",
+                        pageSize));
     }
 
-    private ListingItemType determineListingItemType(Path path) {
-        return Files.isDirectory(path) ? ListingItemType.Folder : ListingItemType.File;
+    private long normalizePageSize(Integer pageSize) {
+        return pageSize == null ? Long.MAX_VALUE : pageSize;
     }
 
     private void verifyPath(Path path) {
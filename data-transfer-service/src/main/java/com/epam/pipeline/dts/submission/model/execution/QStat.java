@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.submission.model.execution;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import java.util.List;
+
+/**
+ * Output of qstat -xml command which lists both running (queue_info) and pending (job_info) jobs.
+ */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@XmlRootElement(name = "job_info")
+public class QStat {
+
+    @JacksonXmlProperty(localName = "queue_info")
+    private JobList runningJobs;
+
+    @JacksonXmlProperty(localName = "job_info")
+    private JobList pendingJobs;
+
+    @Data
+    @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class JobList {
+        @JacksonXmlProperty(localName = "job_list")
+        @JacksonXmlElementWrapper(useWrapping = false)
+        private List<Job> jobs;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Job {
+        @JacksonXmlProperty(localName = "JB_job_number")
+        private String jobNumber;
+        @JacksonXmlProperty(localName = "state")
+        private String state;
+        @JacksonXmlProperty(localName = "queue_name")
+        private String queueName;
+    }
+}
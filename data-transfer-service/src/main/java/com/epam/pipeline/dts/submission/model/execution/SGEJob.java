@@ -29,4 +29,5 @@ public class SGEJob {
 
     private String jobId;
     private String host;
+    private String state;
 }
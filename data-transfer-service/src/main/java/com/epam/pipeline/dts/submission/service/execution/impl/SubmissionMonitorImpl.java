@@ -27,14 +27,28 @@ import com.epam.pipeline.dts.submission.service.execution.SubmissionScheduler;
 import com.epam.pipeline.dts.submission.service.execution.SubmissionService;
 import com.epam.pipeline.dts.submission.service.pipeline.CloudPipelineService;
 import com.epam.pipeline.dts.submission.service.sge.SGEService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Reconciles active submissions with their SGE jobs.
+ *
+ * If jobs listing command is configured then all SGE jobs are loaded with a single qstat call per check,
+ * otherwise each job without an execution host is described separately. Submissions are reconciled
+ * in parallel using a bounded executor.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class SubmissionMonitorImpl implements SubmissionMonitor {
 
@@ -42,36 +56,76 @@ public class SubmissionMonitorImpl implements SubmissionMonitor {
     private final SubmissionScheduler submissionScheduler;
     private final CloudPipelineService pipelineService;
     private final SGEService sgeService;
+    private final Executor executor;
+    private final boolean listJobs;
+
+    public SubmissionMonitorImpl(final SubmissionService submissionService,
+                                 final SubmissionScheduler submissionScheduler,
+                                 final CloudPipelineService pipelineService,
+                                 final SGEService sgeService,
+                                 final @Qualifier("submissionMonitorExecutor") Executor executor,
+                                 final @Value("${dts.submission.qstat.list.cmd:}") String qstatListCmd) {
+        this.submissionService = submissionService;
+        this.submissionScheduler = submissionScheduler;
+        this.pipelineService = pipelineService;
+        this.sgeService = sgeService;
+        this.executor = executor;
+        this.listJobs = StringUtils.isNotBlank(qstatListCmd);
+    }
 
     @Override
     @Scheduled(fixedDelayString = "${dts.submission.statusPoll:60000}")
     public void checkSubmissions() {
         log.debug("Starting submissions status check");
-        submissionService
-                .loadActive()
-                .forEach(this::checkSubmissionState);
+        final Collection<Submission> submissions = submissionService.loadActive();
+        if (CollectionUtils.isNotEmpty(submissions)) {
+            final Map<String, SGEJob> jobs = loadJobs(submissions);
+            final CompletableFuture<?>[] checks = submissions.stream()
+                    .map(submission -> CompletableFuture.runAsync(() -> checkSubmissionState(submission, jobs),
+                            executor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(checks).join();
+        }
         log.debug("Finished submissions status check");
     }
 
+    /**
+     * Returns all SGE jobs by their ids or null if jobs shall be described separately.
+     */
+    private Map<String, SGEJob> loadJobs(final Collection<Submission> submissions) {
+        if (!listJobs || submissions.stream().noneMatch(this::isHostRequired)) {
+            return null;
+        }
+        try {
+            final Map<String, SGEJob> jobs = sgeService.getJobs();
+            log.debug("Retrieved {} SGE jobs", jobs.size());
+            return jobs;
+        } catch (SGECmdException e) {
+            log.error("An error occurred during SGE jobs listing: {}", e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
     @SuppressWarnings("PMD.AvoidCatchingGenericException")
-    private void checkSubmissionState(final Submission submission) {
+    private void checkSubmissionState(final Submission submission, final Map<String, SGEJob> jobs) {
         final Long submissionId = submission.getId();
         try {
-            getAndUpdateState(submission, submissionId);
+            getAndUpdateState(submission, submissionId, jobs);
         } catch (Exception e) {
             log.error("An error occurred during submission {} status check: {}",
                      submissionId, e.getMessage());
         }
     }
 
-    private void getAndUpdateState(final Submission submission, final Long submissionId) {
+    private void getAndUpdateState(final Submission submission, final Long submissionId,
+                                   final Map<String, SGEJob> jobs) {
         try {
             final SubmissionState state = submissionScheduler.getState(submissionId);
             log.debug("Submission {} in state {}", submissionId, state);
             if (state.isFinal()) {
                 completeSubmission(submission, state);
-            } else if (StringUtils.isBlank(submission.getSubmissionHost())) {
-                checkSubmissionHost(submission);
+            } else if (isHostRequired(submission)) {
+                checkSubmissionHost(submission, jobs);
             }
         } catch (SubmissionException e) {
             log.error("Failed to get submission {} state: {}", submissionId, e.getMessage());
@@ -82,7 +136,11 @@ public class SubmissionMonitorImpl implements SubmissionMonitor {
         }
     }
 
-    private void checkSubmissionHost(final Submission submission) {
+    private boolean isHostRequired(final Submission submission) {
+        return StringUtils.isBlank(submission.getSubmissionHost());
+    }
+
+    private void checkSubmissionHost(final Submission submission, final Map<String, SGEJob> jobs) {
         log.debug("Checking if submission {} is scheduled to some host", submission.getId());
         if (StringUtils.isBlank(submission.getJobId())) {
             log.error("SGE job id is missing for submission {}. Cannot get execution host.",
@@ -90,8 +148,10 @@ public class SubmissionMonitorImpl implements SubmissionMonitor {
             return;
         }
         try {
-            SGEJob jobInfo = sgeService.getJobInfo(submission.getJobId());
-            if (StringUtils.isNotBlank(jobInfo.getHost())) {
+            SGEJob jobInfo = jobs == null
+                    ? sgeService.getJobInfo(submission.getJobId())
+                    : jobs.get(submission.getJobId().trim());
+            if (jobInfo != null && StringUtils.isNotBlank(jobInfo.getHost())) {
                 log.debug("Retrieved hostname {} for submission {}", jobInfo.getHost(), submission.getId());
                 submission.setSubmissionHost(jobInfo.getHost());
                 submissionService.update(submission);
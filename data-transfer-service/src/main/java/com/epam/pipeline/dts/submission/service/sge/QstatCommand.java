@@ -19,7 +19,14 @@ package com.epam.pipeline.dts.submission.service.sge;
 import com.epam.pipeline.dts.submission.exception.SGECmdException;
 import com.epam.pipeline.dts.submission.model.execution.SGEJob;
 
+import java.util.List;
+
 public interface QstatCommand {
 
     SGEJob describeSGEJob(String jobId) throws SGECmdException;
+
+    /**
+     * Lists all running and pending jobs with a single qstat call.
+     */
+    List<SGEJob> listSGEJobs() throws SGECmdException;
 }
@@ -20,9 +20,16 @@ import com.epam.pipeline.dts.submission.exception.SGECmdException;
 import com.epam.pipeline.dts.submission.model.cluster.QHosts;
 import com.epam.pipeline.dts.submission.model.execution.SGEJob;
 
+import java.util.Map;
+
 public interface SGEService {
 
     QHosts getHosts() throws SGECmdException;
     SGEJob getJobInfo(String jobId) throws SGECmdException;
+
+    /**
+     * Loads all SGE jobs by their ids with a single call.
+     */
+    Map<String, SGEJob> getJobs() throws SGECmdException;
     void stopJob(String jobId) throws SGECmdException;
 }
@@ -18,31 +18,52 @@ package com.epam.pipeline.dts.submission.service.sge.impl;
 
 import com.epam.pipeline.cmd.CmdExecutor;
 import com.epam.pipeline.dts.submission.exception.SGECmdException;
+import com.epam.pipeline.dts.submission.model.execution.QStat;
 import com.epam.pipeline.dts.submission.model.execution.SGEJob;
 import com.epam.pipeline.dts.submission.service.sge.CmdUtils;
 import com.epam.pipeline.dts.submission.service.sge.QstatCommand;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 @Slf4j
 public class QstatSGECommand implements QstatCommand {
 
     private static final String HOST_NODE = "JG_qhostname";
+    private static final String QUEUE_HOST_DELIMITER = "@";
     private final String qstatCmd;
+    private final String qstatListCmd;
     private final CmdExecutor cmdExecutor;
+    private final XmlMapper mapper;
 
+    public QstatSGECommand(final CmdExecutor submissionCmdExecutor, final String qstatCmd) {
+        this(submissionCmdExecutor, qstatCmd, null);
+    }
+
+    @Autowired
     public QstatSGECommand(final CmdExecutor submissionCmdExecutor,
-                           final @Value("${dts.submission.qstat.cmd}") String qstatCmd) {
+                           final @Value("${dts.submission.qstat.cmd}") String qstatCmd,
+                           final @Value("${dts.submission.qstat.list.cmd:}") String qstatListCmd) {
         this.cmdExecutor = submissionCmdExecutor;
         this.qstatCmd = qstatCmd;
+        this.qstatListCmd = qstatListCmd;
+        this.mapper = new XmlMapper();
+        this.mapper.enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
     }
 
     @Override
@@ -53,6 +74,35 @@ public class QstatSGECommand implements QstatCommand {
         return readJobInfo(rawOutput, jobId);
     }
 
+    @Override
+    public List<SGEJob> listSGEJobs() throws SGECmdException {
+        Assert.state(StringUtils.isNotBlank(qstatListCmd), "SGE jobs listing command is not configured");
+        final String rawOutput = CmdUtils.getCmdXmlOutput(qstatListCmd, "qstat", cmdExecutor);
+        if (StringUtils.isBlank(rawOutput)) {
+            return Collections.emptyList();
+        }
+        try {
+            final QStat qstat = mapper.readValue(rawOutput, QStat.class);
+            return Stream.of(qstat.getRunningJobs(), qstat.getPendingJobs())
+                    .filter(Objects::nonNull)
+                    .flatMap(jobs -> ListUtils.emptyIfNull(jobs.getJobs()).stream())
+                    .filter(job -> StringUtils.isNotBlank(job.getJobNumber()))
+                    .map(job -> SGEJob.builder()
+                            .jobId(job.getJobNumber().trim())
+                            .host(getHost(job.getQueueName()))
+                            .state(StringUtils.trim(job.getState()))
+                            .build())
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.error("Failed to parse qstat output '{}': {}", rawOutput, e.getMessage());
+            throw new SGECmdException(e.getMessage(), e);
+        }
+    }
+
+    private String getHost(final String queueName) {
+        return StringUtils.trimToNull(StringUtils.substringAfter(queueName, QUEUE_HOST_DELIMITER));
+    }
+
     private SGEJob readJobInfo(final String rawOutput, final String jobId) {
         SGEJob.SGEJobBuilder builder = SGEJob.builder().jobId(jobId);
         if (StringUtils.isBlank(rawOutput)) {
@@ -30,6 +30,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -61,6 +63,12 @@ public class SGEServiceImpl implements SGEService {
         return qstatCommand.describeSGEJob(jobId);
     }
 
+    @Override
+    public Map<String, SGEJob> getJobs() throws SGECmdException {
+        return qstatCommand.listSGEJobs().stream()
+                .collect(Collectors.toMap(SGEJob::getJobId, Function.identity(), (job1, job2) -> job1));
+    }
+
     @Override
     public void stopJob(final String jobId) throws SGECmdException {
         qdelCommand.stopSGEJob(jobId);
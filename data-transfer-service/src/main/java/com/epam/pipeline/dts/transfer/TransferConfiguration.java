@@ -23,16 +23,22 @@ import com.epam.pipeline.dts.transfer.service.CmdExecutorsProvider;
 import com.epam.pipeline.dts.transfer.service.DataUploader;
 import com.epam.pipeline.dts.transfer.service.DataUploaderProvider;
 import com.epam.pipeline.dts.transfer.service.DataUploaderProviderManager;
+import com.epam.pipeline.dts.transfer.service.ObjectStorageClient;
 import com.epam.pipeline.dts.transfer.service.PipelineCliProvider;
 import com.epam.pipeline.dts.transfer.service.TaskService;
 import com.epam.pipeline.dts.transfer.service.TransferService;
 import com.epam.pipeline.dts.transfer.service.impl.AzureDataUploader;
+import com.epam.pipeline.dts.transfer.service.impl.AzureObjectStorageClient;
+import com.epam.pipeline.dts.transfer.service.impl.ChunkedTransferEngine;
 import com.epam.pipeline.dts.transfer.service.impl.CmdExecutorsProviderImpl;
 import com.epam.pipeline.dts.transfer.service.impl.DataUploaderProviderImpl;
 import com.epam.pipeline.dts.transfer.service.impl.GSDataUploader;
+import com.epam.pipeline.dts.transfer.service.impl.GSObjectStorageClient;
 import com.epam.pipeline.dts.transfer.service.impl.ImpersonatingTransferServiceImpl;
 import com.epam.pipeline.dts.transfer.service.impl.PipelineCliProviderImpl;
 import com.epam.pipeline.dts.transfer.service.impl.S3DataUploader;
+import com.epam.pipeline.dts.transfer.service.impl.S3ObjectStorageClient;
+import com.epam.pipeline.dts.transfer.service.impl.StorageCredentialsProvider;
 import com.epam.pipeline.dts.transfer.service.impl.TransferServiceImpl;
 import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -46,9 +52,11 @@ import org.springframework.context.annotation.FilterType;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.stereotype.Controller;
 
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -88,19 +96,63 @@ public class TransferConfiguration {
         return new CmdExecutorsProviderImpl();
     }
 
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(value = "dts.transfer.native.enabled", havingValue = "true")
+    public ChunkedTransferEngine chunkedTransferEngine(final TaskService taskService,
+                                                       @Value("${dts.transfer.native.part.size:67108864}")
+                                                           final long partSize,
+                                                       @Value("${dts.transfer.native.threads:8}") final int threads,
+                                                       @Value("${dts.transfer.native.checkpoint.interval:5000}")
+                                                           final long checkpointInterval) {
+        return new ChunkedTransferEngine(taskService, partSize, threads, checkpointInterval);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "dts.transfer.native.enabled", havingValue = "true")
+    public StorageCredentialsProvider storageCredentialsProvider() {
+        return new StorageCredentialsProvider();
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "dts.transfer.native.enabled", havingValue = "true")
+    public ObjectStorageClient s3ObjectStorageClient(final StorageCredentialsProvider credentialsProvider) {
+        return new S3ObjectStorageClient(credentialsProvider);
+    }
+
     @Bean
-    public DataUploader s3DataUploader(final PipelineCliProvider pipelineCliProvider) {
-        return new S3DataUploader(pipelineCliProvider);
+    @ConditionalOnProperty(value = "dts.transfer.native.enabled", havingValue = "true")
+    public ObjectStorageClient gsObjectStorageClient(final StorageCredentialsProvider credentialsProvider) {
+        return new GSObjectStorageClient(credentialsProvider);
     }
 
     @Bean
-    public DataUploader azureDataUploader(final PipelineCliProvider pipelineCliProvider) {
-        return new AzureDataUploader(pipelineCliProvider);
+    @ConditionalOnProperty(value = "dts.transfer.native.enabled", havingValue = "true")
+    public ObjectStorageClient azureObjectStorageClient(final StorageCredentialsProvider credentialsProvider) {
+        return new AzureObjectStorageClient(credentialsProvider);
+    }
+
+    @Bean
+    public DataUploader s3DataUploader(final PipelineCliProvider pipelineCliProvider,
+                                       final Optional<ChunkedTransferEngine> transferEngine,
+                                       final Optional<List<ObjectStorageClient>> storageClients) {
+        return new S3DataUploader(pipelineCliProvider, transferEngine.orElse(null),
+                findStorageClient(StorageType.S3, storageClients));
+    }
+
+    @Bean
+    public DataUploader azureDataUploader(final PipelineCliProvider pipelineCliProvider,
+                                          final Optional<ChunkedTransferEngine> transferEngine,
+                                          final Optional<List<ObjectStorageClient>> storageClients) {
+        return new AzureDataUploader(pipelineCliProvider, transferEngine.orElse(null),
+                findStorageClient(StorageType.AZ, storageClients));
     }
     
     @Bean
-    public DataUploader gsDataUploader(final PipelineCliProvider pipelineCliProvider) {
-        return new GSDataUploader(pipelineCliProvider);
+    public DataUploader gsDataUploader(final PipelineCliProvider pipelineCliProvider,
+                                       final Optional<ChunkedTransferEngine> transferEngine,
+                                       final Optional<List<ObjectStorageClient>> storageClients) {
+        return new GSDataUploader(pipelineCliProvider, transferEngine.orElse(null),
+                findStorageClient(StorageType.GS, storageClients));
     }
 
     @Bean
@@ -128,4 +180,12 @@ public class TransferConfiguration {
         final @Qualifier("autonomousDataUploaderProviderManager") DataUploaderProviderManager providerManager) {
         return new TransferServiceImpl(taskService, providerManager);
     }
+
+    private ObjectStorageClient findStorageClient(final StorageType type,
+                                                  final Optional<List<ObjectStorageClient>> storageClients) {
+        return storageClients.orElseGet(Collections::emptyList).stream()
+                .filter(client -> client.getStorageType() == type)
+                .findFirst()
+                .orElse(null);
+    }
 }
@@ -29,6 +29,6 @@ public class StartupApplicationListener {
 
     @EventListener
     public void onApplicationEvent(ContextRefreshedEvent event) {
-        transferService.failRunningTasks();
+        transferService.recoverRunningTasks();
     }
 }
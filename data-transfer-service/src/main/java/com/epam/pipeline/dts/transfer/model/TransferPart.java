@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+/**
+ * Checkpoint of a transferred part of a single storage object.
+ *
+ * The path is a path of the uploaded storage object or a path of the downloaded storage object,
+ * so the completed parts can be skipped when an interrupted task is resumed. A part with number
+ * {@link #COMPLETED_PART_NUMBER} marks a storage object which is transferred completely and replaces
+ * all other parts of the object.
+ *
+ * Parts are stored separately from tasks, so each checkpoint inserts only the newly transferred parts.
+ */
+@Data
+@Builder
+@Entity
+@Table(indexes = @Index(columnList = "taskId"))
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferPart {
+
+    public static final int COMPLETED_PART_NUMBER = 0;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+    private Long taskId;
+    @Column(length = Integer.MAX_VALUE)
+    private String path;
+    @Column(name = "part_number")
+    private Integer number;
+    @Column(name = "part_offset")
+    private Long offset;
+    @Column(name = "part_length")
+    private Long length;
+    private String uploadId;
+    private String tag;
+}
@@ -32,6 +32,7 @@ import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Transient;
 import javax.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -72,4 +73,9 @@ public class TransferTask {
     @ElementCollection
     private List<String> included;
     private String user;
+
+    @Embedded
+    private TransferProgress progress;
+    @Transient
+    private List<TransferPart> parts;
 }
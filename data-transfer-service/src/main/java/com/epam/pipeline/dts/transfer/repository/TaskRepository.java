@@ -18,11 +18,30 @@ package com.epam.pipeline.dts.transfer.repository;
 
 import com.epam.pipeline.dts.transfer.model.TaskStatus;
 import com.epam.pipeline.dts.transfer.model.TransferTask;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface TaskRepository extends PagingAndSortingRepository<TransferTask, Long> {
 
     List<TransferTask> findAllByStatus(TaskStatus status);
+
+    /**
+     * Updates transfer progress of a task without overwriting any other task columns.
+     */
+    @Modifying
+    @Query("update TransferTask t set "
+            + "t.progress.totalBytes = :totalBytes, "
+            + "t.progress.transferredBytes = :transferredBytes, "
+            + "t.progress.bytesPerSecond = :bytesPerSecond, "
+            + "t.progress.etaSeconds = :etaSeconds "
+            + "where t.id = :id")
+    int updateProgress(@Param("id") Long id,
+                       @Param("totalBytes") Long totalBytes,
+                       @Param("transferredBytes") Long transferredBytes,
+                       @Param("bytesPerSecond") Long bytesPerSecond,
+                       @Param("etaSeconds") Long etaSeconds);
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.repository;
+
+import com.epam.pipeline.dts.transfer.model.TransferPart;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TransferPartRepository extends CrudRepository<TransferPart, Long> {
+
+    List<TransferPart> findAllByTaskId(Long taskId);
+
+    @Modifying
+    @Query("delete from TransferPart p where p.taskId = :taskId")
+    void deleteAllByTaskId(@Param("taskId") Long taskId);
+
+    @Modifying
+    @Query("delete from TransferPart p where p.taskId = :taskId and p.path in :paths")
+    void deleteAllByTaskIdAndPathIn(@Param("taskId") Long taskId, @Param("paths") Collection<String> paths);
+}
@@ -74,6 +74,19 @@ public class TransferController extends AbstractRestController {
         return Result.success(taskMapper.modelToDto(task));
     }
 
+    @PostMapping(path = "/{taskId}/resume")
+    @ApiOperation(
+            value = "Resumes a failed or stopped transfer task.",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Result<TransferDTO> resumeTask(@PathVariable Long taskId,
+                                          @RequestBody TaskCreationDTO taskCreationDTO) {
+        TransferTask task = transferService.resumeTransferTask(taskId,
+                storageItemMapper.dtoToModel(taskCreationDTO.getSource()),
+                storageItemMapper.dtoToModel(taskCreationDTO.getDestination()),
+                taskCreationDTO.getIncluded());
+        return Result.success(taskMapper.modelToDto(task));
+    }
+
     @PutMapping(path = "/{taskId}")
     @ApiOperation(
             value = "Updates status of existing task.",
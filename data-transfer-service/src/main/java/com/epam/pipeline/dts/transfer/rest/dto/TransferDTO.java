@@ -17,6 +17,7 @@
 package com.epam.pipeline.dts.transfer.rest.dto;
 
 import com.epam.pipeline.dts.transfer.model.TaskStatus;
+import com.epam.pipeline.dts.transfer.model.TransferProgress;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -37,5 +38,6 @@ public class TransferDTO {
     private LocalDateTime finished;
     private List<String> included;
     private String user;
+    private TransferProgress progress;
 
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service;
+
+import com.epam.pipeline.dts.transfer.model.StorageObject;
+import com.epam.pipeline.dts.transfer.model.StorageType;
+import com.epam.pipeline.dts.transfer.model.TransferPart;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Object storage operations which are required by
+ * {@link com.epam.pipeline.dts.transfer.service.impl.ChunkedTransferEngine}.
+ *
+ * All paths are full storage paths including a storage scheme, e.g. s3://bucket/path/to/file.
+ * Credentials are the raw credentials of the transferred storage item.
+ */
+public interface ObjectStorageClient {
+
+    StorageType getStorageType();
+
+    /**
+     * Lists all objects under the given path recursively. If the path is a path of a single object
+     * then only this object is returned.
+     */
+    List<StorageObject> listObjects(String path, String credentials);
+
+    InputStream readObject(String path, long offset, long length, String credentials);
+
+    void putObject(String path, InputStream data, long length, String credentials);
+
+    /**
+     * Starts a multipart upload and returns its id.
+     */
+    String startUpload(String path, String credentials);
+
+    /**
+     * Uploads a single part of a multipart upload and returns a tag which is required to complete the upload.
+     */
+    String uploadPart(String path, String uploadId, TransferPart part, InputStream data, String credentials);
+
+    void completeUpload(String path, String uploadId, List<TransferPart> parts, String credentials);
+}
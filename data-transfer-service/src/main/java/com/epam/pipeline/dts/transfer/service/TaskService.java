@@ -18,6 +18,8 @@ package com.epam.pipeline.dts.transfer.service;
 
 import com.epam.pipeline.dts.transfer.model.StorageItem;
 import com.epam.pipeline.dts.transfer.model.TaskStatus;
+import com.epam.pipeline.dts.transfer.model.TransferPart;
+import com.epam.pipeline.dts.transfer.model.TransferProgress;
 import com.epam.pipeline.dts.transfer.model.TransferTask;
 
 import java.util.Collections;
@@ -37,6 +39,16 @@ public interface TaskService {
     TransferTask updateStatus(Long id, TaskStatus status);
     TransferTask updateStatus(Long id, TaskStatus status, String reason);
     TransferTask updateTask(TransferTask transferTask);
+
+    /**
+     * Updates task progress and stores the given newly transferred parts. A completed part of a storage object
+     * replaces all previously stored parts of the object.
+     */
+    void updateProgress(Long id, TransferProgress progress, List<TransferPart> parts);
+
+    List<TransferPart> loadParts(Long id);
+    TransferTask resumeTask(Long id, StorageItem source, StorageItem destination, List<String> included);
+
     void deleteTask(Long id);
     TransferTask loadTask(Long id);
     List<TransferTask> loadRunningTasks();
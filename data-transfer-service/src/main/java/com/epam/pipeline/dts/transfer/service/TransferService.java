@@ -27,6 +27,21 @@ public interface TransferService {
     TransferTask runTransferTask(@NonNull StorageItem source,
                                  @NonNull StorageItem destination,
                                  List<String> included);
-    
-    void failRunningTasks();
+
+
+    /**
+     * Resumes a failed or stopped task. Already transferred parts of the task are not transferred again.
+     * Source and destination must be the same as the ones of the task, since credentials are not stored.
+     */
+    TransferTask resumeTransferTask(@NonNull Long id,
+                                    @NonNull StorageItem source,
+                                    @NonNull StorageItem destination,
+                                    List<String> included);
+
+    /**
+     * Fails running tasks which were interrupted by a service restart. Since credentials are not stored,
+     * tasks with transferred parts are not resumed automatically, they can be resumed by a user
+     * with {@link #resumeTransferTask(Long, StorageItem, StorageItem, List)}.
+     */
+    void recoverRunningTasks();
 }
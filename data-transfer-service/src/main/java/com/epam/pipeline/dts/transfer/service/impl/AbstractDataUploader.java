@@ -31,13 +31,23 @@ public abstract class AbstractDataUploader implements DataUploader {
         final StorageItem destination = transferTask.getDestination();
         if (source.getType() == StorageType.LOCAL) {
             checkStoragePath(destination.getPath());
-            upload(source, destination, transferTask.getIncluded(), transferTask.getUser());
+            upload(transferTask);
         } else {
             checkStoragePath(source.getPath());
-            download(source, destination, transferTask.getIncluded(), transferTask.getUser());
+            download(transferTask);
         }
     }
 
+    protected void upload(final TransferTask transferTask) {
+        upload(transferTask.getSource(), transferTask.getDestination(), transferTask.getIncluded(),
+                transferTask.getUser());
+    }
+
+    protected void download(final TransferTask transferTask) {
+        download(transferTask.getSource(), transferTask.getDestination(), transferTask.getIncluded(),
+                transferTask.getUser());
+    }
+
     private void checkStoragePath(final String path) {
         final String expectedPathPrefix = getFilesPathPrefix();
         Assert.state(path.startsWith(expectedPathPrefix),
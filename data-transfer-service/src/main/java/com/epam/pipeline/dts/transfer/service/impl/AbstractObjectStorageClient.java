@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service.impl;
+
+import com.epam.pipeline.dts.transfer.service.ObjectStorageClient;
+import com.epam.pipeline.dts.transfer.service.impl.StorageCredentialsProvider.AccessMode;
+import com.epam.pipeline.entity.datastorage.TemporaryCredentials;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.util.Assert;
+
+/**
+ * Base class of cloud object storage clients which access storages with temporary credentials
+ * resolved by {@link StorageCredentialsProvider}.
+ */
+@RequiredArgsConstructor
+public abstract class AbstractObjectStorageClient implements ObjectStorageClient {
+
+    protected static final String DELIMITER = "/";
+
+    private final StorageCredentialsProvider credentialsProvider;
+
+    /**
+     * @return storage path scheme, e.g. s3://
+     */
+    protected abstract String getPrefix();
+
+    protected StoragePath parse(final String path) {
+        Assert.isTrue(StringUtils.startsWithIgnoreCase(path, getPrefix()),
+                String.format("Storage path %s should start with %s.", path, getPrefix()));
+        final String pathWithoutPrefix = path.substring(getPrefix().length());
+        return new StoragePath(StringUtils.substringBefore(pathWithoutPrefix, DELIMITER),
+                StringUtils.substringAfter(pathWithoutPrefix, DELIMITER));
+    }
+
+    protected String toPath(final String bucket, final String key) {
+        return getPrefix() + bucket + DELIMITER + key;
+    }
+
+    protected TemporaryCredentials getCredentials(final StoragePath path, final String credentials,
+                                                  final AccessMode mode) {
+        return credentialsProvider.getCredentials(
+                StringUtils.removeEnd(path.getBucket() + DELIMITER + path.getKey(), DELIMITER), credentials, mode);
+    }
+
+    /**
+     * Checks if a listed object key is either the listed path itself or one of the objects under it.
+     * Listing by prefix also returns objects which keys only start with the same characters.
+     */
+    protected boolean isListed(final StoragePath path, final String objectKey) {
+        final String key = StringUtils.removeEnd(path.getKey(), DELIMITER);
+        return StringUtils.isEmpty(key) || objectKey.equals(key) || objectKey.startsWith(key + DELIMITER);
+    }
+
+    @Value
+    protected static class StoragePath {
+        String bucket;
+        String key;
+    }
+}
@@ -19,16 +19,56 @@ package com.epam.pipeline.dts.transfer.service.impl;
 
 import com.epam.pipeline.cmd.PipelineCLI;
 import com.epam.pipeline.dts.transfer.model.StorageItem;
+import com.epam.pipeline.dts.transfer.model.TransferTask;
 import com.epam.pipeline.dts.transfer.model.pipeline.PipelineCredentials;
+import com.epam.pipeline.dts.transfer.service.ObjectStorageClient;
 import com.epam.pipeline.dts.transfer.service.PipelineCliProvider;
-import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
 
 import java.util.List;
 
-@RequiredArgsConstructor
+/**
+ * Transfers data using pipe CLI.
+ *
+ * If a {@link ChunkedTransferEngine} and an {@link ObjectStorageClient} are specified then data is transferred
+ * in-process with the engine. Tasks which are impersonated by a user are still transferred using pipe CLI,
+ * since the engine transfers data on behalf of the service itself.
+ */
 public abstract class AbstractPipeCliDataUploader extends AbstractDataUploader {
 
     private final PipelineCliProvider pipelineCliProvider;
+    private final ChunkedTransferEngine transferEngine;
+    private final ObjectStorageClient storageClient;
+
+    public AbstractPipeCliDataUploader(final PipelineCliProvider pipelineCliProvider) {
+        this(pipelineCliProvider, null, null);
+    }
+
+    public AbstractPipeCliDataUploader(final PipelineCliProvider pipelineCliProvider,
+                                       final ChunkedTransferEngine transferEngine,
+                                       final ObjectStorageClient storageClient) {
+        this.pipelineCliProvider = pipelineCliProvider;
+        this.transferEngine = transferEngine;
+        this.storageClient = storageClient;
+    }
+
+    @Override
+    protected void upload(final TransferTask transferTask) {
+        if (isTransferEngineApplicable(transferTask)) {
+            transferEngine.upload(transferTask, storageClient);
+        } else {
+            super.upload(transferTask);
+        }
+    }
+
+    @Override
+    protected void download(final TransferTask transferTask) {
+        if (isTransferEngineApplicable(transferTask)) {
+            transferEngine.download(transferTask, storageClient);
+        } else {
+            super.download(transferTask);
+        }
+    }
 
     @Override
     public void upload(final StorageItem source,
@@ -51,4 +91,8 @@ public abstract class AbstractPipeCliDataUploader extends AbstractDataUploader {
                 pipelineCliProvider.getPipelineCLI(credentials.getApi(), credentials.getApiToken());
         pipelineCLI.downloadData(source.getPath(), destination.getPath(), included, username);
     }
+
+    private boolean isTransferEngineApplicable(final TransferTask transferTask) {
+        return transferEngine != null && storageClient != null && StringUtils.isBlank(transferTask.getUser());
+    }
 }
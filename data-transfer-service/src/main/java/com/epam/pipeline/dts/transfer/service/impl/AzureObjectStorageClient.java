@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service.impl;
+
+import com.epam.pipeline.dts.transfer.model.StorageObject;
+import com.epam.pipeline.dts.transfer.model.StorageType;
+import com.epam.pipeline.dts.transfer.model.TransferPart;
+import com.epam.pipeline.dts.transfer.service.impl.StorageCredentialsProvider.AccessMode;
+import com.epam.pipeline.entity.datastorage.TemporaryCredentials;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.microsoft.azure.storage.blob.AnonymousCredentials;
+import com.microsoft.azure.storage.blob.BlobRange;
+import com.microsoft.azure.storage.blob.BlockBlobURL;
+import com.microsoft.azure.storage.blob.ContainerURL;
+import com.microsoft.azure.storage.blob.ListBlobsOptions;
+import com.microsoft.azure.storage.blob.PipelineOptions;
+import com.microsoft.azure.storage.blob.ReliableDownloadOptions;
+import com.microsoft.azure.storage.blob.RequestRetryOptions;
+import com.microsoft.azure.storage.blob.RetryPolicyType;
+import com.microsoft.azure.storage.blob.ServiceURL;
+import com.microsoft.azure.storage.blob.StorageURL;
+import com.microsoft.azure.storage.blob.models.BlobFlatListSegment;
+import com.microsoft.azure.storage.blob.models.BlobItem;
+import com.microsoft.azure.storage.blob.models.ListBlobsFlatSegmentResponse;
+import io.reactivex.Flowable;
+import lombok.SneakyThrows;
+import org.apache.commons.collections4.IteratorUtils;
+
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Azure Blob Storage client of {@link ChunkedTransferEngine}.
+ *
+ * Uploaded parts are staged as blocks of a block blob and committed once all parts are uploaded.
+ * Part data is streamed, so requests are not retried by the client. Failed parts are transferred
+ * again once the task is resumed.
+ */
+public class AzureObjectStorageClient extends AbstractObjectStorageClient {
+
+    private static final String AZ_PREFIX = "az://";
+    private static final String BLOB_URL_FORMAT = "https://%s.blob.core.windows.net%s";
+    private static final String BLOCK_ID_FORMAT = "%s-%06d";
+    private static final int LIST_PAGE_SIZE = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public AzureObjectStorageClient(final StorageCredentialsProvider credentialsProvider) {
+        super(credentialsProvider);
+    }
+
+    @Override
+    public StorageType getStorageType() {
+        return StorageType.AZ;
+    }
+
+    @Override
+    protected String getPrefix() {
+        return AZ_PREFIX;
+    }
+
+    @Override
+    public List<StorageObject> listObjects(final String path, final String credentials) {
+        final StoragePath storagePath = parse(path);
+        final ContainerURL container = getContainer(storagePath, credentials, AccessMode.READ);
+        final List<StorageObject> objects = new ArrayList<>();
+        String marker = null;
+        do {
+            final ListBlobsFlatSegmentResponse listing = container.listBlobsFlatSegment(marker,
+                    new ListBlobsOptions()
+                            .withPrefix(storagePath.getKey())
+                            .withMaxResults(LIST_PAGE_SIZE))
+                    .blockingGet()
+                    .body();
+            Optional.ofNullable(listing.segment())
+                    .map(BlobFlatListSegment::blobItems)
+                    .orElseGet(ArrayList::new)
+                    .stream()
+                    .filter(blob -> isListed(storagePath, blob.name()))
+                    .map(blob -> toStorageObject(storagePath, blob))
+                    .forEach(objects::add);
+            marker = listing.nextMarker();
+        } while (marker != null && !marker.isEmpty());
+        return objects;
+    }
+
+    @Override
+    public InputStream readObject(final String path, final long offset, final long length,
+                                  final String credentials) {
+        final StoragePath storagePath = parse(path);
+        final Flowable<ByteBuffer> data = getBlob(storagePath, credentials, AccessMode.READ)
+                .download(new BlobRange().withOffset(offset).withCount(length), null, false, null)
+                .blockingGet()
+                .body(new ReliableDownloadOptions());
+        final Iterator<InputStream> streams = IteratorUtils.transformedIterator(
+                data.blockingIterable().iterator(), ByteBufferBackedInputStream::new);
+        return new SequenceInputStream(IteratorUtils.asEnumeration(streams));
+    }
+
+    @Override
+    public void putObject(final String path, final InputStream data, final long length, final String credentials) {
+        final StoragePath storagePath = parse(path);
+        getBlob(storagePath, credentials, AccessMode.WRITE)
+                .upload(toFlowable(data), length)
+                .blockingGet();
+    }
+
+    @Override
+    public String startUpload(final String path, final String credentials) {
+        return UUID.randomUUID().toString();
+    }
+
+    @Override
+    public String uploadPart(final String path, final String uploadId, final TransferPart part,
+                             final InputStream data, final String credentials) {
+        final StoragePath storagePath = parse(path);
+        final String blockId = getBlockId(uploadId, part.getNumber());
+        getBlob(storagePath, credentials, AccessMode.WRITE)
+                .stageBlock(blockId, toFlowable(data), part.getLength())
+                .blockingGet();
+        return blockId;
+    }
+
+    @Override
+    public void completeUpload(final String path, final String uploadId, final List<TransferPart> parts,
+                               final String credentials) {
+        final StoragePath storagePath = parse(path);
+        getBlob(storagePath, credentials, AccessMode.WRITE)
+                .commitBlockList(parts.stream()
+                        .map(TransferPart::getTag)
+                        .collect(Collectors.toList()))
+                .blockingGet();
+    }
+
+    private StorageObject toStorageObject(final StoragePath path, final BlobItem blob) {
+        return new StorageObject(toPath(path.getBucket(), blob.name()),
+                Optional.ofNullable(blob.properties().contentLength()).orElse(0L));
+    }
+
+    private String getBlockId(final String uploadId, final int number) {
+        return Base64.getEncoder().encodeToString(String.format(BLOCK_ID_FORMAT, uploadId, number)
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Flowable<ByteBuffer> toFlowable(final InputStream data) {
+        return Flowable.generate(emitter -> {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            final int read = data.read(buffer);
+            if (read < 0) {
+                emitter.onComplete();
+            } else {
+                emitter.onNext(ByteBuffer.wrap(buffer, 0, read));
+            }
+        });
+    }
+
+    private BlockBlobURL getBlob(final StoragePath path, final String credentials, final AccessMode mode) {
+        return getContainer(path, credentials, mode).createBlockBlobURL(path.getKey());
+    }
+
+    @SneakyThrows
+    private ContainerURL getContainer(final StoragePath path, final String credentials, final AccessMode mode) {
+        final TemporaryCredentials temporaryCredentials = getCredentials(path, credentials, mode);
+        final PipelineOptions options = new PipelineOptions()
+                .withRequestRetryOptions(new RequestRetryOptions(RetryPolicyType.EXPONENTIAL, 1,
+                        null, null, null, null));
+        final ServiceURL serviceURL = new ServiceURL(
+                new URL(String.format(BLOB_URL_FORMAT, temporaryCredentials.getAccessKey(),
+                        temporaryCredentials.getToken())),
+                StorageURL.createPipeline(new AnonymousCredentials(), options));
+        return serviceURL.createContainerURL(path.getBucket());
+    }
+}
@@ -0,0 +1,535 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service.impl;
+
+import com.epam.pipeline.dts.transfer.model.StorageObject;
+import com.epam.pipeline.dts.transfer.model.TransferPart;
+import com.epam.pipeline.dts.transfer.model.TransferProgress;
+import com.epam.pipeline.dts.transfer.model.TransferTask;
+import com.epam.pipeline.dts.transfer.service.ObjectStorageClient;
+import com.epam.pipeline.dts.transfer.service.TaskService;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * In-process transfer engine which splits storage objects into parts and transfers them in parallel
+ * on a bounded thread pool.
+ *
+ * Transferred parts are persisted to the task as checkpoints, so an interrupted task can be resumed
+ * without transferring the completed parts once again. Each checkpoint persists only the parts which
+ * were transferred since the previous one. Completed parts of a download are skipped only if the local
+ * file still exists and has the object size, otherwise the object is downloaded again. Task progress
+ * including transfer speed and ETA is updated along with the checkpoints.
+ *
+ * Objects are split into at most 10000 parts, which is the common limit of object storages
+ * multipart uploads, so the configured part size is increased for large objects.
+ */
+@Slf4j
+public class ChunkedTransferEngine {
+
+    private static final String DELIMITER = "/";
+    private static final long MAX_PARTS = 10000;
+    private static final String GLOB_SYNTAX = "glob:";
+
+    private final TaskService taskService;
+    private final long partSize;
+    private final int maxPartsInProgress;
+    private final long checkpointInterval;
+    private final ExecutorService executor;
+
+    /**
+     * @param partSize size of a transferred part in bytes
+     * @param threads number of threads which transfer parts
+     * @param checkpointInterval minimal interval between checkpoint updates in milliseconds
+     */
+    public ChunkedTransferEngine(final TaskService taskService,
+                                 final long partSize,
+                                 final int threads,
+                                 final long checkpointInterval) {
+        Assert.isTrue(partSize > 0, "Transfer part size must be positive.");
+        Assert.isTrue(threads > 0, "Number of transfer threads must be positive.");
+        this.taskService = taskService;
+        this.partSize = partSize;
+        this.maxPartsInProgress = threads * 2;
+        this.checkpointInterval = checkpointInterval;
+        this.executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("TransferPart"));
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Uploads a local file or a local directory to an object storage.
+     */
+    public void upload(final TransferTask task, final ObjectStorageClient client) {
+        final Path source = Paths.get(task.getSource().getPath());
+        Assert.state(Files.exists(source), String.format("Cannot find source %s.", source));
+        final String destination = task.getDestination().getPath();
+        final List<TransferItem> items = Files.isDirectory(source)
+                ? listLocalDirectory(source, destination, task.getIncluded())
+                : Collections.singletonList(new TransferItem(source, getFileDestination(source, destination),
+                        size(source)));
+        final TransferSession session = new TransferSession(task, items, item -> true);
+        session.run(item -> upload(session, client, task.getDestination().getCredentials(), item));
+    }
+
+    /**
+     * Downloads a storage object or all objects under a storage path to a local file system.
+     */
+    public void download(final TransferTask task, final ObjectStorageClient client) {
+        final String source = task.getSource().getPath();
+        final List<StorageObject> objects = client.listObjects(source, task.getSource().getCredentials());
+        Assert.state(CollectionUtils.isNotEmpty(objects), String.format("Cannot find source %s.", source));
+        final Path destination = Paths.get(task.getDestination().getPath());
+        final boolean singleObject = objects.size() == 1 && objects.get(0).getPath().equals(source);
+        final List<TransferItem> items = singleObject
+                ? Collections.singletonList(new TransferItem(
+                        getObjectDestination(source, destination, task.getDestination().getPath()),
+                        source, objects.get(0).getSize()))
+                : listStorageDirectory(objects, source, destination, task.getIncluded());
+        // transferred parts are skipped only if a local file is still in place
+        final TransferSession session = new TransferSession(task, items, this::isAllocated);
+        session.run(item -> download(session, client, task.getSource().getCredentials(), item));
+    }
+
+    private CompletableFuture<Void> upload(final TransferSession session,
+                                           final ObjectStorageClient client,
+                                           final String credentials,
+                                           final TransferItem item) {
+        if (item.getSize() <= getPartSize(item)) {
+            return session.submit(() -> {
+                try (InputStream data = Files.newInputStream(item.getLocalPath())) {
+                    client.putObject(item.getObjectPath(), data, item.getSize(), credentials);
+                }
+                session.complete(item);
+            });
+        }
+        final List<TransferPart> completedParts = session.getCompletedParts(item);
+        final String uploadId = completedParts.stream()
+                .map(TransferPart::getUploadId)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElseGet(() -> client.startUpload(item.getObjectPath(), credentials));
+        final List<CompletableFuture<Void>> parts = split(item, completedParts).stream()
+                .map(part -> session.submit(() -> {
+                    part.setUploadId(uploadId);
+                    try (InputStream data = readLocalPart(item.getLocalPath(), part)) {
+                        part.setTag(client.uploadPart(item.getObjectPath(), uploadId, part, data, credentials));
+                    }
+                    session.checkpoint(part);
+                }))
+                .collect(Collectors.toList());
+        return allOf(parts)
+                .thenRunAsync(() -> {
+                    client.completeUpload(item.getObjectPath(), uploadId, session.getCompletedParts(item),
+                            credentials);
+                    session.complete(item);
+                }, executor);
+    }
+
+    private CompletableFuture<Void> download(final TransferSession session,
+                                             final ObjectStorageClient client,
+                                             final String credentials,
+                                             final TransferItem item) {
+        final List<TransferPart> completedParts = session.getCompletedParts(item);
+        allocate(item, completedParts.isEmpty());
+        final List<CompletableFuture<Void>> parts = split(item, completedParts).stream()
+                .map(part -> session.submit(() -> {
+                    try (InputStream data = client.readObject(item.getObjectPath(), part.getOffset(),
+                            part.getLength(), credentials)) {
+                        writeLocalPart(item.getLocalPath(), part, data);
+                    }
+                    session.checkpoint(part);
+                }))
+                .collect(Collectors.toList());
+        return allOf(parts)
+                .thenRun(() -> session.complete(item));
+    }
+
+    private List<TransferPart> split(final TransferItem item, final List<TransferPart> completedParts) {
+        final Set<Integer> completedNumbers = completedParts.stream()
+                .map(TransferPart::getNumber)
+                .collect(Collectors.toSet());
+        final long itemPartSize = getPartSize(item);
+        final List<TransferPart> parts = new ArrayList<>();
+        int number = 1;
+        for (long offset = 0; offset < item.getSize(); offset += itemPartSize, number++) {
+            if (!completedNumbers.contains(number)) {
+                parts.add(TransferPart.builder()
+                        .path(item.getObjectPath())
+                        .number(number)
+                        .offset(offset)
+                        .length(Math.min(itemPartSize, item.getSize() - offset))
+                        .build());
+            }
+        }
+        return parts;
+    }
+
+    private long getPartSize(final TransferItem item) {
+        return Math.max(partSize, (item.getSize() + MAX_PARTS - 1) / MAX_PARTS);
+    }
+
+    private List<TransferItem> listLocalDirectory(final Path source, final String destination,
+                                                  final List<String> included) {
+        final List<PathMatcher> matchers = getMatchers(included);
+        try (Stream<Path> files = Files.walk(source)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> matches(matchers, source.relativize(file)))
+                    .map(file -> new TransferItem(file,
+                            StringUtils.removeEnd(destination, DELIMITER) + DELIMITER
+                                    + toObjectPath(source.relativize(file)),
+                            size(file)))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<TransferItem> listStorageDirectory(final List<StorageObject> objects, final String source,
+                                                    final Path destination, final List<String> included) {
+        final List<PathMatcher> matchers = getMatchers(included);
+        final String prefix = StringUtils.removeEnd(source, DELIMITER) + DELIMITER;
+        return objects.stream()
+                .filter(object -> object.getPath().startsWith(prefix))
+                .map(object -> new TransferItem(
+                        destination.resolve(StringUtils.removeStart(object.getPath(), prefix)),
+                        object.getPath(), object.getSize()))
+                .filter(item -> matches(matchers, destination.relativize(item.getLocalPath())))
+                .collect(Collectors.toList());
+    }
+
+    private String getFileDestination(final Path source, final String destination) {
+        return destination.endsWith(DELIMITER) ? destination + source.getFileName() : destination;
+    }
+
+    private Path getObjectDestination(final String source, final Path destination, final String rawDestination) {
+        if (Files.isDirectory(destination) || rawDestination.endsWith(DELIMITER)) {
+            return destination.resolve(StringUtils.substringAfterLast(source, DELIMITER));
+        }
+        return destination;
+    }
+
+    private List<PathMatcher> getMatchers(final List<String> included) {
+        return ListUtils.emptyIfNull(included).stream()
+                .filter(StringUtils::isNotBlank)
+                .map(pattern -> FileSystems.getDefault().getPathMatcher(GLOB_SYNTAX + pattern))
+                .collect(Collectors.toList());
+    }
+
+    private boolean matches(final List<PathMatcher> matchers, final Path relativePath) {
+        return matchers.isEmpty() || matchers.stream().anyMatch(matcher -> matcher.matches(relativePath));
+    }
+
+    private String toObjectPath(final Path relativePath) {
+        return StreamSupport.stream(relativePath.spliterator(), false)
+                .map(Path::toString)
+                .collect(Collectors.joining(DELIMITER));
+    }
+
+    private long size(final Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private InputStream readLocalPart(final Path file, final TransferPart part) throws IOException {
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        channel.position(part.getOffset());
+        return new BoundedInputStream(Channels.newInputStream(channel), part.getLength());
+    }
+
+    private void writeLocalPart(final Path file, final TransferPart part, final InputStream data)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE);
+             ReadableByteChannel source = Channels.newChannel(data)) {
+            long written = 0;
+            while (written < part.getLength()) {
+                final long transferred = channel.transferFrom(source, part.getOffset() + written,
+                        part.getLength() - written);
+                if (transferred <= 0) {
+                    throw new IOException(String.format("Unexpected end of part %d of %s.",
+                            part.getNumber(), part.getPath()));
+                }
+                written += transferred;
+            }
+        }
+    }
+
+    private boolean isAllocated(final TransferItem item) {
+        final Path file = item.getLocalPath();
+        return Files.isRegularFile(file) && size(file) == item.getSize();
+    }
+
+    private void allocate(final TransferItem item, final boolean truncate) {
+        try {
+            Files.createDirectories(item.getLocalPath().toAbsolutePath().getParent());
+            try (RandomAccessFile file = new RandomAccessFile(item.getLocalPath().toFile(), "rw")) {
+                if (truncate || file.length() != item.getSize()) {
+                    file.setLength(item.getSize());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static CompletableFuture<Void> allOf(final List<CompletableFuture<Void>> futures) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    @Value
+    private static class TransferItem {
+        Path localPath;
+        String objectPath;
+        long size;
+    }
+
+    @FunctionalInterface
+    private interface PartTransfer {
+        void run() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ItemTransfer {
+        CompletableFuture<Void> start(TransferItem item);
+    }
+
+    /**
+     * Transfer state of a single task: completed parts, progress and the first occurred failure.
+     *
+     * Parts are kept by storage object path and part number. Stored parts of the items which cannot be resumed,
+     * e.g. if a downloaded local file was removed, are ignored, so such items are transferred from scratch.
+     */
+    private final class TransferSession {
+
+        private final Long taskId;
+        private final String description;
+        private final List<TransferItem> items;
+        private final Map<String, SortedMap<Integer, TransferPart>> parts = new HashMap<>();
+        private final Map<String, Map<Integer, TransferPart>> pendingParts = new LinkedHashMap<>();
+        private final Semaphore partsInProgress = new Semaphore(maxPartsInProgress);
+        private final long totalBytes;
+        private final long initialBytes;
+        private final long started = System.nanoTime();
+        private long transferredBytes;
+        private long lastCheckpoint;
+        private volatile boolean failed;
+
+        private TransferSession(final TransferTask task, final List<TransferItem> items,
+                                final Predicate<TransferItem> resumable) {
+            this.taskId = task.getId();
+            this.description = String.format("%s to %s", task.getSource().getPath(),
+                    task.getDestination().getPath());
+            this.items = items;
+            final Set<String> paths = items.stream()
+                    .filter(resumable)
+                    .map(TransferItem::getObjectPath)
+                    .collect(Collectors.toSet());
+            ListUtils.emptyIfNull(task.getParts()).stream()
+                    .filter(part -> paths.contains(part.getPath()))
+                    .forEach(part -> parts.computeIfAbsent(part.getPath(), path -> new TreeMap<>())
+                            .put(part.getNumber(), part));
+            this.totalBytes = items.stream().mapToLong(TransferItem::getSize).sum();
+            this.initialBytes = getInitialBytes(items);
+            this.transferredBytes = initialBytes;
+        }
+
+        private void run(final ItemTransfer transfer) {
+            log.debug("Transferring {} bytes from {}, {} bytes are already transferred.",
+                    totalBytes, description, initialBytes);
+            final List<CompletableFuture<Void>> transfers = new ArrayList<>();
+            try {
+                for (final TransferItem item : items) {
+                    if (failed) {
+                        break;
+                    }
+                    if (!isCompleted(item)) {
+                        transfers.add(transfer.start(item));
+                    }
+                }
+                allOf(transfers).join();
+            } catch (CompletionException e) {
+                throw fail(transfers, Optional.ofNullable(e.getCause()).orElse(e));
+            } catch (RuntimeException e) {
+                throw fail(transfers, e);
+            } finally {
+                save();
+            }
+        }
+
+        private IllegalStateException fail(final List<CompletableFuture<Void>> transfers, final Throwable cause) {
+            failed = true;
+            allOf(transfers).handle((result, e) -> result).join();
+            return new IllegalStateException(String.format("Failed to transfer %s: %s", description,
+                    cause.getMessage()), cause);
+        }
+
+        private CompletableFuture<Void> submit(final PartTransfer part) {
+            acquire();
+            try {
+                return CompletableFuture.runAsync(() -> {
+                    try {
+                        if (failed) {
+                            throw new IllegalStateException("Transfer has been interrupted.");
+                        }
+                        part.run();
+                    } catch (IOException e) {
+                        failed = true;
+                        throw new UncheckedIOException(e);
+                    } catch (RuntimeException e) {
+                        failed = true;
+                        throw e;
+                    } finally {
+                        partsInProgress.release();
+                    }
+                }, executor);
+            } catch (RuntimeException e) {
+                partsInProgress.release();
+                throw e;
+            }
+        }
+
+        private synchronized List<TransferPart> getCompletedParts(final TransferItem item) {
+            return new ArrayList<>(parts.getOrDefault(item.getObjectPath(), Collections.emptySortedMap()).values());
+        }
+
+        private synchronized void checkpoint(final TransferPart part) {
+            parts.computeIfAbsent(part.getPath(), path -> new TreeMap<>()).put(part.getNumber(), part);
+            pendingParts.computeIfAbsent(part.getPath(), path -> new LinkedHashMap<>()).put(part.getNumber(), part);
+            transferredBytes += part.getLength();
+            saveIfRequired();
+        }
+
+        private synchronized void complete(final TransferItem item) {
+            final long transferred = getCompletedParts(item).stream()
+                    .mapToLong(TransferPart::getLength)
+                    .sum();
+            final TransferPart completedPart = TransferPart.builder()
+                    .path(item.getObjectPath())
+                    .number(TransferPart.COMPLETED_PART_NUMBER)
+                    .offset(0L)
+                    .length(item.getSize())
+                    .build();
+            final SortedMap<Integer, TransferPart> completedParts = new TreeMap<>();
+            completedParts.put(completedPart.getNumber(), completedPart);
+            parts.put(item.getObjectPath(), completedParts);
+            pendingParts.put(item.getObjectPath(), new LinkedHashMap<>(completedParts));
+            transferredBytes += item.getSize() - transferred;
+            saveIfRequired();
+        }
+
+        private synchronized boolean isCompleted(final TransferItem item) {
+            return Optional.ofNullable(parts.get(item.getObjectPath()))
+                    .map(itemParts -> itemParts.containsKey(TransferPart.COMPLETED_PART_NUMBER))
+                    .orElse(false);
+        }
+
+        private long getInitialBytes(final List<TransferItem> items) {
+            final Map<String, Long> sizes = items.stream()
+                    .collect(Collectors.toMap(TransferItem::getObjectPath, TransferItem::getSize, (s1, s2) -> s1));
+            return parts.entrySet().stream()
+                    .mapToLong(entry -> entry.getValue().containsKey(TransferPart.COMPLETED_PART_NUMBER)
+                            ? sizes.get(entry.getKey())
+                            : entry.getValue().values().stream().mapToLong(TransferPart::getLength).sum())
+                    .sum();
+        }
+
+        private void saveIfRequired() {
+            final long now = System.nanoTime();
+            if (TimeUnit.NANOSECONDS.toMillis(now - lastCheckpoint) >= checkpointInterval) {
+                lastCheckpoint = now;
+                save();
+            }
+        }
+
+        private synchronized void save() {
+            if (taskId == null) {
+                return;
+            }
+            taskService.updateProgress(taskId, getProgress(), pendingParts.values().stream()
+                    .flatMap(itemParts -> itemParts.values().stream())
+                    .collect(Collectors.toList()));
+            pendingParts.clear();
+        }
+
+        private TransferProgress getProgress() {
+            final long elapsed = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            final long bytesPerSecond = (transferredBytes - initialBytes) * TimeUnit.SECONDS.toMillis(1) / elapsed;
+            return TransferProgress.builder()
+                    .totalBytes(totalBytes)
+                    .transferredBytes(transferredBytes)
+                    .bytesPerSecond(bytesPerSecond)
+                    .etaSeconds(bytesPerSecond > 0 ? (totalBytes - transferredBytes) / bytesPerSecond : null)
+                    .build();
+        }
+
+        private void acquire() {
+            try {
+                partsInProgress.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed = true;
+                throw new IllegalStateException("Transfer has been interrupted.", e);
+            }
+        }
+    }
+}
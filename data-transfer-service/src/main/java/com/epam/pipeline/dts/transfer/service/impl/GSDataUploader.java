@@ -17,6 +17,7 @@
 package com.epam.pipeline.dts.transfer.service.impl;
 
 import com.epam.pipeline.dts.transfer.model.StorageType;
+import com.epam.pipeline.dts.transfer.service.ObjectStorageClient;
 import com.epam.pipeline.dts.transfer.service.PipelineCliProvider;
 
 public class GSDataUploader extends AbstractPipeCliDataUploader {
@@ -27,6 +28,12 @@ public class GSDataUploader extends AbstractPipeCliDataUploader {
         super(pipelineCliProvider);
     }
 
+    public GSDataUploader(final PipelineCliProvider pipelineCliProvider,
+                          final ChunkedTransferEngine transferEngine,
+                          final ObjectStorageClient storageClient) {
+        super(pipelineCliProvider, transferEngine, storageClient);
+    }
+
     @Override
     public StorageType getStorageType() {
         return StorageType.GS;
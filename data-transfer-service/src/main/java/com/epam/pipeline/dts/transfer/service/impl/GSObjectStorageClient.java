@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service.impl;
+
+import com.epam.pipeline.dts.transfer.model.StorageObject;
+import com.epam.pipeline.dts.transfer.model.StorageType;
+import com.epam.pipeline.dts.transfer.model.TransferPart;
+import com.epam.pipeline.dts.transfer.service.impl.StorageCredentialsProvider.AccessMode;
+import com.epam.pipeline.entity.datastorage.TemporaryCredentials;
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.ReadChannel;
+import com.google.cloud.WriteChannel;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageOptions;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Google Cloud Storage client of {@link ChunkedTransferEngine}.
+ *
+ * Google Cloud Storage has no multipart uploads, so each uploaded part is stored as a separate temporary
+ * object next to the uploaded one. Once all parts are uploaded, they are composed into the target object
+ * and removed.
+ */
+public class GSObjectStorageClient extends AbstractObjectStorageClient {
+
+    private static final String GS_PREFIX = "gs://";
+    private static final String PART_SUFFIX_FORMAT = "%s.%s.part-%06d";
+    private static final int MAX_COMPOSE_SOURCES = 32;
+
+    public GSObjectStorageClient(final StorageCredentialsProvider credentialsProvider) {
+        super(credentialsProvider);
+    }
+
+    @Override
+    public StorageType getStorageType() {
+        return StorageType.GS;
+    }
+
+    @Override
+    protected String getPrefix() {
+        return GS_PREFIX;
+    }
+
+    @Override
+    public List<StorageObject> listObjects(final String path, final String credentials) {
+        final StoragePath storagePath = parse(path);
+        return StreamSupport.stream(getStorage(storagePath, credentials, AccessMode.READ)
+                .list(storagePath.getBucket(), Storage.BlobListOption.prefix(storagePath.getKey()))
+                .iterateAll().spliterator(), false)
+                .filter(blob -> isListed(storagePath, blob.getName()))
+                .map(blob -> new StorageObject(toPath(blob.getBucket(), blob.getName()), blob.getSize()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public InputStream readObject(final String path, final long offset, final long length,
+                                  final String credentials) {
+        final StoragePath storagePath = parse(path);
+        final ReadChannel reader = getStorage(storagePath, credentials, AccessMode.READ)
+                .reader(BlobId.of(storagePath.getBucket(), storagePath.getKey()));
+        try {
+            reader.seek(offset);
+        } catch (IOException e) {
+            reader.close();
+            throw new UncheckedIOException(e);
+        }
+        return new BoundedInputStream(Channels.newInputStream(reader), length);
+    }
+
+    @Override
+    public void putObject(final String path, final InputStream data, final long length, final String credentials) {
+        final StoragePath storagePath = parse(path);
+        write(getStorage(storagePath, credentials, AccessMode.WRITE), storagePath.getBucket(), storagePath.getKey(),
+                data);
+    }
+
+    @Override
+    public String startUpload(final String path, final String credentials) {
+        return UUID.randomUUID().toString();
+    }
+
+    @Override
+    public String uploadPart(final String path, final String uploadId, final TransferPart part,
+                             final InputStream data, final String credentials) {
+        final StoragePath storagePath = parse(path);
+        final String partKey = getPartKey(storagePath, uploadId, part.getNumber());
+        write(getStorage(storagePath, credentials, AccessMode.WRITE), storagePath.getBucket(), partKey, data);
+        return partKey;
+    }
+
+    @Override
+    public void completeUpload(final String path, final String uploadId, final List<TransferPart> parts,
+                               final String credentials) {
+        final StoragePath storagePath = parse(path);
+        final Storage storage = getStorage(storagePath, credentials, AccessMode.WRITE);
+        final BlobInfo target = BlobInfo.newBuilder(storagePath.getBucket(), storagePath.getKey()).build();
+        final List<String> partKeys = parts.stream()
+                .map(TransferPart::getTag)
+                .collect(Collectors.toList());
+        boolean composed = false;
+        for (final List<String> chunk : ListUtils.partition(partKeys, MAX_COMPOSE_SOURCES - 1)) {
+            final List<String> sources = new ArrayList<>();
+            if (composed) {
+                sources.add(storagePath.getKey());
+            }
+            sources.addAll(chunk);
+            storage.compose(Storage.ComposeRequest.newBuilder()
+                    .addSource(sources)
+                    .setTarget(target)
+                    .build());
+            composed = true;
+        }
+        storage.delete(partKeys.stream()
+                .map(key -> BlobId.of(storagePath.getBucket(), key))
+                .collect(Collectors.toList()));
+    }
+
+    private String getPartKey(final StoragePath path, final String uploadId, final int number) {
+        return String.format(PART_SUFFIX_FORMAT, path.getKey(), uploadId, number);
+    }
+
+    private void write(final Storage storage, final String bucket, final String key, final InputStream data) {
+        try (WriteChannel writer = storage.writer(BlobInfo.newBuilder(bucket, key).build());
+             OutputStream output = Channels.newOutputStream(writer)) {
+            IOUtils.copyLarge(data, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Storage getStorage(final StoragePath path, final String credentials, final AccessMode mode) {
+        final TemporaryCredentials temporaryCredentials = getCredentials(path, credentials, mode);
+        return StorageOptions.newBuilder()
+                .setCredentials(GoogleCredentials.create(new AccessToken(temporaryCredentials.getToken(), null)))
+                .setProjectId(temporaryCredentials.getAccessKey())
+                .build()
+                .getService();
+    }
+}
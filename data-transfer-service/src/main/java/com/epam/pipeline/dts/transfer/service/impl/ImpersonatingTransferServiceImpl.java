@@ -38,6 +38,8 @@ import java.util.stream.Stream;
 @RequiredArgsConstructor
 @Slf4j
 public class ImpersonatingTransferServiceImpl implements TransferService {
+    private static final String ABORTED_REASON = "Operation has been aborted due to server was stopped.";
+
     private final TaskService taskService;
     private final DataUploaderProviderManager dataUploaderProviderManager;
     private final SecurityService securityService;
@@ -68,14 +70,29 @@ public class ImpersonatingTransferServiceImpl implements TransferService {
     }
 
     @Override
-    public void failRunningTasks() {
+    public TransferTask resumeTransferTask(@NonNull final Long id,
+                                           @NonNull final StorageItem source,
+                                           @NonNull final StorageItem destination,
+                                           final List<String> included) {
+        final TransferTask transferTask = taskService.resumeTask(id, source, destination, included);
+        dataUploaderProviderManager.transferData(transferTask);
+        return transferTask;
+    }
+
+    @Override
+    public void recoverRunningTasks() {
         List<TransferTask> runningTasks = taskService.loadRunningTasks();
         if (CollectionUtils.isEmpty(runningTasks)) {
             return;
         }
         log.info(String.format("%s running tasks have been found. All of them will be failed.", runningTasks.size()));
-        runningTasks.forEach(task -> taskService.updateStatus(task.getId(), TaskStatus.FAILURE,
-                "Operation has been aborted due to server was stopped.")
-        );
+        runningTasks.forEach(this::recoverRunningTask);
+    }
+
+    private void recoverRunningTask(final TransferTask task) {
+        final String reason = CollectionUtils.isEmpty(taskService.loadParts(task.getId()))
+                ? ABORTED_REASON
+                : ABORTED_REASON + " Task can be resumed.";
+        taskService.updateStatus(task.getId(), TaskStatus.FAILURE, reason);
     }
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service.impl;
+
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicSessionCredentials;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.epam.pipeline.dts.transfer.model.StorageObject;
+import com.epam.pipeline.dts.transfer.model.StorageType;
+import com.epam.pipeline.dts.transfer.model.TransferPart;
+import com.epam.pipeline.dts.transfer.service.impl.StorageCredentialsProvider.AccessMode;
+import com.epam.pipeline.entity.datastorage.TemporaryCredentials;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * AWS S3 client of {@link ChunkedTransferEngine}.
+ *
+ * Requests are signed with temporary credentials of the transferred storage, while a single
+ * S3 client is shared by all storages of the same region.
+ */
+public class S3ObjectStorageClient extends AbstractObjectStorageClient {
+
+    private static final String S3_PREFIX = "s3://";
+
+    private final Map<String, AmazonS3> clients = new ConcurrentHashMap<>();
+
+    public S3ObjectStorageClient(final StorageCredentialsProvider credentialsProvider) {
+        super(credentialsProvider);
+    }
+
+    @Override
+    public StorageType getStorageType() {
+        return StorageType.S3;
+    }
+
+    @Override
+    protected String getPrefix() {
+        return S3_PREFIX;
+    }
+
+    @Override
+    public List<StorageObject> listObjects(final String path, final String credentials) {
+        final StoragePath storagePath = parse(path);
+        final TemporaryCredentials temporaryCredentials = getCredentials(storagePath, credentials, AccessMode.READ);
+        final AmazonS3 client = getClient(temporaryCredentials);
+        final List<StorageObject> objects = new ArrayList<>();
+        String continuationToken = null;
+        do {
+            final ListObjectsV2Result listing = client.listObjectsV2(new ListObjectsV2Request()
+                    .withBucketName(storagePath.getBucket())
+                    .withPrefix(storagePath.getKey())
+                    .withContinuationToken(continuationToken)
+                    .withRequestCredentialsProvider(toProvider(temporaryCredentials)));
+            listing.getObjectSummaries().stream()
+                    .filter(summary -> isListed(storagePath, summary.getKey()))
+                    .map(summary -> new StorageObject(toPath(storagePath.getBucket(), summary.getKey()),
+                            summary.getSize()))
+                    .forEach(objects::add);
+            continuationToken = listing.isTruncated() ? listing.getNextContinuationToken() : null;
+        } while (continuationToken != null);
+        return objects;
+    }
+
+    @Override
+    public InputStream readObject(final String path, final long offset, final long length,
+                                  final String credentials) {
+        final StoragePath storagePath = parse(path);
+        final TemporaryCredentials temporaryCredentials = getCredentials(storagePath, credentials, AccessMode.READ);
+        return getClient(temporaryCredentials)
+                .getObject(new GetObjectRequest(storagePath.getBucket(), storagePath.getKey())
+                        .withRange(offset, offset + length - 1)
+                        .withRequestCredentialsProvider(toProvider(temporaryCredentials)))
+                .getObjectContent();
+    }
+
+    @Override
+    public void putObject(final String path, final InputStream data, final long length, final String credentials) {
+        final StoragePath storagePath = parse(path);
+        final TemporaryCredentials temporaryCredentials = getCredentials(storagePath, credentials, AccessMode.WRITE);
+        final ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(length);
+        getClient(temporaryCredentials)
+                .putObject(new PutObjectRequest(storagePath.getBucket(), storagePath.getKey(), data, metadata)
+                        .withRequestCredentialsProvider(toProvider(temporaryCredentials)));
+    }
+
+    @Override
+    public String startUpload(final String path, final String credentials) {
+        final StoragePath storagePath = parse(path);
+        final TemporaryCredentials temporaryCredentials = getCredentials(storagePath, credentials, AccessMode.WRITE);
+        return getClient(temporaryCredentials)
+                .initiateMultipartUpload(new InitiateMultipartUploadRequest(storagePath.getBucket(),
+                        storagePath.getKey())
+                        .withRequestCredentialsProvider(toProvider(temporaryCredentials)))
+                .getUploadId();
+    }
+
+    @Override
+    public String uploadPart(final String path, final String uploadId, final TransferPart part,
+                             final InputStream data, final String credentials) {
+        final StoragePath storagePath = parse(path);
+        final TemporaryCredentials temporaryCredentials = getCredentials(storagePath, credentials, AccessMode.WRITE);
+        return getClient(temporaryCredentials)
+                .uploadPart(new UploadPartRequest()
+                        .withBucketName(storagePath.getBucket())
+                        .withKey(storagePath.getKey())
+                        .withUploadId(uploadId)
+                        .withPartNumber(part.getNumber())
+                        .withPartSize(part.getLength())
+                        .withInputStream(data)
+                        .withRequestCredentialsProvider(toProvider(temporaryCredentials)))
+                .getETag();
+    }
+
+    @Override
+    public void completeUpload(final String path, final String uploadId, final List<TransferPart> parts,
+                               final String credentials) {
+        final StoragePath storagePath = parse(path);
+        final TemporaryCredentials temporaryCredentials = getCredentials(storagePath, credentials, AccessMode.WRITE);
+        final List<PartETag> tags = parts.stream()
+                .map(part -> new PartETag(part.getNumber(), part.getTag()))
+                .collect(Collectors.toList());
+        getClient(temporaryCredentials)
+                .completeMultipartUpload(new CompleteMultipartUploadRequest(storagePath.getBucket(),
+                        storagePath.getKey(), uploadId, tags)
+                        .withRequestCredentialsProvider(toProvider(temporaryCredentials)));
+    }
+
+    private AmazonS3 getClient(final TemporaryCredentials credentials) {
+        return clients.computeIfAbsent(credentials.getRegion(), region -> AmazonS3ClientBuilder.standard()
+                .withRegion(region)
+                .withCredentials(toProvider(credentials))
+                .build());
+    }
+
+    private AWSCredentialsProvider toProvider(final TemporaryCredentials credentials) {
+        return new AWSStaticCredentialsProvider(new BasicSessionCredentials(credentials.getKeyId(),
+                credentials.getAccessKey(), credentials.getToken()));
+    }
+}
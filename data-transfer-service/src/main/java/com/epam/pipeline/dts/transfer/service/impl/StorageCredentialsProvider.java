@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service.impl;
+
+import com.epam.pipeline.dts.common.service.CloudPipelineAPIClient;
+import com.epam.pipeline.dts.transfer.model.pipeline.PipelineCredentials;
+import com.epam.pipeline.entity.datastorage.AbstractDataStorage;
+import com.epam.pipeline.entity.datastorage.DataStorageAction;
+import com.epam.pipeline.entity.datastorage.TemporaryCredentials;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves temporary cloud credentials of data storages for object storage clients.
+ *
+ * Credentials of a transferred storage item are Cloud Pipeline API credentials, so a data storage is found
+ * by a storage path and its temporary credentials are generated on behalf of the API credentials owner.
+ * Storage item credentials are required, the service API credentials are never used to access storages,
+ * since a user may have fewer permissions than the service.
+ *
+ * Credentials are generated for the requested {@link AccessMode} only, so that a source storage is accessed
+ * with read-only credentials and a user without write permissions on it can still transfer its data.
+ *
+ * Generated credentials are cached until they are about to expire.
+ */
+@Slf4j
+public class StorageCredentialsProvider {
+
+    private static final Duration EXPIRATION_THRESHOLD = Duration.ofMinutes(15);
+    private static final DateTimeFormatter EXPIRATION_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss z");
+    private static final String DELIMITER = "/";
+
+    private final Map<CredentialsKey, CachedCredentials> cache = new ConcurrentHashMap<>();
+
+    /**
+     * @param path storage path without a scheme, e.g. bucket/path/to/file
+     * @param credentials raw credentials of a transferred storage item
+     * @param mode storage access mode
+     */
+    public TemporaryCredentials getCredentials(final String path, final String credentials, final AccessMode mode) {
+        cache.values().removeIf(CachedCredentials::isExpiring);
+        Assert.isTrue(StringUtils.isNotBlank(credentials),
+                String.format("Cloud Pipeline API credentials are required to access storage path %s.", path));
+        return cache.entrySet().stream()
+                .filter(entry -> entry.getKey().matches(credentials, path, mode))
+                .findFirst()
+                .map(Map.Entry::getValue)
+                .orElseGet(() -> load(path, credentials, mode))
+                .getCredentials();
+    }
+
+    private CachedCredentials load(final String path, final String apiCredentials, final AccessMode mode) {
+        final CloudPipelineAPIClient apiClient = CloudPipelineAPIClient.from(PipelineCredentials.from(apiCredentials));
+        final AbstractDataStorage storage = apiClient.findDataStorageByPath(path);
+        log.debug("Generating temporary credentials of {} data storage {}...", storage.getType(), storage.getPath());
+        final DataStorageAction action = new DataStorageAction();
+        action.setId(storage.getId());
+        action.setBucketName(storage.getPath());
+        action.setList(true);
+        action.setRead(true);
+        action.setWrite(mode == AccessMode.WRITE);
+        final TemporaryCredentials temporaryCredentials =
+                apiClient.generateTemporaryCredentials(Collections.singletonList(action));
+        final CachedCredentials cached = new CachedCredentials(temporaryCredentials,
+                getExpiration(temporaryCredentials));
+        cache.put(new CredentialsKey(apiCredentials, storage.getPath(), mode), cached);
+        return cached;
+    }
+
+    private Instant getExpiration(final TemporaryCredentials credentials) {
+        final String expiration = credentials.getExpirationTime();
+        if (StringUtils.isBlank(expiration)) {
+            return Instant.now();
+        }
+        try {
+            return ZonedDateTime.parse(expiration, EXPIRATION_FORMATTER).toInstant();
+        } catch (DateTimeParseException e) {
+            try {
+                return Instant.parse(expiration);
+            } catch (DateTimeParseException ex) {
+                log.warn("Unable to parse temporary credentials expiration time {}.", expiration);
+                return Instant.now();
+            }
+        }
+    }
+
+    public enum AccessMode {
+        READ, WRITE
+    }
+
+    @Value
+    private static class CredentialsKey {
+        String apiCredentials;
+        String storagePath;
+        AccessMode mode;
+
+        boolean matches(final String apiCredentials, final String path, final AccessMode mode) {
+            return Objects.equals(this.apiCredentials, apiCredentials) && this.mode == mode
+                    && (path.equals(storagePath) || path.startsWith(StringUtils.removeEnd(storagePath, DELIMITER)
+                        + DELIMITER));
+        }
+    }
+
+    @Value
+    private static class CachedCredentials {
+        TemporaryCredentials credentials;
+        Instant expiration;
+
+        boolean isExpiring() {
+            return Optional.ofNullable(expiration)
+                    .map(time -> Duration.between(Instant.now(), time).compareTo(EXPIRATION_THRESHOLD) < 0)
+                    .orElse(true);
+        }
+    }
+}
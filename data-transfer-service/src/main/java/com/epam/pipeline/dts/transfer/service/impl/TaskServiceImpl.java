@@ -18,23 +18,32 @@ package com.epam.pipeline.dts.transfer.service.impl;
 
 import com.epam.pipeline.dts.transfer.model.StorageItem;
 import com.epam.pipeline.dts.transfer.model.TaskStatus;
+import com.epam.pipeline.dts.transfer.model.TransferPart;
+import com.epam.pipeline.dts.transfer.model.TransferProgress;
 import com.epam.pipeline.dts.transfer.model.TransferTask;
 import com.epam.pipeline.dts.transfer.repository.TaskRepository;
+import com.epam.pipeline.dts.transfer.repository.TransferPartRepository;
 import com.epam.pipeline.dts.transfer.service.TaskService;
 import com.epam.pipeline.dts.util.Utils;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
     private final TaskRepository taskRepository;
+    private final TransferPartRepository partRepository;
 
     @Override
     public TransferTask createTask(@NonNull StorageItem source,
@@ -80,8 +89,55 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional
+    public void updateProgress(final Long id, final TransferProgress progress, final List<TransferPart> parts) {
+        taskRepository.updateProgress(id, progress.getTotalBytes(), progress.getTransferredBytes(),
+                progress.getBytesPerSecond(), progress.getEtaSeconds());
+        if (parts.isEmpty()) {
+            return;
+        }
+        final Set<String> completedPaths = parts.stream()
+                .filter(part -> part.getNumber() == TransferPart.COMPLETED_PART_NUMBER)
+                .map(TransferPart::getPath)
+                .collect(Collectors.toSet());
+        if (!completedPaths.isEmpty()) {
+            partRepository.deleteAllByTaskIdAndPathIn(id, completedPaths);
+        }
+        parts.forEach(part -> part.setTaskId(id));
+        partRepository.saveAll(parts);
+    }
+
+    @Override
+    public List<TransferPart> loadParts(final Long id) {
+        return partRepository.findAllByTaskId(id);
+    }
+
+    @Override
+    public TransferTask resumeTask(@NonNull final Long id,
+                                   @NonNull final StorageItem source,
+                                   @NonNull final StorageItem destination,
+                                   final List<String> included) {
+        final TransferTask task = loadTask(id);
+        Assert.state(task.getStatus() == TaskStatus.FAILURE || task.getStatus() == TaskStatus.STOPPED,
+                String.format("Task %d in status %s cannot be resumed.", id, task.getStatus()));
+        Assert.state(isSameItem(task.getSource(), source) && isSameItem(task.getDestination(), destination),
+                String.format("Task %d cannot be resumed with different source or destination.", id));
+        buildTaskWithStatus(task, TaskStatus.RUNNING);
+        task.setFinished(null);
+        task.setReason("Transfer task resumed");
+        final TransferTask resumed = taskRepository.save(task);
+        resumed.getSource().setCredentials(source.getCredentials());
+        resumed.getDestination().setCredentials(destination.getCredentials());
+        resumed.setIncluded(included);
+        resumed.setParts(loadParts(id));
+        return resumed;
+    }
+
+    @Override
+    @Transactional
     public void deleteTask(Long id) {
         loadTask(id);
+        partRepository.deleteAllByTaskId(id);
         taskRepository.deleteById(id);
     }
 
@@ -101,6 +157,10 @@ public class TaskServiceImpl implements TaskService {
         return Utils.iterableToList(taskRepository.findAll());
     }
 
+    private boolean isSameItem(final StorageItem item, final StorageItem other) {
+        return item.getType() == other.getType() && Objects.equals(item.getPath(), other.getPath());
+    }
+
     private TransferTask buildTaskWithStatus(TransferTask task, TaskStatus status) {
         task.setStatus(status);
         if (status.isFinalStatus()) {
@@ -32,6 +32,8 @@ import java.util.List;
 @RequiredArgsConstructor
 @Slf4j
 public class TransferServiceImpl implements TransferService {
+    private static final String ABORTED_REASON = "Operation has been aborted due to server was stopped.";
+
     private final TaskService taskService;
     private final DataUploaderProviderManager dataUploaderProviderManager;
 
@@ -46,14 +48,29 @@ public class TransferServiceImpl implements TransferService {
     }
 
     @Override
-    public void failRunningTasks() {
+    public TransferTask resumeTransferTask(@NonNull Long id,
+                                           @NonNull StorageItem source,
+                                           @NonNull StorageItem destination,
+                                           List<String> included) {
+        TransferTask transferTask = taskService.resumeTask(id, source, destination, included);
+        dataUploaderProviderManager.transferData(transferTask);
+        return transferTask;
+    }
+
+    @Override
+    public void recoverRunningTasks() {
         List<TransferTask> runningTasks = taskService.loadRunningTasks();
         if (CollectionUtils.isEmpty(runningTasks)) {
             return;
         }
         log.info(String.format("%s running tasks have been found. All of them will be failed.", runningTasks.size()));
-        runningTasks.forEach(task -> taskService.updateStatus(task.getId(), TaskStatus.FAILURE,
-                "Operation has been aborted due to server was stopped.")
-        );
+        runningTasks.forEach(this::recoverRunningTask);
+    }
+
+    private void recoverRunningTask(final TransferTask task) {
+        final String reason = CollectionUtils.isEmpty(taskService.loadParts(task.getId()))
+                ? ABORTED_REASON
+                : ABORTED_REASON + " Task can be resumed.";
+        taskService.updateStatus(task.getId(), TaskStatus.FAILURE, reason);
     }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.listing.service;
+
+import com.epam.pipeline.dts.listing.service.impl.DirectoryListingCache;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class DirectoryListingCacheTest {
+
+    private static final Path FOLDER_1 = Paths.get("/root/folder1");
+    private static final Path FOLDER_2 = Paths.get("/root/folder2");
+    private static final FileTime MODIFIED = FileTime.fromMillis(1000L);
+    private static final FileTime MODIFIED_LATER = FileTime.fromMillis(2000L);
+    private static final List<String> NAMES = Arrays.asList("file1", "file2");
+
+    private final DirectoryListingCache cache = new DirectoryListingCache(1);
+
+    @Test
+    void getShouldReturnNamesIfDirectoryWasNotModified() {
+        cache.put(FOLDER_1, MODIFIED, NAMES);
+
+        assertThat(cache.get(FOLDER_1, MODIFIED), is(Optional.of(NAMES)));
+    }
+
+    @Test
+    void getShouldNotReturnNamesIfDirectoryWasModified() {
+        cache.put(FOLDER_1, MODIFIED, NAMES);
+
+        assertFalse(cache.get(FOLDER_1, MODIFIED_LATER).isPresent());
+        assertFalse(cache.get(FOLDER_1, MODIFIED).isPresent());
+    }
+
+    @Test
+    void putShouldEvictLeastRecentlyUsedDirectory() {
+        cache.put(FOLDER_1, MODIFIED, NAMES);
+        cache.put(FOLDER_2, MODIFIED, NAMES);
+
+        assertFalse(cache.get(FOLDER_1, MODIFIED).isPresent());
+        assertThat(cache.get(FOLDER_2, MODIFIED), is(Optional.of(NAMES)));
+    }
+
+    @Test
+    void putShouldSkipRecentlyModifiedDirectory() {
+        final FileTime now = FileTime.fromMillis(System.currentTimeMillis());
+        cache.put(FOLDER_1, now, NAMES);
+
+        assertFalse(cache.get(FOLDER_1, now).isPresent());
+    }
+}
@@ -198,7 +198,7 @@ public class LocalListingServiceTest extends AbstractTransferTest {
             Path file2 = folder.resolve(FILE2);
             Files.createFile(file2);
 
-            ListingItemsPaging result = listingService.list(new ItemsListingRequestDTO(pathToFolder, 1, "1", null));
+            ListingItemsPaging result = listingService.list(new ItemsListingRequestDTO(pathToFolder, 1, null, null));
             List<ListingItem> actual = result.getResults();
             List<ListingItem> expected = Stream
                     .of(ListingItem
@@ -212,9 +212,9 @@ public class LocalListingServiceTest extends AbstractTransferTest {
                                     .build())
                     .collect(Collectors.toList());
             assertTransferItems(expected, actual);
-            assertThat(result.getNextPageMarker(), is("2"));
+            assertThat(result.getNextPageMarker(), is(FOLDER));
 
-            result = listingService.list(new ItemsListingRequestDTO(pathToFolder, 1, "2", null));
+            result = listingService.list(new ItemsListingRequestDTO(pathToFolder, 1, FOLDER, null));
             actual = result.getResults();
             expected = Stream
                     .of(ListingItem
@@ -34,9 +34,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
+import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.eq;
@@ -49,6 +51,7 @@ public class SGEServiceImplTest {
     private static final String JOB_ID = "12345";
     private static final String QHOST_CMD = "qhosts";
     private static final String QSTAT_CMD = "qstat -j $[job_id] -xml -f";
+    private static final String QSTAT_LIST_CMD = "qstat -u '*' -xml";
     private static final String QDEL_CMD = "qdel -j $[job_id]";
     private static final String EXEC_HOST = "i-002";
     private static final int HOST_SLOTS = 88;
@@ -60,6 +63,7 @@ public class SGEServiceImplTest {
 
     private static String qhostXml;
     private static String qstatXml;
+    private static String qstatListXml;
 
     @Mock
     private CmdExecutor cmdExecutor;
@@ -68,12 +72,13 @@ public class SGEServiceImplTest {
     public static void init() throws IOException {
         qhostXml = TestUtils.getResourceContent("/sge/qhost.xml");
         qstatXml = TestUtils.getResourceContent("/sge/qstat.xml");
+        qstatListXml = TestUtils.getResourceContent("/sge/qstat-list.xml");
     }
 
     @BeforeEach
     public void setUp() {
         qhostSGECommand = new QhostSGECommand(cmdExecutor, QHOST_CMD);
-        qstatSGECommand = new QstatSGECommand(cmdExecutor, QSTAT_CMD);
+        qstatSGECommand = new QstatSGECommand(cmdExecutor, QSTAT_CMD, QSTAT_LIST_CMD);
         qdelSGECommand = new QdelSGECommand(cmdExecutor, QDEL_CMD);
         sgeService = new SGEServiceImpl(QUEUE_NAME, qhostSGECommand, qstatSGECommand, qdelSGECommand);
     }
@@ -106,6 +111,25 @@ public class SGEServiceImplTest {
         assertThat(jobInfo.getHost(), equalTo(EXEC_HOST));
     }
 
+    @Test
+    public void shouldParseValidQstatListXML() throws SGECmdException {
+        when(cmdExecutor.executeCommand(eq(QSTAT_LIST_CMD))).thenReturn(qstatListXml);
+        final Map<String, SGEJob> jobs = sgeService.getJobs();
+        assertThat(jobs.size(), equalTo(3));
+        assertThat(jobs.get("101").getHost(), equalTo("i-001"));
+        assertThat(jobs.get("102").getHost(), equalTo(EXEC_HOST));
+        assertThat(jobs.get("102").getState(), equalTo("r"));
+        assertThat(jobs.get("103").getHost(), is(nullValue()));
+        assertThat(jobs.get("103").getState(), equalTo("qw"));
+    }
+
+    @Test
+    public void shouldReturnNoJobsForEmptyQstatListXML() throws SGECmdException {
+        when(cmdExecutor.executeCommand(eq(QSTAT_LIST_CMD)))
+                .thenReturn("<?xml version='1.0'?><job_info><queue_info></queue_info><job_info></job_info></job_info>");
+        assertThat(sgeService.getJobs().size(), equalTo(0));
+    }
+
     @Test
     public void shouldExecuteQdelCommand() throws SGECmdException {
         sgeService.stopJob(JOB_ID);
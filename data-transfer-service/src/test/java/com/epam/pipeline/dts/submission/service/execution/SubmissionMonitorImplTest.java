@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.submission.service.execution;
+
+import com.epam.pipeline.dts.submission.exception.SGECmdException;
+import com.epam.pipeline.dts.submission.exception.SubmissionException;
+import com.epam.pipeline.dts.submission.model.execution.SGEJob;
+import com.epam.pipeline.dts.submission.model.execution.Submission;
+import com.epam.pipeline.dts.submission.model.execution.SubmissionState;
+import com.epam.pipeline.dts.submission.model.execution.SubmissionStatus;
+import com.epam.pipeline.dts.submission.service.execution.impl.SubmissionMonitorImpl;
+import com.epam.pipeline.dts.submission.service.pipeline.CloudPipelineService;
+import com.epam.pipeline.dts.submission.service.sge.SGEService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SubmissionMonitorImplTest {
+
+    private static final String QSTAT_LIST_CMD = "qstat -u '*' -xml";
+    private static final String HOST = "i-001";
+
+    private final SubmissionService submissionService = mock(SubmissionService.class);
+    private final SubmissionScheduler submissionScheduler = mock(SubmissionScheduler.class);
+    private final CloudPipelineService pipelineService = mock(CloudPipelineService.class);
+    private final SGEService sgeService = mock(SGEService.class);
+
+    @BeforeEach
+    void setUp() throws SubmissionException {
+        when(submissionScheduler.getState(anyLong()))
+                .thenReturn(SubmissionState.builder().status(SubmissionStatus.RUNNING).build());
+    }
+
+    @Test
+    void checkSubmissionsShouldListJobsOnceForAllSubmissions() throws SGECmdException {
+        final Submission scheduled = submission(1L, "101");
+        final Submission pending = submission(2L, "102");
+        when(submissionService.loadActive()).thenReturn(Arrays.asList(scheduled, pending));
+        when(sgeService.getJobs()).thenReturn(Collections.singletonMap("101", new SGEJob("101", HOST, "r")));
+
+        monitor(QSTAT_LIST_CMD).checkSubmissions();
+
+        verify(sgeService).getJobs();
+        verify(sgeService, never()).getJobInfo(any());
+        assertThat(scheduled.getSubmissionHost(), is(HOST));
+        assertThat(pending.getSubmissionHost(), is(nullValue()));
+        verify(submissionService).update(scheduled);
+        verify(pipelineService).updateRunInstance(scheduled);
+    }
+
+    @Test
+    void checkSubmissionsShouldDescribeJobsSeparatelyIfListingIsNotConfigured() throws SGECmdException {
+        when(submissionService.loadActive()).thenReturn(Arrays.asList(submission(1L, "101"), submission(2L, "102")));
+        when(sgeService.getJobInfo(any())).thenReturn(new SGEJob());
+
+        monitor(null).checkSubmissions();
+
+        verify(sgeService, never()).getJobs();
+        verify(sgeService, times(2)).getJobInfo(any());
+    }
+
+    @Test
+    void checkSubmissionsShouldCompleteFinishedSubmissionsWithoutListingJobs()
+            throws SubmissionException, SGECmdException {
+        final Submission finished = submission(1L, "101");
+        finished.setSubmissionHost(HOST);
+        when(submissionService.loadActive()).thenReturn(Collections.singletonList(finished));
+        when(submissionScheduler.getState(1L))
+                .thenReturn(SubmissionState.builder().status(SubmissionStatus.SUCCESS).build());
+        when(submissionScheduler.getLogs(1L)).thenReturn("logs");
+
+        monitor(QSTAT_LIST_CMD).checkSubmissions();
+
+        verify(sgeService, never()).getJobs();
+        assertThat(finished.getState().getStatus(), is(SubmissionStatus.SUCCESS));
+        verify(pipelineService).saveLogs(finished, "logs");
+        verify(pipelineService).updateStatus(finished);
+    }
+
+    private SubmissionMonitor monitor(final String qstatListCmd) {
+        return new SubmissionMonitorImpl(submissionService, submissionScheduler, pipelineService, sgeService,
+                Executors.newFixedThreadPool(2), qstatListCmd);
+    }
+
+    private Submission submission(final Long id, final String jobId) {
+        return Submission.builder()
+                .id(id)
+                .jobId(jobId)
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.repository;
+
+import com.epam.pipeline.dts.security.service.JwtTokenVerifier;
+import com.epam.pipeline.dts.transfer.model.StorageItem;
+import com.epam.pipeline.dts.transfer.model.StorageType;
+import com.epam.pipeline.dts.transfer.model.TaskStatus;
+import com.epam.pipeline.dts.transfer.model.TransferPart;
+import com.epam.pipeline.dts.transfer.model.TransferTask;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@TestPropertySource(value={"classpath:test-application.properties"})
+public class TransferRepositoryTest {
+
+    private static final String FIRST_PATH = "s3://bucket/first";
+    private static final String SECOND_PATH = "s3://bucket/second";
+
+    @MockBean
+    public JwtTokenVerifier jwtTokenVerifier;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TransferPartRepository partRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    public void shouldUpdateOnlyTaskProgress() {
+        final TransferTask task = saveTask();
+
+        taskRepository.updateProgress(task.getId(), 10L, 5L, 1L, 5L);
+        entityManager.clear();
+
+        final TransferTask loaded = taskRepository.findById(task.getId()).get();
+        assertThat(loaded.getStatus(), is(TaskStatus.RUNNING));
+        assertThat(loaded.getReason(), is(task.getReason()));
+        assertThat(loaded.getProgress().getTotalBytes(), is(10L));
+        assertThat(loaded.getProgress().getTransferredBytes(), is(5L));
+        assertThat(loaded.getProgress().getBytesPerSecond(), is(1L));
+        assertThat(loaded.getProgress().getEtaSeconds(), is(5L));
+    }
+
+    @Test
+    public void shouldDeletePartsOfTaskByPaths() {
+        final TransferTask task = saveTask();
+        final TransferTask otherTask = saveTask();
+        partRepository.saveAll(Arrays.asList(part(task, FIRST_PATH, 1), part(task, FIRST_PATH, 2),
+                part(task, SECOND_PATH, 1), part(otherTask, FIRST_PATH, 1)));
+
+        partRepository.deleteAllByTaskIdAndPathIn(task.getId(), Collections.singleton(FIRST_PATH));
+        entityManager.clear();
+
+        assertThat(paths(task), containsInAnyOrder(SECOND_PATH));
+        assertThat(paths(otherTask), containsInAnyOrder(FIRST_PATH));
+    }
+
+    @Test
+    public void shouldDeleteAllPartsOfTask() {
+        final TransferTask task = saveTask();
+        partRepository.saveAll(Arrays.asList(part(task, FIRST_PATH, 1), part(task, SECOND_PATH, 1)));
+
+        partRepository.deleteAllByTaskId(task.getId());
+        entityManager.clear();
+
+        assertThat(partRepository.findAllByTaskId(task.getId()), empty());
+    }
+
+    private List<String> paths(final TransferTask task) {
+        return partRepository.findAllByTaskId(task.getId()).stream()
+                .map(TransferPart::getPath)
+                .collect(Collectors.toList());
+    }
+
+    private TransferTask saveTask() {
+        return taskRepository.save(TransferTask.builder()
+                .status(TaskStatus.RUNNING)
+                .reason("Transfer task resumed")
+                .source(new StorageItem(StorageType.LOCAL, "/local/path", null))
+                .destination(new StorageItem(StorageType.S3, FIRST_PATH, null))
+                .build());
+    }
+
+    private TransferPart part(final TransferTask task, final String path, final int number) {
+        return TransferPart.builder()
+                .taskId(task.getId())
+                .path(path)
+                .number(number)
+                .offset(0L)
+                .length(1L)
+                .build();
+    }
+}
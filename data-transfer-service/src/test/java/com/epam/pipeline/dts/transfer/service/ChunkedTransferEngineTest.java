@@ -0,0 +1,239 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service;
+
+import com.epam.pipeline.dts.transfer.model.StorageItem;
+import com.epam.pipeline.dts.transfer.model.StorageType;
+import com.epam.pipeline.dts.transfer.model.TransferPart;
+import com.epam.pipeline.dts.transfer.model.TransferProgress;
+import com.epam.pipeline.dts.transfer.model.TransferTask;
+import com.epam.pipeline.dts.transfer.service.impl.ChunkedTransferEngine;
+import lombok.SneakyThrows;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ChunkedTransferEngineTest extends AbstractTransferTest {
+
+    private static final Long TASK_ID = 1L;
+    private static final int PART_SIZE = 1024;
+    private static final int FILE_SIZE = PART_SIZE * 5 + PART_SIZE / 2;
+    private static final int SMALL_FILE_SIZE = PART_SIZE / 4;
+    private static final String OBJECT_PATH = S3_PREFIX + "bucket/folder/file";
+    private static final String FOLDER_PATH = S3_PREFIX + "bucket/folder";
+
+    private final Path localFolder = createTempFolder("dts-chunked-transfer-local");
+    private final Path storageFolder = createTempFolder("dts-chunked-transfer-storage");
+    private final TaskService taskService = mock(TaskService.class);
+    private final LocalObjectStorageClient storageClient = new LocalObjectStorageClient(storageFolder, S3_PREFIX);
+    private final ChunkedTransferEngine engine = new ChunkedTransferEngine(taskService, PART_SIZE, 4, 0);
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+        FileUtils.deleteQuietly(localFolder.toFile());
+        FileUtils.deleteQuietly(storageFolder.toFile());
+    }
+
+    @Test
+    void uploadShouldSplitLargeFileIntoParts() {
+        final byte[] content = write(localFolder.resolve("file"), FILE_SIZE);
+
+        engine.upload(task(localItem(localFolder.resolve("file").toString()), s3(OBJECT_PATH)), storageClient);
+
+        assertArrayEquals(content, read(storageClient.resolve(OBJECT_PATH)));
+        assertThat(storageClient.getUploadedParts(), is(6));
+        final TransferProgress progress = lastProgress();
+        assertThat(progress.getTotalBytes(), is((long) FILE_SIZE));
+        assertThat(progress.getTransferredBytes(), is((long) FILE_SIZE));
+        assertThat(progress.getBytesPerSecond(), notNullValue());
+    }
+
+    @Test
+    void uploadShouldTransferIncludedFilesOfDirectory() {
+        final byte[] content = write(localFolder.resolve("nested").resolve("file.txt"), SMALL_FILE_SIZE);
+        write(localFolder.resolve("file.log"), SMALL_FILE_SIZE);
+        final TransferTask task = task(localItem(localFolder.toString()), s3(FOLDER_PATH + "/"));
+        task.setIncluded(Collections.singletonList("**.txt"));
+
+        engine.upload(task, storageClient);
+
+        assertArrayEquals(content, read(storageClient.resolve(FOLDER_PATH + "/nested/file.txt")));
+        assertFalse(Files.exists(storageClient.resolve(FOLDER_PATH + "/file.log")));
+        assertThat(storageClient.getUploadedParts(), is(0));
+    }
+
+    @Test
+    void downloadShouldWriteAllPartsOfObjects() {
+        final byte[] content = write(storageClient.resolve(OBJECT_PATH), FILE_SIZE);
+        final byte[] smallContent = write(storageClient.resolve(FOLDER_PATH + "/nested/small"), SMALL_FILE_SIZE);
+
+        engine.download(task(s3(FOLDER_PATH), localItem(localFolder.toString())), storageClient);
+
+        assertArrayEquals(content, read(localFolder.resolve("file")));
+        assertArrayEquals(smallContent, read(localFolder.resolve("nested").resolve("small")));
+        assertThat(storageClient.getReadParts(), is(7));
+    }
+
+    @Test
+    void uploadShouldResumeFromCompletedParts() {
+        final byte[] content = write(localFolder.resolve("file"), FILE_SIZE);
+        final TransferTask task = task(localItem(localFolder.resolve("file").toString()), s3(OBJECT_PATH));
+        storageClient.failOnce(3);
+
+        assertThrows(IllegalStateException.class, () -> engine.upload(task, storageClient));
+
+        final List<TransferPart> checkpoints = storedParts();
+        assertFalse(checkpoints.isEmpty());
+        assertFalse(checkpoints.stream().anyMatch(part -> part.getNumber() == 3));
+        final int uploadedBeforeFailure = storageClient.getUploadedParts();
+        task.setParts(checkpoints);
+
+        engine.upload(task, storageClient);
+
+        assertArrayEquals(content, read(storageClient.resolve(OBJECT_PATH)));
+        assertThat(storageClient.getUploadedParts() - uploadedBeforeFailure, is(6 - checkpoints.size()));
+        assertThat(storedParts().size(), is(1));
+        assertThat(lastProgress().getTransferredBytes(), is((long) FILE_SIZE));
+    }
+
+    @Test
+    void downloadShouldSkipCompletedObjects() {
+        write(storageClient.resolve(OBJECT_PATH), FILE_SIZE);
+        final TransferTask task = task(s3(FOLDER_PATH), localItem(localFolder.toString()));
+        engine.download(task, storageClient);
+        final int readParts = storageClient.getReadParts();
+        task.setParts(storedParts());
+
+        engine.download(task, storageClient);
+
+        assertThat(storageClient.getReadParts(), is(readParts));
+    }
+
+    @Test
+    void downloadShouldTransferAllPartsIfLocalFileIsRemoved() {
+        final byte[] content = write(storageClient.resolve(OBJECT_PATH), FILE_SIZE);
+        final Path localFile = localFolder.resolve("file");
+        final TransferTask task = task(s3(OBJECT_PATH), localItem(localFile.toString()));
+        task.setParts(IntStream.rangeClosed(1, 3)
+                .mapToObj(number -> TransferPart.builder()
+                        .path(OBJECT_PATH)
+                        .number(number)
+                        .offset((long) (number - 1) * PART_SIZE)
+                        .length((long) PART_SIZE)
+                        .build())
+                .collect(Collectors.toList()));
+
+        engine.download(task, storageClient);
+
+        assertArrayEquals(content, read(localFile));
+        assertThat(storageClient.getReadParts(), is(6));
+        assertThat(lastProgress().getTransferredBytes(), is((long) FILE_SIZE));
+    }
+
+    @Test
+    void checkpointShouldContainOnlyNewParts() {
+        write(localFolder.resolve("file"), FILE_SIZE);
+
+        engine.upload(task(localItem(localFolder.resolve("file").toString()), s3(OBJECT_PATH)), storageClient);
+
+        final List<TransferPart> checkpointed = checkpointedParts();
+        assertThat(checkpointed.stream().filter(part -> part.getNumber() != TransferPart.COMPLETED_PART_NUMBER)
+                .count(), is(6L));
+        assertThat(checkpointed.stream().map(TransferPart::getNumber).distinct().count(),
+                is((long) checkpointed.size()));
+    }
+
+    private TransferTask task(final StorageItem source, final StorageItem destination) {
+        final TransferTask task = taskOf(source, destination);
+        task.setId(TASK_ID);
+        return task;
+    }
+
+    private StorageItem s3(final String path) {
+        return new StorageItem(StorageType.S3, path, S3_CREDENTIALS);
+    }
+
+    private TransferProgress lastProgress() {
+        final ArgumentCaptor<TransferProgress> captor = ArgumentCaptor.forClass(TransferProgress.class);
+        verify(taskService, atLeastOnce()).updateProgress(eq(TASK_ID), captor.capture(), anyList());
+        return captor.getValue();
+    }
+
+    /**
+     * Collects parts of all checkpoints the same way as they are stored by a task service.
+     */
+    @SuppressWarnings("unchecked")
+    private List<TransferPart> storedParts() {
+        final ArgumentCaptor<List<TransferPart>> captor = ArgumentCaptor.forClass(List.class);
+        verify(taskService, atLeastOnce()).updateProgress(eq(TASK_ID), any(), captor.capture());
+        final List<TransferPart> stored = new ArrayList<>();
+        captor.getAllValues().forEach(parts -> {
+            parts.stream()
+                    .filter(part -> part.getNumber() == TransferPart.COMPLETED_PART_NUMBER)
+                    .forEach(completed -> stored.removeIf(part -> part.getPath().equals(completed.getPath())));
+            stored.addAll(parts);
+        });
+        return stored;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TransferPart> checkpointedParts() {
+        final ArgumentCaptor<List<TransferPart>> captor = ArgumentCaptor.forClass(List.class);
+        verify(taskService, atLeastOnce()).updateProgress(eq(TASK_ID), any(), captor.capture());
+        return captor.getAllValues().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    @SneakyThrows
+    private byte[] write(final Path file, final int size) {
+        final byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content);
+        return content;
+    }
+
+    @SneakyThrows
+    private byte[] read(final Path file) {
+        return Files.readAllBytes(file);
+    }
+}
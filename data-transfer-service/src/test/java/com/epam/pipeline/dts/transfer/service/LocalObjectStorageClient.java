@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service;
+
+import com.epam.pipeline.dts.transfer.model.StorageObject;
+import com.epam.pipeline.dts.transfer.model.StorageType;
+import com.epam.pipeline.dts.transfer.model.TransferPart;
+import lombok.SneakyThrows;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Object storage stand-in which keeps objects in a local directory.
+ *
+ * Storage path s3://bucket/path/to/object is stored as root/bucket/path/to/object.
+ */
+public class LocalObjectStorageClient implements ObjectStorageClient {
+
+    private static final String DELIMITER = "/";
+    private static final String UPLOADS = ".uploads";
+
+    private final Path root;
+    private final String prefix;
+    private final AtomicInteger uploadedParts = new AtomicInteger();
+    private final AtomicInteger readParts = new AtomicInteger();
+    private final Set<Integer> failingParts = ConcurrentHashMap.newKeySet();
+
+    public LocalObjectStorageClient(final Path root, final String prefix) {
+        this.root = root;
+        this.prefix = prefix;
+    }
+
+    public int getUploadedParts() {
+        return uploadedParts.get();
+    }
+
+    public int getReadParts() {
+        return readParts.get();
+    }
+
+    /**
+     * Makes upload of a part with the given number fail once.
+     */
+    public void failOnce(final int partNumber) {
+        failingParts.add(partNumber);
+    }
+
+    public Path resolve(final String path) {
+        return root.resolve(StringUtils.removeStart(path, prefix));
+    }
+
+    @Override
+    public StorageType getStorageType() {
+        return StorageType.S3;
+    }
+
+    @Override
+    @SneakyThrows
+    public List<StorageObject> listObjects(final String path, final String credentials) {
+        final Path object = resolve(path);
+        if (Files.isRegularFile(object)) {
+            return Collections.singletonList(new StorageObject(path, Files.size(object)));
+        }
+        if (!Files.isDirectory(object)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> files = Files.walk(object)) {
+            return files.filter(Files::isRegularFile)
+                    .map(file -> new StorageObject(StringUtils.removeEnd(path, DELIMITER) + DELIMITER
+                            + object.relativize(file).toString(), file.toFile().length()))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    @SneakyThrows
+    public InputStream readObject(final String path, final long offset, final long length,
+                                  final String credentials) {
+        readParts.incrementAndGet();
+        final InputStream data = Files.newInputStream(resolve(path));
+        data.skip(offset);
+        return new BoundedInputStream(data, length);
+    }
+
+    @Override
+    @SneakyThrows
+    public void putObject(final String path, final InputStream data, final long length, final String credentials) {
+        final Path object = resolve(path);
+        Files.createDirectories(object.getParent());
+        Files.copy(data, object, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    @SneakyThrows
+    public String startUpload(final String path, final String credentials) {
+        final String uploadId = UUID.randomUUID().toString();
+        Files.createDirectories(root.resolve(UPLOADS).resolve(uploadId));
+        return uploadId;
+    }
+
+    @Override
+    @SneakyThrows
+    public String uploadPart(final String path, final String uploadId, final TransferPart part,
+                             final InputStream data, final String credentials) {
+        failIfRequired(part.getNumber());
+        uploadedParts.incrementAndGet();
+        Files.copy(data, root.resolve(UPLOADS).resolve(uploadId).resolve(String.valueOf(part.getNumber())),
+                StandardCopyOption.REPLACE_EXISTING);
+        return uploadId + part.getNumber();
+    }
+
+    @Override
+    @SneakyThrows
+    public void completeUpload(final String path, final String uploadId, final List<TransferPart> parts,
+                               final String credentials) {
+        final Path object = resolve(path);
+        Files.createDirectories(object.getParent());
+        try (OutputStream output = Files.newOutputStream(object, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (final TransferPart part : parts) {
+                if (!StringUtils.equals(part.getTag(), uploadId + part.getNumber())) {
+                    throw new IllegalStateException("Invalid tag of part " + part.getNumber());
+                }
+                Files.copy(root.resolve(UPLOADS).resolve(uploadId).resolve(String.valueOf(part.getNumber())),
+                        output);
+            }
+        }
+    }
+
+    private void failIfRequired(final int partNumber) {
+        if (failingParts.remove(partNumber)) {
+            throw new IllegalStateException("Failed to transfer part " + partNumber);
+        }
+    }
+}
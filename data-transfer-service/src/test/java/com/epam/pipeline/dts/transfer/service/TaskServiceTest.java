@@ -17,9 +17,13 @@
 package com.epam.pipeline.dts.transfer.service;
 
 import com.epam.pipeline.dts.transfer.model.StorageItem;
+import com.epam.pipeline.dts.transfer.model.StorageType;
 import com.epam.pipeline.dts.transfer.model.TaskStatus;
 import com.epam.pipeline.dts.transfer.model.TransferTask;
+import com.epam.pipeline.dts.transfer.model.TransferPart;
+import com.epam.pipeline.dts.transfer.model.TransferProgress;
 import com.epam.pipeline.dts.transfer.repository.TaskRepository;
+import com.epam.pipeline.dts.transfer.repository.TransferPartRepository;
 import com.epam.pipeline.dts.transfer.service.impl.TaskServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -42,7 +46,8 @@ import static org.mockito.Mockito.*;
 public class TaskServiceTest extends AbstractTransferTest {
 
     private final TaskRepository taskRepository = mock(TaskRepository.class);
-    private final TaskService taskService = new TaskServiceImpl(taskRepository);
+    private final TransferPartRepository partRepository = mock(TransferPartRepository.class);
+    private final TaskService taskService = new TaskServiceImpl(taskRepository, partRepository);
 
     @BeforeEach
     void setUp() {
@@ -284,6 +289,105 @@ public class TaskServiceTest extends AbstractTransferTest {
         assertThat(actualTasks, containsInAnyOrder(expectedTasks.toArray()));
     }
 
+    @Test
+    void resumeTaskShouldSetRunningStatusAndCredentialsOfFailedTask() {
+        final TransferTask failedTask = TransferTask.builder()
+            .id(1L)
+            .status(TaskStatus.FAILURE)
+            .source(new StorageItem(StorageType.S3, S3_PATH, null))
+            .destination(new StorageItem(StorageType.LOCAL, NON_EXISTING_LOCAL_PATH, null))
+            .build();
+        when(taskRepository.findById(any())).thenReturn(Optional.of(failedTask));
+
+        final TransferTask task = taskService.resumeTask(1L, s3Item(), nonExistingLocalItem(), null);
+
+        assertThat(task.getStatus(), is(TaskStatus.RUNNING));
+        assertNull(task.getFinished());
+        assertThat(task.getSource().getCredentials(), is(S3_CREDENTIALS));
+        assertThat(task.getDestination().getCredentials(), is(LOCAL_CREDENTIALS));
+    }
+
+    @Test
+    void resumeTaskShouldFailIfTaskIsRunning() {
+        final TransferTask runningTask = TransferTask.builder()
+            .id(1L)
+            .status(TaskStatus.RUNNING)
+            .source(s3Item())
+            .destination(nonExistingLocalItem())
+            .build();
+        when(taskRepository.findById(any())).thenReturn(Optional.of(runningTask));
+
+        assertThrows(RuntimeException.class,
+            () -> taskService.resumeTask(1L, s3Item(), nonExistingLocalItem(), null));
+    }
+
+    @Test
+    void resumeTaskShouldFailIfSourceDiffers() {
+        final TransferTask failedTask = TransferTask.builder()
+            .id(1L)
+            .status(TaskStatus.FAILURE)
+            .source(s3Item())
+            .destination(nonExistingLocalItem())
+            .build();
+        when(taskRepository.findById(any())).thenReturn(Optional.of(failedTask));
+
+        assertThrows(RuntimeException.class,
+            () -> taskService.resumeTask(1L, gsItem(), nonExistingLocalItem(), null));
+    }
+
+    @Test
+    void resumeTaskShouldLoadTransferredParts() {
+        final TransferTask failedTask = TransferTask.builder()
+            .id(1L)
+            .status(TaskStatus.FAILURE)
+            .source(s3Item())
+            .destination(nonExistingLocalItem())
+            .build();
+        final List<TransferPart> parts = Collections.singletonList(part(1));
+        when(taskRepository.findById(any())).thenReturn(Optional.of(failedTask));
+        when(partRepository.findAllByTaskId(1L)).thenReturn(parts);
+
+        final TransferTask task = taskService.resumeTask(1L, s3Item(), nonExistingLocalItem(), null);
+
+        assertThat(task.getParts(), is(parts));
+    }
+
+    @Test
+    void updateProgressShouldUpdateOnlyProgressAndSaveNewParts() {
+        final TransferProgress progress = TransferProgress.builder()
+            .totalBytes(2L)
+            .transferredBytes(1L)
+            .build();
+        final List<TransferPart> parts = Collections.singletonList(part(1));
+
+        taskService.updateProgress(1L, progress, parts);
+
+        verify(taskRepository).updateProgress(1L, 2L, 1L, null, null);
+        verify(taskRepository, never()).save(any());
+        verify(partRepository, never()).deleteAllByTaskIdAndPathIn(any(), any());
+        verify(partRepository).saveAll(parts);
+        assertThat(parts.get(0).getTaskId(), is(1L));
+    }
+
+    @Test
+    void updateProgressShouldReplaceStoredPartsOfCompletedObjects() {
+        final TransferProgress progress = TransferProgress.builder().build();
+
+        taskService.updateProgress(1L, progress, Collections.singletonList(part(TransferPart.COMPLETED_PART_NUMBER)));
+
+        verify(partRepository).deleteAllByTaskIdAndPathIn(1L, Collections.singleton(S3_PATH));
+        verify(partRepository).saveAll(any());
+    }
+
+    private TransferPart part(final int number) {
+        return TransferPart.builder()
+            .path(S3_PATH)
+            .number(number)
+            .offset(0L)
+            .length(1L)
+            .build();
+    }
+
     private ArgumentMatcher<TransferTask> hasSourceAndDestination(final StorageItem source,
                                                                   final StorageItem destination) {
         return task -> task.getSource().equals(source) && task.getDestination().equals(destination);
@@ -17,7 +17,9 @@
 package com.epam.dockercompscan;
 
 import com.epam.dockercompscan.config.WEBMVCConfiguration;
+import com.epam.dockercompscan.owasp.DependencyCheckService;
 import com.epam.dockercompscan.util.LayerScanCache;
+import com.epam.dockercompscan.util.LayerScanStore;
 import okhttp3.OkHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,6 +54,9 @@ public class DockerComponentScanApplication {
     @Value("${number.cached.scans:50}")
     private int numberOfCachedScans;
 
+    @Value("${scan.store.dir:}")
+    private String scanStoreDir;
+
     @Value("${ssl.insecure.enable}")
     private boolean sslInsecureEnable;
 
@@ -108,6 +113,11 @@ public class DockerComponentScanApplication {
         return new LayerScanCache(expireCacheTime, numberOfCachedScans);
     }
 
+    @Bean
+    public LayerScanStore layerScanStore(DependencyCheckService checkService) {
+        return new LayerScanStore(scanStoreDir, checkService.getScannerVersion());
+    }
+
     @Bean
     public Semaphore scanSlots() {
         return new Semaphore(numberOfScanningThreads);
@@ -26,9 +26,16 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.File;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -36,14 +43,49 @@ import java.util.stream.Collectors;
 public class DependencyCheckService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DependencyCheckService.class);
+    private static final String UNKNOWN_VERSION = "unknown";
 
     @Value("#{'${enable.analyzers}'.split(',')}")
     private List<String> enabledAnalysers;
 
+    @Value("${worker.threads.count:4}")
+    private int numberOfEngines;
+
+    /**
+     * Engines with loaded and initialized analyzers ready to scan. An engine keeps analyzers state
+     * between runs, so each engine is used for a single scan only and a replacement is prepared
+     * in background, out of the scan path.
+     */
+    private BlockingQueue<ScanEngine> engines;
+    private ExecutorService enginePreparer;
+
+    /**
+     * Engine used only to check whether a file is claimed by any of the enabled analyzers.
+     */
+    private ScanEngine filterEngine;
+
+    @PostConstruct
+    public void init() {
+        engines = new ArrayBlockingQueue<>(Math.max(numberOfEngines, 1));
+        for (int i = 0; i < numberOfEngines; i++) {
+            engines.offer(createEngine());
+        }
+        enginePreparer = Executors.newSingleThreadExecutor();
+        filterEngine = createEngine();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        enginePreparer.shutdownNow();
+        engines.forEach(ScanEngine::close);
+        engines.clear();
+        filterEngine.close();
+    }
+
     public List<Dependency> runScan(File outputFolder) {
         LOGGER.debug("Start scanning: " + outputFolder.getName());
-        Settings settings = populateSettings();
-        Engine engine = new Engine(Engine.Mode.EVIDENCE_COLLECTION, settings);
+        ScanEngine scanEngine = takeEngine();
+        Engine engine = scanEngine.getEngine();
         engine.scan(outputFolder);
 
         try {
@@ -51,8 +93,7 @@ public class DependencyCheckService {
         } catch (ExceptionCollection e) {
             LOGGER.warn("There were Exceptions while scan: " + e.getMessage(), e);
         } finally {
-            engine.close();
-            settings.cleanup();
+            scanEngine.close();
             LOGGER.debug("Finish scanning: " + outputFolder.getName());
         }
 
@@ -62,6 +103,28 @@ public class DependencyCheckService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Checks if the file would be analyzed by any of the enabled analyzers. Only the file path is taken
+     * into account, so the file may not exist yet.
+     */
+    public boolean isScannable(File file) {
+        return filterEngine.getEngine().accept(file);
+    }
+
+    /**
+     * Returns version of the scanner: dependency-check version along with the enabled analyzers.
+     * Scan results of the same layer are equal as long as the scanner version is the same.
+     */
+    public String getScannerVersion() {
+        Settings settings = new Settings();
+        try {
+            return settings.getString(Settings.KEYS.APPLICATION_VERSION, UNKNOWN_VERSION) + ":"
+                    + enabledAnalysers.stream().sorted().collect(Collectors.joining(","));
+        } finally {
+            settings.cleanup();
+        }
+    }
+
     private Predicate<org.owasp.dependencycheck.dependency.Dependency> getDependencyFilter() {
         return d -> d.getName() != null && d.getEcosystem() != null
                 && (enabledAnalysers.stream()
@@ -69,6 +132,26 @@ public class DependencyCheckService {
                                     .anyMatch(analyzer -> analyzer.getEcosystem().equals(d.getEcosystem())));
     }
 
+    private ScanEngine takeEngine() {
+        ScanEngine engine = engines.poll();
+        if (!enginePreparer.isShutdown()) {
+            CompletableFuture.runAsync(this::prepareEngine, enginePreparer);
+        }
+        return engine != null ? engine : createEngine();
+    }
+
+    private void prepareEngine() {
+        ScanEngine engine = createEngine();
+        if (!engines.offer(engine)) {
+            engine.close();
+        }
+    }
+
+    private ScanEngine createEngine() {
+        Settings settings = populateSettings();
+        return new ScanEngine(new Engine(Engine.Mode.EVIDENCE_COLLECTION, settings), settings);
+    }
+
     private Settings populateSettings() {
         Settings settings = new Settings();
         settings.setBooleanIfNotNull(Settings.KEYS.ANALYZER_EXPERIMENTAL_ENABLED, true);
@@ -83,4 +166,23 @@ public class DependencyCheckService {
         return settings;
     }
 
+    private static class ScanEngine {
+
+        private final Engine engine;
+        private final Settings settings;
+
+        ScanEngine(Engine engine, Settings settings) {
+            this.engine = engine;
+            this.settings = settings;
+        }
+
+        Engine getEngine() {
+            return engine;
+        }
+
+        void close() {
+            engine.close();
+            settings.cleanup();
+        }
+    }
 }
@@ -24,11 +24,13 @@ import com.epam.dockercompscan.scan.domain.LayerScanResult;
 import com.epam.dockercompscan.scan.domain.ScanRequest;
 import com.epam.dockercompscan.util.LayerKey;
 import com.epam.dockercompscan.util.LayerScanCache;
+import com.epam.dockercompscan.util.LayerScanStore;
 import org.apache.commons.compress.archivers.ArchiveEntry;
 import org.apache.commons.compress.archivers.ArchiveInputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.compress.utils.IOUtils;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.input.CountingInputStream;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -70,9 +72,15 @@ public class ScanService {
     @Value("${base.working.dir}")
     private String baseWorkingDir;
 
+    @Value("${layer.selective.unpack:true}")
+    private boolean selectiveUnpack;
+
     @Autowired
     private LayerScanCache layerScanCache;
 
+    @Autowired
+    private LayerScanStore layerScanStore;
+
     private Semaphore scanSlots;
 
     @PostConstruct
@@ -84,7 +92,7 @@ public class ScanService {
         id = URLDecoder.decode(id);
         List<LayerScanResult> layers = new ArrayList<>();
         LOGGER.debug("Load info for image by Id layer: " + id);
-        @Nullable LayerScanResult lastLayer = layerScanCache.getIfPresent(LayerKey.withName(id));
+        @Nullable LayerScanResult lastLayer = loadLayerScan(id);
 
         if (lastLayer == null) {
             LOGGER.debug("Layer: " + id + " not found!");
@@ -97,7 +105,7 @@ public class ScanService {
             String layerId = lastLayer.getLayerId();
             LOGGER.debug("Load info for layer: " + layerParentId + ". " + "As parent for layer: " + layerId);
 
-            lastLayer = layerScanCache.getIfPresent(LayerKey.withName(layerParentId));
+            lastLayer = loadLayerScan(layerParentId);
             if (lastLayer == null) {
                 throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR, "Layer with id: " + layerParentId +
                         " not found, but it should be since it's parent for layer: " + layerId);
@@ -115,6 +123,10 @@ public class ScanService {
         LayerKey cacheKey = LayerKey.create(toScan.getName(), toScan.getParentName());
         LayerScanResult result = layerScanCache.getIfPresent(cacheKey);
 
+        if (result == null || result.getStatus() == LayerScanResult.Status.FAILURE) {
+            result = loadStoredScan(toScan);
+        }
+
         if (result == null || result.getStatus() == LayerScanResult.Status.FAILURE) {
             result = new LayerScanResult(toScan.getName(), LayerScanResult.Status.RUNNING, toScan.getParentName());
             layerScanCache.put(cacheKey, result);
@@ -122,12 +134,17 @@ public class ScanService {
             File outputFolder = new File(baseWorkingDir, toScan.getName());
             try {
                 scanSlots.acquire();
+                long startTime = System.currentTimeMillis();
                 Files.createDirectories(Paths.get(outputFolder.getPath()));
-                fetchLayer(toScan, outputFolder);
+                fetchLayer(toScan, outputFolder, result);
                 List<Dependency> dependencies = checkService.runScan(outputFolder);
                 dependencies.forEach(d -> d.setLayerId(toScan.getName()));
                 result.setDependencies(dependencies);
+                result.setScanTime(System.currentTimeMillis() - startTime);
+                LOGGER.info("Layer: " + toScan.getName() + " scanned in " + result.getScanTime() + " ms, "
+                        + result.getBytesRead() + " bytes read, " + result.getBytesUnpacked() + " bytes unpacked.");
                 result.setStatus(LayerScanResult.Status.SUCCESSFUL);
+                layerScanStore.put(result);
             } catch (IOException e) {
                 LOGGER.error(e.getMessage(), e);
                 result.setStatus(LayerScanResult.Status.FAILURE);
@@ -145,26 +162,74 @@ public class ScanService {
         return result;
     }
 
-    private void fetchLayer(ScanRequest.Layer layerToScan, File layerFolder) throws IOException {
+    /**
+     * Loads scan of the layer from the cache falling back to the persistent store, e.g. after a restart.
+     */
+    @Nullable
+    private LayerScanResult loadLayerScan(String id) {
+        LayerScanResult result = layerScanCache.getIfPresent(LayerKey.withName(id));
+        if (result != null) {
+            return result;
+        }
+        result = layerScanStore.get(id);
+        if (result != null) {
+            layerScanCache.put(LayerKey.create(id, result.getParentId()), result);
+        }
+        return result;
+    }
+
+    /**
+     * Loads scan of the layer which was already scanned by this or another instance with the same scanner
+     * version. Dependencies of a layer depend only on its digest, so the stored scan is reused even if
+     * the layer has another parent in the requested image.
+     */
+    @Nullable
+    private LayerScanResult loadStoredScan(ScanRequest.Layer toScan) {
+        LayerScanResult stored = layerScanStore.get(toScan.getName());
+        if (stored == null) {
+            return null;
+        }
+        LOGGER.debug("Layer: " + toScan.getName() + " was already scanned, stored result is used.");
+        LayerScanResult result = new LayerScanResult(toScan.getName(), LayerScanResult.Status.SUCCESSFUL,
+                toScan.getParentName());
+        result.setDependencies(stored.getDependencies());
+        layerScanCache.put(LayerKey.create(toScan.getName(), toScan.getParentName()), result);
+        return result;
+    }
+
+    /**
+     * Streams the layer blob from the registry and unpacks it into the layer folder. If selective unpack is
+     * enabled only files that would be analyzed by the enabled analyzers are written to disk,
+     * all other entries are skipped in the stream.
+     */
+    private void fetchLayer(ScanRequest.Layer layerToScan, File layerFolder, LayerScanResult result)
+            throws IOException {
 
-        GZIPInputStream gzipInputStream = new GZIPInputStream(
-                new BufferedInputStream(dockerRegistryService.getDockerLayerBlob(layerToScan)));
+        CountingInputStream blobStream = new CountingInputStream(dockerRegistryService.getDockerLayerBlob(layerToScan));
+        GZIPInputStream gzipInputStream = new GZIPInputStream(new BufferedInputStream(blobStream));
 
         LOGGER.debug("Unpack layer: " + layerToScan.getName() + " into: " + layerFolder.getAbsolutePath());
+        long bytesUnpacked = 0;
         try (ArchiveInputStream tarStream = new TarArchiveInputStream(gzipInputStream)) {
             ArchiveEntry entry;
             while ((entry = tarStream.getNextEntry()) != null) {
                 String entryName = entry.getName();
                 final File entryFile = new File(layerFolder, entryName);
                 if (entry.isDirectory()) {
-                    Files.createDirectories(entryFile.toPath());
-                } else {
+                    if (!selectiveUnpack) {
+                        Files.createDirectories(entryFile.toPath());
+                    }
+                } else if (!selectiveUnpack || checkService.isScannable(entryFile)) {
+                    Files.createDirectories(entryFile.getParentFile().toPath());
                     try (OutputStream out = new BufferedOutputStream(new FileOutputStream(entryFile))) {
-                        IOUtils.copy(tarStream, out);
+                        bytesUnpacked += IOUtils.copy(tarStream, out);
                     }
                 }
             }
             LOGGER.debug("Successfully unpack layer: " + layerToScan.getName());
+        } finally {
+            result.setBytesRead(blobStream.getByteCount());
+            result.setBytesUnpacked(bytesUnpacked);
         }
     }
 }
@@ -40,6 +40,21 @@ public class LayerScanResult {
 
     private List<Dependency> dependencies;
 
+    /**
+     * Number of bytes of the layer blob read from the registry.
+     */
+    private Long bytesRead;
+
+    /**
+     * Number of bytes of the layer files unpacked to disk for analysis.
+     */
+    private Long bytesUnpacked;
+
+    /**
+     * Time spent on fetching and analysis of the layer in milliseconds.
+     */
+    private Long scanTime;
+
     public enum Status {
         RUNNING, SUCCESSFUL, FAILURE
     }
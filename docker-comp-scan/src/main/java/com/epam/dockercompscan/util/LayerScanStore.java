@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.dockercompscan.util;
+
+import com.epam.dockercompscan.config.JsonMapper;
+import com.epam.dockercompscan.scan.domain.LayerScanResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Persistent storage of successful layer scan results keyed by layer digest.
+ *
+ * Each result is stored as a separate json file in {@code layers/<version hash>} subdirectory of the store
+ * directory. The store directory may be shared by several docker-comp-scan instances, files are written via
+ * an atomic move.
+ *
+ * Results are bound to the scanner version (dependency-check version and set of enabled analyzers), so each
+ * scanner version has its own subdirectory which is described by {@code VERSION} file. Instances of different
+ * versions may share the store during a rolling update without discarding results of each other.
+ *
+ * If store directory is not specified the store is disabled and keeps nothing.
+ */
+public class LayerScanStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LayerScanStore.class);
+
+    private static final String LAYERS_DIR = "layers";
+    private static final String VERSION_FILE = "VERSION";
+    private static final String RESULT_EXTENSION = ".json";
+    private static final String TMP_EXTENSION = ".tmp";
+
+    private final Path layersDir;
+    private final String version;
+    private final ObjectMapper mapper = new JsonMapper();
+
+    public LayerScanStore(final String storeDir, final String version) {
+        this.layersDir = StringUtils.isBlank(storeDir) ? null : Paths.get(storeDir).resolve(LAYERS_DIR)
+                .resolve(Hashing.sha256().hashString(version, StandardCharsets.UTF_8).toString());
+        this.version = version;
+        if (layersDir != null) {
+            init();
+        }
+    }
+
+    public boolean isEnabled() {
+        return layersDir != null;
+    }
+
+    /**
+     * Returns stored result of the layer scan or null if the layer was not scanned with the current
+     * scanner version.
+     */
+    @Nullable
+    public LayerScanResult get(final String digest) {
+        if (!isEnabled() || digest == null) {
+            return null;
+        }
+        final Path file = resultFile(digest);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            final StoredScan stored = mapper.readValue(file.toFile(), StoredScan.class);
+            if (!Objects.equals(version, stored.getVersion()) || stored.getResult() == null) {
+                return null;
+            }
+            return stored.getResult();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read stored scan of layer " + digest + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores successful result of the layer scan, results with other statuses are ignored.
+     */
+    public void put(final LayerScanResult result) {
+        if (!isEnabled() || result.getStatus() != LayerScanResult.Status.SUCCESSFUL) {
+            return;
+        }
+        final Path file = resultFile(result.getLayerId());
+        final Path tmp = file.resolveSibling(file.getFileName() + "." + UUID.randomUUID() + TMP_EXTENSION);
+        try {
+            final StoredScan stored = new StoredScan();
+            stored.setVersion(version);
+            stored.setResult(result);
+            mapper.writeValue(tmp.toFile(), stored);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to store scan of layer " + result.getLayerId() + ": " + e.getMessage());
+            FileUtils.deleteQuietly(tmp.toFile());
+        }
+    }
+
+    private void init() {
+        try {
+            Files.createDirectories(layersDir);
+            final Path versionFile = layersDir.resolve(VERSION_FILE);
+            if (!Files.exists(versionFile)) {
+                Files.write(versionFile, version.getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to initialize layer scan store in " + layersDir, e);
+        }
+    }
+
+    private Path resultFile(final String digest) {
+        final String name = URLDecoder.decode(digest);
+        return layersDir.resolve(Hashing.sha256().hashString(name, StandardCharsets.UTF_8) + RESULT_EXTENSION);
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class StoredScan {
+        private String version;
+        private LayerScanResult result;
+    }
+}
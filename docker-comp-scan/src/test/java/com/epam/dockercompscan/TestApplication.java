@@ -16,7 +16,9 @@
 
 package com.epam.dockercompscan;
 
+import com.epam.dockercompscan.owasp.DependencyCheckService;
 import com.epam.dockercompscan.util.LayerScanCache;
+import com.epam.dockercompscan.util.LayerScanStore;
 import okhttp3.OkHttpClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
@@ -38,6 +40,9 @@ public class TestApplication {
     @Value("${number.cached.scans:50}")
     private int numberOfCachedScans;
 
+    @Value("${scan.store.dir:}")
+    private String scanStoreDir;
+
     public static void main(String[] args) {
         SpringApplication.run(TestApplication.class, args);
     }
@@ -52,5 +57,10 @@ public class TestApplication {
         return new LayerScanCache(expireCacheTime, numberOfCachedScans);
     }
 
+    @Bean
+    public LayerScanStore layerScanStore(DependencyCheckService checkService) {
+        return new LayerScanStore(scanStoreDir, checkService.getScannerVersion());
+    }
+
 }
 
@@ -44,4 +44,10 @@ public class DependencyCheckServiceTest extends AbstractSpringTest {
         Assert.assertEquals(RPackageAnalyzer.DEPENDENCY_ECOSYSTEM, dependencies.get(0).getEcosystem());
         Assert.assertEquals("PositiveTest", dependencies.get(0).getName());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void dependencyCheckServiceShouldSelectOnlyScannableFiles() {
+        Assert.assertTrue(dependencyCheckService.isScannable(new File("usr/lib/R/library/ggplot2/DESCRIPTION")));
+        Assert.assertFalse(dependencyCheckService.isScannable(new File("usr/bin/bash")));
+    }
+}
@@ -76,6 +76,9 @@ public class ScanServiceTest extends AbstractSpringTest {
         Assert.assertEquals(2, layers.size());
         LayerScanResult child = layers.get(0);
         Assert.assertFalse(child.getDependencies().isEmpty());
+        Assert.assertTrue(child.getBytesRead() > 0);
+        Assert.assertTrue(child.getBytesUnpacked() > 0);
+        Assert.assertNotNull(child.getScanTime());
 
         Assert.assertNotNull(layerScanCache.getIfPresent(LayerKey.withName(childTestLayer.getLayer().getName())));
         Assert.assertNotNull(layerScanCache.getIfPresent(
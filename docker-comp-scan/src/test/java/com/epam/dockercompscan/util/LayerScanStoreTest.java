@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.dockercompscan.util;
+
+import com.epam.dockercompscan.scan.domain.Dependency;
+import com.epam.dockercompscan.scan.domain.LayerScanResult;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.Collections;
+
+public class LayerScanStoreTest {
+
+    private static final String VERSION = "3.3.2:ANALYZER_R_PACKAGE";
+    private static final String NEW_VERSION = "3.3.2:ANALYZER_PYTHON_DISTRIBUTION,ANALYZER_R_PACKAGE";
+    private static final String LAYER = "sha256:layer";
+    private static final String ENCODED_LAYER = "sha256%3Alayer";
+    private static final String PARENT = "sha256:parent";
+    private static final String DEPENDENCY = "ggplot2";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void storedScanShouldBeAvailableAfterRestart() {
+        new LayerScanStore(folder.getRoot().getPath(), VERSION).put(successfulScan());
+
+        LayerScanResult stored = new LayerScanStore(folder.getRoot().getPath(), VERSION).get(ENCODED_LAYER);
+
+        Assert.assertNotNull(stored);
+        Assert.assertEquals(LAYER, stored.getLayerId());
+        Assert.assertEquals(PARENT, stored.getParentId());
+        Assert.assertEquals(DEPENDENCY, stored.getDependencies().get(0).getName());
+    }
+
+    @Test
+    public void storedScansShouldBeSeparatedByScannerVersion() {
+        new LayerScanStore(folder.getRoot().getPath(), VERSION).put(successfulScan());
+
+        Assert.assertNull(new LayerScanStore(folder.getRoot().getPath(), NEW_VERSION).get(LAYER));
+        Assert.assertNotNull(new LayerScanStore(folder.getRoot().getPath(), VERSION).get(LAYER));
+    }
+
+    @Test
+    public void unsuccessfulScanShouldNotBeStored() {
+        LayerScanStore store = new LayerScanStore(folder.getRoot().getPath(), VERSION);
+
+        store.put(new LayerScanResult(LAYER, LayerScanResult.Status.FAILURE, PARENT));
+
+        Assert.assertNull(store.get(LAYER));
+    }
+
+    @Test
+    public void storeWithoutDirectoryShouldBeDisabled() {
+        LayerScanStore store = new LayerScanStore(null, VERSION);
+
+        store.put(successfulScan());
+
+        Assert.assertFalse(store.isEnabled());
+        Assert.assertNull(store.get(LAYER));
+    }
+
+    private LayerScanResult successfulScan() {
+        Dependency dependency = new Dependency();
+        dependency.setName(DEPENDENCY);
+        dependency.setLayerId(LAYER);
+        LayerScanResult result = new LayerScanResult(LAYER, LayerScanResult.Status.SUCCESSFUL, PARENT);
+        result.setDependencies(Collections.singletonList(dependency));
+        return result;
+    }
+}
@@ -23,6 +23,8 @@ import com.epam.pipeline.elasticsearchagent.service.impl.AzureBlobManager;
 import com.epam.pipeline.elasticsearchagent.service.impl.CloudPipelineAPIClient;
 import com.epam.pipeline.elasticsearchagent.service.impl.ElasticIndexService;
 import com.epam.pipeline.elasticsearchagent.service.impl.ObjectStorageIndexImpl;
+import com.epam.pipeline.elasticsearchagent.service.impl.StorageIndexManifestStore;
+import com.epam.pipeline.elasticsearchagent.service.impl.StorageIndexingScheduler;
 import com.epam.pipeline.entity.datastorage.DataStorageType;
 import com.epam.pipeline.entity.search.SearchDocumentType;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -60,11 +62,14 @@ public class AzureFileSyncConfiguration {
             final CloudPipelineAPIClient apiClient,
             final ElasticsearchServiceClient esClient,
             final ElasticIndexService indexService,
-            final @Qualifier("azFileManager") ObjectStorageFileManager azFileManager) {
+            final @Qualifier("azFileManager") ObjectStorageFileManager azFileManager,
+            final StorageIndexManifestStore manifestStore,
+            final StorageIndexingScheduler indexingScheduler) {
         return new ObjectStorageIndexImpl(apiClient, esClient, indexService,
                 azFileManager, indexPrefix + indexName,
                 indexSettingsPath, bulkInsertSize, bulkLoadTagsSize,
                 DataStorageType.AZ,
-                SearchDocumentType.AZ_BLOB_FILE);
+                SearchDocumentType.AZ_BLOB_FILE,
+                manifestStore, indexingScheduler);
     }
 }
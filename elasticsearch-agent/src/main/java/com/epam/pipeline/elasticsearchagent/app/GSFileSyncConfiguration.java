@@ -56,12 +56,15 @@ public class GSFileSyncConfiguration {
             final CloudPipelineAPIClient apiClient,
             final ElasticsearchServiceClient esClient,
             final ElasticIndexService indexService,
-            final @Qualifier("gsFileManager") ObjectStorageFileManager gsFileManager) {
+            final @Qualifier("gsFileManager") ObjectStorageFileManager gsFileManager,
+            final StorageIndexManifestStore manifestStore,
+            final StorageIndexingScheduler indexingScheduler) {
         return new ObjectStorageIndexImpl(apiClient, esClient, indexService,
                 gsFileManager, indexPrefix + indexName,
                 indexSettingsPath, bulkInsertSize, bulkLoadTagsSize,
                 DataStorageType.GS,
-                SearchDocumentType.GS_FILE);
+                SearchDocumentType.GS_FILE,
+                manifestStore, indexingScheduler);
     }
 
 }
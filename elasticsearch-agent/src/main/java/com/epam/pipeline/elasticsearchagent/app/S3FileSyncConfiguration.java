@@ -23,6 +23,8 @@ import com.epam.pipeline.elasticsearchagent.service.impl.CloudPipelineAPIClient;
 import com.epam.pipeline.elasticsearchagent.service.impl.ElasticIndexService;
 import com.epam.pipeline.elasticsearchagent.service.impl.ObjectStorageIndexImpl;
 import com.epam.pipeline.elasticsearchagent.service.impl.S3FileManager;
+import com.epam.pipeline.elasticsearchagent.service.impl.StorageIndexManifestStore;
+import com.epam.pipeline.elasticsearchagent.service.impl.StorageIndexingScheduler;
 import com.epam.pipeline.entity.datastorage.DataStorageType;
 import com.epam.pipeline.entity.search.SearchDocumentType;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -56,12 +58,15 @@ public class S3FileSyncConfiguration {
             final CloudPipelineAPIClient apiClient,
             final ElasticsearchServiceClient esClient,
             final ElasticIndexService indexService,
-            final @Qualifier("s3FileManager") ObjectStorageFileManager s3FileManager) {
+            final @Qualifier("s3FileManager") ObjectStorageFileManager s3FileManager,
+            final StorageIndexManifestStore manifestStore,
+            final StorageIndexingScheduler indexingScheduler) {
         return new ObjectStorageIndexImpl(apiClient, esClient, indexService,
                 s3FileManager, indexPrefix + indexName,
                 indexSettingsPath, bulkInsertSize, bulkLoadTagsSize,
                 DataStorageType.S3,
-                SearchDocumentType.S3_FILE);
+                SearchDocumentType.S3_FILE,
+                manifestStore, indexingScheduler);
     }
 
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.elasticsearchagent.model;
+
+import com.epam.pipeline.entity.datastorage.DataStorageType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StorageIndexingStats {
+
+    private Long storageId;
+    private String storageName;
+    private DataStorageType storageType;
+    private Status status;
+    private LocalDateTime lastStart;
+    private LocalDateTime lastFinish;
+    /**
+     * Duration of the current indexing if it is in progress, otherwise of the last one.
+     */
+    private Long durationMillis;
+    /**
+     * Number of documents sent to Elasticsearch by the current indexing if it is in progress,
+     * otherwise by the last one.
+     */
+    private Long documents;
+    private Long bulkRequests;
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+}
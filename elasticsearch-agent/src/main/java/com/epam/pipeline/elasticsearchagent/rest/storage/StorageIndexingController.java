@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.elasticsearchagent.rest.storage;
+
+import com.epam.pipeline.elasticsearchagent.model.StorageIndexingStats;
+import com.epam.pipeline.elasticsearchagent.rest.AbstractRestController;
+import com.epam.pipeline.elasticsearchagent.service.impl.StorageIndexingScheduler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@RestController
+public class StorageIndexingController extends AbstractRestController {
+
+    private final StorageIndexingScheduler indexingScheduler;
+
+    /**
+     * Returns progress and duration of storages indexing sorted by duration in descending order.
+     */
+    @GetMapping(value = "/storage/indexing/stats")
+    public List<StorageIndexingStats> getIndexingStats() {
+        return indexingScheduler.getStats();
+    }
+}
@@ -18,10 +18,28 @@ package com.epam.pipeline.elasticsearchagent.service;
 import com.epam.pipeline.elasticsearchagent.exception.EntityNotFoundException;
 import com.epam.pipeline.elasticsearchagent.model.EntityContainer;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface EntityLoader<T> {
 
     Optional<EntityContainer<T>> loadEntity(Long id) throws EntityNotFoundException;
 
+    /**
+     * Loads several entities at once. Ids of the entities which are not found are mapped to empty
+     * containers, ids of the entities which failed to load are not present in the result.
+     */
+    default Map<Long, Optional<EntityContainer<T>>> loadEntities(final List<Long> ids) {
+        final Map<Long, Optional<EntityContainer<T>>> entities = new LinkedHashMap<>();
+        for (final Long id : ids) {
+            try {
+                loadEntity(id).ifPresent(container -> entities.put(id, Optional.of(container)));
+            } catch (EntityNotFoundException e) {
+                entities.put(id, Optional.empty());
+            }
+        }
+        return entities;
+    }
 }
@@ -50,6 +50,8 @@ import com.epam.pipeline.vo.data.storage.DataStorageTagLoadBatchRequest;
 import com.epam.pipeline.vo.data.storage.DataStorageTagUpsertBatchRequest;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import org.apache.commons.collections4.ListUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -58,6 +60,7 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -67,16 +70,23 @@ public class CloudPipelineAPIClient {
     private final CloudPipelineAPI cloudPipelineAPI;
     private final CloudPipelineApiExecutor executor;
     private final String storageSearchMasksPreferenceName;
+    private final int batchSize;
+    private final long userCacheTtl;
+    private final Map<String, CachedUser> users = new ConcurrentHashMap<>();
 
     public CloudPipelineAPIClient(@Value("${cloud.pipeline.host}") String cloudPipelineHostUrl,
                                   @Value("${cloud.pipeline.token}") String cloudPipelineToken,
                                   @Value("${sync.search.files.hidden.masks.preference.key}") String preferenceName,
+                                  @Value("${cloud.pipeline.batch.size:500}") int batchSize,
+                                  @Value("${cloud.pipeline.user.cache.ttl:60000}") long userCacheTtl,
                                   CloudPipelineApiExecutor cloudPipelineApiExecutor) {
         this.cloudPipelineAPI =
                 new CloudPipelineApiBuilder(0, 0, cloudPipelineHostUrl, cloudPipelineToken)
                         .buildClient();
         this.executor = cloudPipelineApiExecutor;
         this.storageSearchMasksPreferenceName = preferenceName;
+        this.batchSize = Math.max(1, batchSize);
+        this.userCacheTtl = userCacheTtl;
     }
 
     public List<AbstractDataStorage> loadAllDataStorages() {
@@ -130,8 +140,26 @@ public class CloudPipelineAPIClient {
                 .collect(Collectors.toMap(PipelineUser::getUserName, Function.identity()));
     }
 
+    /**
+     * Loads user by name. Loaded users are cached for {@code cloud.pipeline.user.cache.ttl} milliseconds,
+     * since the same owners are requested for most of the indexed entities. Expired users are evicted
+     * whenever a user is loaded from API.
+     */
     public PipelineUser loadUserByName(final String userName) {
-        return executor.execute(cloudPipelineAPI.loadUserByName(userName));
+        if (userCacheTtl <= 0) {
+            return executor.execute(cloudPipelineAPI.loadUserByName(userName));
+        }
+        final long now = System.currentTimeMillis();
+        final CachedUser cached = users.get(userName);
+        if (cached != null && cached.getExpiration() > now) {
+            return cached.getUser();
+        }
+        users.values().removeIf(expired -> expired.getExpiration() <= now);
+        final PipelineUser user = executor.execute(cloudPipelineAPI.loadUserByName(userName));
+        if (user != null) {
+            users.put(userName, new CachedUser(user, now + userCacheTtl));
+        }
+        return user;
     }
 
     public List<? extends AbstractCloudRegion> loadAllRegions() {
@@ -151,7 +179,10 @@ public class CloudPipelineAPIClient {
     }
 
     public List<MetadataEntry> loadMetadataEntry(List<EntityVO> entities) {
-        return executor.execute(cloudPipelineAPI.loadFolderMetadata(entities));
+        return ListUtils.partition(ListUtils.emptyIfNull(entities), batchSize).stream()
+                .map(chunk -> executor.execute(cloudPipelineAPI.loadFolderMetadata(chunk)))
+                .flatMap(entries -> ListUtils.emptyIfNull(entries).stream())
+                .collect(Collectors.toList());
     }
 
     public ToolGroup loadToolGroup(final String toolGroupId) {
@@ -186,6 +217,17 @@ public class CloudPipelineAPIClient {
         return executor.execute(cloudPipelineAPI.loadEntityPermissions(id, entityClass));
     }
 
+    /**
+     * Loads permissions of the entities of the same class. Permissions of the entities which are not found
+     * are not returned.
+     */
+    public List<EntityPermissionVO> loadPermissionsForEntities(final List<Long> ids, final AclClass entityClass) {
+        return ListUtils.partition(ListUtils.emptyIfNull(ids), batchSize).stream()
+                .map(chunk -> executor.execute(cloudPipelineAPI.loadEntitiesPermissions(entityClass, chunk)))
+                .flatMap(permissions -> ListUtils.emptyIfNull(permissions).stream())
+                .collect(Collectors.toList());
+    }
+
     public List<Revision> loadPipelineVersions(final Long id) {
         return executor.execute(cloudPipelineAPI.loadPipelineVersions(id));
     }
@@ -221,4 +263,11 @@ public class CloudPipelineAPIClient {
     public FileShareMount loadFileShareMount(final Long id) {
         return executor.execute(cloudPipelineAPI.loadShareMount(id));
     }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class CachedUser {
+        private final PipelineUser user;
+        private final long expiration;
+    }
 }
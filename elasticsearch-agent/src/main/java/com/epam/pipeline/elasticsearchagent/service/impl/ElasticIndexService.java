@@ -65,6 +65,14 @@ public class ElasticIndexService {
         }
     }
 
+    public String getIndexMapping(final String settingsFilePath) throws ElasticClientException {
+        try (InputStream mapping = openJsonMapping(settingsFilePath)) {
+            return IOUtils.toString(mapping, Charset.defaultCharset());
+        } catch (IOException e) {
+            throw new ElasticClientException("Failed to read elasticsearch index mapping " + settingsFilePath, e);
+        }
+    }
+
     public List<DocWriteRequest> getDeleteRequestsByTerm(final String field,
                                                          final String value,
                                                          final String indexName) {
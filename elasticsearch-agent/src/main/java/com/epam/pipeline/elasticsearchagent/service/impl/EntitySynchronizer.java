@@ -20,19 +20,24 @@ import com.epam.pipeline.elasticsearchagent.model.PipelineEvent;
 import com.epam.pipeline.elasticsearchagent.service.ElasticsearchSynchronizer;
 import com.epam.pipeline.elasticsearchagent.service.EventToRequestConverter;
 import com.epam.pipeline.elasticsearchagent.utils.EventProcessorUtils;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.elasticsearch.action.DocWriteRequest;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 @RequiredArgsConstructor
 @Slf4j
 public class EntitySynchronizer implements ElasticsearchSynchronizer {
 
     private final PipelineEventDao pipelineEventDao;
+    @Getter
     private final PipelineEvent.ObjectType objectType;
     private final String indexMappingFile;
     private final EventToRequestConverter converter;
@@ -40,6 +45,10 @@ public class EntitySynchronizer implements ElasticsearchSynchronizer {
     private final BulkRequestSender bulkRequestSender;
     private final int chunkSize;
     private final int sendRequestChunkSize;
+    /**
+     * Prevents scheduled and notification triggered synchronizations from processing the same events.
+     */
+    private final Lock lock = new ReentrantLock();
 
     public EntitySynchronizer(final PipelineEventDao pipelineEventDao, final PipelineEvent.ObjectType objectType,
                               final String indexMappingFile, final EventToRequestConverter converter,
@@ -50,8 +59,35 @@ public class EntitySynchronizer implements ElasticsearchSynchronizer {
     }
 
     @Override
-    @SuppressWarnings("PMD.AvoidCatchingGenericException")
     public void synchronize(final LocalDateTime lastSyncTime, final LocalDateTime syncStart) {
+        lock.lock();
+        try {
+            synchronizeChunk(syncStart);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Synchronizes all events which were created before the given time chunk by chunk. Stops if a chunk
+     * is not full or the same events are loaded again, i.e. the previous chunk failed to be indexed.
+     */
+    public void synchronizePending(final LocalDateTime syncStart) {
+        lock.lock();
+        try {
+            List<PipelineEvent> previous = Collections.emptyList();
+            List<PipelineEvent> current = synchronizeChunk(syncStart);
+            while (current.size() >= chunkSize && !current.equals(previous)) {
+                previous = current;
+                current = synchronizeChunk(syncStart);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private List<PipelineEvent> synchronizeChunk(final LocalDateTime syncStart) {
         try {
             log.debug("Starting to synchronize {} entities", objectType);
             final List<PipelineEvent> pipelineEvents = pipelineEventDao
@@ -60,7 +96,7 @@ public class EntitySynchronizer implements ElasticsearchSynchronizer {
             final List<PipelineEvent> mergeEvents = EventProcessorUtils.mergeEvents(pipelineEvents);
             if (mergeEvents.isEmpty()) {
                 log.debug("{} entities for synchronization were not found.", objectType);
-                return;
+                return pipelineEvents;
             }
 
             log.debug("Merged {} events for {}", mergeEvents.size(), objectType);
@@ -71,14 +107,16 @@ public class EntitySynchronizer implements ElasticsearchSynchronizer {
             final List<DocWriteRequest> documentRequests = converter.convertEventsToRequest(mergeEvents, indexName);
             if (CollectionUtils.isEmpty(documentRequests)) {
                 log.debug("No index requests created for {}", objectType);
-                return;
+                return pipelineEvents;
             }
             log.debug("Creating {} requests for {} entity.", documentRequests.size(), objectType);
             bulkRequestSender.indexDocuments(indexName, objectType, documentRequests, syncStart, sendRequestChunkSize);
             log.debug("Successfully finished {} synchronization.", objectType);
+            return pipelineEvents;
         } catch (Exception e) {
             log.error("An error during {} synchronization: {}", objectType, e.getMessage());
             log.error(e.getMessage(), e);
+            return Collections.emptyList();
         }
     }
 }
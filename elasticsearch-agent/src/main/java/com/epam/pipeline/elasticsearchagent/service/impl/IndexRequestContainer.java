@@ -16,9 +16,12 @@
 package com.epam.pipeline.elasticsearchagent.service.impl;
 
 import com.epam.pipeline.elasticsearchagent.service.BulkRequestCreator;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.DocWriteResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkResponse;
 
 import java.util.ArrayList;
@@ -30,6 +33,10 @@ public class IndexRequestContainer implements AutoCloseable {
     private List<DocWriteRequest> requests;
     private BulkRequestCreator bulkRequestCreator;
     private Integer bulkSize;
+    @Getter
+    private long createdDocuments;
+    @Getter
+    private long deletedDocuments;
 
     public IndexRequestContainer(BulkRequestCreator bulkRequestCreator, Integer bulkSize) {
         this.requests = new ArrayList<>();
@@ -59,9 +66,22 @@ public class IndexRequestContainer implements AutoCloseable {
             successfulRequestsCount = Arrays
                     .stream(documents.getItems())
                     .filter(response -> !response.isFailed())
+                    .peek(this::countResult)
                     .count();
         }
         log.info("{} files has been uploaded", successfulRequestsCount);
         requests.clear();
     }
+
+    private void countResult(final BulkItemResponse response) {
+        if (response.getResponse() == null) {
+            return;
+        }
+        final DocWriteResponse.Result result = response.getResponse().getResult();
+        if (result == DocWriteResponse.Result.CREATED) {
+            createdDocuments++;
+        } else if (result == DocWriteResponse.Result.DELETED) {
+            deletedDocuments++;
+        }
+    }
 }
@@ -72,6 +72,7 @@ public class NFSSynchronizer implements ElasticsearchSynchronizer {
     private final ElasticsearchServiceClient elasticsearchServiceClient;
     private final ElasticIndexService elasticIndexService;
     private final NFSStorageMounter nfsMounter;
+    private final StorageIndexingScheduler indexingScheduler;
     private final StorageFileMapper fileMapper = new StorageFileMapper();
 
     public NFSSynchronizer(@Value("${sync.nfs-file.index.mapping}") String indexSettingsPath,
@@ -83,7 +84,8 @@ public class NFSSynchronizer implements ElasticsearchSynchronizer {
                            CloudPipelineAPIClient cloudPipelineAPIClient,
                            ElasticsearchServiceClient elasticsearchServiceClient,
                            ElasticIndexService elasticIndexService,
-                           NFSStorageMounter nfsMounter) {
+                           NFSStorageMounter nfsMounter,
+                           StorageIndexingScheduler indexingScheduler) {
         this.indexSettingsPath = indexSettingsPath;
         this.rootMountPoint = rootMountPoint;
         this.indexPrefix = indexPrefix;
@@ -94,6 +96,7 @@ public class NFSSynchronizer implements ElasticsearchSynchronizer {
         this.elasticsearchServiceClient = elasticsearchServiceClient;
         this.elasticIndexService = elasticIndexService;
         this.nfsMounter = nfsMounter;
+        this.indexingScheduler = indexingScheduler;
     }
 
     @Override
@@ -101,9 +104,9 @@ public class NFSSynchronizer implements ElasticsearchSynchronizer {
         log.debug("Started NFS synchronization");
 
         List<AbstractDataStorage> allDataStorages = cloudPipelineAPIClient.loadAllDataStorages();
-        allDataStorages.stream()
+        indexingScheduler.index(allDataStorages.stream()
                 .filter(dataStorage -> dataStorage.getType() == DataStorageType.NFS)
-                .forEach(this::createIndexAndDocuments);
+                .collect(Collectors.toList()), this::createIndexAndDocuments);
     }
 
     @SuppressWarnings("PMD.AvoidCatchingGenericException")
@@ -144,8 +147,8 @@ public class NFSSynchronizer implements ElasticsearchSynchronizer {
     private void createDocuments(final String indexName, final Path mountFolder,
                                  final AbstractDataStorage dataStorage,
                                  final PermissionsContainer permissionsContainer) {
-        try (IndexRequestContainer walker = new IndexRequestContainer(requests ->
-                elasticsearchServiceClient.sendRequests(indexName, requests), bulkInsertSize);
+        try (IndexRequestContainer walker = new IndexRequestContainer(
+                indexingScheduler.getRequestCreator(dataStorage, indexName), bulkInsertSize);
              Stream<Path> paths = Files.walk(mountFolder)) {
             final Stream<DataStorageFile> files = paths
                     .filter(path -> path.toFile().isFile())
@@ -16,10 +16,13 @@
 
 package com.epam.pipeline.elasticsearchagent.service.impl;
 
+import com.epam.pipeline.elasticsearchagent.exception.ElasticClientException;
 import com.epam.pipeline.elasticsearchagent.model.PermissionsContainer;
 import com.epam.pipeline.elasticsearchagent.service.ElasticsearchServiceClient;
 import com.epam.pipeline.elasticsearchagent.service.ObjectStorageFileManager;
 import com.epam.pipeline.elasticsearchagent.service.ObjectStorageIndex;
+import com.epam.pipeline.elasticsearchagent.service.impl.StorageIndexManifestStore.ManifestReader;
+import com.epam.pipeline.elasticsearchagent.service.impl.StorageIndexManifestStore.ManifestWriter;
 import com.epam.pipeline.elasticsearchagent.service.impl.converter.storage.StorageFileMapper;
 import com.epam.pipeline.entity.search.StorageFileSearchMask;
 import com.epam.pipeline.utils.StreamUtils;
@@ -39,9 +42,16 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.SetUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.springframework.util.AntPathMatcher;
+import org.springframework.util.DigestUtils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashMap;
@@ -49,10 +59,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static com.epam.pipeline.elasticsearchagent.service.impl.StorageIndexManifestStore.PATH_ORDER;
 import static com.epam.pipeline.elasticsearchagent.utils.ESConstants.DOC_MAPPING_TYPE;
 import static com.epam.pipeline.utils.PasswordGenerator.generateRandomString;
 
@@ -72,6 +84,8 @@ public class ObjectStorageIndexImpl implements ObjectStorageIndex {
     private final DataStorageType storageType;
     @Getter
     private final SearchDocumentType documentType;
+    private final StorageIndexManifestStore manifestStore;
+    private final StorageIndexingScheduler indexingScheduler;
     private final StorageFileMapper fileMapper = new StorageFileMapper();
     private final Map<String, Set<String>> searchMasks = new HashMap<>();
 
@@ -80,11 +94,11 @@ public class ObjectStorageIndexImpl implements ObjectStorageIndex {
         log.debug("Started {} files synchronization", getStorageType());
         updateSearchMasks();
         final List<AbstractDataStorage> allStorages = cloudPipelineAPIClient.loadAllDataStorages();
-        allStorages
+        indexingScheduler.index(allStorages
                 .stream()
                 .filter(dataStorage -> dataStorage.getType() == getStorageType())
                 .filter(dataStorage -> isNotSharedOrChild(dataStorage, allStorages))
-                .forEach(this::indexStorage);
+                .collect(Collectors.toList()), this::indexStorage);
     }
 
     @Override
@@ -97,24 +111,127 @@ public class ObjectStorageIndexImpl implements ObjectStorageIndex {
                 .map(EntityPermissionVO::getPermissions)
                 .orElse(Collections.emptySet()), dataStorage.getOwner());
         final String alias = indexPrefix + String.format("-%d", dataStorage.getId());
+        final String currentIndexName;
+        final String signature;
+        try {
+            currentIndexName = elasticsearchServiceClient.getIndexNameByAlias(alias);
+            signature = getManifestSignature();
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            return;
+        }
+        if (StringUtils.isNotBlank(currentIndexName) && manifestStore.isEnabled()) {
+            try {
+                if (updateIndex(dataStorage, permissionsContainer, alias, currentIndexName, signature)) {
+                    return;
+                }
+            } catch (IllegalStateException e) {
+                log.warn("Index {} can't be updated incrementally and will be rebuilt: {}",
+                        currentIndexName, e.getMessage());
+                manifestStore.delete(alias);
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+                manifestStore.delete(alias);
+                return;
+            }
+        }
+        rebuildIndex(dataStorage, permissionsContainer, alias, currentIndexName, signature);
+    }
+
+    /**
+     * Applies changes of storage files to the current index. Storage listing is merged with the manifest
+     * of the previous synchronization, so only new and changed files are indexed and only removed files
+     * are deleted from the index.
+     *
+     * The number of documents in the index is checked against the manifest before any changes are applied.
+     *
+     * @return false if there is no valid manifest or the index has diverged from it and shall be rebuilt
+     * @throws IllegalStateException if files are not listed in the path order, the index shall be rebuilt
+     */
+    private boolean updateIndex(final AbstractDataStorage dataStorage,
+                                final PermissionsContainer permissionsContainer,
+                                final String alias,
+                                final String currentIndexName,
+                                final String signature) throws IOException {
+        final long indexedDocuments = countDocuments(currentIndexName);
+        final Optional<Long> expectedDocuments = manifestStore.open(alias, signature, currentIndexName)
+                .map(this::readExpectedDocuments);
+        if (!expectedDocuments.isPresent()) {
+            return false;
+        }
+        if (expectedDocuments.get() != indexedDocuments) {
+            log.warn("Index {} contains {} documents while {} are expected. Index will be rebuilt.",
+                    currentIndexName, indexedDocuments, expectedDocuments.get());
+            return false;
+        }
+        final Optional<ManifestReader> manifest = manifestStore.open(alias, signature, currentIndexName);
+        if (!manifest.isPresent()) {
+            return false;
+        }
+        log.debug("Updating index {} of {} storage {}...", currentIndexName, getStorageType(), dataStorage.getId());
+        final String region = getTemporaryCredentials(dataStorage).getRegion();
+        final IndexDiff diff = new IndexDiff();
+        try (ManifestReader previous = manifest.get();
+             ManifestWriter next = manifestStore.create(alias, signature, currentIndexName);
+             IndexRequestContainer requestContainer = getRequestContainer(dataStorage, currentIndexName)) {
+            final Consumer<String> deletion = path -> {
+                requestContainer.add(new DeleteRequest(currentIndexName, DOC_MAPPING_TYPE, getDocumentId(path)));
+                diff.deleted++;
+            };
+            files(dataStorage).forEach(file -> {
+                final IndexRequest request = createIndexRequest(file, dataStorage, permissionsContainer,
+                        currentIndexName, region);
+                final long fingerprint = StorageIndexManifestStore.fingerprint(request.source());
+                diff.checkOrder(file.getPath());
+                while (previous.hasNext() && PATH_ORDER.compare(previous.peek().getPath(), file.getPath()) < 0) {
+                    deletion.accept(previous.next().getPath());
+                }
+                final Long previousFingerprint = previous.hasNext()
+                        && previous.peek().getPath().equals(file.getPath())
+                        ? previous.next().getFingerprint() : null;
+                if (previousFingerprint == null || previousFingerprint != fingerprint) {
+                    requestContainer.add(request);
+                    diff.indexed++;
+                }
+                next.write(file.getPath(), fingerprint);
+            });
+            while (previous.hasNext()) {
+                deletion.accept(previous.next().getPath());
+            }
+            requestContainer.close();
+            next.commit(indexedDocuments + requestContainer.getCreatedDocuments()
+                    - requestContainer.getDeletedDocuments());
+        }
+        log.info("Index {} of {} storage {} is updated: {} files indexed, {} files deleted.",
+                currentIndexName, getStorageType(), dataStorage.getId(), diff.indexed, diff.deleted);
+        return true;
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void rebuildIndex(final AbstractDataStorage dataStorage,
+                              final PermissionsContainer permissionsContainer,
+                              final String alias,
+                              final String currentIndexName,
+                              final String signature) {
         final String indexName = generateRandomString(5).toLowerCase() + "-" + alias;
         try {
-            final String currentIndexName = elasticsearchServiceClient.getIndexNameByAlias(alias);
             elasticIndexService.createIndexIfNotExist(indexName, indexMappingFile);
-            final Supplier<TemporaryCredentials> credentialsSupplier = () -> getTemporaryCredentials(dataStorage);
-            final TemporaryCredentials credentials = credentialsSupplier.get();
-            try (IndexRequestContainer requestContainer = getRequestContainer(indexName, bulkInsertSize)) {
-                final Stream<DataStorageFile> files = fileManager
-                        .files(dataStorage.getRoot(),
-                                Optional.ofNullable(dataStorage.getPrefix()).orElse(StringUtils.EMPTY),
-                                credentialsSupplier)
-                        .map(file -> setHiddenFlag(dataStorage, file));
-                StreamUtils.chunked(files, bulkLoadTagsSize)
-                        .flatMap(filesChunk -> filesWithIncorporatedTags(dataStorage, filesChunk))
-                        .peek(file -> file.setPath(dataStorage.resolveRelativePath(file.getPath())))
-                        .map(file -> createIndexRequest(file, dataStorage, permissionsContainer, indexName,
-                                credentials.getRegion()))
-                        .forEach(requestContainer::add);
+            final String region = getTemporaryCredentials(dataStorage).getRegion();
+            try (ManifestWriter manifest = manifestStore.isEnabled()
+                    ? manifestStore.create(alias, signature, indexName) : null;
+                 IndexRequestContainer requestContainer = getRequestContainer(dataStorage, indexName)) {
+                files(dataStorage).forEach(file -> {
+                    final IndexRequest request = createIndexRequest(file, dataStorage, permissionsContainer,
+                            indexName, region);
+                    requestContainer.add(request);
+                    if (manifest != null) {
+                        manifest.write(file.getPath(), StorageIndexManifestStore.fingerprint(request.source()));
+                    }
+                });
+                requestContainer.close();
+                if (manifest != null) {
+                    manifest.commit(requestContainer.getCreatedDocuments());
+                }
             }
 
             elasticsearchServiceClient.createIndexAlias(indexName, alias);
@@ -129,6 +246,41 @@ public class ObjectStorageIndexImpl implements ObjectStorageIndex {
         }
     }
 
+    private Stream<DataStorageFile> files(final AbstractDataStorage dataStorage) {
+        final Supplier<TemporaryCredentials> credentialsSupplier = () -> getTemporaryCredentials(dataStorage);
+        final Stream<DataStorageFile> files = fileManager
+                .files(dataStorage.getRoot(),
+                        Optional.ofNullable(dataStorage.getPrefix()).orElse(StringUtils.EMPTY),
+                        credentialsSupplier)
+                .map(file -> setHiddenFlag(dataStorage, file));
+        return StreamUtils.chunked(files, bulkLoadTagsSize)
+                .flatMap(filesChunk -> filesWithIncorporatedTags(dataStorage, filesChunk))
+                .peek(file -> file.setPath(dataStorage.resolveRelativePath(file.getPath())));
+    }
+
+    private Long readExpectedDocuments(final ManifestReader manifest) {
+        try (ManifestReader reader = manifest) {
+            return reader.skipToDocuments();
+        } catch (UncheckedIOException e) {
+            log.warn("Failed to read manifest of index {}: {}", manifest.getIndexName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private long countDocuments(final String indexName) {
+        final SearchRequest request = new SearchRequest(indexName)
+                .source(new SearchSourceBuilder().size(0));
+        return elasticsearchServiceClient.search(request).getHits().getTotalHits();
+    }
+
+    private String getManifestSignature() throws ElasticClientException {
+        if (!manifestStore.isEnabled()) {
+            return null;
+        }
+        return DigestUtils.md5DigestAsHex((getDocumentType() + StringUtils.LF
+                + elasticIndexService.getIndexMapping(indexMappingFile)).getBytes(StandardCharsets.UTF_8));
+    }
+
     private void updateSearchMasks() {
         final Map<String, Set<String>> newMasks = cloudPipelineAPIClient.getStorageSearchMasks()
             .stream()
@@ -152,9 +304,8 @@ public class ObjectStorageIndexImpl implements ObjectStorageIndex {
         return file;
     }
 
-    private IndexRequestContainer getRequestContainer(final String indexName, final int bulkInsertSize) {
-        return new IndexRequestContainer(requests -> elasticsearchServiceClient.sendRequests(indexName, requests),
-                bulkInsertSize);
+    private IndexRequestContainer getRequestContainer(final AbstractDataStorage dataStorage, final String indexName) {
+        return new IndexRequestContainer(indexingScheduler.getRequestCreator(dataStorage, indexName), bulkInsertSize);
     }
 
     private TemporaryCredentials getTemporaryCredentials(final AbstractDataStorage dataStorage) {
@@ -184,7 +335,7 @@ public class ObjectStorageIndexImpl implements ObjectStorageIndex {
                                             final PermissionsContainer permissionsContainer,
                                             final String indexName,
                                             final String region) {
-        return new IndexRequest(indexName, DOC_MAPPING_TYPE)
+        return new IndexRequest(indexName, DOC_MAPPING_TYPE, getDocumentId(file.getPath()))
                 .source(fileMapper.fileToDocument(file, dataStorage, region,
                         permissionsContainer,
                         getDocumentType()));
@@ -207,4 +358,23 @@ public class ObjectStorageIndexImpl implements ObjectStorageIndex {
     private String withTrailingDelimiter(final String path, final String delimiter) {
         return StringUtils.isNotBlank(path) && !path.endsWith(delimiter) ? path + delimiter : path;
     }
+
+    private String getDocumentId(final String path) {
+        return DigestUtils.md5DigestAsHex(path.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class IndexDiff {
+
+        private long indexed;
+        private long deleted;
+        private String lastPath;
+
+        private void checkOrder(final String path) {
+            if (lastPath != null && PATH_ORDER.compare(lastPath, path) >= 0) {
+                throw new IllegalStateException(String.format(
+                        "Files are not listed in path order: %s goes after %s.", path, lastPath));
+            }
+            lastPath = path;
+        }
+    }
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.elasticsearchagent.service.impl;
+
+import com.epam.pipeline.elasticsearchagent.model.PipelineEvent;
+import com.epam.pipeline.elasticsearchagent.service.ElasticsearchSynchronizer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Listens to the database notifications which are sent on each new pipeline event and synchronizes
+ * the corresponding entities right away, so search results do not lag behind by a scheduler period.
+ *
+ * The listener blocks on the connection until notifications arrive. Notifications which arrive within
+ * {@code sync.event.listen.batch.delay} are processed together and all the pending events of the notified
+ * object types are synchronized, not only the first chunk of them. Notifications are not persistent,
+ * so the scheduled synchronization still catches up on the events which were missed while the listener
+ * was disconnected.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "sync.event.listen.enabled", havingValue = "true")
+public class PipelineEventListener {
+
+    private final Map<PipelineEvent.ObjectType, List<EntitySynchronizer>> synchronizers;
+    private final String jdbcUrl;
+    private final String jdbcUsername;
+    private final String jdbcPassword;
+    private final String channel;
+    private final int listenTimeout;
+    private final long batchDelay;
+    private final ExecutorService executor;
+    private volatile boolean running;
+
+    public PipelineEventListener(final Optional<Set<ElasticsearchSynchronizer>> synchronizers,
+                                 final @Value("${database.url}") String jdbcUrl,
+                                 final @Value("${database.username}") String jdbcUsername,
+                                 final @Value("${database.password}") String jdbcPassword,
+                                 final @Value("${sync.event.listen.channel:pipeline_event}") String channel,
+                                 final @Value("${sync.event.listen.timeout:10000}") int listenTimeout,
+                                 final @Value("${sync.event.listen.batch.delay:200}") long batchDelay) {
+        this.synchronizers = synchronizers.orElse(Collections.emptySet()).stream()
+                .filter(EntitySynchronizer.class::isInstance)
+                .map(EntitySynchronizer.class::cast)
+                .collect(Collectors.groupingBy(EntitySynchronizer::getObjectType));
+        this.jdbcUrl = jdbcUrl;
+        this.jdbcUsername = jdbcUsername;
+        this.jdbcPassword = jdbcPassword;
+        this.channel = channel;
+        this.listenTimeout = Math.max(1, listenTimeout);
+        this.batchDelay = batchDelay;
+        this.executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("pipeline-event-listener-"));
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        executor.submit(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        executor.shutdownNow();
+    }
+
+    /**
+     * Synchronizes entities of the object types which are received as notification payloads.
+     */
+    void synchronize(final Collection<String> payloads) {
+        final Set<PipelineEvent.ObjectType> objectTypes = getObjectTypes(payloads);
+        if (objectTypes.isEmpty()) {
+            return;
+        }
+        log.debug("Received notifications on {} events.", objectTypes);
+        final LocalDateTime syncStart = LocalDateTime.now(Clock.systemUTC());
+        objectTypes.stream()
+                .map(objectType -> synchronizers.getOrDefault(objectType, Collections.emptyList()))
+                .flatMap(List::stream)
+                .forEach(synchronizer -> synchronizer.synchronizePending(syncStart));
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(jdbcUrl, jdbcUsername, jdbcPassword)) {
+                execute(connection, "LISTEN " + channel);
+                log.info("Listening to pipeline events on channel {}.", channel);
+                final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    final Set<String> payloads = receive(pgConnection, listenTimeout);
+                    if (payloads.isEmpty()) {
+                        continue;
+                    }
+                    receiveBatch(pgConnection, payloads);
+                    synchronize(payloads);
+                }
+            } catch (SQLException e) {
+                log.error("Failed to listen to pipeline events: {}", e.getMessage());
+                sleep(listenTimeout);
+            }
+        }
+    }
+
+    private void receiveBatch(final PGConnection connection, final Set<String> payloads) throws SQLException {
+        final long batchEnd = System.currentTimeMillis() + batchDelay;
+        long remaining = batchDelay;
+        while (remaining > 0) {
+            payloads.addAll(receive(connection, (int) remaining));
+            remaining = batchEnd - System.currentTimeMillis();
+        }
+    }
+
+    private Set<String> receive(final PGConnection connection, final int timeout) throws SQLException {
+        final PGNotification[] notifications = connection.getNotifications(timeout);
+        if (notifications == null) {
+            return new HashSet<>();
+        }
+        return Arrays.stream(notifications)
+                .map(PGNotification::getParameter)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private void execute(final Connection connection, final String query) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(query);
+        }
+    }
+
+    private Set<PipelineEvent.ObjectType> getObjectTypes(final Collection<String> payloads) {
+        final Map<String, PipelineEvent.ObjectType> objectTypes = Arrays.stream(PipelineEvent.ObjectType.values())
+                .collect(Collectors.toMap(objectType -> objectType.getDbName().toLowerCase(), Function.identity()));
+        return payloads.stream()
+                .filter(StringUtils::isNotBlank)
+                .map(payload -> objectTypes.get(payload.toLowerCase()))
+                .filter(synchronizers::containsKey)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(PipelineEvent.ObjectType.class)));
+    }
+
+    private void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.elasticsearchagent.service.impl;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores per storage manifests of indexed files. A manifest holds a fingerprint of each indexed document
+ * sorted by file path, so a storage listing which comes in the same order can be merged with the manifest
+ * to find new, changed and deleted files without reading the index itself.
+ *
+ * Manifests are kept in a local directory configured by {@code sync.storage.file.manifest.dir}. If the
+ * directory is not configured, manifests are not stored and storages are always reindexed from scratch.
+ */
+@Slf4j
+@Component
+public class StorageIndexManifestStore {
+
+    /**
+     * Compares file paths by unicode code points, which matches the UTF-8 binary order used by
+     * object storages listings.
+     */
+    public static final Comparator<String> PATH_ORDER = StorageIndexManifestStore::comparePaths;
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String MANIFEST_EXTENSION = ".manifest";
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path manifestDir;
+
+    public StorageIndexManifestStore(final @Value("${sync.storage.file.manifest.dir:}") String manifestDir) {
+        this.manifestDir = StringUtils.isBlank(manifestDir) ? null : Paths.get(manifestDir);
+    }
+
+    public boolean isEnabled() {
+        return manifestDir != null;
+    }
+
+    /**
+     * Opens a manifest of the given index alias. Returns empty result if there is no manifest or if it was
+     * created for a different index or with a different signature, e.g. for a previous version of mapping.
+     */
+    public Optional<ManifestReader> open(final String alias, final String signature, final String indexName) {
+        if (!isEnabled() || !Files.exists(getManifestPath(alias))) {
+            log.debug("Manifest for index {} is not found.", alias);
+            return Optional.empty();
+        }
+        final ManifestReader reader;
+        try {
+            reader = new ManifestReader(getManifestPath(alias));
+        } catch (IOException e) {
+            log.warn("Failed to read manifest for index {}: {}", alias, e.getMessage());
+            return Optional.empty();
+        }
+        if (!Objects.equals(reader.getSignature(), signature) || !Objects.equals(reader.getIndexName(), indexName)) {
+            log.info("Manifest for index {} is outdated and will be ignored.", alias);
+            reader.close();
+            return Optional.empty();
+        }
+        return Optional.of(reader);
+    }
+
+    /**
+     * Creates a new manifest of the given index alias. The manifest replaces the existing one only after
+     * {@link ManifestWriter#commit(long)} succeeds.
+     */
+    public ManifestWriter create(final String alias, final String signature, final String indexName)
+            throws IOException {
+        Files.createDirectories(manifestDir);
+        return new ManifestWriter(getManifestPath(alias), signature, indexName);
+    }
+
+    public void delete(final String alias) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(getManifestPath(alias));
+        } catch (IOException e) {
+            log.error("Failed to delete manifest for index {}: {}", alias, e.getMessage());
+        }
+    }
+
+    /**
+     * Calculates a fingerprint of a document source. Any change of the document content results
+     * in a different fingerprint.
+     */
+    public static long fingerprint(final BytesReference source) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("MD5");
+            final BytesRef bytes = source.toBytesRef();
+            digest.update(bytes.bytes, bytes.offset, bytes.length);
+            return ByteBuffer.wrap(digest.digest()).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int comparePaths(final String first, final String second) {
+        int i = 0;
+        int j = 0;
+        while (i < first.length() && j < second.length()) {
+            final int firstCodePoint = first.codePointAt(i);
+            final int secondCodePoint = second.codePointAt(j);
+            if (firstCodePoint != secondCodePoint) {
+                return Integer.compare(firstCodePoint, secondCodePoint);
+            }
+            i += Character.charCount(firstCodePoint);
+            j += Character.charCount(secondCodePoint);
+        }
+        return Integer.compare(first.length() - i, second.length() - j);
+    }
+
+    private Path getManifestPath(final String alias) {
+        return manifestDir.resolve(alias + MANIFEST_EXTENSION);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ManifestEntry {
+        private final String path;
+        private final long fingerprint;
+    }
+
+    /**
+     * Reads manifest entries sequentially in the path order.
+     */
+    public static class ManifestReader implements AutoCloseable {
+
+        private final DataInputStream input;
+        @Getter
+        private final String signature;
+        @Getter
+        private final String indexName;
+        private ManifestEntry next;
+        private long entries;
+        private long documents = -1;
+
+        ManifestReader(final Path path) throws IOException {
+            this.input = new DataInputStream(new GZIPInputStream(
+                    new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE)));
+            try {
+                final int version = input.readInt();
+                if (version != FORMAT_VERSION) {
+                    throw new IOException("Unsupported manifest version " + version);
+                }
+                this.signature = input.readUTF();
+                this.indexName = input.readUTF();
+                readNext();
+            } catch (IOException e) {
+                input.close();
+                throw e;
+            }
+        }
+
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        public ManifestEntry peek() {
+            return next;
+        }
+
+        public ManifestEntry next() {
+            final ManifestEntry current = next;
+            try {
+                readNext();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return current;
+        }
+
+        /**
+         * Returns the number of documents which were expected to be in the index when the manifest
+         * was written. Available once all entries are read.
+         */
+        public long getDocuments() {
+            if (hasNext()) {
+                throw new IllegalStateException("Manifest is not read completely.");
+            }
+            return documents;
+        }
+
+        /**
+         * Skips all remaining entries and returns the number of documents which were expected to be
+         * in the index when the manifest was written.
+         */
+        public long skipToDocuments() {
+            while (hasNext()) {
+                next();
+            }
+            return getDocuments();
+        }
+
+        @Override
+        public void close() {
+            IOUtils.closeQuietly(input);
+        }
+
+        private void readNext() throws IOException {
+            if (input.readBoolean()) {
+                next = new ManifestEntry(input.readUTF(), input.readLong());
+                entries++;
+                return;
+            }
+            next = null;
+            final long expectedEntries = input.readLong();
+            if (expectedEntries != entries) {
+                throw new IOException(String.format("Manifest is corrupted: %d entries expected, %d found.",
+                        expectedEntries, entries));
+            }
+            documents = input.readLong();
+        }
+    }
+
+    /**
+     * Writes manifest entries into a temporary file which replaces the actual manifest on commit.
+     * Entries shall be written in the path order, otherwise the manifest is discarded.
+     */
+    public static class ManifestWriter implements AutoCloseable {
+
+        private final Path path;
+        private final Path temporaryPath;
+        private final DataOutputStream output;
+        private String lastPath;
+        private long entries;
+        private boolean ordered = true;
+        private boolean closed;
+
+        ManifestWriter(final Path path, final String signature, final String indexName) throws IOException {
+            this.path = path;
+            this.temporaryPath = path.resolveSibling(path.getFileName() + TEMPORARY_EXTENSION);
+            this.output = new DataOutputStream(new GZIPOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporaryPath), BUFFER_SIZE)));
+            output.writeInt(FORMAT_VERSION);
+            output.writeUTF(signature);
+            output.writeUTF(indexName);
+        }
+
+        public void write(final String entryPath, final long fingerprint) {
+            if (!ordered) {
+                return;
+            }
+            if (lastPath != null && PATH_ORDER.compare(lastPath, entryPath) >= 0) {
+                log.warn("Files are not listed in path order: {} goes after {}. Manifest will not be saved.",
+                        entryPath, lastPath);
+                ordered = false;
+                return;
+            }
+            try {
+                output.writeBoolean(true);
+                output.writeUTF(entryPath);
+                output.writeLong(fingerprint);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            lastPath = entryPath;
+            entries++;
+        }
+
+        /**
+         * Saves the manifest with the number of documents which are expected to be in the index.
+         * The manifest is discarded if its entries were written out of the path order.
+         */
+        public void commit(final long documents) throws IOException {
+            if (!ordered) {
+                close();
+                return;
+            }
+            output.writeBoolean(false);
+            output.writeLong(entries);
+            output.writeLong(documents);
+            output.close();
+            closed = true;
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                output.close();
+            } finally {
+                Files.deleteIfExists(temporaryPath);
+            }
+        }
+    }
+}
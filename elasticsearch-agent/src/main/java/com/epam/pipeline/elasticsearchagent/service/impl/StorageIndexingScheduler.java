@@ -0,0 +1,239 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.elasticsearchagent.service.impl;
+
+import com.epam.pipeline.elasticsearchagent.model.StorageIndexingStats;
+import com.epam.pipeline.elasticsearchagent.service.BulkRequestCreator;
+import com.epam.pipeline.elasticsearchagent.service.ElasticsearchServiceClient;
+import com.epam.pipeline.entity.datastorage.AbstractDataStorage;
+import com.epam.pipeline.entity.datastorage.DataStorageType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Indexes storages concurrently using a fixed worker pool which is shared by all storage synchronizers.
+ *
+ * Each storage is indexed by a single worker, so a huge storage occupies only one worker while the others
+ * proceed with the remaining storages. Storages which took longer during the previous synchronization
+ * are scheduled first. The number of bulk requests which are sent to Elasticsearch at the same time is
+ * limited globally and permits are granted in the arrival order, so concurrently indexed storages
+ * progress evenly. The limit takes effect only if it is lower than the number of workers, since each worker
+ * sends its bulk requests sequentially.
+ */
+@Slf4j
+@Component
+public class StorageIndexingScheduler {
+
+    private static final int SUMMARY_STORAGES = 5;
+
+    private final ElasticsearchServiceClient elasticsearchServiceClient;
+    private final ExecutorService executor;
+    private final Semaphore inFlightBulkRequests;
+    private final Map<Long, StorageProgress> progress = new ConcurrentHashMap<>();
+
+    public StorageIndexingScheduler(final ElasticsearchServiceClient elasticsearchServiceClient,
+                                    final @Value("${sync.storage.index.threads:1}") int threads,
+                                    final @Value("${sync.storage.bulk.max.in.flight:1}") int maxInFlightRequests) {
+        this.elasticsearchServiceClient = elasticsearchServiceClient;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads),
+                new CustomizableThreadFactory("storage-indexing-"));
+        this.inFlightBulkRequests = new Semaphore(Math.max(1, maxInFlightRequests), true);
+    }
+
+    /**
+     * Indexes the given storages using the worker pool and waits until all of them are processed.
+     */
+    public void index(final List<AbstractDataStorage> storages, final Consumer<AbstractDataStorage> indexer) {
+        final List<Future<?>> results = storages.stream()
+                .sorted(Comparator.comparingLong(this::getLastDuration).reversed())
+                .map(storage -> {
+                    final StorageProgress storageProgress = getProgress(storage);
+                    storageProgress.queued();
+                    return executor.submit(() -> index(storage, storageProgress, indexer));
+                })
+                .collect(Collectors.toList());
+        for (final Future<?> result : results) {
+            try {
+                result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Storages indexing was interrupted.");
+                results.forEach(remaining -> remaining.cancel(true));
+                break;
+            } catch (ExecutionException e) {
+                log.error(e.getMessage(), e);
+            }
+        }
+        logSummary(storages);
+    }
+
+    /**
+     * Creates bulk requests sender for the given storage index. Sent requests are accounted in the storage
+     * indexing statistics and are limited by the global number of in-flight bulk requests.
+     */
+    public BulkRequestCreator getRequestCreator(final AbstractDataStorage storage, final String indexName) {
+        final StorageProgress storageProgress = getProgress(storage);
+        return requests -> {
+            try {
+                inFlightBulkRequests.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for in-flight bulk requests.", e);
+            }
+            try {
+                return elasticsearchServiceClient.sendRequests(indexName, requests);
+            } finally {
+                inFlightBulkRequests.release();
+                storageProgress.sent(requests.size());
+            }
+        };
+    }
+
+    public List<StorageIndexingStats> getStats() {
+        return progress.values().stream()
+                .map(StorageProgress::toStats)
+                .sorted(Comparator.comparing(StorageIndexingStats::getDurationMillis,
+                        Comparator.nullsLast(Comparator.reverseOrder())))
+                .collect(Collectors.toList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void index(final AbstractDataStorage storage, final StorageProgress storageProgress,
+                       final Consumer<AbstractDataStorage> indexer) {
+        storageProgress.started();
+        try {
+            indexer.accept(storage);
+            storageProgress.finished(StorageIndexingStats.Status.COMPLETED);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            storageProgress.finished(StorageIndexingStats.Status.FAILED);
+        }
+        final StorageIndexingStats stats = storageProgress.toStats();
+        log.info("{} storage {} ({}) indexing is {}: {} documents sent in {} bulk requests, duration is {} ms.",
+                stats.getStorageType(), stats.getStorageName(), stats.getStorageId(), stats.getStatus(),
+                stats.getDocuments(), stats.getBulkRequests(), stats.getDurationMillis());
+    }
+
+    private StorageProgress getProgress(final AbstractDataStorage storage) {
+        return progress.computeIfAbsent(storage.getId(),
+            id -> new StorageProgress(id, storage.getName(), storage.getType()));
+    }
+
+    private long getLastDuration(final AbstractDataStorage storage) {
+        return Optional.ofNullable(progress.get(storage.getId()))
+                .map(StorageProgress::toStats)
+                .map(StorageIndexingStats::getDurationMillis)
+                .orElse(Long.MAX_VALUE);
+    }
+
+    private void logSummary(final List<AbstractDataStorage> storages) {
+        final String longest = storages.stream()
+                .map(storage -> progress.get(storage.getId()))
+                .map(StorageProgress::toStats)
+                .filter(stats -> stats.getDurationMillis() != null)
+                .sorted(Comparator.comparing(StorageIndexingStats::getDurationMillis).reversed())
+                .limit(SUMMARY_STORAGES)
+                .map(stats -> String.format("%s (%d): %d ms", stats.getStorageName(), stats.getStorageId(),
+                        stats.getDurationMillis()))
+                .collect(Collectors.joining(", "));
+        log.info("{} storages are indexed. The longest ones are {}.", storages.size(), longest);
+    }
+
+    private static class StorageProgress {
+
+        private final Long storageId;
+        private final String storageName;
+        private final DataStorageType storageType;
+        private StorageIndexingStats.Status status;
+        private LocalDateTime lastStart;
+        private LocalDateTime lastFinish;
+        private long documents;
+        private long bulkRequests;
+
+        StorageProgress(final Long storageId, final String storageName, final DataStorageType storageType) {
+            this.storageId = storageId;
+            this.storageName = storageName;
+            this.storageType = storageType;
+        }
+
+        synchronized void queued() {
+            status = StorageIndexingStats.Status.QUEUED;
+        }
+
+        synchronized void started() {
+            status = StorageIndexingStats.Status.RUNNING;
+            lastStart = now();
+            lastFinish = null;
+            documents = 0;
+            bulkRequests = 0;
+        }
+
+        synchronized void finished(final StorageIndexingStats.Status result) {
+            status = result;
+            lastFinish = now();
+        }
+
+        synchronized void sent(final int requests) {
+            documents += requests;
+            bulkRequests++;
+        }
+
+        synchronized StorageIndexingStats toStats() {
+            return StorageIndexingStats.builder()
+                    .storageId(storageId)
+                    .storageName(storageName)
+                    .storageType(storageType)
+                    .status(status)
+                    .lastStart(lastStart)
+                    .lastFinish(lastFinish)
+                    .durationMillis(lastStart == null ? null
+                            : Duration.between(lastStart, Optional.ofNullable(lastFinish).orElseGet(this::now))
+                                    .toMillis())
+                    .documents(documents)
+                    .bulkRequests(bulkRequests)
+                    .build();
+        }
+
+        private LocalDateTime now() {
+            return LocalDateTime.now(Clock.systemUTC());
+        }
+    }
+}
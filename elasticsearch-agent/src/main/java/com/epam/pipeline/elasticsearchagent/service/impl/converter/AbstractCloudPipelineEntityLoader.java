@@ -30,16 +30,21 @@ import com.epam.pipeline.vo.EntityVO;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.util.CollectionUtils;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Getter
@@ -55,15 +60,70 @@ public abstract class AbstractCloudPipelineEntityLoader<T> implements EntityLoad
             return Optional.of(buildContainer(id));
         } catch (PipelineResponseException e) {
             log.error(e.getMessage(), e);
-            final String errorMessageWithId = buildNotFoundErrorMessage(id);
-            log.debug("Expected error message: {}", errorMessageWithId);
-            if (e.getMessage().replaceAll("[^\\w\\s]", "").contains(errorMessageWithId)) {
+            if (isNotFound(id, e)) {
                 throw new EntityNotFoundException(e);
             }
             return Optional.empty();
         }
     }
 
+    /**
+     * Loads entities one by one, but requests their permissions and metadata in batches.
+     * Falls back to loading each entity separately if batch requests fail.
+     */
+    @Override
+    public Map<Long, Optional<EntityContainer<T>>> loadEntities(final List<Long> ids) {
+        final Map<Long, Optional<EntityContainer<T>>> result = new LinkedHashMap<>();
+        final Map<Long, T> entities = new LinkedHashMap<>();
+        ids.stream().distinct().forEach(id -> {
+            try {
+                final T entity = fetchEntity(id);
+                if (entity == null) {
+                    result.put(id, Optional.empty());
+                } else {
+                    entities.put(id, entity);
+                }
+            } catch (PipelineResponseException e) {
+                log.error(e.getMessage(), e);
+                if (isNotFound(id, e)) {
+                    result.put(id, Optional.empty());
+                }
+            }
+        });
+        if (entities.isEmpty()) {
+            return result;
+        }
+        final Map<EntityVO, PermissionsContainer> permissions;
+        final Map<EntityVO, Map<String, String>> metadata;
+        try {
+            permissions = loadPermissions(entities);
+            metadata = loadMetadata(entities);
+        } catch (PipelineResponseException e) {
+            log.error("Failed to load permissions and metadata for {} entities: {}",
+                    entities.size(), e.getMessage());
+            result.putAll(EntityLoader.super.loadEntities(new ArrayList<>(entities.keySet())));
+            return result;
+        }
+        entities.forEach((id, entity) -> {
+            try {
+                final EntityVO permissionsEntity = getPermissionsEntity(id, entity);
+                result.put(id, Optional.of(EntityContainer.<T>builder()
+                        .entity(entity)
+                        .owner(loadUser(getOwner(entity)))
+                        .metadata(Optional.ofNullable(getAclClass(entity))
+                                .map(aclClass -> metadata.get(new EntityVO(id, aclClass)))
+                                .orElse(Collections.emptyMap()))
+                        .permissions(permissionsEntity == null
+                                ? getDefaultPermissions(entity)
+                                : permissions.getOrDefault(permissionsEntity, new PermissionsContainer()))
+                        .build()));
+            } catch (PipelineResponseException e) {
+                log.error(e.getMessage(), e);
+            }
+        });
+        return result;
+    }
+
     protected abstract T fetchEntity(Long id);
 
     protected abstract String getOwner(T entity);
@@ -99,6 +159,19 @@ public abstract class AbstractCloudPipelineEntityLoader<T> implements EntityLoad
         return permissionsContainer;
     }
 
+    /**
+     * Returns the entity which permissions are applied to the given entity. If there is no such entity,
+     * {@link #getDefaultPermissions(Object)} are used.
+     */
+    protected EntityVO getPermissionsEntity(final Long id, final T entity) {
+        final AclClass aclClass = getAclClass(entity);
+        return aclClass == null ? null : new EntityVO(id, aclClass);
+    }
+
+    protected PermissionsContainer getDefaultPermissions(final T entity) {
+        return new PermissionsContainer();
+    }
+
     protected PipelineUser loadUser(final String username) {
         if (StringUtils.isBlank(username)) {
             return null;
@@ -137,4 +210,41 @@ public abstract class AbstractCloudPipelineEntityLoader<T> implements EntityLoad
     protected String buildNotFoundErrorMessage(final Long id) {
         return String.format("%d was not found", id);
     }
+
+    private boolean isNotFound(final Long id, final PipelineResponseException e) {
+        final String errorMessageWithId = buildNotFoundErrorMessage(id);
+        log.debug("Expected error message: {}", errorMessageWithId);
+        return e.getMessage().replaceAll("[^\\w\\s]", "").contains(errorMessageWithId);
+    }
+
+    private Map<EntityVO, PermissionsContainer> loadPermissions(final Map<Long, T> entities) {
+        final Map<AclClass, List<Long>> permissionsEntities = entities.entrySet().stream()
+                .map(entry -> getPermissionsEntity(entry.getKey(), entry.getValue()))
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.groupingBy(EntityVO::getEntityClass,
+                        Collectors.mapping(EntityVO::getEntityId, Collectors.toList())));
+        final Map<EntityVO, PermissionsContainer> permissions = new HashMap<>();
+        permissionsEntities.forEach((aclClass, ids) -> apiClient.loadPermissionsForEntities(ids, aclClass)
+                .forEach(permission -> permissions.put(new EntityVO(permission.getEntityId(), aclClass),
+                        new PermissionsContainer(permission))));
+        return permissions;
+    }
+
+    private Map<EntityVO, Map<String, String>> loadMetadata(final Map<Long, T> entities) {
+        final List<EntityVO> metadataEntities = entities.entrySet().stream()
+                .map(entry -> Optional.ofNullable(getAclClass(entry.getValue()))
+                        .map(aclClass -> new EntityVO(entry.getKey(), aclClass))
+                        .orElse(null))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (metadataEntities.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return ListUtils.emptyIfNull(apiClient.loadMetadataEntry(metadataEntities)).stream()
+                .filter(entry -> entry.getEntity() != null)
+                .collect(Collectors.toMap(MetadataEntry::getEntity,
+                    entry -> prepareMetadataForEntity(Collections.singletonList(entry)),
+                    (first, second) -> first));
+    }
 }
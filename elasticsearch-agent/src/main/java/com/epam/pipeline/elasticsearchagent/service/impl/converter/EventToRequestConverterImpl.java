@@ -15,7 +15,6 @@
  */
 package com.epam.pipeline.elasticsearchagent.service.impl.converter;
 
-import com.epam.pipeline.elasticsearchagent.exception.EntityNotFoundException;
 import com.epam.pipeline.elasticsearchagent.model.EntityContainer;
 import com.epam.pipeline.elasticsearchagent.model.EventType;
 import com.epam.pipeline.elasticsearchagent.model.PipelineEvent;
@@ -30,6 +29,7 @@ import org.elasticsearch.action.index.IndexRequest;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -64,28 +64,34 @@ public class EventToRequestConverterImpl<T> implements EventToRequestConverter {
     @Override
     public List<DocWriteRequest> convertEventsToRequest(final List<PipelineEvent> events,
                                                         final String indexName) {
-        return ListUtils.emptyIfNull(events)
-                .stream()
-                .map(event -> getDocWriteRequest(indexName, event))
+        final List<PipelineEvent> pipelineEvents = ListUtils.emptyIfNull(events);
+        pipelineEvents.forEach(event -> ListUtils.emptyIfNull(additionalProcessors).forEach(p -> p.process(event)));
+        final Map<Long, Optional<EntityContainer<T>>> entities = loader.loadEntities(pipelineEvents.stream()
+                .filter(event -> event.getEventType() != EventType.DELETE)
+                .map(PipelineEvent::getObjectId)
+                .distinct()
+                .collect(Collectors.toList()));
+        return pipelineEvents.stream()
+                .map(event -> getDocWriteRequest(indexName, event, entities))
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .collect(Collectors.toList());
     }
 
     private Optional<DocWriteRequest> getDocWriteRequest(final String indexName,
-                                                         final PipelineEvent event) {
-        ListUtils.emptyIfNull(additionalProcessors).forEach(p -> p.process(event));
+                                                         final PipelineEvent event,
+                                                         final Map<Long, Optional<EntityContainer<T>>> entities) {
         if (event.getEventType() == EventType.DELETE) {
             return Optional.of(createDeleteRequest(event, indexName));
         }
-        try {
-            Optional<EntityContainer<T>> entity = loader.loadEntity(event.getObjectId());
-            return entity
-                    .map(ds -> new IndexRequest(indexName, INDEX_TYPE, String.valueOf(event.getObjectId()))
-                            .source(mapper.map(ds)));
-        } catch (EntityNotFoundException e) {
-            return Optional.of(createDeleteRequest(event, indexName));
+        final Optional<EntityContainer<T>> entity = entities.get(event.getObjectId());
+        if (entity == null) {
+            return Optional.empty();
         }
+        return Optional.of(entity
+                .<DocWriteRequest>map(ds -> new IndexRequest(indexName, INDEX_TYPE, String.valueOf(event.getObjectId()))
+                        .source(mapper.map(ds)))
+                .orElseGet(() -> createDeleteRequest(event, indexName)));
     }
 
 }
@@ -20,6 +20,7 @@ import com.epam.pipeline.elasticsearchagent.service.impl.CloudPipelineAPIClient;
 import com.epam.pipeline.elasticsearchagent.service.impl.converter.AbstractCloudPipelineEntityLoader;
 import com.epam.pipeline.entity.issue.Issue;
 import com.epam.pipeline.entity.security.acl.AclClass;
+import com.epam.pipeline.vo.EntityVO;
 import org.springframework.stereotype.Component;
 
 
@@ -50,4 +51,9 @@ public class IssueLoader extends AbstractCloudPipelineEntityLoader<Issue> {
         Issue issue = fetchEntity(id);
         return super.loadPermissions(issue.getEntity().getEntityId(), issue.getEntity().getEntityClass());
     }
+
+    @Override
+    protected EntityVO getPermissionsEntity(final Long id, final Issue entity) {
+        return entity.getEntity();
+    }
 }
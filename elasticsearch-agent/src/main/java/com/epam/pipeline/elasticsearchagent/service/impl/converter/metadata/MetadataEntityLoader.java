@@ -20,6 +20,7 @@ import com.epam.pipeline.elasticsearchagent.service.impl.CloudPipelineAPIClient;
 import com.epam.pipeline.elasticsearchagent.service.impl.converter.AbstractCloudPipelineEntityLoader;
 import com.epam.pipeline.entity.metadata.MetadataEntity;
 import com.epam.pipeline.entity.security.acl.AclClass;
+import com.epam.pipeline.vo.EntityVO;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -49,4 +50,9 @@ public class MetadataEntityLoader extends AbstractCloudPipelineEntityLoader<Meta
         MetadataEntity metadataEntity = fetchEntity(id);
         return super.loadPermissions(metadataEntity.getParent().getId(), metadataEntity.getParent().getAclClass());
     }
+
+    @Override
+    protected EntityVO getPermissionsEntity(final Long id, final MetadataEntity entity) {
+        return new EntityVO(entity.getParent().getId(), entity.getParent().getAclClass());
+    }
 }
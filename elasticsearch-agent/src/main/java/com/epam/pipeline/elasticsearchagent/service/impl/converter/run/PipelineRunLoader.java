@@ -21,9 +21,11 @@ import com.epam.pipeline.elasticsearchagent.service.impl.CloudPipelineAPIClient;
 import com.epam.pipeline.elasticsearchagent.service.impl.converter.AbstractCloudPipelineEntityLoader;
 import com.epam.pipeline.entity.pipeline.PipelineRun;
 import com.epam.pipeline.entity.security.acl.AclClass;
+import com.epam.pipeline.vo.EntityVO;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
+import java.util.Optional;
 
 @Component
 public class PipelineRunLoader extends AbstractCloudPipelineEntityLoader<PipelineRunWithLog> {
@@ -58,4 +60,18 @@ public class PipelineRunLoader extends AbstractCloudPipelineEntityLoader<Pipelin
         }
         return super.loadPermissions(pipelineId, AclClass.PIPELINE);
     }
+
+    @Override
+    protected EntityVO getPermissionsEntity(final Long id, final PipelineRunWithLog entity) {
+        return Optional.ofNullable(entity.getPipelineRun().getPipelineId())
+                .map(pipelineId -> new EntityVO(pipelineId, AclClass.PIPELINE))
+                .orElse(null);
+    }
+
+    @Override
+    protected PermissionsContainer getDefaultPermissions(final PipelineRunWithLog entity) {
+        final PermissionsContainer permissionsContainer = new PermissionsContainer();
+        permissionsContainer.add(Collections.emptyList(), entity.getPipelineRun().getOwner());
+        return permissionsContainer;
+    }
 }
@@ -16,6 +16,7 @@
 package com.epam.pipeline.elasticsearchagent.service.impl.converter.storage;
 
 import com.epam.pipeline.elasticsearchagent.model.DataStorageDoc;
+import com.epam.pipeline.elasticsearchagent.model.EntityContainer;
 import com.epam.pipeline.elasticsearchagent.service.impl.CloudPipelineAPIClient;
 import com.epam.pipeline.elasticsearchagent.service.impl.converter.AbstractCloudPipelineEntityLoader;
 import com.epam.pipeline.entity.datastorage.AbstractDataStorage;
@@ -26,17 +27,39 @@ import com.epam.pipeline.entity.security.acl.AclClass;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public class DataStorageLoader extends AbstractCloudPipelineEntityLoader<DataStorageDoc> {
 
+    private final ThreadLocal<List<? extends AbstractCloudRegion>> cycleRegions = new ThreadLocal<>();
+
     public DataStorageLoader(final CloudPipelineAPIClient apiClient) {
         super(apiClient);
     }
 
+    /**
+     * Loads cloud regions once for all the storages of a single indexing cycle.
+     */
+    @Override
+    public Map<Long, Optional<EntityContainer<DataStorageDoc>>> loadEntities(final List<Long> ids) {
+        if (ids.isEmpty()) {
+            return super.loadEntities(ids);
+        }
+        cycleRegions.set(getApiClient().loadAllRegions());
+        try {
+            return super.loadEntities(ids);
+        } finally {
+            cycleRegions.remove();
+        }
+    }
+
     @Override
     protected DataStorageDoc fetchEntity(final Long id) {
         AbstractDataStorage dataStorage = getApiClient().loadDataStorage(id);
-        List<? extends AbstractCloudRegion> cloudRegions = getApiClient().loadAllRegions();
+        List<? extends AbstractCloudRegion> cloudRegions = cycleRegions.get() == null
+                ? getApiClient().loadAllRegions()
+                : cycleRegions.get();
         DataStorageDoc.DataStorageDocBuilder docBuilder = DataStorageDoc
                 .builder()
                 .storage(dataStorage);
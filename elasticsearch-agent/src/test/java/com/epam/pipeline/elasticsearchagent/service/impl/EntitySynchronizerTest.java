@@ -15,19 +15,64 @@
  */
 package com.epam.pipeline.elasticsearchagent.service.impl;
 
+import com.epam.pipeline.elasticsearchagent.dao.PipelineEventDao;
 import com.epam.pipeline.elasticsearchagent.model.EventType;
 import com.epam.pipeline.elasticsearchagent.model.PipelineEvent;
+import com.epam.pipeline.elasticsearchagent.service.EventToRequestConverter;
 import com.epam.pipeline.elasticsearchagent.utils.EventProcessorUtils;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class EntitySynchronizerTest {
 
+    private static final int CHUNK_SIZE = 2;
+
+    private final PipelineEventDao pipelineEventDao = mock(PipelineEventDao.class);
+    private final EntitySynchronizer synchronizer = new EntitySynchronizer(pipelineEventDao,
+            PipelineEvent.ObjectType.RUN, "mapping", mock(EventToRequestConverter.class),
+            mock(ElasticIndexService.class), mock(BulkRequestSender.class), CHUNK_SIZE);
+
+    @Test
+    void shouldSynchronizePendingEventsUntilChunkIsNotFull() {
+        final LocalDateTime syncStart = LocalDateTime.now();
+        when(pipelineEventDao.loadPipelineEventsByObjectType(any(), any(), anyInt())).thenReturn(
+                Arrays.asList(runEvent(1L), runEvent(2L)),
+                Arrays.asList(runEvent(3L), runEvent(4L)),
+                Collections.singletonList(runEvent(5L)));
+
+        synchronizer.synchronizePending(syncStart);
+
+        verify(pipelineEventDao, times(3))
+                .loadPipelineEventsByObjectType(PipelineEvent.ObjectType.RUN, syncStart, CHUNK_SIZE);
+    }
+
+    @Test
+    void shouldStopSynchronizingPendingEventsIfTheSameChunkIsLoaded() {
+        final LocalDateTime createdDate = LocalDateTime.now();
+        when(pipelineEventDao.loadPipelineEventsByObjectType(any(), any(), anyInt())).thenAnswer(invocation ->
+                Arrays.asList(createEvent(EventType.INSERT, createdDate, PipelineEvent.ObjectType.RUN, 1L),
+                        createEvent(EventType.INSERT, createdDate, PipelineEvent.ObjectType.RUN, 2L)));
+
+        synchronizer.synchronizePending(createdDate);
+
+        verify(pipelineEventDao, times(2))
+                .loadPipelineEventsByObjectType(eq(PipelineEvent.ObjectType.RUN), any(), eq(CHUNK_SIZE));
+    }
+
     @Test
     void testUpdatedObjectMergeEvents() {
         List<PipelineEvent> pipelineEvents = new ArrayList<>();
@@ -62,6 +107,10 @@ class EntitySynchronizerTest {
         assertEquals(2, mergeEvents.size());
     }
 
+    private PipelineEvent runEvent(final Long objectId) {
+        return createEvent(EventType.INSERT, LocalDateTime.now(), PipelineEvent.ObjectType.RUN, objectId);
+    }
+
     private PipelineEvent createEvent(EventType eventType, LocalDateTime createdDate,
                                       PipelineEvent.ObjectType type, Long objectId) {
         PipelineEvent event = new PipelineEvent();
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.elasticsearchagent.service.impl;
+
+import com.epam.pipeline.elasticsearchagent.service.ElasticsearchServiceClient;
+import com.epam.pipeline.elasticsearchagent.service.ObjectStorageFileManager;
+import com.epam.pipeline.entity.datastorage.DataStorageFile;
+import com.epam.pipeline.entity.datastorage.DataStorageType;
+import com.epam.pipeline.entity.datastorage.GSBucketStorage;
+import com.epam.pipeline.entity.datastorage.TemporaryCredentials;
+import com.epam.pipeline.entity.search.SearchDocumentType;
+import org.apache.commons.io.FileUtils;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteResponse;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.util.DigestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+public class ObjectStorageIncrementalIndexTest {
+
+    private static final String ALIAS = "prefix-1";
+    private static final String REGION = "region";
+
+    private final CloudPipelineAPIClient apiClient = mock(CloudPipelineAPIClient.class);
+    private final ElasticsearchServiceClient elasticsearchClient = mock(ElasticsearchServiceClient.class);
+    private final ElasticIndexService indexService = mock(ElasticIndexService.class);
+    private final ObjectStorageFileManager fileManager = mock(ObjectStorageFileManager.class);
+    private final GSBucketStorage dataStorage = new GSBucketStorage();
+    private final List<List<DocWriteRequest>> bulks = new ArrayList<>();
+    private Path manifestDir;
+    private ObjectStorageIndexImpl storageIndex;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        manifestDir = Files.createTempDirectory("manifests");
+        storageIndex = new ObjectStorageIndexImpl(apiClient, elasticsearchClient, indexService, fileManager,
+                "prefix", "mapping", 2, 10, DataStorageType.GS, SearchDocumentType.GS_FILE,
+                new StorageIndexManifestStore(manifestDir.toString()),
+                new StorageIndexingScheduler(elasticsearchClient, 1, 1));
+        dataStorage.setId(1L);
+        dataStorage.setPath("bucket");
+        final TemporaryCredentials credentials = new TemporaryCredentials();
+        credentials.setRegion(REGION);
+        when(apiClient.generateTemporaryCredentials(anyList())).thenReturn(credentials);
+        when(apiClient.loadDataStorageTagsMap(any(), any())).thenReturn(Collections.emptyMap());
+        when(indexService.getIndexMapping(anyString())).thenReturn("{}");
+        when(elasticsearchClient.sendRequests(anyString(), anyList())).thenAnswer(invocation -> {
+            final List<DocWriteRequest> requests = new ArrayList<>(invocation.getArgument(1));
+            bulks.add(requests);
+            return response(requests);
+        });
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(manifestDir.toFile());
+    }
+
+    @Test
+    public void shouldIndexOnlyChangedFilesIfManifestExists() throws Exception {
+        final String indexName = rebuild(file("a", 1L), file("b", 1L), file("c", 1L));
+        mockIndex(indexName, 3);
+
+        sync(file("a", 1L), file("b", 2L), file("d", 1L));
+
+        verify(indexService, never()).createIndexIfNotExist(anyString(), anyString());
+        verify(elasticsearchClient, never()).deleteIndex(anyString());
+        final List<DocWriteRequest> requests = requests();
+        assertEquals(Arrays.asList(DocWriteRequest.OpType.INDEX, DocWriteRequest.OpType.DELETE,
+                DocWriteRequest.OpType.INDEX), requests.stream()
+                .map(DocWriteRequest::opType)
+                .collect(Collectors.toList()));
+        assertEquals(Arrays.asList(id("b"), id("c"), id("d")), requests.stream()
+                .map(DocWriteRequest::id)
+                .collect(Collectors.toList()));
+        assertTrue(requests.stream().allMatch(request -> indexName.equals(request.index())));
+    }
+
+    @Test
+    public void shouldNotSendRequestsIfNothingChanged() {
+        final String indexName = rebuild(file("a", 1L), file("b", 1L));
+        mockIndex(indexName, 2);
+
+        sync(file("a", 1L), file("b", 1L));
+        mockIndex(indexName, 2);
+        sync(file("a", 1L), file("b", 1L));
+
+        verify(elasticsearchClient, never()).sendRequests(anyString(), anyList());
+    }
+
+    @Test
+    public void shouldRebuildIndexIfDocumentsCountDiffers() throws Exception {
+        final String indexName = rebuild(file("a", 1L), file("b", 1L));
+        mockIndex(indexName, 1);
+
+        sync(file("a", 1L), file("b", 2L));
+
+        verify(indexService).createIndexIfNotExist(anyString(), anyString());
+        verify(elasticsearchClient).deleteIndex(indexName);
+        assertTrue(requests().stream().noneMatch(request -> indexName.equals(request.index())));
+    }
+
+    @Test
+    public void shouldRebuildIndexIfManifestIsMissing() throws Exception {
+        final String indexName = rebuild(file("a", 1L));
+        mockIndex(indexName, 1);
+        FileUtils.cleanDirectory(manifestDir.toFile());
+
+        sync(file("a", 1L));
+
+        verify(indexService).createIndexIfNotExist(anyString(), anyString());
+        verify(elasticsearchClient).deleteIndex(indexName);
+    }
+
+    @Test
+    public void shouldRebuildIndexIfMappingChanged() throws Exception {
+        final String indexName = rebuild(file("a", 1L));
+        mockIndex(indexName, 1);
+        when(indexService.getIndexMapping(anyString())).thenReturn("{\"changed\": true}");
+
+        sync(file("a", 1L));
+
+        verify(indexService).createIndexIfNotExist(anyString(), anyString());
+        verify(elasticsearchClient).deleteIndex(indexName);
+    }
+
+    @Test
+    public void shouldRebuildIndexIfFilesAreNotOrdered() throws Exception {
+        final String indexName = rebuild(file("b", 1L), file("a", 1L));
+        mockIndex(indexName, 2);
+
+        sync(file("a", 1L), file("b", 1L));
+
+        verify(indexService).createIndexIfNotExist(anyString(), anyString());
+        verify(elasticsearchClient).deleteIndex(indexName);
+        verify(elasticsearchClient).createIndexAlias(anyString(), eq(ALIAS));
+    }
+
+    private String rebuild(final DataStorageFile... files) {
+        sync(files);
+        final ArgumentCaptor<String> indexName = ArgumentCaptor.forClass(String.class);
+        verify(elasticsearchClient).createIndexAlias(indexName.capture(), eq(ALIAS));
+        clearInvocations(indexService, elasticsearchClient);
+        bulks.clear();
+        return indexName.getValue();
+    }
+
+    private void sync(final DataStorageFile... files) {
+        when(fileManager.files(any(), any(), any())).thenAnswer(invocation -> Arrays.stream(files)
+                .map(file -> file(file.getPath(), file.getSize())));
+        storageIndex.indexStorage(dataStorage);
+    }
+
+    private void mockIndex(final String indexName, final long documents) {
+        when(elasticsearchClient.getIndexNameByAlias(ALIAS)).thenReturn(indexName);
+        final SearchResponse searchResponse = mock(SearchResponse.class);
+        when(searchResponse.getHits()).thenReturn(new SearchHits(new SearchHit[0], documents, 0));
+        when(elasticsearchClient.search(any(SearchRequest.class))).thenReturn(searchResponse);
+    }
+
+    private List<DocWriteRequest> requests() {
+        return bulks.stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    private BulkResponse response(final List<DocWriteRequest> requests) {
+        final BulkItemResponse[] items = new BulkItemResponse[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            final DocWriteRequest request = requests.get(i);
+            final ShardId shardId = new ShardId(request.index(), request.index(), 0);
+            items[i] = new BulkItemResponse(i, request.opType(), request.opType() == DocWriteRequest.OpType.DELETE
+                    ? new DeleteResponse(shardId, request.type(), request.id(), 1, 1, 1, true)
+                    : new IndexResponse(shardId, request.type(), request.id(), 1, 1, 1, true));
+        }
+        return new BulkResponse(items, 1);
+    }
+
+    private String id(final String path) {
+        return DigestUtils.md5DigestAsHex(path.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private DataStorageFile file(final String path, final Long size) {
+        final DataStorageFile file = new DataStorageFile();
+        file.setName(path);
+        file.setPath(path);
+        file.setSize(size);
+        return file;
+    }
+}
@@ -72,7 +72,9 @@ public class ObjectStorageIndexTest {
             1000,
             1000,
             DataStorageType.GS,
-            SearchDocumentType.GS_FILE);
+            SearchDocumentType.GS_FILE,
+            new StorageIndexManifestStore(null),
+            new StorageIndexingScheduler(elasticsearchServiceClient, 1, 1));
 
     @Test
     public void shouldAddZeroFilesToRequestContainer() {
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.elasticsearchagent.service.impl;
+
+import com.epam.pipeline.elasticsearchagent.model.PipelineEvent;
+import com.epam.pipeline.elasticsearchagent.service.ElasticsearchSynchronizer;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PipelineEventListenerTest {
+
+    private final EntitySynchronizer runSynchronizer = synchronizer(PipelineEvent.ObjectType.RUN);
+    private final EntitySynchronizer folderSynchronizer = synchronizer(PipelineEvent.ObjectType.FOLDER);
+    private final ElasticsearchSynchronizer storageSynchronizer = mock(ElasticsearchSynchronizer.class);
+    private final PipelineEventListener listener = new PipelineEventListener(
+            Optional.of(new HashSet<>(Arrays.asList(runSynchronizer, folderSynchronizer, storageSynchronizer))),
+            "url", "user", "password", "pipeline_event", 0, 0);
+
+    @Test
+    public void shouldSynchronizeOnlyNotifiedObjectTypesOnce() {
+        listener.synchronize(Arrays.asList("run", "RUN", "unknown", "S3", ""));
+
+        verify(runSynchronizer, times(1)).synchronizePending(any(LocalDateTime.class));
+        verify(folderSynchronizer, never()).synchronizePending(any());
+        verify(storageSynchronizer, never()).synchronize(any(), any());
+    }
+
+    @Test
+    public void shouldNotSynchronizeWithoutNotifications() {
+        listener.synchronize(Collections.emptyList());
+
+        verify(runSynchronizer, never()).synchronizePending(any());
+        verify(folderSynchronizer, never()).synchronizePending(any());
+    }
+
+    private EntitySynchronizer synchronizer(final PipelineEvent.ObjectType objectType) {
+        final EntitySynchronizer synchronizer = mock(EntitySynchronizer.class);
+        when(synchronizer.getObjectType()).thenReturn(objectType);
+        return synchronizer;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.elasticsearchagent.service.impl;
+
+import com.epam.pipeline.elasticsearchagent.model.StorageIndexingStats;
+import com.epam.pipeline.elasticsearchagent.service.ElasticsearchServiceClient;
+import com.epam.pipeline.entity.datastorage.AbstractDataStorage;
+import com.epam.pipeline.entity.datastorage.S3bucketDataStorage;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StorageIndexingSchedulerTest {
+
+    private static final long TIMEOUT = 10;
+
+    private final ElasticsearchServiceClient elasticsearchClient = mock(ElasticsearchServiceClient.class);
+    private StorageIndexingScheduler scheduler;
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void shouldIndexStoragesConcurrently() {
+        scheduler = new StorageIndexingScheduler(elasticsearchClient, 2, 1);
+        final CountDownLatch started = new CountDownLatch(2);
+
+        scheduler.index(Arrays.asList(storage(1L), storage(2L)), storage -> {
+            started.countDown();
+            assertTrue(await(started));
+        });
+
+        assertEquals(Arrays.asList(StorageIndexingStats.Status.COMPLETED, StorageIndexingStats.Status.COMPLETED),
+                scheduler.getStats().stream()
+                        .map(StorageIndexingStats::getStatus)
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldScheduleLongestStoragesFirst() {
+        scheduler = new StorageIndexingScheduler(elasticsearchClient, 1, 1);
+        final List<AbstractDataStorage> storages = Arrays.asList(storage(1L), storage(2L));
+        scheduler.index(storages, storage -> sleep(storage.getId() == 2L ? 50 : 0));
+        final List<Long> order = new CopyOnWriteArrayList<>();
+
+        scheduler.index(storages, storage -> order.add(storage.getId()));
+
+        assertEquals(Arrays.asList(2L, 1L), order);
+    }
+
+    @Test
+    public void shouldLimitInFlightBulkRequestsAndCountDocuments() {
+        scheduler = new StorageIndexingScheduler(elasticsearchClient, 2, 1);
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        when(elasticsearchClient.sendRequests(anyString(), anyList())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(10);
+            inFlight.decrementAndGet();
+            return null;
+        });
+        final List<DocWriteRequest> requests = Collections.singletonList(new IndexRequest("index"));
+
+        scheduler.index(Arrays.asList(storage(1L), storage(2L)), storage -> {
+            for (int i = 0; i < 3; i++) {
+                scheduler.getRequestCreator(storage, "index").sendRequest(requests);
+            }
+        });
+
+        assertEquals(1, maxInFlight.get());
+        scheduler.getStats().forEach(stats -> {
+            assertEquals(3L, stats.getDocuments().longValue());
+            assertEquals(3L, stats.getBulkRequests().longValue());
+        });
+    }
+
+    private AbstractDataStorage storage(final Long id) {
+        final S3bucketDataStorage storage = new S3bucketDataStorage();
+        storage.setId(id);
+        storage.setName("storage-" + id);
+        return storage;
+    }
+
+    private boolean await(final CountDownLatch latch) {
+        try {
+            return latch.await(TIMEOUT, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
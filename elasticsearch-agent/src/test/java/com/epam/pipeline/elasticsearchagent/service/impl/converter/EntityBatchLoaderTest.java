@@ -0,0 +1,175 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.elasticsearchagent.service.impl.converter;
+
+import com.epam.pipeline.elasticsearchagent.model.DataStorageDoc;
+import com.epam.pipeline.elasticsearchagent.model.EntityContainer;
+import com.epam.pipeline.elasticsearchagent.model.PipelineRunWithLog;
+import com.epam.pipeline.elasticsearchagent.service.impl.CloudPipelineAPIClient;
+import com.epam.pipeline.elasticsearchagent.service.impl.converter.folder.FolderLoader;
+import com.epam.pipeline.elasticsearchagent.service.impl.converter.run.PipelineRunLoader;
+import com.epam.pipeline.elasticsearchagent.service.impl.converter.storage.DataStorageLoader;
+import com.epam.pipeline.entity.datastorage.S3bucketDataStorage;
+import com.epam.pipeline.entity.pipeline.Folder;
+import com.epam.pipeline.entity.pipeline.PipelineRun;
+import com.epam.pipeline.entity.region.AwsRegion;
+import com.epam.pipeline.entity.security.acl.AclClass;
+import com.epam.pipeline.exception.PipelineResponseException;
+import com.epam.pipeline.vo.EntityPermissionVO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.epam.pipeline.elasticsearchagent.LoaderVerificationUtils.verifyMetadata;
+import static com.epam.pipeline.elasticsearchagent.LoaderVerificationUtils.verifyPermissions;
+import static com.epam.pipeline.elasticsearchagent.ObjectCreationUtils.buildEntityPermissionVO;
+import static com.epam.pipeline.elasticsearchagent.ObjectCreationUtils.buildMetadataEntry;
+import static com.epam.pipeline.elasticsearchagent.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({"PMD.TooManyStaticImports"})
+class EntityBatchLoaderTest {
+
+    private static final Long NOT_FOUND_ID = 3L;
+
+    @Mock
+    private CloudPipelineAPIClient apiClient;
+
+    @Test
+    void shouldLoadPermissionsAndMetadataOfFoldersInBatch() {
+        final FolderLoader loader = new FolderLoader(apiClient);
+        when(apiClient.loadUserByName(anyString())).thenReturn(USER);
+        doReturn(folder(1L)).when(apiClient).loadPipelineFolder(1L);
+        doReturn(folder(2L)).when(apiClient).loadPipelineFolder(2L);
+        doThrow(new PipelineResponseException("Folder 3 was not found.")).when(apiClient)
+                .loadPipelineFolder(NOT_FOUND_ID);
+        when(apiClient.loadPermissionsForEntities(Arrays.asList(1L, 2L), AclClass.FOLDER))
+                .thenReturn(Arrays.asList(permissions(1L), permissions(2L)));
+        when(apiClient.loadMetadataEntry(any())).thenReturn(Arrays.asList(
+                buildMetadataEntry(AclClass.FOLDER, 1L, TEST_KEY + " " + TEST_VALUE),
+                buildMetadataEntry(AclClass.FOLDER, 2L, TEST_KEY + " " + TEST_VALUE)));
+
+        final Map<Long, Optional<EntityContainer<Folder>>> entities =
+                loader.loadEntities(Arrays.asList(1L, 2L, NOT_FOUND_ID));
+
+        assertEquals(3, entities.size());
+        assertFalse(entities.get(NOT_FOUND_ID).isPresent());
+        for (final Long id : Arrays.asList(1L, 2L)) {
+            final EntityContainer<Folder> container = entities.get(id).orElseThrow(AssertionError::new);
+            assertEquals(id, container.getEntity().getId());
+            verifyPermissions(PERMISSIONS_CONTAINER_WITH_OWNER, container.getPermissions());
+            verifyMetadata(EXPECTED_METADATA, new ArrayList<>(container.getMetadata().values()));
+        }
+        verify(apiClient, never()).loadPermissionsForEntity(anyLong(), any());
+    }
+
+    @Test
+    void shouldUseOwnerPermissionsForRunsWithoutPipeline() {
+        final PipelineRunLoader loader = new PipelineRunLoader(apiClient);
+        when(apiClient.loadUserByName(anyString())).thenReturn(USER);
+        doReturn(run(1L, null)).when(apiClient).loadPipelineRunWithLogs(1L);
+        doReturn(run(2L, 1L)).when(apiClient).loadPipelineRunWithLogs(2L);
+        when(apiClient.loadPermissionsForEntities(Collections.singletonList(1L), AclClass.PIPELINE))
+                .thenReturn(Collections.singletonList(permissions(1L)));
+
+        final Map<Long, Optional<EntityContainer<PipelineRunWithLog>>> entities =
+                loader.loadEntities(Arrays.asList(1L, 2L));
+
+        final EntityContainer<PipelineRunWithLog> runWithoutPipeline =
+                entities.get(1L).orElseThrow(AssertionError::new);
+        assertTrue(runWithoutPipeline.getPermissions().getAllowedUsers().contains(TEST_NAME));
+        final EntityContainer<PipelineRunWithLog> pipelineRun = entities.get(2L).orElseThrow(AssertionError::new);
+        verifyPermissions(PERMISSIONS_CONTAINER_WITH_OWNER, pipelineRun.getPermissions());
+        verify(apiClient, never()).loadMetadataEntry(any());
+    }
+
+    @Test
+    void shouldLoadRegionsOnceForAllStoragesInBatch() {
+        final DataStorageLoader loader = new DataStorageLoader(apiClient);
+        final AwsRegion region = new AwsRegion();
+        region.setId(1L);
+        region.setRegionCode(TEST_REGION);
+        when(apiClient.loadUserByName(anyString())).thenReturn(USER);
+        doReturn(Collections.singletonList(region)).when(apiClient).loadAllRegions();
+        doReturn(storage(1L, region.getId())).when(apiClient).loadDataStorage(1L);
+        doReturn(storage(2L, region.getId())).when(apiClient).loadDataStorage(2L);
+        when(apiClient.loadPermissionsForEntities(Arrays.asList(1L, 2L), AclClass.DATA_STORAGE))
+                .thenReturn(Arrays.asList(permissions(1L), permissions(2L)));
+
+        final Map<Long, Optional<EntityContainer<DataStorageDoc>>> entities =
+                loader.loadEntities(Arrays.asList(1L, 2L));
+
+        for (final Long id : Arrays.asList(1L, 2L)) {
+            final EntityContainer<DataStorageDoc> container = entities.get(id).orElseThrow(AssertionError::new);
+            assertEquals(TEST_REGION, container.getEntity().getRegionName());
+        }
+        verify(apiClient, times(1)).loadAllRegions();
+    }
+
+    private S3bucketDataStorage storage(final Long id, final Long regionId) {
+        final S3bucketDataStorage storage = new S3bucketDataStorage();
+        storage.setId(id);
+        storage.setName(TEST_NAME);
+        storage.setPath(TEST_PATH);
+        storage.setOwner(TEST_NAME);
+        storage.setRegionId(regionId);
+        return storage;
+    }
+
+    private Folder folder(final Long id) {
+        final Folder folder = new Folder(id);
+        folder.setName(TEST_NAME);
+        folder.setOwner(TEST_NAME);
+        return folder;
+    }
+
+    private PipelineRunWithLog run(final Long id, final Long pipelineId) {
+        final PipelineRun run = new PipelineRun();
+        run.setId(id);
+        run.setPipelineId(pipelineId);
+        run.setOwner(TEST_NAME);
+        final PipelineRunWithLog runWithLog = new PipelineRunWithLog();
+        runWithLog.setPipelineRun(run);
+        return runWithLog;
+    }
+
+    private EntityPermissionVO permissions(final Long id) {
+        final EntityPermissionVO permissions =
+                buildEntityPermissionVO(USER_NAME, ALLOWED_USERS, DENIED_USERS, ALLOWED_GROUPS, DENIED_GROUPS);
+        permissions.setEntityId(id);
+        return permissions;
+    }
+}
@@ -19,10 +19,13 @@ package com.epam.pipeline.notifier.repository;
 import com.epam.pipeline.entity.notification.NotificationMessage;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 
@@ -39,10 +42,36 @@ public interface NotificationRepository extends JpaRepository<NotificationMessag
     @Query("select n from NotificationMessage n order by n.id")
     List<NotificationMessage> loadNotification(Pageable pageable);
 
+    /**
+     * Claim limited number of {@link NotificationMessage} which are due to be sent, ordered by
+     * @{@link NotificationMessage#attempts} and @{@link NotificationMessage#id}, so messages which failed
+     * before do not delay the new ones.
+     * Claimed messages stay locked until the end of the current transaction, messages which are already
+     * claimed by other transactions are skipped, so several notifier instances may process the queue
+     * concurrently.
+     * @param limit   maximum number of returned messages
+     * @return list of claimed {@link NotificationMessage}
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "SELECT * FROM pipeline.notification_queue "
+            + "WHERE next_attempt IS NULL OR next_attempt <= now() "
+            + "ORDER BY attempts, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<NotificationMessage> claimNotifications(@Param("limit") int limit);
+
     /**
      * Delete {@link NotificationMessage} by id
      * @param id   id of {@link NotificationMessage} to be deleted
      */
     @Transactional(propagation = Propagation.MANDATORY)
     int deleteById(Long id);
+
+    /**
+     * Delete {@link NotificationMessage}s by ids
+     * @param ids   ids of {@link NotificationMessage}s to be deleted
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("delete from NotificationMessage n where n.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.notifier.service;
+
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput and lag statistics of notification queue processing, exposed via JMX.
+ *
+ * Queue lag is the time passed since the notification queue was drained for the last time,
+ * it grows while messages are queued faster than they are sent.
+ */
+@Component
+@ManagedResource(objectName = "com.epam.pipeline.notifier:name=NotificationMetrics")
+public class NotificationMetrics {
+
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong queueSize = new AtomicLong();
+    private final AtomicLong lastDrained = new AtomicLong(System.currentTimeMillis());
+    private final AtomicLong lastCycleDuration = new AtomicLong();
+    private final AtomicLong lastCycleSent = new AtomicLong();
+
+    public void recordBatch(final int claimedMessages, final int sentMessages) {
+        claimed.addAndGet(claimedMessages);
+        sent.addAndGet(sentMessages);
+        failed.addAndGet(claimedMessages - sentMessages);
+    }
+
+    public void recordDropped(final int droppedMessages) {
+        dropped.addAndGet(droppedMessages);
+    }
+
+    public void recordCycle(final long sentMessages, final long duration, final long remainingMessages) {
+        lastCycleSent.set(sentMessages);
+        lastCycleDuration.set(duration);
+        queueSize.set(remainingMessages);
+        if (remainingMessages == 0) {
+            lastDrained.set(System.currentTimeMillis());
+        }
+    }
+
+    @ManagedAttribute(description = "Total number of claimed messages")
+    public long getClaimedMessages() {
+        return claimed.get();
+    }
+
+    @ManagedAttribute(description = "Total number of sent messages")
+    public long getSentMessages() {
+        return sent.get();
+    }
+
+    @ManagedAttribute(description = "Total number of failed send attempts")
+    public long getFailedMessages() {
+        return failed.get();
+    }
+
+    @ManagedAttribute(description = "Total number of messages removed from the queue after all failed attempts")
+    public long getDroppedMessages() {
+        return dropped.get();
+    }
+
+    @ManagedAttribute(description = "Number of messages left in the queue after the last cycle")
+    public long getQueueSize() {
+        return queueSize.get();
+    }
+
+    @ManagedAttribute(description = "Time in ms since the queue was drained for the last time")
+    public long getQueueLag() {
+        return queueSize.get() == 0 ? 0 : System.currentTimeMillis() - lastDrained.get();
+    }
+
+    @ManagedAttribute(description = "Number of messages sent per second during the last cycle")
+    public double getThroughput() {
+        final long duration = lastCycleDuration.get();
+        return duration > 0 ? lastCycleSent.get() * 1000.0 / duration : 0;
+    }
+}
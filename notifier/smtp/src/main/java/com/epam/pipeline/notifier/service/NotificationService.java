@@ -16,9 +16,14 @@
 
 package com.epam.pipeline.notifier.service;
 
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
 
 import com.epam.pipeline.entity.notification.NotificationMessage;
 import com.epam.pipeline.notifier.repository.NotificationRepository;
@@ -27,12 +32,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
 
 @Service
 public class NotificationService {
@@ -42,39 +47,145 @@ public class NotificationService {
     @Autowired
     private ExecutorService notificationThreadPool;
 
-    @Value(value = "${notification.at.time:5}")
+    @Value(value = "${notification.at.time:50}")
     private int notificationAtTime;
 
+    @Value(value = "${notification.max.attempts:10}")
+    private int maxAttempts;
+
+    @Value(value = "${notification.retry.delay:60000}")
+    private long retryDelay;
+
+    @Value(value = "${notification.retry.max.delay:3600000}")
+    private long maxRetryDelay;
+
     @Autowired
     private NotificationRepository notificationRepository;
 
     @Autowired
     private List<NotificationManager> notificationManagers;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private NotificationMetrics notificationMetrics;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
     /**
-     * Scheduled task to load batch of {@link NotificationMessage} from database
-     * and delegate it to all realizations of {@link NotificationManager}
+     * Scheduled task to process {@link NotificationMessage} queue from database.
+     *
+     * Messages are claimed in batches of {@code notification.at.time} and delegated to all realizations of
+     * {@link NotificationManager}. Each batch is processed in a separate transaction which keeps claimed
+     * messages locked, so other notifier instances skip them. A message is removed from the queue only
+     * after it was successfully handled. A failed message is retried after an exponentially growing delay
+     * starting from {@code notification.retry.delay}, it is removed from the queue after
+     * {@code notification.max.attempts} failed attempts.
+     *
+     * Batches are claimed until the queue is drained or none of the batch messages could be sent.
      */
     @Scheduled(fixedDelayString = "${notification.scheduler.delay}")
-    @Transactional(propagation = Propagation.REQUIRED)
     public void sendNotification() {
         LOGGER.debug("Start scheduled notification loop...");
-        Pageable limit = new PageRequest(0, notificationAtTime);
-        List<NotificationMessage> result = notificationRepository.loadNotification(limit);
-        result.forEach(message -> {
-            notificationRepository.deleteById(message.getId());
-
-            for (NotificationManager notificationManager : notificationManagers) {
-                CompletableFuture.runAsync(
-                    () -> notificationManager.notifySubscribers(message),
-                    notificationThreadPool)
-                    .exceptionally(throwable -> {
-                        LOGGER.warn("Exception while trying to send email", throwable);
-                        return null;
-                    });
-            }
-        });
+        final long start = System.currentTimeMillis();
+        long sent = 0;
+        BatchResult result;
+        do {
+            result = transactionTemplate.execute(status -> processBatch());
+            sent += result.sent;
+        } while (result.claimed == notificationAtTime && result.sent > 0);
+        final long remaining = notificationRepository.count();
+        notificationMetrics.recordCycle(sent, System.currentTimeMillis() - start, remaining);
+        if (sent > 0 || result.claimed > 0) {
+            LOGGER.info("Sent {} messages in {} ms, {} messages left in the queue.",
+                    sent, System.currentTimeMillis() - start, remaining);
+        }
         LOGGER.debug("End scheduled notification loop...");
     }
 
+    private BatchResult processBatch() {
+        final List<NotificationMessage> messages = notificationRepository.claimNotifications(notificationAtTime);
+        if (messages.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+        final List<CompletableFuture<Long>> results = messages.stream()
+                .map(message -> CompletableFuture.supplyAsync(() -> notify(message), notificationThreadPool)
+                        .exceptionally(throwable -> {
+                            LOGGER.warn("Exception while trying to send email", throwable);
+                            return null;
+                        }))
+                .collect(Collectors.toList());
+        final Set<Long> sentIds = results.stream()
+                .map(CompletableFuture::join)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        final List<Long> removedIds = new ArrayList<>(sentIds);
+        final List<NotificationMessage> failed = messages.stream()
+                .filter(message -> !sentIds.contains(message.getId()))
+                .collect(Collectors.toList());
+        final List<Long> droppedIds = registerFailedAttempts(failed);
+        removedIds.addAll(droppedIds);
+        if (!removedIds.isEmpty()) {
+            notificationRepository.deleteByIds(removedIds);
+        }
+        notificationMetrics.recordBatch(messages.size(), sentIds.size());
+        notificationMetrics.recordDropped(droppedIds.size());
+        return new BatchResult(messages.size(), sentIds.size());
+    }
+
+    /**
+     * Increments attempts of failed messages and postpones their next attempts.
+     * @return ids of messages which ran out of attempts and shall be removed from the queue
+     */
+    private List<Long> registerFailedAttempts(final List<NotificationMessage> failed) {
+        final List<Long> droppedIds = new ArrayList<>();
+        final List<NotificationMessage> postponed = new ArrayList<>();
+        for (final NotificationMessage message : failed) {
+            final int attempts = message.getAttempts() + 1;
+            if (attempts >= maxAttempts) {
+                LOGGER.error("Notification {} for user {} failed {} times and is removed from the queue.",
+                        message.getId(), message.getToUserId(), attempts);
+                droppedIds.add(message.getId());
+                continue;
+            }
+            message.setAttempts(attempts);
+            message.setNextAttempt(new Date(System.currentTimeMillis() + getRetryDelay(attempts)));
+            postponed.add(message);
+        }
+        if (!postponed.isEmpty()) {
+            // postponed messages are flushed before removal of the other ones clears the persistence context
+            notificationRepository.save(postponed);
+            notificationRepository.flush();
+        }
+        return droppedIds;
+    }
+
+    private long getRetryDelay(final int attempts) {
+        final int exponent = Math.min(attempts - 1, Long.SIZE - 2);
+        final long delay = retryDelay << exponent;
+        return delay <= 0 || delay > maxRetryDelay ? maxRetryDelay : delay;
+    }
+
+    private Long notify(final NotificationMessage message) {
+        final boolean sent = notificationManagers.stream()
+                .allMatch(notificationManager -> notificationManager.notifySubscribers(message));
+        return sent ? message.getId() : null;
+    }
+
+    private static final class BatchResult {
+
+        private final int claimed;
+        private final int sent;
+
+        private BatchResult(final int claimed, final int sent) {
+            this.claimed = claimed;
+            this.sent = sent;
+        }
+    }
 }
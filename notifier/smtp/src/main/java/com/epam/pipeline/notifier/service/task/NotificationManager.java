@@ -22,5 +22,12 @@ import com.epam.pipeline.entity.notification.NotificationMessage;
  * Simple interface of abstract {@link NotificationManager}
  */
 public interface NotificationManager {
-    void notifySubscribers(NotificationMessage message);
+
+    /**
+     * Delivers the message to its recipients.
+     * @param message   message to be delivered
+     * @return true if the message was handled and may be removed from the queue,
+     * false if delivery failed and should be attempted again later
+     */
+    boolean notifySubscribers(NotificationMessage message);
 }
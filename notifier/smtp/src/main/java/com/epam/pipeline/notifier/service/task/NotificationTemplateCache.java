@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.notifier.service.task;
+
+import com.epam.pipeline.entity.notification.NotificationTemplate;
+import org.apache.velocity.Template;
+import org.apache.velocity.context.Context;
+import org.apache.velocity.exception.ParseErrorException;
+import org.apache.velocity.runtime.RuntimeServices;
+import org.apache.velocity.runtime.RuntimeSingleton;
+import org.apache.velocity.runtime.parser.ParseException;
+import org.springframework.stereotype.Component;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps compiled Velocity templates of {@link NotificationTemplate} keyed by template id, so that
+ * subject and body of a template are parsed only once and not for every sent message.
+ *
+ * A cached template is compiled again if its subject or body has been changed since the last compilation.
+ */
+@Component
+public class NotificationTemplateCache {
+
+    private static final String SUBJECT_TAG = "subject";
+    private static final String BODY_TAG = "body";
+
+    private final Map<Long, CompiledTemplate> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Returns compiled version of the given template. Templates without id are compiled on each call.
+     */
+    public CompiledTemplate get(final NotificationTemplate template) {
+        if (template.getId() == null) {
+            return compile(template.getName(), template.getSubject(), template.getBody());
+        }
+        return templates.compute(template.getId(), (id, compiled) ->
+                compiled != null && compiled.matches(template.getSubject(), template.getBody())
+                        ? compiled
+                        : compile(template.getName(), template.getSubject(), template.getBody()));
+    }
+
+    /**
+     * Compiles the given subject and body without caching.
+     */
+    public CompiledTemplate compile(final String name, final String subject, final String body) {
+        return new CompiledTemplate(subject, body,
+                parse(name + SUBJECT_TAG, subject), parse(name + BODY_TAG, body));
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    public void clear() {
+        templates.clear();
+    }
+
+    private Template parse(final String name, final String source) {
+        final RuntimeServices runtime = RuntimeSingleton.getRuntimeServices();
+        final Template template = new Template();
+        template.setName(name);
+        template.setRuntimeServices(runtime);
+        try {
+            template.setData(runtime.parse(new StringReader(Objects.toString(source, "")), name));
+        } catch (ParseException e) {
+            throw new ParseErrorException(e, name);
+        }
+        template.initDocument();
+        return template;
+    }
+
+    /**
+     * Subject and body of a notification parsed into Velocity templates.
+     */
+    public static final class CompiledTemplate {
+
+        private final String subjectSource;
+        private final String bodySource;
+        private final Template subject;
+        private final Template body;
+
+        private CompiledTemplate(final String subjectSource, final String bodySource,
+                                 final Template subject, final Template body) {
+            this.subjectSource = subjectSource;
+            this.bodySource = bodySource;
+            this.subject = subject;
+            this.body = body;
+        }
+
+        public String renderSubject(final Context context) {
+            return render(subject, context);
+        }
+
+        public String renderBody(final Context context) {
+            return render(body, context);
+        }
+
+        private boolean matches(final String subject, final String body) {
+            return Objects.equals(subjectSource, subject) && Objects.equals(bodySource, body);
+        }
+
+        private String render(final Template template, final Context context) {
+            final StringWriter writer = new StringWriter();
+            template.merge(context, writer);
+            return writer.toString();
+        }
+    }
+}
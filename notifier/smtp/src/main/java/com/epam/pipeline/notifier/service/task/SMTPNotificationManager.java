@@ -20,12 +20,10 @@ import com.epam.pipeline.entity.notification.NotificationMessage;
 import com.epam.pipeline.entity.notification.NotificationTemplate;
 import com.epam.pipeline.entity.user.PipelineUser;
 import com.epam.pipeline.notifier.repository.UserRepository;
-import org.apache.commons.mail.DefaultAuthenticator;
-import org.apache.commons.mail.Email;
+import com.epam.pipeline.notifier.service.task.NotificationTemplateCache.CompiledTemplate;
 import org.apache.commons.mail.EmailException;
 import org.apache.commons.mail.HtmlEmail;
 import org.apache.velocity.VelocityContext;
-import org.apache.velocity.app.Velocity;
 import org.apache.velocity.tools.generic.NumberTool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,10 +31,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
-import org.springframework.util.StringUtils;
 
+import javax.mail.MessagingException;
 import javax.mail.internet.InternetAddress;
-import java.io.StringWriter;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
@@ -62,27 +59,9 @@ public class SMTPNotificationManager implements NotificationManager {
     @Value(value = "${email.notification.retry.count:3}")
     private int notifyRetryCount;
 
-    @Value(value = "${email.smtp.server.host.name}")
-    private String smtpServerHostName;
-
-    @Value(value = "${email.smtp.port}")
-    private int smtpPort;
-
-    @Value(value = "${email.ssl.on.connect}")
-    private boolean sslOnConnect;
-
-    @Value(value = "${email.start.tls.enabled}")
-    private boolean startTlsEnabled;
-
     @Value(value = "${email.from}")
     private String emailFrom;
 
-    @Value(value = "${email.user:}")
-    private String username;
-
-    @Value(value = "${email.password:}")
-    private String password;
-
     @Value(value = "${email.notification.letter.delay:-1}")
     private long emailDelay;
 
@@ -92,6 +71,12 @@ public class SMTPNotificationManager implements NotificationManager {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private SMTPTransportPool transportPool;
+
+    @Autowired
+    private NotificationTemplateCache templateCache;
+
     /**
      * Sends a notification to all specified recipients.
      *
@@ -99,63 +84,53 @@ public class SMTPNotificationManager implements NotificationManager {
      * {@link NotificationMessage#subject} and {@link NotificationMessage#body} will be used instead.
      *
      * Both subject and body are filled with {@link NotificationMessage#templateParameters} regardless the way they
-     * were retrieved (from template or directly from fields).
+     * were retrieved (from template or directly from fields). Templates are compiled once and cached by
+     * {@link NotificationTemplate#id}.
+     *
+     * Emails are sent through the SMTP connections of {@link SMTPTransportPool}.
      */
     @Override
-    public void notifySubscribers(NotificationMessage message) {
+    public boolean notifySubscribers(NotificationMessage message) {
         if (!isEnabled) {
-            return;
+            return true;
         }
         for (int i = 0; i < notifyRetryCount; i++) {
             try {
-                Optional<Email> email = buildEmail(message);
+                Optional<HtmlEmail> email = buildEmail(message);
                 if (email.isPresent()) {
-                    email.get().send();
+                    email.get().buildMimeMessage();
+                    transportPool.send(email.get().getMimeMessage());
                 }
 
                 LOGGER.info("Message with id: {} was successfully send", message.getId());
                 sleepIfRequired(emailDelay);
-                return;
-            } catch (EmailException e) {
+                return true;
+            } catch (EmailException | MessagingException e) {
                 LOGGER.warn(String.format("Fail to send message with id %d. Attempt %d/%d. %n Cause: %n ",
                         message.getId(), i + 1, notifyRetryCount), e);
                 sleepIfRequired(retryDelay);
             }
         }
-        LOGGER.error(String.format("All attempts are failed. Message with id: %d will not be sent.",
+        LOGGER.error(String.format("All attempts are failed. Message with id: %d is not sent.",
                 message.getId()));
-
+        return false;
     }
 
-    private Optional<Email> buildEmail(NotificationMessage message) throws EmailException {
+    private Optional<HtmlEmail> buildEmail(NotificationMessage message) throws EmailException {
         HtmlEmail email = new HtmlEmail();
-        email.setHostName(smtpServerHostName);
-        email.setSmtpPort(smtpPort);
-        email.setSSLOnConnect(sslOnConnect);
-        email.setStartTLSEnabled(startTlsEnabled);
-
-        // check that credentials are provided, otherwise try to proceed without authentication
-        if (!StringUtils.isEmpty(username) && !StringUtils.isEmpty(password)) {
-            email.setAuthenticator(new DefaultAuthenticator(username, password));
-        }
-
+        email.setMailSession(transportPool.getSession());
         email.setFrom(emailFrom);
 
-        Optional<NotificationTemplate> template = Optional.ofNullable(message.getTemplate());
-        String subject = template.map(NotificationTemplate::getSubject).orElse(message.getSubject());
-        String body = template.map(NotificationTemplate::getBody).orElse(message.getBody());
+        CompiledTemplate template = Optional.ofNullable(message.getTemplate())
+                .map(templateCache::get)
+                .orElseGet(() -> templateCache.compile(MESSAGE_TAG + message.hashCode(),
+                        message.getSubject(), message.getBody()));
 
         VelocityContext velocityContext = getVelocityContext(message);
         velocityContext.put("numberTool", new NumberTool());
 
-        StringWriter subjectOut = new StringWriter();
-        StringWriter bodyOut = new StringWriter();
-
-        Velocity.evaluate(velocityContext, subjectOut, MESSAGE_TAG + message.hashCode(), subject);
-        Velocity.evaluate(velocityContext, bodyOut, MESSAGE_TAG + message.hashCode(), body);
-
-        email.setSubject(subjectOut.toString());
-        email.setHtmlMsg(bodyOut.toString());
+        email.setSubject(template.renderSubject(velocityContext));
+        email.setHtmlMsg(template.renderBody(velocityContext));
 
         if (message.getToUserId() == null && CollectionUtils.isEmpty(message.getCopyUserIds())) {
             LOGGER.info("Email with message {} won't be sent: no recipients found", message.getId());
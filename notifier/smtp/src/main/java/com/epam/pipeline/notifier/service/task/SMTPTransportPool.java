@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.notifier.service.task;
+
+import org.apache.commons.mail.DefaultAuthenticator;
+import org.apache.commons.mail.EmailException;
+import org.apache.commons.mail.HtmlEmail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Keeps a limited number of connected SMTP {@link Transport}s and reuses them between sent emails
+ * instead of opening a new SMTP connection for each email.
+ *
+ * A transport which fails to send a message is closed and a new connection is opened for the next message.
+ */
+@Component
+public class SMTPTransportPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SMTPTransportPool.class);
+
+    @Value(value = "${email.smtp.server.host.name}")
+    private String smtpServerHostName;
+
+    @Value(value = "${email.smtp.port}")
+    private int smtpPort;
+
+    @Value(value = "${email.ssl.on.connect}")
+    private boolean sslOnConnect;
+
+    @Value(value = "${email.start.tls.enabled}")
+    private boolean startTlsEnabled;
+
+    @Value(value = "${email.user:}")
+    private String username;
+
+    @Value(value = "${email.password:}")
+    private String password;
+
+    @Value(value = "${email.smtp.pool.size:${submit.threads:1}}")
+    private int poolSize;
+
+    private volatile Session session;
+    private BlockingQueue<Transport> idleTransports;
+
+    @PostConstruct
+    public void init() {
+        idleTransports = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+    }
+
+    /**
+     * Returns mail session configured with SMTP server settings. The session is created on the first call.
+     */
+    public Session getSession() throws EmailException {
+        if (session == null) {
+            synchronized (this) {
+                if (session == null) {
+                    session = createSession();
+                }
+            }
+        }
+        return session;
+    }
+
+    /**
+     * Sends the given message to all its recipients using one of the pooled transports.
+     */
+    public void send(final MimeMessage message) throws MessagingException, EmailException {
+        final Transport transport = borrow();
+        try {
+            message.saveChanges();
+            transport.sendMessage(message, message.getAllRecipients());
+        } catch (MessagingException | RuntimeException e) {
+            close(transport);
+            throw e;
+        }
+        release(transport);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Transport transport = idleTransports.poll();
+        while (transport != null) {
+            close(transport);
+            transport = idleTransports.poll();
+        }
+    }
+
+    private Transport borrow() throws MessagingException, EmailException {
+        Transport transport = idleTransports.poll();
+        if (transport == null) {
+            transport = getSession().getTransport();
+        }
+        if (!transport.isConnected()) {
+            try {
+                transport.connect();
+            } catch (MessagingException | RuntimeException e) {
+                close(transport);
+                throw e;
+            }
+        }
+        return transport;
+    }
+
+    private void release(final Transport transport) {
+        if (!idleTransports.offer(transport)) {
+            close(transport);
+        }
+    }
+
+    private void close(final Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            LOGGER.debug("Failed to close SMTP transport: {}", e.getMessage());
+        }
+    }
+
+    private Session createSession() throws EmailException {
+        final HtmlEmail email = new HtmlEmail();
+        email.setHostName(smtpServerHostName);
+        email.setSmtpPort(smtpPort);
+        email.setSSLOnConnect(sslOnConnect);
+        email.setStartTLSEnabled(startTlsEnabled);
+
+        // check that credentials are provided, otherwise try to proceed without authentication
+        if (!StringUtils.isEmpty(username) && !StringUtils.isEmpty(password)) {
+            email.setAuthenticator(new DefaultAuthenticator(username, password));
+        }
+        return email.getMailSession();
+    }
+}
@@ -81,4 +81,25 @@ public class NotificationRepositoryTest extends AbstractSpringTest {
         Assert.assertNull(notificationRepository.findOne(idToDelete));
     }
 
-}
\ No newline at end of file
+    @Test
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void deleteByIdsTest() {
+        NotificationTemplate template = new NotificationTemplate();
+        template.setSubject(SUBJECT);
+        template.setBody(BODY_WITHOUT_PARAM);
+        templateRepository.save(template);
+        NotificationMessage sent = createMessage(template);
+        NotificationMessage failed = createMessage(template);
+        notificationRepository.deleteByIds(Collections.singletonList(sent.getId()));
+        Assert.assertNull(notificationRepository.findOne(sent.getId()));
+        Assert.assertNotNull(notificationRepository.findOne(failed.getId()));
+    }
+
+    private NotificationMessage createMessage(NotificationTemplate template) {
+        NotificationMessage message = new NotificationMessage();
+        message.setTemplate(template);
+        message.setToUserId(0L);
+        message.setCopyUserIds(Collections.singletonList(0L));
+        return notificationRepository.save(message);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.notifier.service.task;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+
+import com.epam.pipeline.entity.notification.NotificationTemplate;
+import com.epam.pipeline.notifier.service.task.NotificationTemplateCache.CompiledTemplate;
+import org.apache.velocity.VelocityContext;
+import org.junit.Test;
+
+public class NotificationTemplateCacheTest {
+
+    private static final Long TEMPLATE_ID = 1L;
+    private static final String SUBJECT = "Run $templateParameters.get(\"id\")";
+    private static final String BODY = "Run $templateParameters.get(\"id\") is idle";
+    private static final String CHANGED_BODY = "Run $templateParameters.get(\"id\") is still idle";
+
+    private final NotificationTemplateCache cache = new NotificationTemplateCache();
+
+    @Test
+    public void shouldRenderCompiledTemplate() {
+        CompiledTemplate compiled = cache.get(template(TEMPLATE_ID, BODY));
+
+        assertEquals("Run 42", compiled.renderSubject(context()));
+        assertEquals("Run 42 is idle", compiled.renderBody(context()));
+    }
+
+    @Test
+    public void shouldReuseCompiledTemplateWithTheSameId() {
+        CompiledTemplate compiled = cache.get(template(TEMPLATE_ID, BODY));
+
+        assertSame(compiled, cache.get(template(TEMPLATE_ID, BODY)));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void shouldRecompileChangedTemplate() {
+        CompiledTemplate compiled = cache.get(template(TEMPLATE_ID, BODY));
+        CompiledTemplate changed = cache.get(template(TEMPLATE_ID, CHANGED_BODY));
+
+        assertNotSame(compiled, changed);
+        assertEquals("Run 42 is still idle", changed.renderBody(context()));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void shouldNotCacheTemplatesWithoutId() {
+        cache.get(template(null, BODY));
+
+        assertEquals(0, cache.size());
+    }
+
+    private NotificationTemplate template(Long id, String body) {
+        NotificationTemplate template = new NotificationTemplate(id);
+        template.setSubject(SUBJECT);
+        template.setBody(body);
+        return template;
+    }
+
+    private VelocityContext context() {
+        VelocityContext context = new VelocityContext();
+        context.put("templateParameters", Collections.singletonMap("id", 42));
+        return context;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2021 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.vmmonitor.model.vm;
+
+import com.epam.pipeline.entity.cluster.NodeInstance;
+import com.epam.pipeline.entity.cluster.NodeInstanceAddress;
+import com.epam.pipeline.entity.cluster.pool.NodePool;
+import com.epam.pipeline.entity.pipeline.PipelineRun;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * State of cluster nodes, active runs and node pools loaded once per monitoring cycle.
+ * VMs are matched against the snapshot instead of querying API for each of them.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ClusterSnapshot {
+
+    private final Map<String, List<NodeInstance>> nodesByAddress;
+    private final Set<Long> activeRunIds;
+    private final Set<Long> poolIds;
+
+    public static ClusterSnapshot of(final List<NodeInstance> nodes,
+                                     final List<PipelineRun> activeRuns,
+                                     final List<NodePool> pools) {
+        return new ClusterSnapshot(
+                ListUtils.emptyIfNull(nodes).stream()
+                        .flatMap(node -> ListUtils.emptyIfNull(node.getAddresses()).stream()
+                                .map(NodeInstanceAddress::getAddress)
+                                .filter(StringUtils::isNotBlank)
+                                .map(StringUtils::lowerCase)
+                                .distinct()
+                                .map(address -> new NodeAddress(address, node)))
+                        .collect(Collectors.groupingBy(NodeAddress::getAddress,
+                                Collectors.mapping(NodeAddress::getNode, Collectors.toList()))),
+                ListUtils.emptyIfNull(activeRuns).stream()
+                        .map(PipelineRun::getId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()),
+                ListUtils.emptyIfNull(pools).stream()
+                        .map(NodePool::getId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()));
+    }
+
+    public List<NodeInstance> findNodes(final String address) {
+        if (StringUtils.isBlank(address)) {
+            return Collections.emptyList();
+        }
+        return nodesByAddress.getOrDefault(StringUtils.lowerCase(address), Collections.emptyList());
+    }
+
+    public boolean isRunActive(final long runId) {
+        return activeRunIds.contains(runId);
+    }
+
+    public boolean isNodePoolExists(final long poolId) {
+        return poolIds.contains(poolId);
+    }
+
+    @lombok.Value
+    private static class NodeAddress {
+        String address;
+        NodeInstance node;
+    }
+}
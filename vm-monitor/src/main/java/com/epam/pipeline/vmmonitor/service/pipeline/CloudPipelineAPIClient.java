@@ -23,17 +23,21 @@ import com.epam.pipeline.entity.cluster.NodeInstance;
 import com.epam.pipeline.entity.cluster.pool.NodePool;
 import com.epam.pipeline.entity.notification.NotificationMessage;
 import com.epam.pipeline.entity.pipeline.PipelineRun;
+import com.epam.pipeline.entity.pipeline.TaskStatus;
 import com.epam.pipeline.entity.region.AbstractCloudRegion;
 import com.epam.pipeline.entity.user.PipelineUser;
 import com.epam.pipeline.exception.PipelineResponseException;
+import com.epam.pipeline.rest.PagedResult;
 import com.epam.pipeline.utils.QueryUtils;
 import com.epam.pipeline.vo.FilterNodesVO;
+import com.epam.pipeline.vo.PagingRunFilterVO;
 import com.epam.pipeline.vo.notification.NotificationMessageVO;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -41,6 +45,7 @@ public class CloudPipelineAPIClient {
 
     private static final APIVersion REGION_CHANGE_VERSION = new APIVersion("0.15");
     private static final APIVersion USER_CHANGE_VERSION = new APIVersion("0.14");
+    private static final int RUNS_PAGE_SIZE = 500;
 
     private final CloudPipelineAPI cloudPipelineAPI;
     private final APIVersion apiVersion;
@@ -67,6 +72,28 @@ public class CloudPipelineAPIClient {
         return QueryUtils.execute((cloudPipelineAPI.findNodes(filterNodesVO)));
     }
 
+    public List<NodeInstance> loadAllNodes() {
+        return QueryUtils.execute(cloudPipelineAPI.loadAllNodes());
+    }
+
+    public List<PipelineRun> loadRunsByStatuses(final List<TaskStatus> statuses) {
+        final PagingRunFilterVO filter = new PagingRunFilterVO();
+        filter.setStatuses(statuses);
+        filter.setPageSize(RUNS_PAGE_SIZE);
+        final List<PipelineRun> runs = new ArrayList<>();
+        int page = 1;
+        while (true) {
+            filter.setPage(page);
+            final PagedResult<List<PipelineRun>> result = QueryUtils.execute(cloudPipelineAPI.filterRuns(filter));
+            final List<PipelineRun> elements = ListUtils.emptyIfNull(result.getElements());
+            runs.addAll(elements);
+            if (elements.size() < RUNS_PAGE_SIZE || runs.size() >= result.getTotalCount()) {
+                return runs;
+            }
+            page++;
+        }
+    }
+
     public NotificationMessage sendNotification(final NotificationMessageVO messageVO) {
         return QueryUtils.execute(cloudPipelineAPI.createNotification(messageVO));
     }
@@ -17,6 +17,7 @@
 package com.epam.pipeline.vmmonitor.service.vm;
 
 import com.epam.pipeline.entity.cluster.NodeInstance;
+import com.epam.pipeline.entity.cluster.NodeInstanceAddress;
 import com.epam.pipeline.entity.cluster.pool.NodePool;
 import com.epam.pipeline.entity.pipeline.PipelineRun;
 import com.epam.pipeline.entity.pipeline.TaskStatus;
@@ -26,13 +27,19 @@ import com.epam.pipeline.vmmonitor.model.vm.VirtualMachine;
 import com.epam.pipeline.vmmonitor.service.pipeline.CloudPipelineAPIClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class VMMonitorTest {
@@ -43,10 +50,13 @@ public class VMMonitorTest {
     private static final String RUN_ID_VALUE = "p-123";
     private static final String POOL_ID_VALUE = "123";
     private static final Long POOL_ID = 123L;
+    private static final Long RUN_ID = 42L;
+    private static final String PRIVATE_IP = "10.0.0.1";
+    private static final String OTHER_PRIVATE_IP = "10.0.0.2";
     private final Map<String, String> vmTags = Collections.singletonMap(RUN_ID_LABEL, RUN_ID_VALUE);
     private final Map<String, String> nodeLabels = Collections.singletonMap(POOL_ID_LABEL, POOL_ID_VALUE);
     private final AwsRegion region = new AwsRegion(CloudProvider.AWS, TEST_STRING, TEST_STRING, TEST_STRING,
-            TEST_STRING, TEST_STRING, TEST_STRING, TEST_STRING, 0, true);
+            TEST_STRING, TEST_STRING, TEST_STRING, TEST_STRING, 0, true, TEST_STRING);
     private VirtualMachine vm;
     private VMMonitor monitor;
 
@@ -57,29 +67,91 @@ public class VMMonitorTest {
     @BeforeEach
     public void setUp() {
         doReturn(CloudProvider.AWS).when(mockService).provider();
-        vm = VirtualMachine.builder().tags(vmTags).build();
+        vm = VirtualMachine.builder().tags(vmTags).privateIp(PRIVATE_IP).build();
         monitor = new VMMonitor(mockApiClient, notifier, Collections.singletonList(mockService),
-                RUN_ID_LABEL, RUN_ID_LABEL, POOL_ID_LABEL);
+                RUN_ID_LABEL, RUN_ID_LABEL, POOL_ID_LABEL, 1);
 
     }
 
     @Test
     public void shouldNotNotifyMissingNodeWhenRunIdIsNotNumericAndPoolIdExists() {
-        final NodeInstance nodeInstance = new NodeInstance();
-        nodeInstance.setRunId(RUN_ID_VALUE);
-        nodeInstance.setLabels(nodeLabels);
-        final PipelineRun pipelineRun = new PipelineRun();
-        pipelineRun.setStatus(TaskStatus.RUNNING);
+        final NodeInstance nodeInstance = node(PRIVATE_IP, nodeLabels);
         final NodePool nodePool = new NodePool();
         nodePool.setId(POOL_ID);
         doReturn(Collections.singletonList(region)).when(mockApiClient).loadRegions();
         doReturn(Collections.singletonList(vm)).when(mockService).fetchRunningVms(region);
-        doReturn(Collections.singletonList(nodeInstance)).when(mockApiClient).findNodes(vm.getPrivateIp());
-        doReturn(pipelineRun).when(mockApiClient).loadRun(POOL_ID);
+        doReturn(Collections.singletonList(nodeInstance)).when(mockApiClient).loadAllNodes();
         doReturn(Collections.singletonList(nodePool)).when(mockApiClient).loadNodePools();
         monitor.monitor();
 
         verify(notifier, never()).notifyMissingNode(vm);
+        verify(notifier, never()).notifyMissingLabels(any(), any(), any());
+    }
+
+    @Test
+    public void shouldNotNotifyMissingNodeWhenRunIsActive() {
+        final VirtualMachine runVm = VirtualMachine.builder()
+                .tags(Collections.singletonMap(RUN_ID_LABEL, String.valueOf(RUN_ID)))
+                .privateIp(PRIVATE_IP)
+                .build();
+        final PipelineRun pipelineRun = new PipelineRun();
+        pipelineRun.setId(RUN_ID);
+        pipelineRun.setStatus(TaskStatus.RUNNING);
+        doReturn(Collections.singletonList(region)).when(mockApiClient).loadRegions();
+        doReturn(Collections.singletonList(runVm)).when(mockService).fetchRunningVms(region);
+        doReturn(Collections.singletonList(pipelineRun)).when(mockApiClient).loadRunsByStatuses(anyList());
+        monitor.monitor();
+
+        verify(notifier, never()).notifyMissingNode(runVm);
+    }
+
+    @Test
+    public void shouldNotifyMissingLabelsWhenNodeIsNotAssociatedWithRunOrPool() {
+        final NodeInstance nodeInstance = node(PRIVATE_IP, Collections.emptyMap());
+        doReturn(Collections.singletonList(region)).when(mockApiClient).loadRegions();
+        doReturn(Collections.singletonList(vm)).when(mockService).fetchRunningVms(region);
+        doReturn(Collections.singletonList(nodeInstance)).when(mockApiClient).loadAllNodes();
+        monitor.monitor();
+
+        verify(notifier, never()).notifyMissingNode(vm);
+        verify(notifier).notifyMissingLabels(vm, nodeInstance, Collections.singletonList(RUN_ID_LABEL));
+    }
+
+    @Test
+    public void shouldLoadClusterStateOncePerCycle() {
+        final VirtualMachine otherVm = VirtualMachine.builder().tags(vmTags).privateIp(OTHER_PRIVATE_IP).build();
+        doReturn(Arrays.asList(region, region)).when(mockApiClient).loadRegions();
+        doReturn(Arrays.asList(vm, otherVm)).when(mockService).fetchRunningVms(region);
+        doReturn(Collections.singletonList(node(PRIVATE_IP, nodeLabels))).when(mockApiClient).loadAllNodes();
+        monitor.monitor();
+
+        verify(mockApiClient).loadAllNodes();
+        verify(mockApiClient).loadRunsByStatuses(anyList());
+        verify(mockApiClient).loadNodePools();
+        verify(mockApiClient, never()).findNodes(any());
+        verify(mockApiClient, never()).loadRun(any());
+        verify(notifier, times(2)).notifyMissingNode(otherVm);
+    }
+
+    @Test
+    public void shouldLoadClusterStateAfterListingVMs() {
+        doReturn(Collections.singletonList(region)).when(mockApiClient).loadRegions();
+        doReturn(Collections.singletonList(vm)).when(mockService).fetchRunningVms(region);
+        monitor.monitor();
+
+        final InOrder inOrder = inOrder(mockService, mockApiClient);
+        inOrder.verify(mockService).fetchRunningVms(region);
+        inOrder.verify(mockApiClient).loadAllNodes();
+    }
+
+    private NodeInstance node(final String address, final Map<String, String> labels) {
+        final NodeInstanceAddress nodeAddress = new NodeInstanceAddress();
+        nodeAddress.setAddress(address);
+        final NodeInstance nodeInstance = new NodeInstance();
+        nodeInstance.setRunId(RUN_ID_VALUE);
+        nodeInstance.setLabels(labels);
+        nodeInstance.setAddresses(Collections.singletonList(nodeAddress));
+        return nodeInstance;
     }
 
     @Test